@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws;
+
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.AWSSessionCredentials;
+import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.auth.profile.ProfileCredentialsProvider;
+import com.amazonaws.profile.path.AwsProfileFileLocationProvider;
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A caching credentials provider shared by the AWS clients of this library.
+ * <p>
+ * Building a {@link ProfileCredentialsProvider} per request parses the
+ * shared credentials file ({@code ~/.aws/credentials}) on every call. This
+ * provider instead loads the credentials once from a delegate provider and
+ * keeps them in memory. A background task refreshes them without blocking
+ * callers:
+ * <ul>
+ * <li>when the credentials file is modified, and
+ * <li>when temporary (session) credentials reach the maximum age, before they
+ * expire.
+ * </ul>
+ * If a refresh fails the previous credentials are kept and the failure is
+ * logged.
+ * <p>
+ * The SDK's session credentials do not expose their expiry, so they are
+ * refreshed at a fixed age ({@value #DEFAULT_SESSION_MAX_AGE} ms by default,
+ * below the 15 minute minimum lifetime of STS credentials). Use
+ * {@link #withSessionMaxAge(long)} for a delegate issuing shorter-lived
+ * credentials.
+ * <p>
+ * Two shared instances are used when no static credentials are provided:
+ * {@link AwsSES} uses the {@link #getDefault() default} instance, which reads
+ * the default AWS provider chain (environment variables, system properties,
+ * shared credentials file, instance profile), and {@link AwsS3} uses the
+ * {@link #getProfile() profile} instance, which reads the default profile of
+ * the shared credentials file.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class AwsCredentialsProvider implements AWSCredentialsProvider {
+
+  private static final Logger LOG = Logger.getLogger(AwsCredentialsProvider.class.getName());
+
+  /**
+   * 10 seconds. The default interval between checks of the credentials file.
+   */
+  public static final long DEFAULT_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+  /**
+   * 10 minutes. The default maximum age of session credentials.
+   */
+  public static final long DEFAULT_SESSION_MAX_AGE = TimeUnit.MINUTES.toMillis(10);
+
+  /**
+   * The background refresh shared by all providers.
+   */
+  private static final ScheduledExecutorService REFRESHER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "aws-credentials-refresh-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  /**
+   * The shared instance reading the default provider chain.
+   */
+  private static final AwsCredentialsProvider DEFAULT = new AwsCredentialsProvider(
+    DefaultAWSCredentialsProviderChain.getInstance(),
+    AwsProfileFileLocationProvider.DEFAULT_CREDENTIALS_LOCATION_PROVIDER.getLocation());
+  /**
+   * The shared instance reading the default profile.
+   */
+  private static final AwsCredentialsProvider PROFILE = new AwsCredentialsProvider(
+    new ProfileCredentialsProvider(),
+    AwsProfileFileLocationProvider.DEFAULT_CREDENTIALS_LOCATION_PROVIDER.getLocation());
+
+  /**
+   * The provider loading the credentials.
+   */
+  private final AWSCredentialsProvider delegate;
+  /**
+   * OPTIONAL. The file whose modification triggers a refresh.
+   */
+  private final File credentialsFile;
+  /**
+   * The maximum age of session credentials, in nanoseconds.
+   */
+  private volatile long sessionMaxAgeNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SESSION_MAX_AGE);
+  /**
+   * The interval between background checks, in milliseconds.
+   */
+  private long checkInterval = DEFAULT_CHECK_INTERVAL;
+  /**
+   * The cached credentials; null until first loaded.
+   */
+  private volatile AWSCredentials credentials;
+  /**
+   * The time the credentials were loaded (System.nanoTime).
+   */
+  private volatile long loaded;
+  /**
+   * The credentials file modification time when the credentials were loaded.
+   */
+  private volatile long fileModified;
+  /**
+   * The background check; started when the credentials are first loaded.
+   */
+  private ScheduledFuture<?> check;
+
+  /**
+   * Construct a new caching provider.
+   *
+   * @param delegate        the provider loading the credentials
+   * @param credentialsFile OPTIONAL. a file whose modification triggers a
+   *                        refresh
+   */
+  public AwsCredentialsProvider(AWSCredentialsProvider delegate, File credentialsFile) {
+    this.delegate = delegate;
+    this.credentialsFile = credentialsFile;
+  }
+
+  /**
+   * Get the default shared provider.
+   *
+   * @return the default provider
+   */
+  public static AwsCredentialsProvider getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Get the shared provider of the default profile in the shared credentials
+   * file.
+   *
+   * @return the profile provider
+   */
+  public static AwsCredentialsProvider getProfile() {
+    return PROFILE;
+  }
+
+  /**
+   * Set the maximum age of session credentials before they are refreshed. This
+   * should be shorter than the credential lifetime.
+   *
+   * @param sessionMaxAge the maximum age in milliseconds
+   * @return this provider
+   */
+  public AwsCredentialsProvider withSessionMaxAge(long sessionMaxAge) {
+    this.sessionMaxAgeNanos = TimeUnit.MILLISECONDS.toNanos(sessionMaxAge);
+    return this;
+  }
+
+  /**
+   * Set the interval between background checks. Has effect only before the
+   * credentials are first loaded.
+   *
+   * @param checkInterval the interval in milliseconds
+   * @return this provider
+   */
+  public synchronized AwsCredentialsProvider withCheckInterval(long checkInterval) {
+    this.checkInterval = checkInterval;
+    return this;
+  }
+
+  /**
+   * Get the cached credentials, loading them on first use.
+   *
+   * @return the credentials
+   */
+  @Override
+  public AWSCredentials getCredentials() {
+    AWSCredentials current = credentials;
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (credentials == null) {
+        load();
+        if (check == null && checkInterval > 0) {
+          check = REFRESHER.scheduleWithFixedDelay(this::check, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+        }
+      }
+      return credentials;
+    }
+  }
+
+  /**
+   * Reload the credentials from the delegate now.
+   */
+  @Override
+  public synchronized void refresh() {
+    load();
+  }
+
+  /**
+   * Refresh the credentials if the file was modified or session credentials
+   * reached the maximum age. Failures are logged and the previous credentials
+   * kept.
+   */
+  void check() {
+    AWSCredentials current = credentials;
+    if (current == null) {
+      return;
+    }
+    boolean modified = credentialsFile != null && credentialsFile.lastModified() != fileModified;
+    boolean expiring = current instanceof AWSSessionCredentials && System.nanoTime() - loaded >= sessionMaxAgeNanos;
+    if (modified || expiring) {
+      try {
+        refresh();
+      } catch (RuntimeException ex) {
+        LOG.log(Level.WARNING, "Failed to refresh AWS credentials: {0}", ex.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Load the credentials from the delegate, recording the file modification
+   * time first so that a concurrent change triggers another refresh.
+   */
+  private void load() {
+    long modified = credentialsFile == null ? 0 : credentialsFile.lastModified();
+    delegate.refresh();
+    AWSCredentials loadedCredentials = delegate.getCredentials();
+    this.fileModified = modified;
+    this.loaded = System.nanoTime();
+    this.credentials = loadedCredentials;
+  }
+}
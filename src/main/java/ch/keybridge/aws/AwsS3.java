@@ -18,28 +18,51 @@
 package ch.keybridge.aws;
 
 import ch.keybridge.aws.s3.S3BucketConfig;
+import ch.keybridge.aws.s3.S3Bulkhead;
+import ch.keybridge.aws.s3.S3Bulkhead.Compartment;
+import ch.keybridge.aws.s3.S3Checksum;
+import ch.keybridge.aws.s3.S3CircuitBreaker;
+import ch.keybridge.aws.s3.S3ClientRegistry;
+import ch.keybridge.aws.s3.S3CompressionCodec;
+import ch.keybridge.aws.s3.S3CompressionPolicy;
+import ch.keybridge.aws.s3.S3DirectoryListing;
+import ch.keybridge.aws.s3.S3HedgingPolicy;
+import ch.keybridge.aws.s3.S3Key;
+import ch.keybridge.aws.s3.S3ListingQuery;
+import ch.keybridge.aws.s3.S3MultipartOutputStream;
+import ch.keybridge.aws.s3.S3Operation;
+import ch.keybridge.aws.s3.S3Presigner;
+import ch.keybridge.aws.s3.S3RateLimiter;
+import ch.keybridge.aws.s3.S3SeekableByteChannel;
+import ch.keybridge.aws.s3.S3TransferScheduler;
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.SdkClientException;
+import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.auth.profile.ProfileCredentialsProvider;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
 import com.amazonaws.services.s3.model.*;
 import com.amazonaws.services.s3.transfer.*;
+import com.amazonaws.util.IOUtils;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Amazon S3 REST Client.
@@ -67,6 +90,14 @@ public class AwsS3 {
    * in the response.
    */
   private static final int MAX_KEYS = 1000;
+  /**
+   * The HTTP headers of the source object kept by a copy, as with the COPY
+   * metadata directive.
+   */
+  private static final List<String> COPIED_HEADERS = Arrays.asList(
+    Headers.CONTENT_TYPE, Headers.CACHE_CONTROL, Headers.CONTENT_DISPOSITION, Headers.CONTENT_ENCODING,
+    Headers.CONTENT_LANGUAGE, Headers.EXPIRES, Headers.REDIRECT_LOCATION,
+    Headers.SERVER_SIDE_ENCRYPTION, Headers.SERVER_SIDE_ENCRYPTION_AWS_KMS_KEYID);
 
   /**
    * The AWS region.
@@ -90,6 +121,68 @@ public class AwsS3 {
    * The AWS S3 secret key.
    */
   private String awsSecretAccessKey;
+  /**
+   * OPTIONAL. An adaptive rate limiter pacing requests per key prefix. If not
+   * set then requests are sent immediately and throttling errors are returned
+   * to the caller.
+   * <p>
+   * Clients built by this instance then do not retry throttled requests
+   * themselves (see {@link S3RateLimiter#RETRY_POLICY}). A shared client keeps
+   * the retry policy it was built with.
+   */
+  private S3RateLimiter rateLimiter;
+  /**
+   * OPTIONAL. A hedging policy duplicating slow GET and HEAD requests. If not
+   * set then requests are never duplicated.
+   */
+  private S3HedgingPolicy hedgingPolicy;
+  /**
+   * OPTIONAL. Separate concurrency limits for reads, writes and listings. If
+   * not set then the number of concurrent requests is not limited. A stream
+   * returned by {@code getInputStream} holds its permit until it is closed.
+   */
+  private S3Bulkhead bulkhead;
+  /**
+   * OPTIONAL. A circuit breaker failing requests fast while S3 is degraded. If
+   * not set then every request is sent. For a stream returned by
+   * {@code getInputStream} only the request up to the response headers is
+   * recorded, not the reading of the content.
+   */
+  private S3CircuitBreaker circuitBreaker;
+  /**
+   * OPTIONAL. The transfer job throttling the content streams of uploads and
+   * downloads. If not set then content is transferred at full speed.
+   * <p>
+   * Downloads are throttled as the response is read. Uploads are throttled as
+   * the content is written into the part buffer, so each part is sent at full
+   * speed once filled: the average rate is the job rate, in bursts of up to
+   * one part. A throttled transfer holds its bulkhead permit while it waits
+   * for bandwidth (give bulk jobs a client with a bulkhead of their own); the
+   * circuit breaker does not count the wait.
+   */
+  private S3TransferScheduler.Job transferJob;
+  /**
+   * OPTIONAL. Selects the compression codec of uploaded objects by key. If not
+   * set then objects are uploaded as provided. Compressed objects are always
+   * decompressed on download, whether or not a policy is set.
+   */
+  private S3CompressionPolicy compressionPolicy;
+  /**
+   * OPTIONAL. A shared S3 client. If set it is used for every request instead
+   * of building a new client per call. Shared clients are managed by a
+   * {@link S3ClientRegistry}.
+   */
+  private AmazonS3 s3Client;
+  /**
+   * True if the client was built by {@link #bindClient()} for this instance,
+   * which then shuts it down.
+   */
+  private boolean boundClient;
+  /**
+   * The presigner; built on first use and reset when the region or bucket
+   * changes.
+   */
+  private S3Presigner presigner;
 
   /**
    * Default no-arg constructor. Provides an S3 client with AWS credentials read
@@ -130,6 +223,32 @@ public class AwsS3 {
     this.awsSecretAccessKey = awsSecretAccessKey;
   }
 
+  /**
+   * Construct a new AwsS3Client with the configuration of another: the
+   * credentials, bucket and request policies.
+   * <p>
+   * The S3 client is not copied: a shared client is only valid while the other
+   * instance holds its registry lease, and a bound client until the other
+   * instance shuts it down. The copy builds its own clients; set one with
+   * {@link #bindClient()} or {@link #setS3Client(AmazonS3)} if needed.
+   *
+   * @param other the configuration to copy
+   * @since v1.7.0 added 10/18/26
+   */
+  public AwsS3(AwsS3 other) {
+    this.region = other.region;
+    this.bucketName = other.bucketName;
+    this.maxKeys = other.maxKeys;
+    this.awsAccessKeyId = other.awsAccessKeyId;
+    this.awsSecretAccessKey = other.awsSecretAccessKey;
+    this.rateLimiter = other.rateLimiter;
+    this.hedgingPolicy = other.hedgingPolicy;
+    this.bulkhead = other.bulkhead;
+    this.circuitBreaker = other.circuitBreaker;
+    this.transferJob = other.transferJob;
+    this.compressionPolicy = other.compressionPolicy;
+  }
+
   //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
   public Regions getRegion() {
     return region;
@@ -137,10 +256,12 @@ public class AwsS3 {
 
   public void setRegion(Regions region) {
     this.region = region;
+    this.presigner = null;
   }
 
   public AwsS3 withRegion(Regions region) {
     this.region = region;
+    this.presigner = null;
     return this;
   }
 
@@ -150,10 +271,12 @@ public class AwsS3 {
 
   public void setBucketName(String bucketName) {
     this.bucketName = bucketName;
+    this.presigner = null;
   }
 
   public AwsS3 withBucketName(String bucketName) {
     this.bucketName = bucketName;
+    this.presigner = null;
     return this;
   }
 
@@ -168,6 +291,97 @@ public class AwsS3 {
   public AwsS3 withMaxKeys(int maxKeys) {
     this.maxKeys = maxKeys;
     return this;
+  }
+
+  public S3RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  public void setRateLimiter(S3RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  public AwsS3 withRateLimiter(S3RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+    return this;
+  }
+
+  public S3HedgingPolicy getHedgingPolicy() {
+    return hedgingPolicy;
+  }
+
+  public void setHedgingPolicy(S3HedgingPolicy hedgingPolicy) {
+    this.hedgingPolicy = hedgingPolicy;
+  }
+
+  public AwsS3 withHedgingPolicy(S3HedgingPolicy hedgingPolicy) {
+    this.hedgingPolicy = hedgingPolicy;
+    return this;
+  }
+
+  public S3Bulkhead getBulkhead() {
+    return bulkhead;
+  }
+
+  public void setBulkhead(S3Bulkhead bulkhead) {
+    this.bulkhead = bulkhead;
+  }
+
+  public AwsS3 withBulkhead(S3Bulkhead bulkhead) {
+    this.bulkhead = bulkhead;
+    return this;
+  }
+
+  public S3CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  public void setCircuitBreaker(S3CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  public AwsS3 withCircuitBreaker(S3CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+    return this;
+  }
+
+  public S3TransferScheduler.Job getTransferJob() {
+    return transferJob;
+  }
+
+  public void setTransferJob(S3TransferScheduler.Job transferJob) {
+    this.transferJob = transferJob;
+  }
+
+  public AwsS3 withTransferJob(S3TransferScheduler.Job transferJob) {
+    this.transferJob = transferJob;
+    return this;
+  }
+
+  public S3CompressionPolicy getCompressionPolicy() {
+    return compressionPolicy;
+  }
+
+  public void setCompressionPolicy(S3CompressionPolicy compressionPolicy) {
+    this.compressionPolicy = compressionPolicy;
+  }
+
+  public AwsS3 withCompressionPolicy(S3CompressionPolicy compressionPolicy) {
+    this.compressionPolicy = compressionPolicy;
+    return this;
+  }
+
+  public AmazonS3 getS3Client() {
+    return s3Client;
+  }
+
+  public void setS3Client(AmazonS3 s3Client) {
+    this.s3Client = s3Client;
+  }
+
+  public AwsS3 withS3Client(AmazonS3 s3Client) {
+    this.s3Client = s3Client;
+    return this;
   }//</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="Common">
@@ -176,11 +390,14 @@ public class AwsS3 {
    * for the Internet, and is designed to make web-scale computing easier for
    * developers.
    *
-   * @return a new client.
+   * @return the shared client if set, otherwise a new client.
    */
   private AmazonS3 buildS3Client() {
+    if (s3Client != null) {
+      return s3Client;
+    }
     /**
-     * Use either the default profile credentials provider or a basic provider,
+     * Use either the shared cached profile credentials or a basic provider,
      * depending upon whether the credential is provided.
      */
     AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard();
@@ -188,7 +405,13 @@ public class AwsS3 {
       BasicAWSCredentials credentials = new BasicAWSCredentials(awsAccessKeyId, awsSecretAccessKey);
       builder.withCredentials(new AWSStaticCredentialsProvider(credentials));
     } else {
-      builder.withCredentials(new ProfileCredentialsProvider());
+      builder.withCredentials(AwsCredentialsProvider.getProfile());
+    }
+    /**
+     * Leave throttled requests to the rate limiter.
+     */
+    if (rateLimiter != null) {
+      builder.withClientConfiguration(new ClientConfiguration().withRetryPolicy(S3RateLimiter.RETRY_POLICY));
     }
     /**
      * Conditionally set the region.
@@ -197,6 +420,279 @@ public class AwsS3 {
            ? builder.withRegion(region).build()
            : builder.build();
 
+  }
+
+  /**
+   * Internal method to execute a repeatable S3 request, applying the request
+   * policies if configured: the rate limiter paces and retries throttled
+   * attempts, each attempt takes a bulkhead permit, and the circuit of the
+   * compartment admits and records each attempt. The permit is released while
+   * the rate limiter waits, so queued and retrying requests do not occupy the
+   * compartment.
+   *
+   * @param <T>         the operation result type
+   * @param <E>         the operation checked exception type
+   * @param compartment the operation class of the request
+   * @param key         the object key (or listing prefix) of the request
+   * @param operation   the S3 request
+   * @return the request result
+   * @throws E on operation error
+   */
+  private <T, E extends Exception> T execute(Compartment compartment, String key, S3Operation<T, E> operation) throws E {
+    S3Operation<T, E> guarded = circuitBreaker == null ? operation : () -> circuitBreaker.execute(compartment, operation);
+    S3Operation<T, E> isolated = bulkhead == null ? guarded : () -> bulkhead.execute(compartment, guarded);
+    return rateLimiter == null ? isolated.execute() : rateLimiter.execute(key, isolated);
+  }
+
+  /**
+   * Internal method to execute a repeatable S3 request returning a content
+   * stream, applying the request policies if configured. The bulkhead permit
+   * is held until the stream is closed. The circuit breaker records the
+   * request up to the response headers: reading the content is paced by the
+   * caller, so it is neither timed nor counted as a failure.
+   *
+   * @param <E>         the operation checked exception type
+   * @param compartment the operation class of the request
+   * @param key         the object key of the request
+   * @param operation   the S3 request
+   * @return the content stream
+   * @throws E on operation error
+   */
+  private <E extends Exception> InputStream executeStream(Compartment compartment, String key, S3Operation<InputStream, E> operation) throws E {
+    S3Operation<InputStream, E> guarded = circuitBreaker == null ? operation : () -> circuitBreaker.execute(compartment, operation);
+    S3Operation<InputStream, E> isolated = bulkhead == null ? guarded : () -> bulkhead.open(compartment, guarded);
+    return rateLimiter == null ? isolated.execute() : rateLimiter.execute(key, isolated);
+  }
+
+  /**
+   * Internal method to execute a non-repeatable S3 request (e.g. one that
+   * consumes an input stream), applying the request policies if configured.
+   *
+   * @param <T>         the operation result type
+   * @param <E>         the operation checked exception type
+   * @param compartment the operation class of the request
+   * @param key         the object key of the request
+   * @param operation   the S3 request
+   * @return the request result
+   * @throws E on operation error
+   */
+  private <T, E extends Exception> T executeOnce(Compartment compartment, String key, S3Operation<T, E> operation) throws E {
+    S3Operation<T, E> guarded = circuitBreaker == null ? operation : () -> circuitBreaker.execute(compartment, operation);
+    S3Operation<T, E> isolated = bulkhead == null ? guarded : () -> bulkhead.execute(compartment, guarded);
+    return rateLimiter == null ? isolated.execute() : rateLimiter.executeOnce(key, isolated);
+  }
+
+  /**
+   * Internal method to build a transfer manager. If a bulkhead is configured
+   * the transfer runs on a thread pool sized to the bulk write limit, so that
+   * a single directory transfer cannot exceed it.
+   *
+   * @return a new transfer manager
+   */
+  private TransferManager buildTransferManager() {
+    TransferManagerBuilder builder = TransferManagerBuilder.standard().withS3Client(buildS3Client());
+    if (bulkhead != null) {
+      int limit = bulkhead.getLimit(Compartment.BULK_WRITE);
+      builder.withExecutorFactory(() -> Executors.newFixedThreadPool(limit));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Bind a Client.
+   * <p>
+   * Returns a copy of this configuration whose requests all use a single S3
+   * client, built now, instead of building a new client per call. Use it for
+   * batches of many small requests, and call {@link #shutdown()} when the
+   * batch is done. Long-lived instances should rather use a shared client from
+   * a {@link S3ClientRegistry}.
+   *
+   * @return this instance if a shared client is set, otherwise a bound copy
+   * @since v1.7.0 added 10/18/26
+   */
+  public AwsS3 bindClient() {
+    if (s3Client != null) {
+      return this;
+    }
+    AwsS3 bound = new AwsS3(this);
+    bound.s3Client = buildS3Client();
+    bound.boundClient = true;
+    return bound;
+  }
+
+  /**
+   * Shut down the client built by {@link #bindClient()}, releasing its
+   * connection pool. The bound copy must not be used afterwards. Has no effect
+   * on other instances: shared clients are shut down by their registry.
+   *
+   * @since v1.7.0 added 10/18/26
+   */
+  public synchronized void shutdown() {
+    if (boundClient) {
+      boundClient = false;
+      s3Client.shutdown();
+    }
+  }
+
+  /**
+   * Internal method to throttle a content stream by the transfer job.
+   *
+   * @param inputStream the content stream
+   * @return the stream, throttled if a transfer job is configured
+   */
+  private InputStream throttle(InputStream inputStream) {
+    return transferJob == null ? inputStream : transferJob.throttle(inputStream);
+  }
+
+  /**
+   * Internal method to send a GET request, hedged if a hedging policy is
+   * configured. The request returns once the response headers arrive.
+   *
+   * @param request the GET request
+   * @return the object; the caller must close its content
+   */
+  private S3Object getObject(GetObjectRequest request) {
+    AmazonS3 client = buildS3Client();
+    return hedgingPolicy == null
+           ? client.getObject(request)
+           : hedgingPolicy.execute(() -> client.getObject(request));
+  }
+
+  /**
+   * Internal method to send a HEAD request, hedged if a hedging policy is
+   * configured.
+   *
+   * @param key the object key
+   * @return the object metadata
+   */
+  private ObjectMetadata headObject(String key) {
+    AmazonS3 client = buildS3Client();
+    return hedgingPolicy == null
+           ? client.getObjectMetadata(bucketName, key)
+           : hedgingPolicy.execute(() -> client.getObjectMetadata(bucketName, key));
+  }
+
+  /**
+   * Internal method to get the compression codec of an uploaded object.
+   *
+   * @param key the object key
+   * @return the codec; null if the object is uploaded as provided
+   */
+  private S3CompressionCodec getCodec(String key) {
+    return compressionPolicy == null ? null : compressionPolicy.getCodec(key);
+  }
+
+  /**
+   * Internal method to build the metadata of a compressed object. The content
+   * length of the original metadata describes the uncompressed content and is
+   * recorded as the original length. (The upload stream determines the
+   * content length and MD5 of the compressed content.)
+   *
+   * @param metadata the original metadata; may be null
+   * @param codec    the compression codec
+   * @return new metadata
+   */
+  private static ObjectMetadata buildCompressedMetadata(ObjectMetadata metadata, S3CompressionCodec codec) {
+    ObjectMetadata compressed = metadata == null ? new ObjectMetadata() : metadata.clone();
+    if (metadata != null && metadata.getRawMetadataValue(Headers.CONTENT_LENGTH) != null) {
+      compressed.addUserMetadata(S3CompressionCodec.METADATA_LENGTH, String.valueOf(metadata.getContentLength()));
+    }
+    compressed.setContentEncoding(codec.getContentEncoding());
+    compressed.addUserMetadata(S3CompressionCodec.METADATA_CODEC, codec.name());
+    return compressed;
+  }
+
+  /**
+   * Internal method to upload a stream. The content is compressed if the
+   * compression policy selects a codec, checksummed and uploaded in parts as it
+   * is read, so memory use is bounded by the part size and the content is
+   * read exactly once.
+   *
+   * @param key         the object key
+   * @param inputStream the content
+   * @param metadata    the original metadata; may be null
+   * @return the upload result
+   * @throws IOException if the content cannot be read
+   */
+  private PutObjectResult uploadStream(String key, InputStream inputStream, ObjectMetadata metadata) throws IOException {
+    S3CompressionCodec codec = getCodec(key);
+    S3MultipartOutputStream outputStream = new S3MultipartOutputStream(buildS3Client(), bucketName, key,
+                                                                       codec == null ? metadata : buildCompressedMetadata(metadata, codec));
+    /**
+     * Finish the (compressed) stream without completing the upload so that a
+     * failure can still abort it. The transfer job throttles the stored bytes
+     * as they are written into the part buffer.
+     */
+    OutputStream stored = transferJob == null
+                          ? new NonClosingOutputStream(outputStream)
+                          : transferJob.throttle(new NonClosingOutputStream(outputStream));
+    try (OutputStream content = codec == null
+                                ? stored
+                                : codec.compress(stored)) {
+      byte[] buffer = new byte[64 * 1024];
+      long length = 0;
+      for (int n; (n = inputStream.read(buffer)) != -1;) {
+        content.write(buffer, 0, n);
+        length += n;
+      }
+      /**
+       * Record the original length if the caller did not provide it. The
+       * metadata of a multipart upload is sent when the upload is initiated,
+       * so this only has effect if no part was sent yet (e.g. the compressed
+       * content fits in one part).
+       */
+      if (codec != null && outputStream.getMetadata().getUserMetaDataOf(S3CompressionCodec.METADATA_LENGTH) == null) {
+        outputStream.getMetadata().addUserMetadata(S3CompressionCodec.METADATA_LENGTH, String.valueOf(length));
+      }
+    } catch (IOException | RuntimeException ex) {
+      outputStream.abort();
+      throw ex;
+    }
+    outputStream.close();
+    return outputStream.getResult();
+  }
+
+  /**
+   * Internal method to get the content of a downloaded object, decompressing
+   * it if it was compressed on upload.
+   *
+   * @param s3Object    the downloaded object
+   * @param inputStream the stored object content
+   * @return the (uncompressed) object content
+   * @throws IOException if the compressed content header cannot be read
+   */
+  private static InputStream getContent(S3Object s3Object, InputStream inputStream) throws IOException {
+    S3CompressionCodec codec = S3CompressionCodec.fromMetadata(s3Object.getObjectMetadata());
+    return codec == null
+           ? inputStream
+           : codec.decompress(inputStream);
+  }
+
+  /**
+   * An output stream wrapper that does not close the wrapped stream.
+   */
+  private static class NonClosingOutputStream extends OutputStream {
+
+    private final OutputStream outputStream;
+
+    public NonClosingOutputStream(OutputStream outputStream) {
+      this.outputStream = outputStream;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      outputStream.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      outputStream.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      outputStream.flush();
+    }
   }//</editor-fold>
 
   /**
@@ -221,7 +717,7 @@ public class AwsS3 {
    *                                processing the request.
    */
   public ObjectMetadata getObjectMetadata(String key) throws SdkClientException, AmazonServiceException {
-    return buildS3Client().getObjectMetadata(bucketName, key);
+    return execute(Compartment.INTERACTIVE_READ, key, () -> headObject(key));
   }
 
   /**
@@ -278,7 +774,7 @@ public class AwsS3 {
        * Returns a list of summary information about the objects in the
        * specified bucket.
        */
-      result = s3Client.listObjectsV2(request);
+      result = execute(Compartment.LISTING, prefix, () -> s3Client.listObjectsV2(request));
       /**
        * Collect the list of object summaries describing the objects stored in
        * the S3 bucket.
@@ -296,6 +792,233 @@ public class AwsS3 {
     return objectSummaries;
   }
 
+  /**
+   * Stream Object Keys.
+   * <p>
+   * Lazily lists the objects in the bucket. Unlike {@link #list(String)} the
+   * listing is not collected into memory: each page of up to maxKeys object
+   * summaries is requested only when the stream consumer reaches it, so very
+   * large buckets can be processed with constant memory. Results are returned
+   * in UTF-8 binary order.
+   *
+   * @param prefix An optional prefix parameter restricting the response to keys
+   *               that begin with the specified prefix.
+   * @return a lazy, sequential and ordered stream of object summaries
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @since v1.7.0 added 10/18/26
+   */
+  public Stream<S3ObjectSummary> stream(String prefix) throws AmazonServiceException, SdkClientException {
+    ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucketName).withMaxKeys(maxKeys);
+    if (prefix != null && !prefix.isEmpty()) {
+      request.setPrefix(prefix);
+    }
+    return stream(request);
+  }
+
+  /**
+   * Stream Listing Pages.
+   * <p>
+   * Lazily lists the keys in the bucket one page (of up to maxKeys entries) at
+   * a time, each page requested only when the stream consumer reaches it. With
+   * a delimiter (typically "/") keys containing the delimiter after the prefix
+   * are rolled up into the page common prefixes, so that a single level of the
+   * key hierarchy can be browsed like a directory.
+   *
+   * @param prefix    An optional prefix parameter restricting the response to
+   *                  keys that begin with the specified prefix.
+   * @param delimiter An optional delimiter grouping keys into common prefixes.
+   * @return a lazy, sequential and ordered stream of listing pages
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @since v1.7.0 added 10/18/26
+   */
+  public Stream<ListObjectsV2Result> streamPages(String prefix, String delimiter) throws AmazonServiceException, SdkClientException {
+    ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucketName).withMaxKeys(maxKeys);
+    if (prefix != null && !prefix.isEmpty()) {
+      request.setPrefix(prefix);
+    }
+    if (delimiter != null && !delimiter.isEmpty()) {
+      request.setDelimiter(delimiter);
+    }
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages(request), Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * List Directory.
+   * <p>
+   * Lists one level of the key hierarchy using the "/" delimiter: the objects
+   * directly below the prefix and the common prefixes of deeper keys. Only the
+   * entries of this level are transferred, however many objects lie below
+   * the subdirectories. A directory marker object whose key equals the prefix
+   * is omitted.
+   *
+   * @param prefix the directory prefix; empty or null for the bucket root. A
+   *               trailing "/" is added if missing.
+   * @return the directory listing
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @since v1.7.0 added 10/18/26
+   */
+  public S3DirectoryListing listDirectory(String prefix) throws AmazonServiceException, SdkClientException {
+    String directory = prefix == null || prefix.isEmpty() || prefix.endsWith("/") ? (prefix == null ? "" : prefix) : prefix + "/";
+    List<S3ObjectSummary> files = new ArrayList<>();
+    List<String> directories = new ArrayList<>();
+    try (Stream<ListObjectsV2Result> pages = streamPages(directory, "/")) {
+      pages.forEach(page -> {
+        directories.addAll(page.getCommonPrefixes());
+        for (S3ObjectSummary summary : page.getObjectSummaries()) {
+          if (!summary.getKey().equals(directory)) {
+            files.add(summary);
+          }
+        }
+      });
+    }
+    return new S3DirectoryListing(directory, files, directories);
+  }
+
+  /**
+   * Query Listing.
+   * <p>
+   * Lazily lists the objects matching a listing query. The query key
+   * constraints are pushed down to the listing requests: the listing starts at
+   * the query prefix and StartAfter key, and stops requesting pages at the
+   * first key past the query upper bound. The remaining filters are applied to
+   * each page as it arrives, so non-matching entries are never collected.
+   *
+   * @param query the listing query
+   * @return a lazy, sequential and ordered stream of matching object summaries
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @since v1.7.0 added 10/18/26
+   */
+  public Stream<S3ObjectSummary> query(S3ListingQuery query) throws AmazonServiceException, SdkClientException {
+    ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucketName).withMaxKeys(maxKeys);
+    String prefix = query.getListingPrefix();
+    if (!prefix.isEmpty()) {
+      request.setPrefix(prefix);
+    }
+    if (query.getStartAfter() != null && S3Key.UTF8_BINARY_ORDER.compare(query.getStartAfter(), prefix) >= 0) {
+      request.setStartAfter(query.getStartAfter());
+    }
+    Iterator<S3ObjectSummary> listing = stream(request).iterator();
+    Iterator<S3ObjectSummary> iterator = new Iterator<S3ObjectSummary>() {
+      private S3ObjectSummary next;
+      private boolean done;
+
+      @Override
+      public boolean hasNext() {
+        while (next == null && !done) {
+          if (!listing.hasNext()) {
+            done = true;
+          } else {
+            S3ObjectSummary summary = listing.next();
+            if (query.isPastEnd(summary.getKey())) {
+              /**
+               * Keys are listed in order: no later key can match.
+               */
+              done = true;
+            } else if (query.test(summary)) {
+              next = summary;
+            }
+          }
+        }
+        return next != null;
+      }
+
+      @Override
+      public S3ObjectSummary next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        S3ObjectSummary summary = next;
+        next = null;
+        return summary;
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Internal method to lazily page through a listing request.
+   *
+   * @param request the listing request
+   * @return a lazy, sequential and ordered stream of object summaries
+   */
+  private Stream<S3ObjectSummary> stream(ListObjectsV2Request request) {
+    Iterator<ListObjectsV2Result> pages = pages(request);
+    Iterator<S3ObjectSummary> iterator = new Iterator<S3ObjectSummary>() {
+      private Iterator<S3ObjectSummary> page = Collections.emptyIterator();
+
+      @Override
+      public boolean hasNext() {
+        /**
+         * A truncated page may (rarely) be empty, so loop until there is data
+         * or the listing is complete.
+         */
+        while (!page.hasNext() && pages.hasNext()) {
+          page = pages.next().getObjectSummaries().iterator();
+        }
+        return page.hasNext();
+      }
+
+      @Override
+      public S3ObjectSummary next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return page.next();
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Internal method to lazily fetch the pages of a listing request. Each page
+   * is requested when the previous page has been consumed.
+   *
+   * @param request the listing request
+   * @return an iterator of listing pages
+   */
+  private Iterator<ListObjectsV2Result> pages(ListObjectsV2Request request) {
+    AmazonS3 s3Client = buildS3Client();
+    return new Iterator<ListObjectsV2Result>() {
+      private boolean truncated = true;
+
+      @Override
+      public boolean hasNext() {
+        return truncated;
+      }
+
+      @Override
+      public ListObjectsV2Result next() {
+        if (!truncated) {
+          throw new NoSuchElementException();
+        }
+        ListObjectsV2Result result = execute(Compartment.LISTING, request.getPrefix(), () -> s3Client.listObjectsV2(request));
+        truncated = result.isTruncated();
+        request.setContinuationToken(result.getNextContinuationToken());
+        return result;
+      }
+    };
+  }
+
   /**
    * Uploads new object to the specified Amazon S3 bucket. Supports objects up
    * to 5 GB in size.
@@ -318,31 +1041,36 @@ public class AwsS3 {
    */
   public void upload(String fileObjectKeyName, Path file, ObjectMetadata metadata) throws AmazonServiceException, SdkClientException {
     /**
-     * Creates the first object by specifying the bucket name, object key, and
-     * text data directly in a call to AmazonS3Client.putObject().
-     * <p>
-     * The second object by using a PutObjectRequest that specifies the bucket
-     * name, object key, and file path. The PutObjectRequest also specifies the
-     * ContentType header and title metadata.
-     * <p>
      * Inspect and optionally correct the fileObjectKeyName.
      */
     String key = fileObjectKeyName.startsWith("/")
                  ? fileObjectKeyName.substring(1)
                  : fileObjectKeyName;
-    PutObjectRequest request = new PutObjectRequest(bucketName, key, file.toFile());
     /**
-     * Conditionally set the metadata.
+     * The file is read once: it is checksummed (and optionally compressed)
+     * as it streams into a single PUT or, for large files, a multipart upload.
+     * Each attempt re-opens the file so the request is repeatable.
      */
-    if (metadata != null) {
-      request.setMetadata(metadata);
+    try {
+      execute(Compartment.BULK_WRITE, key, () -> {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+          ObjectMetadata original = metadata == null ? new ObjectMetadata() : metadata.clone();
+          original.setContentLength(Files.size(file));
+          return uploadStream(key, inputStream, original);
+        }
+      });
+    } catch (IOException ex) {
+      throw new SdkClientException("Failed to upload " + file + ": " + ex.getMessage(), ex);
     }
-    buildS3Client().putObject(request);
   }
 
   /**
    * Upload the specified input stream and object metadata to Amazon S3 under
    * the specified bucket and key name.
+   * <p>
+   * If the content is compressed, set the content length in the metadata:
+   * without it the original length is only recorded when the compressed
+   * content fits in a single part.
    *
    * @param fileObjectKeyName The key under which to store the specified file.
    * @param inputStream       The input stream containing the data to be
@@ -365,14 +1093,59 @@ public class AwsS3 {
                  ? fileObjectKeyName.substring(1)
                  : fileObjectKeyName;
     /**
-     * When using an BufferedInputStream as data source, please remember to use
-     * a buffer of size no less than
-     * RequestClientOptions.DEFAULT_STREAM_BUFFER_SIZE while initializing the
-     * BufferedInputStream. This is to ensure that the SDK can correctly mark
-     * and reset the stream with enough memory buffer during signing and
-     * retries.
+     * The stream is checksummed (and optionally compressed) as it is read into
+     * a single PUT or, for large content, a multipart upload. Each request is
+     * sent from a memory buffer so the SDK need not mark and reset the stream.
      */
-    return buildS3Client().putObject(bucketName, key, inputStream, metadata);
+    try {
+      return executeOnce(Compartment.BULK_WRITE, key, () -> uploadStream(key, inputStream, metadata));
+    } catch (IOException ex) {
+      throw new SdkClientException("Failed to upload " + key + ": " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Open an output stream writing to a new object.
+   * <p>
+   * The content is uploaded in parts of {@value S3MultipartOutputStream#DEFAULT_PART_SIZE}
+   * bytes as it is written, so objects of any size can be written without
+   * knowing the length in advance and with bounded memory. If the compression
+   * policy selects a codec for the key the content is compressed as it is
+   * written. The object is created when the stream is closed.
+   *
+   * @param fileObjectKeyName The key under which to store the new object.
+   * @param metadata          OPTIONAL. The object metadata.
+   * @return an output stream; the caller must close it to create the object
+   * @throws IOException on IO error
+   * @since v1.7.0 added 10/18/26
+   */
+  public OutputStream newOutputStream(String fileObjectKeyName, ObjectMetadata metadata) throws IOException {
+    String key = fileObjectKeyName.startsWith("/")
+                 ? fileObjectKeyName.substring(1)
+                 : fileObjectKeyName;
+    S3CompressionCodec codec = getCodec(key);
+    return codec == null
+           ? new S3MultipartOutputStream(buildS3Client(), bucketName, key, metadata)
+           : codec.compress(new S3MultipartOutputStream(buildS3Client(), bucketName, key, buildCompressedMetadata(metadata, codec)));
+  }
+
+  /**
+   * Open an output stream writing the given bytes verbatim to a new object.
+   * <p>
+   * Like {@link #newOutputStream(String, ObjectMetadata)} but the compression
+   * policy is never applied, so that byte offsets written to the stream address
+   * the stored object (e.g. for ranged reads).
+   *
+   * @param fileObjectKeyName The key under which to store the new object.
+   * @param metadata          OPTIONAL. The object metadata.
+   * @return an output stream; the caller must close it to create the object
+   * @since v1.7.0 added 10/18/26
+   */
+  public S3MultipartOutputStream newMultipartOutputStream(String fileObjectKeyName, ObjectMetadata metadata) {
+    String key = fileObjectKeyName.startsWith("/")
+                 ? fileObjectKeyName.substring(1)
+                 : fileObjectKeyName;
+    return new S3MultipartOutputStream(buildS3Client(), bucketName, key, metadata);
   }
 
   /**
@@ -397,7 +1170,7 @@ public class AwsS3 {
     /**
      * Build a standard transfer manager using the underlying default S3 client.
      */
-    TransferManager tx = TransferManagerBuilder.standard().withS3Client(buildS3Client()).build();
+    TransferManager tx = buildTransferManager();
     /**
      * Inspect and optionally correct the fileObjectKeyName.
      */
@@ -420,6 +1193,10 @@ public class AwsS3 {
    * <p>
    * This triggers an asynchronous process. Check the progress and wait for the
    * download to complete before exiting.
+   * <p>
+   * The transfer manager reads and writes the files itself, so the transfer
+   * job does not apply. Use {@link ch.keybridge.aws.s3.S3DirectorySync} for a
+   * throttled directory transfer.
    *
    * @param virtualDirectoryKeyPrefix The key prefix of the virtual directory to
    *                                  upload to. Use the null or empty string to
@@ -441,7 +1218,7 @@ public class AwsS3 {
     /**
      * Build a standard transfer manager using the underlying default S3 client.
      */
-    TransferManager transferManager = TransferManagerBuilder.standard().withS3Client(buildS3Client()).build();
+    TransferManager transferManager = buildTransferManager();
     /**
      * bucketName - The name of the bucket to upload objects to.
      * <p>
@@ -468,6 +1245,8 @@ public class AwsS3 {
    * object's contents.
    * <p>
    * https://docs.aws.amazon.com/AmazonS3/latest/dev/RetrievingObjectUsingJava.html
+   * <p>
+   * Objects compressed on upload are decompressed.
    *
    * @param fileObjectKeyName The key where the online object is stored.
    * @param file              the local file to save the object
@@ -487,10 +1266,139 @@ public class AwsS3 {
      * type, content length, etc. Use try with resources to ensure that the
      * network connection doesn't remain open.
      */
-    try (S3Object s3Object = buildS3Client().getObject(new GetObjectRequest(bucketName, fileObjectKeyName));
-         S3ObjectInputStream inputStream = s3Object.getObjectContent()) {
-      Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
-    }
+    execute(Compartment.INTERACTIVE_READ, fileObjectKeyName, () -> {
+      try (S3Object s3Object = getObject(new GetObjectRequest(bucketName, fileObjectKeyName))) {
+        /**
+         * Verify the stored bytes as they stream to the file. The decompressor
+         * may stop before the end of the stored content, so skip (which reads
+         * and checksums) to the end to complete the verification.
+         */
+        InputStream stored = S3Checksum.forObject(s3Object.getObjectMetadata()).verifying(throttle(s3Object.getObjectContent()), fileObjectKeyName, s3Object.getObjectMetadata());
+        try (InputStream inputStream = getContent(s3Object, stored)) {
+          Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+          stored.skip(Long.MAX_VALUE);
+          return null;
+        } catch (IOException ex) {
+          Files.deleteIfExists(file);
+          throw ex;
+        }
+      }
+    });
+  }
+
+  /**
+   * Open an Object for reading.
+   * <p>
+   * Returns the object content as a stream read directly from the network
+   * connection. The caller must close the stream promptly to release the
+   * underlying HTTP connection. Objects compressed on upload are decompressed.
+   *
+   * @param fileObjectKeyName The key where the online object is stored.
+   * @return the object content
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @throws IOException            if the compressed content cannot be read
+   * @since v1.7.0 added 10/18/26
+   */
+  public InputStream getInputStream(String fileObjectKeyName) throws AmazonServiceException, SdkClientException, IOException {
+    return executeStream(Compartment.INTERACTIVE_READ, fileObjectKeyName, () -> {
+      S3Object s3Object = getObject(new GetObjectRequest(bucketName, fileObjectKeyName));
+      ObjectMetadata metadata = s3Object.getObjectMetadata();
+      try {
+        return getContent(s3Object, S3Checksum.forObject(metadata).verifying(throttle(s3Object.getObjectContent()), fileObjectKeyName, metadata));
+      } catch (IOException | RuntimeException ex) {
+        /**
+         * Release the connection if the content header cannot be read.
+         */
+        s3Object.close();
+        throw ex;
+      }
+    });
+  }
+
+  /**
+   * Open a byte range of an Object for reading.
+   * <p>
+   * Returns the specified inclusive byte range of the stored object content
+   * (see {@link #downloadRange(String, long, long)}) as a stream read directly
+   * from the network connection. The caller must close the stream promptly to
+   * release the underlying HTTP connection.
+   *
+   * @param fileObjectKeyName The key where the online object is stored.
+   * @param rangeStart        The start of the inclusive byte range to read.
+   * @param rangeEnd          The end of the inclusive byte range to read.
+   * @return the requested bytes
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @since v1.7.0 added 10/18/26
+   */
+  public InputStream getInputStream(String fileObjectKeyName, long rangeStart, long rangeEnd) throws AmazonServiceException, SdkClientException {
+    GetObjectRequest request = new GetObjectRequest(bucketName, fileObjectKeyName).withRange(rangeStart, rangeEnd);
+    return executeStream(Compartment.INTERACTIVE_READ, fileObjectKeyName, () -> throttle(getObject(request).getObjectContent()));
+  }
+
+  /**
+   * Open an Object for random access.
+   * <p>
+   * Returns a read-only channel over the stored object content that fetches
+   * fixed-size blocks with ranged GETs as they are read, caches recently used
+   * blocks and prefetches ahead of sequential reads. Use
+   * {@link java.nio.channels.Channels#newInputStream} for a stream view.
+   *
+   * @param fileObjectKeyName The key where the online object is stored.
+   * @return a seekable byte channel
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @since v1.7.0 added 10/18/26
+   */
+  public S3SeekableByteChannel newByteChannel(String fileObjectKeyName) throws AmazonServiceException, SdkClientException {
+    return new S3SeekableByteChannel(this, fileObjectKeyName, getObjectMetadata(fileObjectKeyName).getContentLength());
+  }
+
+  /**
+   * Get a byte range of an Object.
+   * <p>
+   * Downloads the specified range bytes of an object using the HTTP Range
+   * header. The range is inclusive; to read the first 10 bytes of an object
+   * specify rangeStart 0 and rangeEnd 9. If the range extends past the end of
+   * the object only the available bytes are returned.
+   * <p>
+   * The range addresses the stored bytes: ranges of compressed objects are
+   * returned compressed.
+   *
+   * @param fileObjectKeyName The key where the online object is stored.
+   * @param rangeStart        The start of the inclusive byte range to download.
+   * @param rangeEnd          The end of the inclusive byte range to download.
+   * @return the requested bytes
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @throws IOException            if the object content cannot be read
+   * @since v1.7.0 added 10/18/26
+   */
+  public byte[] downloadRange(String fileObjectKeyName, long rangeStart, long rangeEnd) throws AmazonServiceException, SdkClientException, IOException {
+    GetObjectRequest request = new GetObjectRequest(bucketName, fileObjectKeyName).withRange(rangeStart, rangeEnd);
+    return execute(Compartment.INTERACTIVE_READ, fileObjectKeyName, () -> {
+      try (S3Object s3Object = getObject(request);
+           S3ObjectInputStream inputStream = s3Object.getObjectContent()) {
+        return IOUtils.toByteArray(throttle(inputStream));
+      }
+    });
   }
 
   /**
@@ -534,6 +1442,10 @@ public class AwsS3 {
    * <p>
    * Important: This triggers an asynchronous process. Check the progress and
    * wait for the download to complete before exiting.
+   * <p>
+   * The transfer manager reads and writes the files itself, so the transfer
+   * job does not apply. Use {@link ch.keybridge.aws.s3.S3DirectorySync} for a
+   * throttled directory transfer.
    *
    * @param keyPrefix            The key prefix for the virtual directory, or
    *                             null for the entire bucket. All subdirectories
@@ -585,7 +1497,10 @@ public class AwsS3 {
    *                                response from Amazon S3.
    */
   public void delete(String fileObjectKeyName) throws AmazonServiceException, SdkClientException {
-    buildS3Client().deleteObject(new DeleteObjectRequest(bucketName, fileObjectKeyName));
+    execute(Compartment.BULK_WRITE, fileObjectKeyName, () -> {
+      buildS3Client().deleteObject(new DeleteObjectRequest(bucketName, fileObjectKeyName));
+      return null;
+    });
   }
 
   /**
@@ -623,7 +1538,7 @@ public class AwsS3 {
     DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName)
       .withQuiet(true)
       .withKeys(keys);
-    return buildS3Client().deleteObjects(request);
+    return execute(Compartment.BULK_WRITE, keys.isEmpty() ? null : keys.get(0).getKey(), () -> buildS3Client().deleteObjects(request));
   }
 
   /**
@@ -709,11 +1624,136 @@ public class AwsS3 {
     /**
      * Build a standard transfer manager using the underlying default S3 client.
      */
-    TransferManager transferManager = TransferManagerBuilder.standard().withS3Client(buildS3Client()).build();
+    TransferManager transferManager = buildTransferManager();
     return transferManager.copy(sourceBucketName, sourceKey, destinationBucketName, destinationKey);
 //    transferManager.cop
   }
 
+  /**
+   * Copy an object with a single server-side request and wait for the result.
+   * Unlike {@link #copy(String, String)} the request may replace the object
+   * metadata (see {@link CopyObjectRequest#setNewObjectMetadata}). A single
+   * request copies objects of up to 5 GB.
+   *
+   * @param request the copy request
+   * @return the copy result
+   * @throws AmazonClientException  If any errors are encountered in the client
+   *                                while making the request or handling the
+   *                                response.
+   * @throws AmazonServiceException If any errors occurred in Amazon S3 while
+   *                                processing the request.
+   * @since v1.7.0 added 10/18/26
+   */
+  public CopyObjectResult copyObject(CopyObjectRequest request) throws AmazonServiceException, SdkClientException {
+    return execute(Compartment.BULK_WRITE, request.getDestinationKey(), () -> buildS3Client().copyObject(request));
+  }
+
+  /**
+   * Copy an object with a multipart copy and wait for the result.
+   * <p>
+   * Copies the source object in byte ranges of partSize with server-side
+   * UploadPartCopy requests, so objects larger than the 5 GB limit of
+   * {@link #copyObject(CopyObjectRequest)} can be copied. The new object
+   * metadata of the request is applied if set; otherwise the source metadata
+   * is copied, as by a single copy. The storage class, canned ACL and source
+   * constraints of the request are applied. The part size is recorded in the metadata so that
+   * downloads can verify the content. The new object tagging of the request
+   * is applied if set; otherwise the source tags are copied. If a part fails
+   * the multipart upload is aborted.
+   *
+   * @param request    the copy request
+   * @param objectSize the source object size in bytes
+   * @param partSize   the part size in bytes; between 5 MB and 5 GB
+   * @return the result of completing the multipart upload
+   * @throws AmazonClientException  If any errors are encountered in the client
+   *                                while making the request or handling the
+   *                                response.
+   * @throws AmazonServiceException If any errors occurred in Amazon S3 while
+   *                                processing the request.
+   * @since v1.7.0 added 10/18/26
+   */
+  public CompleteMultipartUploadResult copyObjectMultipart(CopyObjectRequest request, long objectSize, long partSize) throws AmazonServiceException, SdkClientException {
+    AmazonS3 client = buildS3Client();
+    String key = request.getDestinationKey();
+    /**
+     * Unlike a single copy, a multipart upload does not carry the source
+     * metadata. The copy is chunked at partSize, which determines its ETag.
+     */
+    ObjectMetadata metadata;
+    if (request.getNewObjectMetadata() == null) {
+      GetObjectMetadataRequest headRequest = new GetObjectMetadataRequest(request.getSourceBucketName(), request.getSourceKey(), request.getSourceVersionId());
+      metadata = toCopiedMetadata(execute(Compartment.INTERACTIVE_READ, request.getSourceKey(), () -> client.getObjectMetadata(headRequest)));
+    } else {
+      metadata = request.getNewObjectMetadata().clone();
+    }
+    metadata.addUserMetadata(S3Checksum.METADATA_PART_SIZE, String.valueOf(partSize));
+    /**
+     * Nor does it carry the source tags.
+     */
+    ObjectTagging tagging = request.getNewObjectTagging();
+    if (tagging == null) {
+      GetObjectTaggingRequest tagRequest = new GetObjectTaggingRequest(request.getSourceBucketName(), request.getSourceKey(), request.getSourceVersionId());
+      List<Tag> tags = execute(Compartment.INTERACTIVE_READ, request.getSourceKey(), () -> client.getObjectTagging(tagRequest)).getTagSet();
+      tagging = tags == null || tags.isEmpty() ? null : new ObjectTagging(tags);
+    }
+    InitiateMultipartUploadRequest initiate = new InitiateMultipartUploadRequest(request.getDestinationBucketName(), key, metadata)
+      .withCannedACL(request.getCannedAccessControlList())
+      .withTagging(tagging);
+    if (request.getStorageClass() != null) {
+      initiate.setStorageClass(StorageClass.fromValue(request.getStorageClass()));
+    }
+    String uploadId = execute(Compartment.BULK_WRITE, key, () -> client.initiateMultipartUpload(initiate)).getUploadId();
+    try {
+      List<PartETag> partETags = new ArrayList<>();
+      for (long position = 0; position < objectSize; position += partSize) {
+        CopyPartRequest part = new CopyPartRequest()
+          .withSourceBucketName(request.getSourceBucketName())
+          .withSourceKey(request.getSourceKey())
+          .withSourceVersionId(request.getSourceVersionId())
+          .withDestinationBucketName(request.getDestinationBucketName())
+          .withDestinationKey(key)
+          .withUploadId(uploadId)
+          .withPartNumber(partETags.size() + 1)
+          .withFirstByte(position)
+          .withLastByte(Math.min(position + partSize, objectSize) - 1)
+          .withMatchingETagConstraints(request.getMatchingETagConstraints())
+          .withNonmatchingETagConstraints(request.getNonmatchingETagConstraints())
+          .withModifiedSinceConstraint(request.getModifiedSinceConstraint())
+          .withUnmodifiedSinceConstraint(request.getUnmodifiedSinceConstraint());
+        partETags.add(execute(Compartment.BULK_WRITE, key, () -> client.copyPart(part)).getPartETag());
+      }
+      return execute(Compartment.BULK_WRITE, key, () -> client.completeMultipartUpload(new CompleteMultipartUploadRequest(request.getDestinationBucketName(), key, uploadId, partETags)));
+    } catch (AmazonClientException ex) {
+      try {
+        client.abortMultipartUpload(new AbortMultipartUploadRequest(request.getDestinationBucketName(), key, uploadId));
+      } catch (AmazonClientException abort) {
+        LOG.log(Level.WARNING, "Failed to abort multipart copy {0} of {1}: {2}", new Object[]{uploadId, key, abort.getMessage()});
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * Internal method to copy the content headers and user metadata of a source
+   * object. Response headers such as the length, ETag and modification time
+   * are not copied.
+   *
+   * @param metadata the source metadata
+   * @return new metadata
+   */
+  private static ObjectMetadata toCopiedMetadata(ObjectMetadata metadata) {
+    ObjectMetadata copy = new ObjectMetadata();
+    for (String header : COPIED_HEADERS) {
+      Object value = metadata.getRawMetadataValue(header);
+      if (value != null) {
+        copy.setHeader(header, value);
+      }
+    }
+    copy.setHttpExpiresDate(metadata.getHttpExpiresDate());
+    copy.setUserMetadata(new TreeMap<>(metadata.getUserMetadata()));
+    return copy;
+  }
+
   /**
    * Get S3 object URL.
    *
@@ -723,4 +1763,33 @@ public class AwsS3 {
   public String getUrl(String objectKey) {
     return buildS3Client().getUrl(bucketName, objectKey).toString();
   }
+
+  /**
+   * Get the presigner of this bucket. Presigning is a local computation; the
+   * presigner caches its signing key, so reuse it to generate many URLs.
+   *
+   * @return the presigner
+   * @since v1.7.0 added 10/18/26
+   */
+  public synchronized S3Presigner getPresigner() {
+    if (presigner == null) {
+      AWSCredentialsProvider credentialsProvider = awsAccessKeyId != null && awsSecretAccessKey != null
+                                                   ? new AWSStaticCredentialsProvider(new BasicAWSCredentials(awsAccessKeyId, awsSecretAccessKey))
+                                                   : AwsCredentialsProvider.getProfile();
+      presigner = new S3Presigner(credentialsProvider, region == null ? Regions.US_EAST_1 : region, bucketName);
+    }
+    return presigner;
+  }
+
+  /**
+   * Get a presigned GET URL of an S3 object.
+   *
+   * @param objectKey      The name of the Amazon S3 object.
+   * @param expiresSeconds the URL lifetime in seconds; at most 7 days
+   * @return the presigned URL
+   * @since v1.7.0 added 10/18/26
+   */
+  public String getPresignedUrl(String objectKey, int expiresSeconds) {
+    return getPresigner().presign(objectKey, expiresSeconds);
+  }
 }
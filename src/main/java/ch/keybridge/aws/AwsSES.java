@@ -74,7 +74,10 @@ public class AwsSES {
   public void sendMail(String recipientEmail, String senderEmail, String subject, String htmlMessageContent, String textMessageContent) {
     try {
       // Replace US_WEST_2 with the AWS Region you're using for Amazon SES.
-      AmazonSimpleEmailService client = AmazonSimpleEmailServiceClientBuilder.standard().withRegion(Regions.US_EAST_1).build();
+      AmazonSimpleEmailService client = AmazonSimpleEmailServiceClientBuilder.standard()
+        .withCredentials(AwsCredentialsProvider.getDefault())
+        .withRegion(Regions.US_EAST_1)
+        .build();
 
       SendEmailRequest request = new SendEmailRequest()
         .withSource(senderEmail) // From
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of equally sized byte arrays.
+ * <p>
+ * Reusing large transfer buffers avoids allocating (and zeroing, and later
+ * collecting) a new multi-megabyte array for every block read. At most
+ * maxBuffers released buffers are kept; further buffers are left to the
+ * garbage collector.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3BufferPool {
+
+  /**
+   * The buffer size.
+   */
+  private final int bufferSize;
+  /**
+   * The maximum number of pooled buffers.
+   */
+  private final int maxBuffers;
+  /**
+   * The pooled buffers.
+   */
+  private final Queue<byte[]> buffers = new ConcurrentLinkedQueue<>();
+  /**
+   * The number of pooled buffers.
+   */
+  private final AtomicInteger pooled = new AtomicInteger();
+
+  /**
+   * Construct a new buffer pool.
+   *
+   * @param bufferSize the buffer size in bytes
+   * @param maxBuffers the maximum number of pooled buffers
+   */
+  public S3BufferPool(int bufferSize, int maxBuffers) {
+    this.bufferSize = bufferSize;
+    this.maxBuffers = maxBuffers;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Get the number of buffers currently pooled.
+   *
+   * @return the number of pooled buffers
+   */
+  public int getPooled() {
+    return pooled.get();
+  }
+
+  /**
+   * Take a buffer from the pool, or allocate a new one if the pool is empty.
+   * The buffer content is undefined.
+   *
+   * @return a buffer of bufferSize bytes
+   */
+  public byte[] acquire() {
+    byte[] buffer = buffers.poll();
+    if (buffer == null) {
+      return new byte[bufferSize];
+    }
+    pooled.decrementAndGet();
+    return buffer;
+  }
+
+  /**
+   * Return a buffer to the pool. Buffers of another size, or beyond the pool
+   * capacity, are discarded. The caller must not use the buffer afterwards.
+   *
+   * @param buffer the buffer
+   */
+  public void release(byte[] buffer) {
+    if (buffer != null && buffer.length == bufferSize && pooled.incrementAndGet() <= maxBuffers) {
+      buffers.offer(buffer);
+    } else if (buffer != null && buffer.length == bufferSize) {
+      pooled.decrementAndGet();
+    }
+  }
+}
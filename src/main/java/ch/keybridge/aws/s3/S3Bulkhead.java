@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.AbortedException;
+import com.amazonaws.SdkClientException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead isolating classes of S3 requests from each other.
+ * <p>
+ * Each operation class (a compartment) has its own concurrency limit, so that
+ * a burst of one class, such as a bulk directory upload, cannot take every
+ * connection and thread and starve the others, such as interactive downloads.
+ * A request waits up to {@code maxWait} for a permit of its compartment and is
+ * otherwise rejected with an SdkClientException.
+ * <p>
+ * Example: at most 4 concurrent writes and 2 listings; reads wait up to 1
+ * second.
+ * <pre>
+ * S3Bulkhead bulkhead = new S3Bulkhead()
+ *   .withLimit(S3Bulkhead.Compartment.BULK_WRITE, 4)
+ *   .withLimit(S3Bulkhead.Compartment.LISTING, 2)
+ *   .withMaxWait(1, TimeUnit.SECONDS);
+ * </pre> The limits should be set before the bulkhead is used.
+ * <p>
+ * This class is thread-safe. Install it on an AwsS3 client with
+ * {@code AwsS3.setBulkhead}.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3Bulkhead {
+
+  /**
+   * The S3 operation classes.
+   */
+  public enum Compartment {
+    /**
+     * Object reads: GET and HEAD.
+     */
+    INTERACTIVE_READ(64),
+    /**
+     * Object writes: PUT, COPY and DELETE.
+     */
+    BULK_WRITE(16),
+    /**
+     * Bucket listings.
+     */
+    LISTING(8);
+
+    /**
+     * The default concurrency limit.
+     */
+    private final int defaultLimit;
+
+    private Compartment(int defaultLimit) {
+      this.defaultLimit = defaultLimit;
+    }
+  }
+
+  /**
+   * The state of each compartment.
+   */
+  private final Map<Compartment, State> states = new EnumMap<>(Compartment.class);
+  /**
+   * 0 (no wait). The maximum time to wait for a permit, in nanoseconds.
+   */
+  private long maxWaitNanos;
+
+  /**
+   * Construct a new bulkhead with the default limit of each compartment.
+   */
+  public S3Bulkhead() {
+    for (Compartment compartment : Compartment.values()) {
+      states.put(compartment, new State(compartment.defaultLimit));
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public int getLimit(Compartment compartment) {
+    return states.get(compartment).limit;
+  }
+
+  /**
+   * Set the concurrency limit of a compartment.
+   *
+   * @param compartment the compartment
+   * @param limit       the maximum number of concurrent requests
+   */
+  public void setLimit(Compartment compartment, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be at least 1");
+    }
+    states.put(compartment, new State(limit));
+  }
+
+  public S3Bulkhead withLimit(Compartment compartment, int limit) {
+    setLimit(compartment, limit);
+    return this;
+  }
+
+  public long getMaxWait(TimeUnit unit) {
+    return unit.convert(maxWaitNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void setMaxWait(long maxWait, TimeUnit unit) {
+    this.maxWaitNanos = unit.toNanos(maxWait);
+  }
+
+  public S3Bulkhead withMaxWait(long maxWait, TimeUnit unit) {
+    setMaxWait(maxWait, unit);
+    return this;
+  }//</editor-fold>
+
+  /**
+   * Get the number of requests of a compartment currently executing.
+   *
+   * @param compartment the compartment
+   * @return the active request count
+   */
+  public int getActiveCount(Compartment compartment) {
+    State state = states.get(compartment);
+    return state.limit - state.permits.availablePermits();
+  }
+
+  /**
+   * Get the number of requests of a compartment rejected because it was
+   * full.
+   *
+   * @param compartment the compartment
+   * @return the rejected request count
+   */
+  public long getRejectedCount(Compartment compartment) {
+    return states.get(compartment).rejected.sum();
+  }
+
+  /**
+   * Get the number of requests of a compartment executed.
+   *
+   * @param compartment the compartment
+   * @return the executed request count
+   */
+  public long getExecutedCount(Compartment compartment) {
+    return states.get(compartment).executed.sum();
+  }
+
+  /**
+   * Execute an S3 request within the concurrency limit of its compartment.
+   *
+   * @param <T>         the operation result type
+   * @param <E>         the operation checked exception type
+   * @param compartment the operation class
+   * @param operation   the S3 request
+   * @return the request result
+   * @throws E                  on operation error
+   * @throws SdkClientException if the compartment is full
+   */
+  public <T, E extends Exception> T execute(Compartment compartment, S3Operation<T, E> operation) throws E {
+    State state = acquire(compartment);
+    try {
+      state.executed.increment();
+      return operation.execute();
+    } finally {
+      state.permits.release();
+    }
+  }
+
+  /**
+   * Execute an S3 request returning a content stream within the concurrency
+   * limit of its compartment. The permit is held until the stream is closed,
+   * so the connection reading the content counts against the limit.
+   *
+   * @param <E>         the operation checked exception type
+   * @param compartment the operation class
+   * @param operation   the S3 request
+   * @return the content stream; releases the permit when closed
+   * @throws E                  on operation error
+   * @throws SdkClientException if the compartment is full
+   */
+  public <E extends Exception> InputStream open(Compartment compartment, S3Operation<InputStream, E> operation) throws E {
+    State state = acquire(compartment);
+    InputStream inputStream = null;
+    try {
+      state.executed.increment();
+      inputStream = operation.execute();
+    } finally {
+      if (inputStream == null) {
+        state.permits.release();
+      }
+    }
+    AtomicBoolean released = new AtomicBoolean();
+    return new FilterInputStream(inputStream) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          if (released.compareAndSet(false, true)) {
+            state.permits.release();
+          }
+        }
+      }
+    };
+  }
+
+  /**
+   * Wait up to maxWait for a permit of a compartment.
+   *
+   * @param compartment the operation class
+   * @return the compartment state, of which a permit was acquired
+   * @throws SdkClientException if the compartment is full
+   */
+  private State acquire(Compartment compartment) {
+    State state = states.get(compartment);
+    try {
+      if (!state.permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+        state.rejected.increment();
+        throw new SdkClientException("S3 bulkhead " + compartment + " is full (" + state.limit + " concurrent requests)");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new AbortedException(ex);
+    }
+    return state;
+  }
+
+  /**
+   * The limit, permits and counters of a compartment.
+   */
+  private static class State {
+
+    private final int limit;
+    private final Semaphore permits;
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    State(int limit) {
+      this.limit = limit;
+      this.permits = new Semaphore(limit);
+    }
+  }
+}
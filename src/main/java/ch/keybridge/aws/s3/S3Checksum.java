@@ -0,0 +1,414 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.SSEAlgorithm;
+import com.amazonaws.services.s3.internal.ServerSideEncryptionResult;
+import com.amazonaws.util.Base64;
+import com.amazonaws.util.BinaryUtils;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Incremental integrity checksums of S3 object content.
+ * <p>
+ * Computes the MD5 digest (per part, for multipart uploads) and the CRC-32C
+ * checksum of content as it streams through an upload or download, so that
+ * verification costs no additional pass over the data.
+ * <p>
+ * The MD5 digests reproduce the S3 ETag: for single-part objects the hex MD5
+ * of the content, and for multipart objects the hex MD5 of the concatenated
+ * binary part digests followed by "-" and the number of parts. The CRC-32C
+ * checksum is stored in the {@value #METADATA_CRC32C} user metadata of
+ * single-part uploads, and the part size in the {@value #METADATA_PART_SIZE}
+ * user metadata of multipart uploads, so that downloads can verify both.
+ * <p>
+ * ETags of objects encrypted with SSE-KMS or SSE-C are not MD5 digests and are
+ * not compared.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3Checksum {
+
+  /**
+   * "crc32c". The user metadata key of the base64 encoded big-endian CRC-32C
+   * checksum of the stored content.
+   */
+  public static final String METADATA_CRC32C = "crc32c";
+  /**
+   * "part-size". The user metadata key of the part size of a multipart upload.
+   */
+  public static final String METADATA_PART_SIZE = "part-size";
+
+  /**
+   * The part size. Long.MAX_VALUE for single-part content.
+   */
+  private final long partSize;
+  /**
+   * The MD5 digest of the current part; null if MD5 is not computed.
+   */
+  private final MessageDigest md5;
+  /**
+   * The CRC-32C checksum of the whole content.
+   */
+  private final S3Crc32c crc32c = new S3Crc32c();
+  /**
+   * The concatenated 16-byte MD5 digests of the completed parts.
+   */
+  private byte[] partDigests = new byte[16 * 16];
+  /**
+   * The number of completed parts.
+   */
+  private int parts;
+  /**
+   * The number of bytes in the current part.
+   */
+  private long partBytes;
+  /**
+   * The total number of bytes.
+   */
+  private long length;
+  private boolean finished;
+
+  /**
+   * Construct a new checksum of single-part content.
+   */
+  public S3Checksum() {
+    this(Long.MAX_VALUE, true);
+  }
+
+  /**
+   * Construct a new checksum of multipart content.
+   *
+   * @param partSize the part size in bytes
+   */
+  public S3Checksum(long partSize) {
+    this(partSize, true);
+  }
+
+  private S3Checksum(long partSize, boolean digest) {
+    if (partSize <= 0) {
+      throw new IllegalArgumentException("Part size must be positive");
+    }
+    this.partSize = partSize;
+    try {
+      this.md5 = digest ? MessageDigest.getInstance("MD5") : null;
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Construct a checksum to verify a downloaded object.
+   * <p>
+   * MD5 is computed only for multipart objects uploaded with a recorded part
+   * size: the SDK already validates the MD5 of complete single-part downloads,
+   * and other multipart ETags cannot be reproduced.
+   *
+   * @param metadata the object metadata
+   * @return a new checksum
+   */
+  public static S3Checksum forObject(ObjectMetadata metadata) {
+    String eTag = metadata.getETag();
+    String partSize = metadata.getUserMetaDataOf(METADATA_PART_SIZE);
+    if (eTag != null && eTag.contains("-") && partSize != null && !isEncrypted(metadata)) {
+      try {
+        return new S3Checksum(Long.parseLong(partSize), true);
+      } catch (IllegalArgumentException ex) {
+        // ignore an invalid part size; the CRC-32C is still computed
+      }
+    }
+    return new S3Checksum(Long.MAX_VALUE, false);
+  }
+
+  /**
+   * Update the checksum with one byte.
+   *
+   * @param b the byte
+   */
+  public void update(int b) {
+    crc32c.update(b);
+    length++;
+    if (md5 != null) {
+      md5.update((byte) b);
+      if (++partBytes == partSize) {
+        endPart();
+      }
+    }
+  }
+
+  /**
+   * Update the checksum with an array of bytes.
+   *
+   * @param b   the bytes
+   * @param off the start offset
+   * @param len the number of bytes
+   */
+  public void update(byte[] b, int off, int len) {
+    crc32c.update(b, off, len);
+    length += len;
+    if (md5 == null) {
+      return;
+    }
+    while (len > 0) {
+      int n = (int) Math.min(len, partSize - partBytes);
+      md5.update(b, off, n);
+      partBytes += n;
+      off += n;
+      len -= n;
+      if (partBytes == partSize) {
+        endPart();
+      }
+    }
+  }
+
+  /**
+   * Complete the last part. Called implicitly by the getters.
+   */
+  public void finish() {
+    if (!finished) {
+      finished = true;
+      if (md5 != null && (partBytes > 0 || parts == 0)) {
+        endPart();
+      }
+    }
+  }
+
+  private void endPart() {
+    if ((parts + 1) * 16 > partDigests.length) {
+      partDigests = Arrays.copyOf(partDigests, partDigests.length * 2);
+    }
+    System.arraycopy(md5.digest(), 0, partDigests, parts * 16, 16);
+    parts++;
+    partBytes = 0;
+  }
+
+  /**
+   * Get the total number of bytes.
+   *
+   * @return the length
+   */
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Get the number of completed parts.
+   *
+   * @return the number of parts
+   */
+  public int getParts() {
+    return parts;
+  }
+
+  /**
+   * Get the MD5 digest of a completed part.
+   *
+   * @param partNumber the part number, starting at 1
+   * @return the 16-byte MD5 digest
+   */
+  public byte[] getPartDigest(int partNumber) {
+    if (md5 == null || partNumber < 1 || partNumber > parts) {
+      throw new IllegalArgumentException("Part " + partNumber + " is not complete");
+    }
+    return Arrays.copyOfRange(partDigests, (partNumber - 1) * 16, partNumber * 16);
+  }
+
+  /**
+   * Get the expected ETag of the content: the hex MD5 for single-part content
+   * or the multipart form "md5-parts".
+   *
+   * @return the ETag; null if MD5 is not computed
+   */
+  public String getETag() {
+    finish();
+    if (md5 == null) {
+      return null;
+    }
+    if (partSize == Long.MAX_VALUE) {
+      return BinaryUtils.toHex(getPartDigest(1));
+    }
+    md5.reset();
+    md5.update(partDigests, 0, parts * 16);
+    return BinaryUtils.toHex(md5.digest()) + "-" + parts;
+  }
+
+  /**
+   * Get the CRC-32C checksum of the content.
+   *
+   * @return the CRC-32C checksum
+   */
+  public long getCrc32c() {
+    return crc32c.getValue();
+  }
+
+  /**
+   * Get the base64 encoded big-endian CRC-32C checksum of the content, the
+   * format of {@value #METADATA_CRC32C} metadata.
+   *
+   * @return the encoded checksum
+   */
+  public String getCrc32cBase64() {
+    int value = (int) crc32c.getValue();
+    return Base64.encodeAsString(new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value});
+  }
+
+  /**
+   * Verify the content against an ETag.
+   *
+   * @param key        the object key, for the error message
+   * @param eTag       the ETag returned by S3
+   * @param encryption the encryption of the object
+   * @throws SdkClientException if the ETag is comparable and does not match
+   */
+  public void verifyETag(String key, String eTag, ServerSideEncryptionResult encryption) throws SdkClientException {
+    verifyETag(key, getETag(), eTag, encryption);
+  }
+
+  /**
+   * Verify an expected ETag against the ETag returned by S3.
+   *
+   * @param key        the object key, for the error message
+   * @param expected   the expected ETag; if null nothing is verified
+   * @param eTag       the ETag returned by S3
+   * @param encryption the encryption of the object
+   * @throws SdkClientException if the ETag is comparable and does not match
+   */
+  public static void verifyETag(String key, String expected, String eTag, ServerSideEncryptionResult encryption) throws SdkClientException {
+    if (expected == null || eTag == null || isEncrypted(encryption)) {
+      return;
+    }
+    String actual = eTag.startsWith("\"") ? eTag.substring(1, eTag.length() - 1) : eTag;
+    if (!expected.equalsIgnoreCase(actual)) {
+      throw new SdkClientException("Integrity check failed for " + key + ": expected ETag " + expected + " but found " + actual);
+    }
+  }
+
+  /**
+   * Verify downloaded content against its object metadata: the content length,
+   * the stored CRC-32C checksum (if any) and the ETag (if computed).
+   *
+   * @param key      the object key, for the error message
+   * @param metadata the object metadata
+   * @throws SdkClientException on mismatch
+   */
+  public void verify(String key, ObjectMetadata metadata) throws SdkClientException {
+    finish();
+    if (metadata.getRawMetadataValue(Headers.CONTENT_LENGTH) != null && metadata.getContentLength() != length) {
+      throw new SdkClientException("Integrity check failed for " + key + ": expected " + metadata.getContentLength() + " bytes but read " + length);
+    }
+    String crc = metadata.getUserMetaDataOf(METADATA_CRC32C);
+    if (crc != null && !crc.equals(getCrc32cBase64())) {
+      throw new SdkClientException("Integrity check failed for " + key + ": expected CRC32C " + crc + " but found " + getCrc32cBase64());
+    }
+    verifyETag(key, metadata.getETag(), metadata);
+  }
+
+  /**
+   * Wrap an input stream so that bytes read update this checksum and the
+   * content is verified against the object metadata when the end of the
+   * stream is reached. A mismatch is reported as an IOException from the
+   * read that reaches the end.
+   *
+   * @param inputStream the object content
+   * @param key         the object key, for the error message
+   * @param metadata    the object metadata
+   * @return a verifying input stream
+   */
+  public InputStream verifying(InputStream inputStream, String key, ObjectMetadata metadata) {
+    return new FilterInputStream(inputStream) {
+      @Override
+      public int read() throws IOException {
+        int b = super.read();
+        if (b == -1) {
+          end();
+        } else {
+          update(b);
+        }
+        return b;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n == -1) {
+          end();
+        } else {
+          update(b, off, n);
+        }
+        return n;
+      }
+
+      @Override
+      public long skip(long n) throws IOException {
+        /**
+         * Skipped bytes must still be checksummed.
+         */
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+          int count = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+          if (count == -1) {
+            break;
+          }
+          skipped += count;
+        }
+        return skipped;
+      }
+
+      @Override
+      public boolean markSupported() {
+        return false;
+      }
+
+      private void end() throws IOException {
+        if (!finished) {
+          try {
+            verify(key, metadata);
+          } catch (SdkClientException ex) {
+            throw new IOException(ex.getMessage(), ex);
+          }
+        }
+      }
+    };
+  }
+
+  /**
+   * Determine whether an object is encrypted with a key other than the S3
+   * managed key, in which case its ETag is not an MD5 digest.
+   *
+   * @param encryption the object encryption
+   * @return true if the ETag is not an MD5 digest
+   */
+  private static boolean isEncrypted(ServerSideEncryptionResult encryption) {
+    return encryption != null
+           && (SSEAlgorithm.KMS.getAlgorithm().equals(encryption.getSSEAlgorithm())
+               || encryption.getSSECustomerAlgorithm() != null);
+  }
+}
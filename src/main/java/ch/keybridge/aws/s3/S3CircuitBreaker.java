@@ -0,0 +1,511 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.s3.S3Bulkhead.Compartment;
+import com.amazonaws.AbortedException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker failing S3 requests fast while S3 is degraded.
+ * <p>
+ * The breaker keeps one circuit per {@link Compartment}, so that slow bulk
+ * transfers cannot open the circuit of interactive requests (and a degraded
+ * listing cannot block reads). Each circuit records the outcome of the most
+ * recent {@code windowSize} requests of its compartment. A request fails if S3
+ * cannot be reached or responds with a server error (5xx other than
+ * throttling, which the rate limiter handles), and is slow if it takes longer
+ * than the {@code slowCallDuration} of its compartment. Time the calling
+ * thread spends waiting for transfer bandwidth (see
+ * {@link S3TransferScheduler}) is not counted, so throttled transfers are not
+ * slow calls. Client errors such as 404 Not Found are successful calls as far
+ * as the breaker is concerned.
+ * <ul>
+ * <li>CLOSED: requests pass. Once at least {@code minCalls} are recorded and
+ * the failure rate or slow call rate reaches its threshold the circuit
+ * opens.</li>
+ * <li>OPEN: requests are rejected immediately with an SdkClientException. After
+ * {@code openDuration} the circuit half-opens.</li>
+ * <li>HALF_OPEN: up to {@code halfOpenCalls} probe requests pass. If they all
+ * succeed the circuit closes; any failure (or slow call) opens it again.</li>
+ * </ul>
+ * <p>
+ * This class is thread-safe. Install it on an AwsS3 client with
+ * {@code AwsS3.setCircuitBreaker}.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3CircuitBreaker {
+
+  private static final Logger LOG = Logger.getLogger(S3CircuitBreaker.class.getName());
+
+  /**
+   * The circuit breaker states.
+   */
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  /**
+   * 100. The number of recent outcomes recorded per compartment.
+   */
+  private int windowSize = 100;
+  /**
+   * 20. The minimum number of recorded outcomes before a circuit may open.
+   */
+  private int minCalls = 20;
+  /**
+   * 0.5. The failure rate opening a circuit.
+   */
+  private double failureRateThreshold = 0.5;
+  /**
+   * 0.5. The slow call rate opening a circuit.
+   */
+  private double slowCallRateThreshold = 0.5;
+  /**
+   * 30 seconds. The time a circuit stays open before probing.
+   */
+  private long openNanos = TimeUnit.SECONDS.toNanos(30);
+  /**
+   * 5. The number of probe calls in the half-open state.
+   */
+  private int halfOpenCalls = 5;
+
+  /**
+   * The circuit of each compartment.
+   */
+  private final Map<Compartment, Circuit> circuits = new EnumMap<>(Compartment.class);
+
+  /**
+   * The number of successful, failed, slow and rejected calls, and the number
+   * of times a circuit opened.
+   */
+  private final LongAdder successCount = new LongAdder();
+  private final LongAdder failureCount = new LongAdder();
+  private final LongAdder slowCount = new LongAdder();
+  private final LongAdder rejectedCount = new LongAdder();
+  private final LongAdder openCount = new LongAdder();
+
+  /**
+   * Construct a new circuit breaker with a closed circuit per compartment.
+   */
+  public S3CircuitBreaker() {
+    for (Compartment compartment : Compartment.values()) {
+      circuits.put(compartment, new Circuit(compartment));
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  public synchronized void setWindowSize(int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Window size must be at least 1");
+    }
+    this.windowSize = windowSize;
+    circuits.values().forEach(Circuit::resetWindow);
+  }
+
+  public S3CircuitBreaker withWindowSize(int windowSize) {
+    setWindowSize(windowSize);
+    return this;
+  }
+
+  public int getMinCalls() {
+    return minCalls;
+  }
+
+  public void setMinCalls(int minCalls) {
+    this.minCalls = minCalls;
+  }
+
+  public S3CircuitBreaker withMinCalls(int minCalls) {
+    this.minCalls = minCalls;
+    return this;
+  }
+
+  public double getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  public void setFailureRateThreshold(double failureRateThreshold) {
+    this.failureRateThreshold = failureRateThreshold;
+  }
+
+  public S3CircuitBreaker withFailureRateThreshold(double failureRateThreshold) {
+    this.failureRateThreshold = failureRateThreshold;
+    return this;
+  }
+
+  public double getSlowCallRateThreshold() {
+    return slowCallRateThreshold;
+  }
+
+  public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+    this.slowCallRateThreshold = slowCallRateThreshold;
+  }
+
+  public S3CircuitBreaker withSlowCallRateThreshold(double slowCallRateThreshold) {
+    this.slowCallRateThreshold = slowCallRateThreshold;
+    return this;
+  }
+
+  public synchronized long getSlowCallDuration(Compartment compartment, TimeUnit unit) {
+    return unit.convert(circuits.get(compartment).slowCallNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Set the slow call duration of all compartments.
+   *
+   * @param duration the duration
+   * @param unit     the duration unit
+   */
+  public synchronized void setSlowCallDuration(long duration, TimeUnit unit) {
+    circuits.values().forEach(circuit -> circuit.slowCallNanos = unit.toNanos(duration));
+  }
+
+  public S3CircuitBreaker withSlowCallDuration(long duration, TimeUnit unit) {
+    setSlowCallDuration(duration, unit);
+    return this;
+  }
+
+  /**
+   * Set the slow call duration of a compartment. Calls include whole uploads
+   * and downloads, so the duration of a compartment carrying transfers should
+   * exceed the longest expected transfer.
+   *
+   * @param compartment the compartment
+   * @param duration    the duration
+   * @param unit        the duration unit
+   */
+  public synchronized void setSlowCallDuration(Compartment compartment, long duration, TimeUnit unit) {
+    circuits.get(compartment).slowCallNanos = unit.toNanos(duration);
+  }
+
+  public S3CircuitBreaker withSlowCallDuration(Compartment compartment, long duration, TimeUnit unit) {
+    setSlowCallDuration(compartment, duration, unit);
+    return this;
+  }
+
+  public long getOpenDuration(TimeUnit unit) {
+    return unit.convert(openNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void setOpenDuration(long duration, TimeUnit unit) {
+    this.openNanos = unit.toNanos(duration);
+  }
+
+  public S3CircuitBreaker withOpenDuration(long duration, TimeUnit unit) {
+    setOpenDuration(duration, unit);
+    return this;
+  }
+
+  public int getHalfOpenCalls() {
+    return halfOpenCalls;
+  }
+
+  public void setHalfOpenCalls(int halfOpenCalls) {
+    this.halfOpenCalls = halfOpenCalls;
+  }
+
+  public S3CircuitBreaker withHalfOpenCalls(int halfOpenCalls) {
+    this.halfOpenCalls = halfOpenCalls;
+    return this;
+  }//</editor-fold>
+
+  /**
+   * Get the current state of a compartment. An open circuit whose open
+   * duration has elapsed reports HALF_OPEN.
+   *
+   * @param compartment the compartment
+   * @return the state
+   */
+  public synchronized State getState(Compartment compartment) {
+    Circuit circuit = circuits.get(compartment);
+    if (circuit.state == State.OPEN && System.nanoTime() - circuit.openedAt >= openNanos) {
+      return State.HALF_OPEN;
+    }
+    return circuit.state;
+  }
+
+  /**
+   * Get the failure rate of the recorded outcomes of a compartment.
+   *
+   * @param compartment the compartment
+   * @return the failure rate, between 0 and 1
+   */
+  public synchronized double getFailureRate(Compartment compartment) {
+    return circuits.get(compartment).getFailureRate();
+  }
+
+  /**
+   * Get the slow call rate of the recorded outcomes of a compartment.
+   *
+   * @param compartment the compartment
+   * @return the slow call rate, between 0 and 1
+   */
+  public synchronized double getSlowCallRate(Compartment compartment) {
+    return circuits.get(compartment).getSlowCallRate();
+  }
+
+  public long getSuccessCount() {
+    return successCount.sum();
+  }
+
+  public long getFailureCount() {
+    return failureCount.sum();
+  }
+
+  public long getSlowCount() {
+    return slowCount.sum();
+  }
+
+  /**
+   * Get the number of calls rejected while a circuit was open.
+   *
+   * @return the rejected call count
+   */
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  /**
+   * Get the number of times a circuit opened.
+   *
+   * @return the open count
+   */
+  public long getOpenCount() {
+    return openCount.sum();
+  }
+
+  /**
+   * Execute an S3 request if the circuit of its compartment permits, recording
+   * its outcome.
+   *
+   * @param <T>         the operation result type
+   * @param <E>         the operation checked exception type
+   * @param compartment the operation class
+   * @param operation   the S3 request
+   * @return the request result
+   * @throws E                  on operation error
+   * @throws SdkClientException if the circuit is open
+   */
+  public <T, E extends Exception> T execute(Compartment compartment, S3Operation<T, E> operation) throws E {
+    Circuit circuit = circuits.get(compartment);
+    acquirePermission(circuit);
+    long start = System.nanoTime() - S3TransferScheduler.getThreadWaitNanos();
+    try {
+      T result = operation.execute();
+      onResult(circuit, false, elapsedSince(start));
+      return result;
+    } catch (AmazonServiceException ex) {
+      onResult(circuit, ex.getStatusCode() >= 500 && !S3RateLimiter.isThrottled(ex), elapsedSince(start));
+      throw ex;
+    } catch (AbortedException ex) {
+      onIgnored(circuit);
+      throw ex;
+    } catch (SdkClientException ex) {
+      onResult(circuit, true, elapsedSince(start));
+      throw ex;
+    } catch (Exception | Error ex) {
+      /**
+       * Local errors (such as writing a downloaded file) say nothing about S3.
+       */
+      onIgnored(circuit);
+      throw ex;
+    }
+  }
+
+  /**
+   * Get the call duration, excluding the time waited for transfer bandwidth.
+   *
+   * @param start the start time less the bandwidth wait time of the thread
+   * @return the duration in nanoseconds
+   */
+  private static long elapsedSince(long start) {
+    return System.nanoTime() - S3TransferScheduler.getThreadWaitNanos() - start;
+  }
+
+  /**
+   * Admit a call or reject it with an SdkClientException.
+   */
+  private synchronized void acquirePermission(Circuit circuit) {
+    if (circuit.state == State.OPEN) {
+      if (System.nanoTime() - circuit.openedAt < openNanos) {
+        rejectedCount.increment();
+        throw new SdkClientException("S3 circuit breaker " + circuit.compartment + " is open");
+      }
+      circuit.transition(State.HALF_OPEN);
+    }
+    if (circuit.state == State.HALF_OPEN) {
+      if (circuit.probesStarted >= halfOpenCalls) {
+        rejectedCount.increment();
+        throw new SdkClientException("S3 circuit breaker " + circuit.compartment + " is half-open and probing");
+      }
+      circuit.probesStarted++;
+    }
+  }
+
+  /**
+   * Record the outcome of a call.
+   *
+   * @param circuit the circuit of the call
+   * @param failed  true if the call failed
+   * @param nanos   the call duration
+   */
+  private synchronized void onResult(Circuit circuit, boolean failed, long nanos) {
+    boolean slow = nanos > circuit.slowCallNanos;
+    if (failed) {
+      failureCount.increment();
+    } else {
+      successCount.increment();
+    }
+    if (slow) {
+      slowCount.increment();
+    }
+    switch (circuit.state) {
+      case CLOSED:
+        circuit.record(failed, slow);
+        if (circuit.outcomeCount >= minCalls
+            && (circuit.getFailureRate() >= failureRateThreshold || circuit.getSlowCallRate() >= slowCallRateThreshold)) {
+          circuit.transition(State.OPEN);
+        }
+        break;
+      case HALF_OPEN:
+        if (failed || slow) {
+          circuit.transition(State.OPEN);
+        } else if (++circuit.probesSucceeded >= halfOpenCalls) {
+          circuit.transition(State.CLOSED);
+        }
+        break;
+      default:
+        /**
+         * A call admitted before the circuit opened; ignore.
+         */
+        break;
+    }
+  }
+
+  /**
+   * Release a half-open probe whose outcome is not recorded.
+   */
+  private synchronized void onIgnored(Circuit circuit) {
+    if (circuit.state == State.HALF_OPEN && circuit.probesStarted > circuit.probesSucceeded) {
+      circuit.probesStarted--;
+    }
+  }
+
+  /**
+   * The state and recent outcomes of a compartment. Guarded by the breaker
+   * lock.
+   */
+  private class Circuit {
+
+    private final Compartment compartment;
+    /**
+     * 60 seconds. A call taking longer is slow.
+     */
+    private long slowCallNanos = TimeUnit.SECONDS.toNanos(60);
+    /**
+     * The current state.
+     */
+    private State state = State.CLOSED;
+    /**
+     * The recent outcomes, a ring buffer: bit 0 failed, bit 1 slow.
+     */
+    private byte[] outcomes = new byte[windowSize];
+    private int outcomeCount;
+    private int outcomeIndex;
+    private int failures;
+    private int slowCalls;
+    /**
+     * The time (System.nanoTime) the circuit opened.
+     */
+    private long openedAt;
+    /**
+     * The half-open probes started and succeeded.
+     */
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public Circuit(Compartment compartment) {
+      this.compartment = compartment;
+    }
+
+    private double getFailureRate() {
+      return outcomeCount == 0 ? 0 : (double) failures / outcomeCount;
+    }
+
+    private double getSlowCallRate() {
+      return outcomeCount == 0 ? 0 : (double) slowCalls / outcomeCount;
+    }
+
+    /**
+     * Record an outcome in the window, evicting the oldest.
+     */
+    private void record(boolean failed, boolean slow) {
+      if (outcomeCount == outcomes.length) {
+        byte old = outcomes[outcomeIndex];
+        failures -= old & 1;
+        slowCalls -= (old >> 1) & 1;
+      } else {
+        outcomeCount++;
+      }
+      outcomes[outcomeIndex] = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+      outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+      if (failed) {
+        failures++;
+      }
+      if (slow) {
+        slowCalls++;
+      }
+    }
+
+    private void resetWindow() {
+      outcomes = new byte[windowSize];
+      outcomeCount = 0;
+      outcomeIndex = 0;
+      failures = 0;
+      slowCalls = 0;
+    }
+
+    private void transition(State next) {
+      LOG.log(next == State.OPEN ? Level.WARNING : Level.INFO, "S3 circuit breaker {0}: {1} -> {2}", new Object[]{compartment, state, next});
+      state = next;
+      probesStarted = 0;
+      probesSucceeded = 0;
+      if (next == State.OPEN) {
+        openedAt = System.nanoTime();
+        openCount.increment();
+      } else if (next == State.CLOSED) {
+        resetWindow();
+      }
+    }
+  }
+}
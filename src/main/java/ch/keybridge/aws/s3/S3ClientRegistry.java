@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsCredentialsProvider;
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.regions.Regions;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A registry of shared S3 clients.
+ * <p>
+ * Each {@link AmazonS3} client owns an HTTP connection pool. The registry
+ * hands out one {@link AwsS3} per bucket configuration, but all AwsS3
+ * instances with the same region and credentials share one client, so
+ * hundreds of bucket handles cost one connection pool per region instead of
+ * a new client per call.
+ * <p>
+ * Clients are reference counted: {@link #acquire(S3BucketConfig)} increments
+ * and {@link #release(AwsS3)} decrements the count. A client with no
+ * references is shut down once it has been idle for the idle timeout, either
+ * by a background sweep or by {@link #evictIdle()}. Closing the registry shuts
+ * down all clients.
+ * <p>
+ * Example:
+ * <pre>
+ * S3ClientRegistry registry = new S3ClientRegistry();
+ * AwsS3 s3 = registry.acquire(bucketConfig);
+ * try {
+ *   s3.upload(key, path, null);
+ * } finally {
+ *   registry.release(s3);
+ * }
+ * </pre>
+ * This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3ClientRegistry implements Closeable {
+
+  private static final Logger LOG = Logger.getLogger(S3ClientRegistry.class.getName());
+
+  /**
+   * 5 minutes. The default time an unreferenced client is kept.
+   */
+  public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+  /**
+   * The background sweeper shared by all registries.
+   */
+  private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "s3-client-evictor-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  /**
+   * The shared clients by region and credentials.
+   */
+  private final Map<ClientKey, SharedClient> clients = new HashMap<>();
+  /**
+   * The shared client of each AwsS3 handed out and not yet released.
+   */
+  private final Map<AwsS3, SharedClient> leases = new IdentityHashMap<>();
+  /**
+   * The time an unreferenced client is kept, in nanoseconds.
+   */
+  private final long idleTimeoutNanos;
+  /**
+   * The background sweep.
+   */
+  private final ScheduledFuture<?> sweep;
+  private boolean closed;
+
+  /**
+   * Construct a new registry with the default idle timeout.
+   */
+  public S3ClientRegistry() {
+    this(DEFAULT_IDLE_TIMEOUT);
+  }
+
+  /**
+   * Construct a new registry.
+   *
+   * @param idleTimeoutMillis the time an unreferenced client is kept, in
+   *                          milliseconds
+   */
+  public S3ClientRegistry(long idleTimeoutMillis) {
+    this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+    long period = Math.max(1000, idleTimeoutMillis / 2);
+    this.sweep = EVICTOR.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Get an AwsS3 instance for a bucket. The instance uses the shared client of
+   * the configuration's region and credentials, which is built if necessary.
+   *
+   * @param bucketConfig the bucket configuration
+   * @return a new AwsS3 instance; to be released with {@link #release(AwsS3)}
+   */
+  public synchronized AwsS3 acquire(S3BucketConfig bucketConfig) {
+    if (closed) {
+      throw new IllegalStateException("Registry closed");
+    }
+    ClientKey key = new ClientKey(bucketConfig.getRegion(), bucketConfig.getAwsAccessKeyId(), bucketConfig.getAwsSecretAccessKey());
+    SharedClient shared = clients.get(key);
+    if (shared == null) {
+      shared = new SharedClient(buildClient(key.region, key.awsAccessKeyId, key.awsSecretAccessKey));
+      clients.put(key, shared);
+    }
+    shared.references++;
+    AwsS3 s3 = new AwsS3(bucketConfig).withS3Client(shared.client);
+    leases.put(s3, shared);
+    return s3;
+  }
+
+  /**
+   * Release an AwsS3 instance obtained from this registry. The instance no
+   * longer uses the shared client and must not be used further.
+   *
+   * @param s3 the AwsS3 instance
+   */
+  public synchronized void release(AwsS3 s3) {
+    SharedClient shared = leases.remove(s3);
+    if (shared == null) {
+      return;
+    }
+    s3.setS3Client(null);
+    if (--shared.references == 0) {
+      shared.idleSince = System.nanoTime();
+    }
+  }
+
+  /**
+   * Shut down the clients that have been unreferenced for the idle timeout.
+   *
+   * @return the number of clients shut down
+   */
+  public synchronized int evictIdle() {
+    long now = System.nanoTime();
+    int evicted = 0;
+    for (Iterator<SharedClient> iterator = clients.values().iterator(); iterator.hasNext();) {
+      SharedClient shared = iterator.next();
+      if (shared.references == 0 && now - shared.idleSince >= idleTimeoutNanos) {
+        iterator.remove();
+        shutdown(shared.client);
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Get the number of shared clients.
+   *
+   * @return the number of clients
+   */
+  public synchronized int getClientCount() {
+    return clients.size();
+  }
+
+  /**
+   * Get the number of AwsS3 instances not yet released.
+   *
+   * @return the number of references
+   */
+  public synchronized int getReferenceCount() {
+    return leases.size();
+  }
+
+  /**
+   * Build a shared client. The credentials are used if provided, otherwise the
+   * shared cached profile credentials (see
+   * {@link AwsCredentialsProvider#getProfile()}).
+   *
+   * @param region             OPTIONAL. the region
+   * @param awsAccessKeyId     OPTIONAL. the access key
+   * @param awsSecretAccessKey OPTIONAL. the secret access key
+   * @return a new client
+   */
+  protected AmazonS3 buildClient(Regions region, String awsAccessKeyId, String awsSecretAccessKey) {
+    AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard();
+    if (awsAccessKeyId != null && awsSecretAccessKey != null) {
+      builder.withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials(awsAccessKeyId, awsSecretAccessKey)));
+    } else {
+      builder.withCredentials(AwsCredentialsProvider.getProfile());
+    }
+    return region != null
+           ? builder.withRegion(region).build()
+           : builder.build();
+  }
+
+  private static void shutdown(AmazonS3 client) {
+    try {
+      client.shutdown();
+    } catch (RuntimeException ex) {
+      LOG.log(Level.WARNING, "Failed to shut down S3 client: {0}", ex.getMessage());
+    }
+  }
+
+  /**
+   * Shut down all clients, whether or not they are referenced.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    sweep.cancel(false);
+    for (AwsS3 s3 : leases.keySet()) {
+      s3.setS3Client(null);
+    }
+    leases.clear();
+    clients.values().forEach(shared -> shutdown(shared.client));
+    clients.clear();
+  }
+
+  /**
+   * The region and credentials identifying a shared client.
+   */
+  private static class ClientKey {
+
+    private final Regions region;
+    private final String awsAccessKeyId;
+    private final String awsSecretAccessKey;
+
+    public ClientKey(Regions region, String awsAccessKeyId, String awsSecretAccessKey) {
+      this.region = region;
+      this.awsAccessKeyId = awsAccessKeyId;
+      this.awsSecretAccessKey = awsSecretAccessKey;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(region, awsAccessKeyId, awsSecretAccessKey);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ClientKey)) {
+        return false;
+      }
+      ClientKey other = (ClientKey) obj;
+      return region == other.region
+             && Objects.equals(awsAccessKeyId, other.awsAccessKeyId)
+             && Objects.equals(awsSecretAccessKey, other.awsSecretAccessKey);
+    }
+  }
+
+  /**
+   * A shared client with its reference count.
+   */
+  private static class SharedClient {
+
+    private final AmazonS3 client;
+    private int references;
+    private long idleSince;
+
+    public SharedClient(AmazonS3 client) {
+      this.client = client;
+    }
+  }
+}
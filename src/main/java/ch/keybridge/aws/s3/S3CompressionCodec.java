@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Streaming compression codecs for S3 object content.
+ * <p>
+ * Compressed objects are stored with the codec's HTTP {@code Content-Encoding}
+ * plus two user metadata entries: {@link #METADATA_CODEC} identifying the
+ * codec and {@link #METADATA_LENGTH} recording the uncompressed length (when
+ * known before the upload, or when the compressed content fits in one part).
+ * Only objects carrying the codec metadata are decompressed on
+ * download; objects uploaded with a {@code Content-Encoding} by other tools
+ * are returned as stored.
+ * <p>
+ * The codecs are those provided by the JDK; no additional libraries are
+ * required.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public enum S3CompressionCodec {
+
+  /**
+   * GZIP (RFC 1952). Widely supported, including by web browsers.
+   */
+  GZIP("gzip") {
+    @Override
+    public OutputStream compress(OutputStream outputStream) throws IOException {
+      return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+    }
+
+    @Override
+    public InputStream decompress(InputStream inputStream) throws IOException {
+      return new GZIPInputStream(inputStream, BUFFER_SIZE);
+    }
+  },
+  /**
+   * ZLIB/DEFLATE (RFC 1950). Slightly smaller framing than GZIP.
+   */
+  DEFLATE("deflate") {
+    @Override
+    public OutputStream compress(OutputStream outputStream) {
+      /**
+       * A deflater passed to the constructor is not released on close.
+       */
+      return new DeflaterOutputStream(outputStream, new Deflater(), BUFFER_SIZE) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            def.end();
+          }
+        }
+      };
+    }
+
+    @Override
+    public InputStream decompress(InputStream inputStream) {
+      return new InflaterInputStream(inputStream, new Inflater(), BUFFER_SIZE) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            inf.end();
+          }
+        }
+      };
+    }
+  };
+
+  /**
+   * "codec". The user metadata key identifying the compression codec.
+   */
+  public static final String METADATA_CODEC = "codec";
+  /**
+   * "uncompressed-length". The user metadata key recording the original
+   * content length.
+   */
+  public static final String METADATA_LENGTH = "uncompressed-length";
+  /**
+   * 64 KB. The codec buffer size.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The HTTP Content-Encoding value.
+   */
+  private final String contentEncoding;
+
+  private S3CompressionCodec(String contentEncoding) {
+    this.contentEncoding = contentEncoding;
+  }
+
+  /**
+   * Get the HTTP Content-Encoding value of this codec.
+   *
+   * @return the content encoding
+   */
+  public String getContentEncoding() {
+    return contentEncoding;
+  }
+
+  /**
+   * Wrap an output stream with a compressing stream. Closing the returned
+   * stream finishes compression and closes the wrapped stream.
+   *
+   * @param outputStream the destination of the compressed bytes
+   * @return a compressing output stream
+   * @throws IOException on IO error
+   */
+  public abstract OutputStream compress(OutputStream outputStream) throws IOException;
+
+  /**
+   * Wrap an input stream with a decompressing stream.
+   *
+   * @param inputStream the compressed bytes
+   * @return a decompressing input stream
+   * @throws IOException on IO error
+   */
+  public abstract InputStream decompress(InputStream inputStream) throws IOException;
+
+  /**
+   * Get the codec of an object from its metadata.
+   *
+   * @param metadata the object metadata
+   * @return the codec; null if the object was not compressed by this library
+   */
+  public static S3CompressionCodec fromMetadata(ObjectMetadata metadata) {
+    String codec = metadata == null ? null : metadata.getUserMetaDataOf(METADATA_CODEC);
+    if (codec == null) {
+      return null;
+    }
+    for (S3CompressionCodec value : values()) {
+      if (value.name().equalsIgnoreCase(codec)) {
+        return value;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import java.util.*;
+
+/**
+ * Selects the compression codec of an object by its key.
+ * <p>
+ * The codec is chosen by the key's file extension (see
+ * {@link S3Key#getExtension()}): an explicit per-extension codec wins, then
+ * extensions in the skip list are stored uncompressed, then the default codec
+ * (if any) applies. The skip list initially contains common formats that are
+ * already compressed, such as PNG, JPEG, GZIP and ZIP, where a second
+ * compression pass only costs CPU.
+ * <p>
+ * Example: compress JSON and CSV exports with GZIP, store everything else
+ * unchanged.
+ * <pre>
+ * S3CompressionPolicy policy = new S3CompressionPolicy()
+ *   .withCodec("json", S3CompressionCodec.GZIP)
+ *   .withCodec("csv", S3CompressionCodec.GZIP);
+ * </pre>
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3CompressionPolicy {
+
+  /**
+   * File extensions of already compressed content.
+   */
+  private static final String[] COMPRESSED_EXTENSIONS = {
+    "png", "jpg", "jpeg", "gif", "webp", "gz", "tgz", "zip", "bz2", "xz", "7z", "zst", "lz4",
+    "mp3", "mp4", "mov", "avi", "pdf", "docx", "xlsx", "pptx", "jar", "war"
+  };
+
+  /**
+   * The codec of each (lower case) file extension.
+   */
+  private final Map<String, S3CompressionCodec> codecs = new HashMap<>();
+  /**
+   * The (lower case) file extensions never compressed by the default codec.
+   */
+  private final Set<String> skip = new HashSet<>(Arrays.asList(COMPRESSED_EXTENSIONS));
+  /**
+   * OPTIONAL. The codec of keys with no explicit codec and not skipped. If
+   * null such keys are not compressed.
+   */
+  private S3CompressionCodec defaultCodec;
+
+  /**
+   * Set the codec of a file extension.
+   *
+   * @param extension the file extension, without the dot
+   * @param codec     the codec; null to store the extension uncompressed
+   * @return this policy
+   */
+  public S3CompressionPolicy withCodec(String extension, S3CompressionCodec codec) {
+    String ext = extension.toLowerCase(Locale.ROOT);
+    if (codec == null) {
+      codecs.remove(ext);
+      skip.add(ext);
+    } else {
+      codecs.put(ext, codec);
+    }
+    return this;
+  }
+
+  /**
+   * Add file extensions to the skip list.
+   *
+   * @param extensions the file extensions, without the dot
+   * @return this policy
+   */
+  public S3CompressionPolicy withSkip(String... extensions) {
+    for (String extension : extensions) {
+      skip.add(extension.toLowerCase(Locale.ROOT));
+    }
+    return this;
+  }
+
+  /**
+   * Set the codec of keys without an explicit codec.
+   *
+   * @param defaultCodec the default codec; null to not compress such keys
+   * @return this policy
+   */
+  public S3CompressionPolicy withDefaultCodec(S3CompressionCodec defaultCodec) {
+    this.defaultCodec = defaultCodec;
+    return this;
+  }
+
+  public S3CompressionCodec getDefaultCodec() {
+    return defaultCodec;
+  }
+
+  /**
+   * Select the codec of an object key.
+   *
+   * @param key the object key
+   * @return the codec; null if the object should be stored uncompressed
+   */
+  public S3CompressionCodec getCodec(String key) {
+    String extension = new S3Key(key).getExtension();
+    String ext = extension == null ? "" : extension.toLowerCase(Locale.ROOT);
+    S3CompressionCodec codec = codecs.get(ext);
+    if (codec != null) {
+      return codec;
+    }
+    return skip.contains(ext) ? null : defaultCodec;
+  }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.CopyObjectResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.util.BinaryUtils;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Content-addressed upload deduplication.
+ * <p>
+ * Uploads are hashed (SHA-256) while the content is streamed into a spool:
+ * memory for small content, a temporary file above the memory threshold. The
+ * hash is stored with the object as the {@value #METADATA_SHA256} user
+ * metadata and recorded in a local hash&rarr;key index. Before anything is
+ * sent:
+ * <ul>
+ * <li>If the index maps the hash to the same key the PUT is skipped.
+ * <li>If the index maps the hash to another key the object is created with a
+ * server-side copy instead of a PUT; no content is transferred. The copy
+ * keeps the compression codec and checksum metadata of its source.
+ * <li>If the hash is not indexed (e.g. after a restart) a HEAD request
+ * compares the hash stored with the existing object, if any, and skips the
+ * PUT on a match.
+ * </ul>
+ * Otherwise the content is uploaded from the spool.
+ * <p>
+ * When an upload is skipped the provided metadata is not applied; the
+ * existing object is left unchanged. The index assumes objects are changed only
+ * through this deduplicator; call {@link #forget(String)} when an object is
+ * deleted or overwritten otherwise. A copy from an object deleted since it was
+ * indexed falls back to a PUT.
+ * <p>
+ * Counters report the hit rate and the bytes not transferred.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3ContentDeduplicator {
+
+  private static final Logger LOG = Logger.getLogger(S3ContentDeduplicator.class.getName());
+
+  /**
+   * "sha256". The user metadata key holding the hex SHA-256 of the content.
+   */
+  public static final String METADATA_SHA256 = "sha256";
+  /**
+   * 100,000. The default maximum number of indexed hashes.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 100_000;
+  /**
+   * 8 MB. The default size above which content is spooled to a temporary
+   * file.
+   */
+  public static final int DEFAULT_MEMORY_THRESHOLD = 8 * 1024 * 1024;
+  /**
+   * 5 GB. The largest object a single copy request can create.
+   */
+  private static final long MAX_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+
+  /**
+   * The index by hash, in access order; and the hash by key.
+   */
+  private final LinkedHashMap<String, IndexEntry> byHash;
+  private final Map<String, String> byKey = new HashMap<>();
+  /**
+   * The size above which content is spooled to a temporary file.
+   */
+  private int memoryThreshold = DEFAULT_MEMORY_THRESHOLD;
+  /**
+   * OPTIONAL. The directory of temporary spool files; the system default if
+   * null.
+   */
+  private Path tempDirectory;
+
+  private final LongAdder uploads = new LongAdder();
+  private final LongAdder skipped = new LongAdder();
+  private final LongAdder copied = new LongAdder();
+  private final LongAdder bytesUploaded = new LongAdder();
+  private final LongAdder bytesSaved = new LongAdder();
+
+  /**
+   * Construct a new deduplicator with the default index size.
+   */
+  public S3ContentDeduplicator() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Construct a new deduplicator.
+   *
+   * @param maxEntries the maximum number of indexed hashes; the least recently
+   *                   used are dropped
+   */
+  public S3ContentDeduplicator(int maxEntries) {
+    this.byHash = new LinkedHashMap<String, IndexEntry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, IndexEntry> eldest) {
+        if (size() > maxEntries) {
+          byKey.remove(eldest.getValue().key);
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public S3ContentDeduplicator withMemoryThreshold(int memoryThreshold) {
+    this.memoryThreshold = memoryThreshold;
+    return this;
+  }
+
+  public S3ContentDeduplicator withTempDirectory(Path tempDirectory) {
+    this.tempDirectory = tempDirectory;
+    return this;
+  }
+
+  /**
+   * Get the number of uploads requested.
+   *
+   * @return the upload count
+   */
+  public long getUploadCount() {
+    return uploads.sum();
+  }
+
+  /**
+   * Get the number of uploads skipped because the object already had the
+   * content.
+   *
+   * @return the skipped count
+   */
+  public long getSkippedCount() {
+    return skipped.sum();
+  }
+
+  /**
+   * Get the number of uploads replaced by a server-side copy.
+   *
+   * @return the copied count
+   */
+  public long getCopiedCount() {
+    return copied.sum();
+  }
+
+  /**
+   * Get the number of content bytes uploaded.
+   *
+   * @return the bytes uploaded
+   */
+  public long getBytesUploaded() {
+    return bytesUploaded.sum();
+  }
+
+  /**
+   * Get the number of content bytes not uploaded because of skips and copies.
+   *
+   * @return the bytes saved
+   */
+  public long getBytesSaved() {
+    return bytesSaved.sum();
+  }
+
+  /**
+   * Get the fraction of uploads skipped or copied.
+   *
+   * @return the hit rate, between 0 and 1
+   */
+  public double getHitRate() {
+    long total = uploads.sum();
+    return total == 0 ? 0 : (double) (skipped.sum() + copied.sum()) / total;
+  }//</editor-fold>
+
+  /**
+   * Upload content unless it is already stored.
+   *
+   * @param s3Client    the S3 client
+   * @param key         the object key
+   * @param inputStream the content; read to the end but not closed
+   * @param metadata    OPTIONAL. the object metadata
+   * @return the result; for skipped uploads the ETag of the existing object
+   * @throws AmazonServiceException on S3 error
+   * @throws SdkClientException     on IO error
+   */
+  public PutObjectResult upload(AwsS3 s3Client, String key, InputStream inputStream, ObjectMetadata metadata) throws AmazonServiceException, SdkClientException {
+    uploads.increment();
+    try (Spool spool = new Spool()) {
+      spool.write(inputStream);
+      String hash = spool.getSha256();
+      long size = spool.size;
+      IndexEntry entry = lookup(hash);
+      if (entry != null && entry.key.equals(key)) {
+        return skip(size, entry.eTag);
+      }
+      ObjectMetadata objectMetadata = copyMetadata(metadata, hash);
+      if (entry != null && size <= MAX_COPY_SIZE) {
+        try {
+          ObjectMetadata source = s3Client.getObjectMetadata(entry.key);
+          CopyObjectResult copy = s3Client.copyObject(new CopyObjectRequest(s3Client.getBucketName(), entry.key, s3Client.getBucketName(), key)
+            .withNewObjectMetadata(copyContentMetadata(objectMetadata, source)));
+          index(hash, key, copy.getETag());
+          copied.increment();
+          bytesSaved.add(size);
+          PutObjectResult result = new PutObjectResult();
+          result.setETag(copy.getETag());
+          result.setVersionId(copy.getVersionId());
+          return result;
+        } catch (AmazonServiceException ex) {
+          if (ex.getStatusCode() != 404) {
+            throw ex;
+          }
+          LOG.log(Level.FINE, "Deduplication source {0} no longer exists", entry.key);
+          forget(entry.key);
+        }
+      } else if (entry == null) {
+        /**
+         * Cold index: compare with the object already stored at the key.
+         */
+        try {
+          ObjectMetadata existing = s3Client.getObjectMetadata(key);
+          if (hash.equals(existing.getUserMetaDataOf(METADATA_SHA256))) {
+            index(hash, key, existing.getETag());
+            return skip(size, existing.getETag());
+          }
+        } catch (AmazonServiceException ex) {
+          if (ex.getStatusCode() != 404) {
+            throw ex;
+          }
+        }
+      }
+      objectMetadata.setContentLength(size);
+      PutObjectResult result = s3Client.upload(key, spool.getInputStream(), objectMetadata);
+      index(hash, key, result.getETag());
+      bytesUploaded.add(size);
+      return result;
+    } catch (IOException ex) {
+      throw new SdkClientException("Failed to read the content of " + key, ex);
+    }
+  }
+
+  private PutObjectResult skip(long size, String eTag) {
+    skipped.increment();
+    bytesSaved.add(size);
+    PutObjectResult result = new PutObjectResult();
+    result.setETag(eTag);
+    return result;
+  }
+
+  /**
+   * Copy the metadata, adding the content hash.
+   */
+  private static ObjectMetadata copyMetadata(ObjectMetadata metadata, String hash) {
+    ObjectMetadata copy = metadata == null ? new ObjectMetadata() : metadata.clone();
+    copy.addUserMetadata(METADATA_SHA256, hash);
+    return copy;
+  }
+
+  /**
+   * Copy the metadata, describing the stored content as the source object does.
+   * A copy stores the source bytes verbatim, so the compression codec, content
+   * encoding, original length and checksum of the source apply, whatever the
+   * compression policy selects for the new key. (The part size does not: a
+   * single copy request creates a single-part object.)
+   */
+  private static ObjectMetadata copyContentMetadata(ObjectMetadata metadata, ObjectMetadata source) {
+    ObjectMetadata copy = new ObjectMetadata();
+    metadata.getRawMetadata().entrySet().stream()
+      .filter(e -> !Headers.CONTENT_ENCODING.equals(e.getKey()))
+      .forEach(e -> copy.setHeader(e.getKey(), e.getValue()));
+    copy.setUserMetadata(new HashMap<>(metadata.getUserMetadata()));
+    if (source.getContentEncoding() != null) {
+      copy.setContentEncoding(source.getContentEncoding());
+    }
+    for (String name : new String[]{S3CompressionCodec.METADATA_CODEC, S3CompressionCodec.METADATA_LENGTH, S3Checksum.METADATA_CRC32C}) {
+      String value = source.getUserMetaDataOf(name);
+      if (value == null) {
+        copy.getUserMetadata().remove(name);
+      } else {
+        copy.addUserMetadata(name, value);
+      }
+    }
+    copy.getUserMetadata().remove(S3Checksum.METADATA_PART_SIZE);
+    return copy;
+  }
+
+  private synchronized IndexEntry lookup(String hash) {
+    return byHash.get(hash);
+  }
+
+  private synchronized void index(String hash, String key, String eTag) {
+    forget(key);
+    IndexEntry previous = byHash.put(hash, new IndexEntry(key, eTag));
+    if (previous != null) {
+      byKey.remove(previous.key);
+    }
+    byKey.put(key, hash);
+  }
+
+  /**
+   * Remove an object from the index, e.g. after it was deleted or changed
+   * outside of this deduplicator.
+   *
+   * @param key the object key
+   */
+  public synchronized void forget(String key) {
+    String hash = byKey.remove(key);
+    if (hash != null) {
+      byHash.remove(hash);
+    }
+  }
+
+  /**
+   * An indexed object.
+   */
+  private static class IndexEntry {
+
+    private final String key;
+    private final String eTag;
+
+    public IndexEntry(String key, String eTag) {
+      this.key = key;
+      this.eTag = eTag;
+    }
+  }
+
+  /**
+   * Content hashed while spooled to memory, or to a temporary file above the
+   * memory threshold.
+   */
+  private class Spool implements Closeable {
+
+    private final MessageDigest digest;
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private Path file;
+    private OutputStream fileStream;
+    private long size;
+
+    public Spool() {
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+        throw new IllegalStateException("SHA-256 not available", ex);
+      }
+    }
+
+    public void write(InputStream inputStream) throws IOException {
+      byte[] buffer = new byte[64 * 1024];
+      int n;
+      while ((n = inputStream.read(buffer)) != -1) {
+        digest.update(buffer, 0, n);
+        size += n;
+        if (fileStream == null && size > memoryThreshold) {
+          file = tempDirectory == null ? Files.createTempFile("s3-spool", ".tmp") : Files.createTempFile(tempDirectory, "s3-spool", ".tmp");
+          fileStream = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+          memory.writeTo(fileStream);
+          memory = null;
+        }
+        if (fileStream != null) {
+          fileStream.write(buffer, 0, n);
+        } else {
+          memory.write(buffer, 0, n);
+        }
+      }
+      if (fileStream != null) {
+        fileStream.close();
+      }
+    }
+
+    public String getSha256() {
+      return BinaryUtils.toHex(digest.digest());
+    }
+
+    public InputStream getInputStream() throws IOException {
+      return file == null ? new ByteArrayInputStream(memory.toByteArray()) : Files.newInputStream(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (fileStream != null) {
+        fileStream.close();
+      }
+      if (file != null) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+}
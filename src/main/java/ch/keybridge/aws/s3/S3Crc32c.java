@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import java.util.zip.Checksum;
+
+/**
+ * CRC-32C (Castagnoli) checksum, as used by S3 additional checksums.
+ * <p>
+ * The JDK provides CRC-32C only from Java 9. This implementation uses the
+ * "slicing-by-8" table method, processing eight bytes per step.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public final class S3Crc32c implements Checksum {
+
+  /**
+   * The reflected Castagnoli polynomial.
+   */
+  private static final int POLYNOMIAL = 0x82F63B78;
+
+  private static final int[] T0 = new int[256];
+  private static final int[] T1 = new int[256];
+  private static final int[] T2 = new int[256];
+  private static final int[] T3 = new int[256];
+  private static final int[] T4 = new int[256];
+  private static final int[] T5 = new int[256];
+  private static final int[] T6 = new int[256];
+  private static final int[] T7 = new int[256];
+
+  static {
+    for (int n = 0; n < 256; n++) {
+      int c = n;
+      for (int k = 0; k < 8; k++) {
+        c = (c & 1) != 0 ? (c >>> 1) ^ POLYNOMIAL : c >>> 1;
+      }
+      T0[n] = c;
+    }
+    int[][] tables = {T0, T1, T2, T3, T4, T5, T6, T7};
+    for (int k = 1; k < 8; k++) {
+      for (int n = 0; n < 256; n++) {
+        int c = tables[k - 1][n];
+        tables[k][n] = (c >>> 8) ^ T0[c & 0xff];
+      }
+    }
+  }
+
+  /**
+   * The running (inverted) CRC value.
+   */
+  private int crc = 0xFFFFFFFF;
+
+  @Override
+  public void update(int b) {
+    crc = (crc >>> 8) ^ T0[(crc ^ b) & 0xff];
+  }
+
+  @Override
+  public void update(byte[] b, int off, int len) {
+    int c = crc;
+    while (len >= 8) {
+      int lo = c ^ ((b[off] & 0xff) | (b[off + 1] & 0xff) << 8 | (b[off + 2] & 0xff) << 16 | (b[off + 3] & 0xff) << 24);
+      int hi = (b[off + 4] & 0xff) | (b[off + 5] & 0xff) << 8 | (b[off + 6] & 0xff) << 16 | (b[off + 7] & 0xff) << 24;
+      c = T7[lo & 0xff] ^ T6[(lo >>> 8) & 0xff] ^ T5[(lo >>> 16) & 0xff] ^ T4[lo >>> 24]
+        ^ T3[hi & 0xff] ^ T2[(hi >>> 8) & 0xff] ^ T1[(hi >>> 16) & 0xff] ^ T0[hi >>> 24];
+      off += 8;
+      len -= 8;
+    }
+    while (len-- > 0) {
+      c = (c >>> 8) ^ T0[(c ^ b[off++]) & 0xff];
+    }
+    crc = c;
+  }
+
+  @Override
+  public long getValue() {
+    return ~crc & 0xFFFFFFFFL;
+  }
+
+  @Override
+  public void reset() {
+    crc = 0xFFFFFFFF;
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One level of the key hierarchy below a prefix: the objects directly below the
+ * prefix (files) and the common prefixes of the deeper keys (directories).
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3DirectoryListing {
+
+  /**
+   * The directory prefix; empty for the bucket root, otherwise ending with
+   * "/".
+   */
+  private final String prefix;
+  /**
+   * The objects directly below the prefix, in key order.
+   */
+  private final List<S3ObjectSummary> files;
+  /**
+   * The subdirectory prefixes, each ending with "/", in key order.
+   */
+  private final List<String> directories;
+
+  public S3DirectoryListing(String prefix, List<S3ObjectSummary> files, List<String> directories) {
+    this.prefix = prefix;
+    this.files = files;
+    this.directories = directories;
+  }
+
+  public String getPrefix() {
+    return prefix;
+  }
+
+  public List<S3ObjectSummary> getFiles() {
+    return files;
+  }
+
+  public List<String> getDirectories() {
+    return directories;
+  }
+
+  /**
+   * Get the subdirectory names, without the prefix and trailing "/".
+   *
+   * @return the subdirectory names
+   */
+  public List<String> getDirectoryNames() {
+    List<String> names = new ArrayList<>(directories.size());
+    for (String directory : directories) {
+      names.add(directory.substring(prefix.length(), directory.length() - 1));
+    }
+    return names;
+  }
+
+  @Override
+  public String toString() {
+    return "S3DirectoryListing {" + "prefix=" + prefix + ", files=" + files.size() + ", directories=" + directories.size() + '}';
+  }
+}
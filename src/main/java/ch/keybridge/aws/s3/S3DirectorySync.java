@@ -0,0 +1,521 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import ch.keybridge.aws.s3.S3SyncReport.Action;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.Md5Utils;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Incremental directory synchronization between a local directory and an S3
+ * key prefix.
+ * <p>
+ * Unlike {@code AwsS3.uploadDirectory} and {@code AwsS3.downloadDirectory},
+ * which always transfer every file, a sync only transfers new or changed files.
+ * The remote listing is streamed page by page while the local tree is walked
+ * concurrently; the two sorted sequences are then merge-joined on the object
+ * key. Files present on both sides are compared by size (the original length
+ * for compressed objects), then by MD5 checksum (if enabled and the ETag is a
+ * plain MD5 digest of uncompressed content) or else by modification time. Comparisons, checksums and transfers run on a bounded thread pool.
+ * <p>
+ * Files that exist only in the destination are optionally deleted; remote
+ * deletions are sent in batches using the multi-object delete API.
+ * <p>
+ * In dry-run mode nothing is transferred or deleted and the returned report
+ * describes the differences.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3DirectorySync {
+
+  private static final Logger LOG = Logger.getLogger(S3DirectorySync.class.getName());
+
+  /**
+   * 1000. The maximum number of keys in a multi-object delete request.
+   */
+  private static final int DELETE_BATCH_SIZE = 1000;
+
+  /**
+   * The configured S3 client instance.
+   */
+  private final AwsS3 s3Client;
+  /**
+   * 8. The number of concurrent comparisons and transfers.
+   */
+  private int parallelism = 8;
+  /**
+   * False. Delete files that exist only in the destination.
+   */
+  private boolean deleteExtraneous;
+  /**
+   * False. Compare files of equal size by MD5 checksum instead of modification
+   * time.
+   */
+  private boolean compareChecksums;
+  /**
+   * False. Report differences without changing anything.
+   */
+  private boolean dryRun;
+
+  /**
+   * Construct a new S3DirectorySync instance.
+   *
+   * @param s3Client the S3 client to use
+   */
+  public S3DirectorySync(AwsS3 s3Client) {
+    this.s3Client = Objects.requireNonNull(s3Client);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public S3DirectorySync withParallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  public boolean isDeleteExtraneous() {
+    return deleteExtraneous;
+  }
+
+  public void setDeleteExtraneous(boolean deleteExtraneous) {
+    this.deleteExtraneous = deleteExtraneous;
+  }
+
+  public S3DirectorySync withDeleteExtraneous(boolean deleteExtraneous) {
+    this.deleteExtraneous = deleteExtraneous;
+    return this;
+  }
+
+  public boolean isCompareChecksums() {
+    return compareChecksums;
+  }
+
+  public void setCompareChecksums(boolean compareChecksums) {
+    this.compareChecksums = compareChecksums;
+  }
+
+  public S3DirectorySync withCompareChecksums(boolean compareChecksums) {
+    this.compareChecksums = compareChecksums;
+    return this;
+  }
+
+  public boolean isDryRun() {
+    return dryRun;
+  }
+
+  public void setDryRun(boolean dryRun) {
+    this.dryRun = dryRun;
+  }
+
+  public S3DirectorySync withDryRun(boolean dryRun) {
+    this.dryRun = dryRun;
+    return this;
+  }//</editor-fold>
+
+  /**
+   * Synchronize a local directory to an S3 key prefix. New and changed local
+   * files are uploaded; remote objects without a local file are deleted if
+   * {@code deleteExtraneous} is set.
+   * <p>
+   * This method blocks until all transfers have completed.
+   *
+   * @param directory the local directory
+   * @param keyPrefix the key prefix of the virtual directory to upload to. Use
+   *                  the null or empty string for the root of the bucket.
+   * @return the synchronization report
+   * @throws IOException            if the local directory cannot be read
+   * @throws AmazonServiceException if the listing fails
+   * @throws SdkClientException     if the listing fails
+   */
+  public S3SyncReport upload(Path directory, String keyPrefix) throws IOException, AmazonServiceException, SdkClientException {
+    return sync(true, directory, toPrefix(keyPrefix));
+  }
+
+  /**
+   * Synchronize an S3 key prefix to a local directory. New and changed remote
+   * objects are downloaded; local files without a remote object are deleted if
+   * {@code deleteExtraneous} is set.
+   * <p>
+   * This method blocks until all transfers have completed.
+   *
+   * @param keyPrefix the key prefix of the virtual directory to download. Use
+   *                  the null or empty string for the entire bucket.
+   * @param directory the local directory
+   * @return the synchronization report
+   * @throws IOException            if the local directory cannot be read
+   * @throws AmazonServiceException if the listing fails
+   * @throws SdkClientException     if the listing fails
+   */
+  public S3SyncReport download(String keyPrefix, Path directory) throws IOException, AmazonServiceException, SdkClientException {
+    Files.createDirectories(directory);
+    return sync(false, directory, toPrefix(keyPrefix));
+  }
+
+  /**
+   * Internal method to synchronize a directory in either direction.
+   *
+   * @param upload    true to upload, false to download
+   * @param directory the local directory
+   * @param prefix    the normalized key prefix
+   * @return the synchronization report
+   * @throws IOException on local IO error
+   */
+  private S3SyncReport sync(boolean upload, Path directory, String prefix) throws IOException {
+    S3SyncReport report = new S3SyncReport(dryRun);
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    /**
+     * Bound the number of queued tasks so that the merge does not run far ahead
+     * of the transfers and memory stays proportional to the pool size.
+     */
+    Semaphore permits = new Semaphore(parallelism * 2);
+    try {
+      /**
+       * Walk the local tree on the pool while the first page of the remote
+       * listing is requested on this thread.
+       */
+      Future<List<LocalFile>> localFuture = executor.submit(() -> walk(directory, prefix));
+      try (Stream<S3ObjectSummary> remoteStream = s3Client.stream(prefix)) {
+        Iterator<S3ObjectSummary> remote = remoteStream.filter(s -> !s.getKey().endsWith("/")).iterator();
+        remote.hasNext();
+        Iterator<LocalFile> local = awaitLocal(localFuture).iterator();
+        /**
+         * Merge-join the two key ordered sequences.
+         */
+        List<String> deleteBatch = new ArrayList<>();
+        LocalFile l = local.hasNext() ? local.next() : null;
+        S3ObjectSummary r = remote.hasNext() ? remote.next() : null;
+        while (l != null || r != null) {
+          int c = l == null ? 1 : r == null ? -1 : S3Key.UTF8_BINARY_ORDER.compare(l.key, r.getKey());
+          if (c < 0) {
+            if (upload) {
+              submit(executor, permits, report, l.key, transferTask(true, Action.CREATE, l, null, report));
+            } else if (deleteExtraneous) {
+              submit(executor, permits, report, l.key, deleteLocalTask(l, report));
+            }
+            l = local.hasNext() ? local.next() : null;
+          } else if (c > 0) {
+            if (!upload) {
+              try {
+                LocalFile target = toLocalFile(directory, prefix, r.getKey());
+                submit(executor, permits, report, r.getKey(), transferTask(false, Action.CREATE, target, r, report));
+              } catch (SdkClientException ex) {
+                report.addFailure(r.getKey(), ex);
+              }
+            } else if (deleteExtraneous) {
+              report.addEntry(new S3SyncReport.Entry(Action.DELETE, r.getKey(), r.getSize()));
+              deleteBatch.add(r.getKey());
+              if (deleteBatch.size() == DELETE_BATCH_SIZE) {
+                submitDelete(executor, permits, report, deleteBatch);
+                deleteBatch = new ArrayList<>();
+              }
+            }
+            r = remote.hasNext() ? remote.next() : null;
+          } else {
+            LocalFile localFile = l;
+            S3ObjectSummary summary = r;
+            submit(executor, permits, report, l.key, () -> {
+              if (isChanged(upload, localFile, summary)) {
+                transferTask(upload, Action.UPDATE, localFile, summary, report).call();
+              } else {
+                report.addUnchanged();
+              }
+              return null;
+            });
+            l = local.hasNext() ? local.next() : null;
+            r = remote.hasNext() ? remote.next() : null;
+          }
+        }
+        if (!deleteBatch.isEmpty()) {
+          submitDelete(executor, permits, report, deleteBatch);
+        }
+      }
+    } finally {
+      executor.shutdown();
+      try {
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        executor.shutdownNow();
+      }
+    }
+    LOG.log(Level.INFO, "{0} sync {1} {2} {3}", new Object[]{upload ? "Upload" : "Download", directory, prefix, report});
+    return report;
+  }
+
+  /**
+   * Determine if a file present on both sides must be transferred.
+   *
+   * @param upload  the sync direction
+   * @param local   the local file
+   * @param summary the remote object
+   * @return true if the source is different from the destination
+   * @throws IOException if the local file cannot be read
+   */
+  private boolean isChanged(boolean upload, LocalFile local, S3ObjectSummary summary) throws IOException {
+    boolean compressed = false;
+    if (local.size != summary.getSize()) {
+      /**
+       * The listing reports the stored size. A compressed object is compared
+       * by its original length instead, read from its metadata.
+       */
+      ObjectMetadata metadata = s3Client.getObjectMetadata(summary.getKey());
+      String length = metadata.getUserMetaDataOf(S3CompressionCodec.METADATA_LENGTH);
+      if (S3CompressionCodec.fromMetadata(metadata) == null || length == null || local.size != Long.parseLong(length)) {
+        return true;
+      }
+      compressed = true;
+    }
+    String eTag = summary.getETag() == null ? "" : summary.getETag().replace("\"", "");
+    /**
+     * Multipart uploads have an ETag of the form "md5-parts" which is not the
+     * MD5 of the content, and the ETag of a compressed object is the MD5 of the
+     * compressed content; fall back to the modification time for those.
+     */
+    if (compareChecksums && !compressed && eTag.length() == 32) {
+      try (InputStream inputStream = Files.newInputStream(local.path)) {
+        return !eTag.equalsIgnoreCase(BinaryUtils.toHex(Md5Utils.computeMD5Hash(inputStream)));
+      }
+    }
+    long remoteModified = summary.getLastModified().getTime();
+    return upload
+           ? local.lastModified > remoteModified
+           : remoteModified > local.lastModified;
+  }
+
+  /**
+   * Build a transfer task.
+   *
+   * @param upload  the transfer direction
+   * @param action  the reported action
+   * @param local   the local file
+   * @param summary the remote object; null for new uploads
+   * @param report  the report
+   * @return the task
+   */
+  private Callable<Void> transferTask(boolean upload, Action action, LocalFile local, S3ObjectSummary summary, S3SyncReport report) {
+    return () -> {
+      long size = upload ? local.size : summary.getSize();
+      report.addEntry(new S3SyncReport.Entry(action, local.key, size));
+      report.addBytesTransferred(size);
+      if (dryRun) {
+        return null;
+      }
+      if (upload) {
+        s3Client.upload(local.key, local.path, null);
+      } else {
+        Files.createDirectories(local.path.getParent());
+        s3Client.download(local.key, local.path);
+        /**
+         * Align the local modification time with S3 so the next sync sees the
+         * file as unchanged.
+         */
+        Files.setLastModifiedTime(local.path, FileTime.fromMillis(summary.getLastModified().getTime()));
+      }
+      return null;
+    };
+  }
+
+  /**
+   * Build a local file deletion task.
+   *
+   * @param local  the local file
+   * @param report the report
+   * @return the task
+   */
+  private Callable<Void> deleteLocalTask(LocalFile local, S3SyncReport report) {
+    return () -> {
+      report.addEntry(new S3SyncReport.Entry(Action.DELETE, local.key, local.size));
+      if (!dryRun) {
+        Files.deleteIfExists(local.path);
+      }
+      return null;
+    };
+  }
+
+  /**
+   * Submit a batch of remote deletions.
+   *
+   * @param executor the executor
+   * @param permits  the queue permits
+   * @param report   the report
+   * @param keys     the keys to delete
+   */
+  private void submitDelete(ExecutorService executor, Semaphore permits, S3SyncReport report, List<String> keys) {
+    if (dryRun) {
+      return;
+    }
+    submit(executor, permits, report, keys.get(0), () -> {
+      s3Client.delete(keys);
+      return null;
+    });
+  }
+
+  /**
+   * Submit a task to the pool, blocking while the queue is full. Task failures
+   * are recorded in the report.
+   *
+   * @param executor the executor
+   * @param permits  the queue permits
+   * @param report   the report
+   * @param key      the object key the task applies to
+   * @param task     the task
+   */
+  private void submit(ExecutorService executor, Semaphore permits, S3SyncReport report, String key, Callable<Void> task) {
+    permits.acquireUninterruptibly();
+    executor.submit(() -> {
+      try {
+        task.call();
+      } catch (Exception ex) {
+        LOG.log(Level.WARNING, "Sync failed for {0}: {1}", new Object[]{key, ex.getMessage()});
+        report.addFailure(key, ex);
+      } finally {
+        permits.release();
+      }
+    });
+  }
+
+  /**
+   * Walk the local directory tree.
+   *
+   * @param directory the local directory
+   * @param prefix    the key prefix
+   * @return all regular files, sorted by key in S3 listing order
+   * @throws IOException if the directory cannot be read
+   */
+  private List<LocalFile> walk(Path directory, String prefix) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return new ArrayList<>();
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      List<LocalFile> files = paths.filter(Files::isRegularFile)
+        .map(p -> {
+          String key = prefix + directory.relativize(p).toString().replace(File.separatorChar, '/');
+          try {
+            return new LocalFile(key, p, Files.size(p), Files.getLastModifiedTime(p).toMillis());
+          } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        })
+        .collect(Collectors.toList());
+      files.sort((a, b) -> S3Key.UTF8_BINARY_ORDER.compare(a.key, b.key));
+      return files;
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  /**
+   * Wait for the local directory walk to complete.
+   *
+   * @param future the walk task
+   * @return the local files
+   * @throws IOException if the walk failed
+   */
+  private static List<LocalFile> awaitLocal(Future<List<LocalFile>> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while walking local directory", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException) {
+        throw (IOException) ex.getCause();
+      }
+      throw new IOException(ex.getCause());
+    }
+  }
+
+  /**
+   * Map a remote object to its local destination.
+   *
+   * @param directory the local directory
+   * @param prefix    the key prefix
+   * @param key       the object key
+   * @return the local file
+   * @throws SdkClientException if the key resolves outside the directory
+   */
+  private static LocalFile toLocalFile(Path directory, String prefix, String key) {
+    Path path = directory.resolve(key.substring(prefix.length())).normalize();
+    if (!path.startsWith(directory.normalize())) {
+      throw new SdkClientException("Object key resolves outside the target directory: " + key);
+    }
+    return new LocalFile(key, path, 0, 0);
+  }
+
+  /**
+   * Normalize a key prefix to be empty or end with a slash.
+   *
+   * @param keyPrefix the key prefix
+   * @return the normalized prefix
+   */
+  private static String toPrefix(String keyPrefix) {
+    if (keyPrefix == null || keyPrefix.isEmpty()) {
+      return "";
+    }
+    String prefix = keyPrefix.startsWith("/") ? keyPrefix.substring(1) : keyPrefix;
+    return prefix.endsWith("/") ? prefix : prefix + '/';
+  }
+
+  /**
+   * A local file and the object key it maps to.
+   */
+  private static class LocalFile {
+
+    private final String key;
+    private final Path path;
+    private final long size;
+    private final long lastModified;
+
+    public LocalFile(String key, Path path, long size, long lastModified) {
+      this.key = key;
+      this.path = path;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+  }
+}
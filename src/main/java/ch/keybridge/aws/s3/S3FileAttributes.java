@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Date;
+
+/**
+ * The basic attributes of an S3 object or virtual directory.
+ * <p>
+ * S3 records a single timestamp per object, which is reported as the creation,
+ * modification and access time. Virtual directories (key prefixes) have no
+ * timestamp and size zero.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3FileAttributes implements BasicFileAttributes {
+
+  /**
+   * The epoch; the timestamp of virtual directories.
+   */
+  private static final FileTime EPOCH = FileTime.fromMillis(0);
+
+  /**
+   * The object key.
+   */
+  private final String key;
+  /**
+   * The object size.
+   */
+  private final long size;
+  /**
+   * The object last modified time.
+   */
+  private final FileTime lastModified;
+  /**
+   * True for a virtual directory.
+   */
+  private final boolean directory;
+
+  private S3FileAttributes(String key, long size, FileTime lastModified, boolean directory) {
+    this.key = key;
+    this.size = size;
+    this.lastModified = lastModified;
+    this.directory = directory;
+  }
+
+  /**
+   * Get the attributes of an object.
+   *
+   * @param key          the object key
+   * @param size         the object size
+   * @param lastModified the object last modified date; may be null
+   * @return the attributes
+   */
+  public static S3FileAttributes file(String key, long size, Date lastModified) {
+    return new S3FileAttributes(key, size, lastModified == null ? EPOCH : FileTime.fromMillis(lastModified.getTime()), false);
+  }
+
+  /**
+   * Get the attributes of a virtual directory.
+   *
+   * @param key the directory key, without a trailing "/"
+   * @return the attributes
+   */
+  public static S3FileAttributes directory(String key) {
+    return new S3FileAttributes(key, 0, EPOCH, true);
+  }
+
+  @Override
+  public FileTime lastModifiedTime() {
+    return lastModified;
+  }
+
+  @Override
+  public FileTime lastAccessTime() {
+    return lastModified;
+  }
+
+  @Override
+  public FileTime creationTime() {
+    return lastModified;
+  }
+
+  @Override
+  public boolean isRegularFile() {
+    return !directory;
+  }
+
+  @Override
+  public boolean isDirectory() {
+    return directory;
+  }
+
+  @Override
+  public boolean isSymbolicLink() {
+    return false;
+  }
+
+  @Override
+  public boolean isOther() {
+    return false;
+  }
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Get the object key.
+   *
+   * @return the object key
+   */
+  @Override
+  public Object fileKey() {
+    return key;
+  }
+}
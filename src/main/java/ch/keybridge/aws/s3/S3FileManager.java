@@ -4,8 +4,14 @@ import ch.keybridge.aws.AwsS3;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectResult;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,10 +25,28 @@ public class S3FileManager {
 
   private static final Logger LOG = Logger.getLogger(S3FileManager.class.getName());
 
+  /**
+   * The background file tree refresh, shared by all instances.
+   */
+  private static final ExecutorService REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "s3-file-tree-refresh");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   /**
    * The configured S3 client instance.
    */
   private final AwsS3 s3Client;
+  /**
+   * OPTIONAL. Skips uploads of content already stored. If not set every
+   * upload is sent.
+   */
+  private S3ContentDeduplicator deduplicator;
+  /**
+   * The background file tree refresh in progress, if any.
+   */
+  private final AtomicReference<CompletableFuture<S3FileNode>> refresh = new AtomicReference<>();
 
   /**
    * Construct a new S3FileManager instance.
@@ -33,6 +57,19 @@ public class S3FileManager {
     this.s3Client = s3Client;
   }
 
+  public S3ContentDeduplicator getDeduplicator() {
+    return deduplicator;
+  }
+
+  public void setDeduplicator(S3ContentDeduplicator deduplicator) {
+    this.deduplicator = deduplicator;
+  }
+
+  public S3FileManager withDeduplicator(S3ContentDeduplicator deduplicator) {
+    this.deduplicator = deduplicator;
+    return this;
+  }
+
   /**
    * Delete and S3 object.
    *
@@ -41,6 +78,9 @@ public class S3FileManager {
   public void deleteFile(String s3Key) {
     LOG.log(Level.FINE, "Deleting key {0}", s3Key);
     s3Client.delete(s3Key);
+    if (deduplicator != null) {
+      deduplicator.forget(s3Key);
+    }
   }
 
   /**
@@ -54,7 +94,8 @@ public class S3FileManager {
   }
 
   /**
-   * Upload file using the provided S3 key and metadata
+   * Upload file using the provided S3 key and metadata. If a deduplicator is
+   * set then content already stored is not uploaded again.
    *
    * @param s3Key       valid S3 object key
    * @param inputStream input stream containing file data
@@ -62,6 +103,9 @@ public class S3FileManager {
    * @return operation result metadata
    */
   public PutObjectResult uploadFile(String s3Key, InputStream inputStream, ObjectMetadata metadata) {
+    if (deduplicator != null) {
+      return deduplicator.upload(s3Client, s3Key, inputStream, metadata);
+    }
     return s3Client.upload(s3Key, inputStream, metadata);
   }
 
@@ -78,6 +122,93 @@ public class S3FileManager {
     return parseS3FilesAsHierarchy(s3Client.list(""));
   }
 
+  /**
+   * Get all files in the bucket, starting from a snapshot file.
+   * <p>
+   * If the snapshot file exists and was written for this bucket its tree is
+   * returned immediately, even if stale. A snapshot older than the maximum age
+   * is then rebuilt in the background and written back, so the next call
+   * returns the fresh tree. Without a usable snapshot the tree is built (see
+   * {@link #getFileTree()}) and the snapshot written before returning.
+   *
+   * @param snapshot     the snapshot file
+   * @param maxAgeMillis the age in milliseconds after which the snapshot is
+   *                     refreshed
+   * @return a file hierarchy containing all available files.
+   * @since v1.7.0 added 10/18/26
+   */
+  public S3FileNode getFileTree(Path snapshot, long maxAgeMillis) {
+    String stamp = s3Client.getBucketName();
+    try {
+      S3FileTreeSnapshot fileTreeSnapshot = S3FileTreeSnapshot.read(snapshot);
+      if (stamp == null || stamp.equals(fileTreeSnapshot.getStamp())) {
+        if (fileTreeSnapshot.isOlderThan(maxAgeMillis)) {
+          refreshFileTree(snapshot);
+        }
+        return fileTreeSnapshot.getRoot();
+      }
+    } catch (IOException ex) {
+      LOG.log(Level.FINE, "File tree snapshot {0} not usable: {1}", new Object[]{snapshot, ex.getMessage()});
+    }
+    return buildFileTree(snapshot);
+  }
+
+  /**
+   * Rebuild the file tree snapshot in the background, unless a refresh is
+   * already in progress.
+   *
+   * @param snapshot the snapshot file
+   * @return the refresh in progress
+   * @since v1.7.0 added 10/18/26
+   */
+  public CompletableFuture<S3FileNode> refreshFileTree(Path snapshot) {
+    CompletableFuture<S3FileNode> future = new CompletableFuture<>();
+    if (!refresh.compareAndSet(null, future)) {
+      CompletableFuture<S3FileNode> current = refresh.get();
+      return current != null ? current : refreshFileTree(snapshot);
+    }
+    REFRESH_EXECUTOR.execute(() -> {
+      try {
+        future.complete(buildFileTree(snapshot));
+      } catch (RuntimeException ex) {
+        LOG.log(Level.WARNING, "Failed to refresh file tree snapshot {0}: {1}", new Object[]{snapshot, ex.getMessage()});
+        future.completeExceptionally(ex);
+      } finally {
+        refresh.set(null);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Build the file tree and write the snapshot. A snapshot write failure is
+   * logged; the tree is returned regardless.
+   */
+  private S3FileNode buildFileTree(Path snapshot) {
+    S3FileNode root = getFileTree();
+    try {
+      S3FileTreeSnapshot.write(root, s3Client.getBucketName(), snapshot);
+    } catch (IOException ex) {
+      LOG.log(Level.WARNING, "Failed to write file tree snapshot {0}: {1}", new Object[]{snapshot, ex.getMessage()});
+    }
+    return root;
+  }
+
+  /**
+   * Build a file hierarchy from a listing source other than the live bucket
+   * listing; for example an S3 Inventory report or a listing snapshot. The
+   * listing is consumed incrementally and need not be sorted.
+   *
+   * @param listing the object summaries
+   * @return a file hierarchy containing all listed files.
+   * @since v1.7.0 added 10/18/26
+   */
+  public S3FileNode getFileTree(Stream<S3ObjectSummary> listing) {
+    try (Stream<S3ObjectSummary> s = listing) {
+      return parseS3FilesAsHierarchy(s::iterator);
+    }
+  }
+
   /**
    * Get all files under a specified sub-directory within the root bucket. e.g.
    * For user storage this will is that belong to a specific user.
@@ -90,6 +221,19 @@ public class S3FileManager {
     return parseS3FilesAsHierarchy(s3Client.list(prefix));
   }
 
+  /**
+   * Get a lazily expanding view of a sub-directory within the root bucket.
+   * Unlike {@link #getUserFiles(String)} nothing is listed until the nodes are
+   * accessed, and then only one directory level per opened node.
+   *
+   * @param path the sub-directory path; empty for the bucket root
+   * @return a lazy directory node
+   * @since v1.7.0 added 10/18/26
+   */
+  public S3FileNode getUserDirectory(String path) {
+    return S3FileNode.lazy(s3Client, path, S3FileNode.DEFAULT_TTL);
+  }
+
   /**
    * Parse a list of S3ObjectSummary objects as a file hierarchy. The root
    * element is always a directory node with the name 'root'.
@@ -112,7 +256,7 @@ public class S3FileManager {
    * @param files
    * @return
    */
-  private static S3FileNode parseS3FilesAsHierarchy(List<S3ObjectSummary> files) {
+  private static S3FileNode parseS3FilesAsHierarchy(Iterable<S3ObjectSummary> files) {
     final S3FileNode root = new S3FileNode("root");
     for (S3ObjectSummary s3ObjectSummary : files) {
       S3Key parsedKey = new S3Key(s3ObjectSummary.getKey());
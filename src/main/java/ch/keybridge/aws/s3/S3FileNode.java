@@ -1,7 +1,9 @@
 package ch.keybridge.aws.s3;
 
+import ch.keybridge.aws.AwsS3;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A DTO that represents a single node in a file hierarchy: a file of a
@@ -42,6 +44,16 @@ import java.util.*;
  *   }
  * ];
  * </pre>
+ * <p>
+ * Lazy mode: a directory node created with
+ * {@link #lazy(AwsS3, String, long)} loads its children with a single
+ * delimiter listing (see {@link AwsS3#listDirectory(String)}) when they are
+ * first accessed, and reloads them once they are older than the TTL.
+ * Subdirectories are lazy nodes too, so a huge bucket can be browsed with one
+ * small request per opened folder. Note that walking the whole tree (e.g.
+ * {@link #findNode(String)} or serializing the root) loads every level.
+ * Children are read, loaded and added under the node lock, so a lazy tree may
+ * be shared across threads.
  *
  * @see <a href="https://github.com/jonmiles/bootstrap-treeview">Bootstrap
  * Treeview</a>
@@ -70,6 +82,30 @@ public class S3FileNode {
    */
   private final Map<String, S3FileNode> nodes = new LinkedHashMap<>();
 
+  /**
+   * 60 seconds. The default lifetime of lazily loaded children.
+   */
+  public static final long DEFAULT_TTL = TimeUnit.SECONDS.toMillis(60);
+
+  /**
+   * OPTIONAL. The S3 client of a lazy directory node. Null for nodes built in
+   * memory.
+   */
+  private transient AwsS3 s3Client;
+  /**
+   * The directory prefix of a lazy node.
+   */
+  private transient String prefix;
+  /**
+   * The lifetime of lazily loaded children, in nanoseconds.
+   */
+  private transient long ttlNanos;
+  /**
+   * The time the children were loaded (System.nanoTime); valid if loaded.
+   */
+  private transient long loadedAt;
+  private transient boolean loaded;
+
   /**
    * Construct a new FileNode instance.
    *
@@ -79,6 +115,70 @@ public class S3FileNode {
     this.text = text;
   }
 
+  /**
+   * Create a lazy directory node. Its children are listed on first access and
+   * cached for the TTL.
+   *
+   * @param s3Client  the S3 client
+   * @param prefix    the directory prefix; empty for the bucket root
+   * @param ttlMillis the lifetime of the loaded children in milliseconds
+   * @return a new lazy directory node
+   * @since v1.7.0 added 10/18/26
+   */
+  public static S3FileNode lazy(AwsS3 s3Client, String prefix, long ttlMillis) {
+    String directory = prefix == null || prefix.isEmpty() || prefix.endsWith("/") ? (prefix == null ? "" : prefix) : prefix + "/";
+    String name = directory.isEmpty() ? "root" : directory.substring(directory.lastIndexOf('/', directory.length() - 2) + 1, directory.length() - 1);
+    S3FileNode node = new S3FileNode(name);
+    node.s3Client = s3Client;
+    node.prefix = directory;
+    node.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    return node;
+  }
+
+  /**
+   * Determine if this is a lazy directory node.
+   *
+   * @return true if the children are loaded from S3 on access
+   */
+  public boolean isLazy() {
+    return s3Client != null;
+  }
+
+  /**
+   * Discard the loaded children of a lazy node so that they are listed again
+   * on next access.
+   */
+  public synchronized void invalidate() {
+    loaded = false;
+  }
+
+  /**
+   * Load or reload the children of a lazy node if never loaded or expired.
+   * Subdirectory nodes that still exist are kept, with their own loaded
+   * children.
+   */
+  private synchronized void load() {
+    if (s3Client == null || loaded && System.nanoTime() - loadedAt < ttlNanos) {
+      return;
+    }
+    S3DirectoryListing listing = s3Client.listDirectory(prefix);
+    Map<String, S3FileNode> previous = new HashMap<>(nodes);
+    nodes.clear();
+    long ttlMillis = TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    for (String directory : listing.getDirectories()) {
+      String name = directory.substring(prefix.length(), directory.length() - 1);
+      S3FileNode child = previous.get(name);
+      nodes.put(name, child != null && child.isLazy() ? child : lazy(s3Client, directory, ttlMillis));
+    }
+    for (S3ObjectSummary summary : listing.getFiles()) {
+      S3FileNode node = new S3FileNode(summary.getKey().substring(prefix.length()));
+      node.setS3ObjectSummary(summary);
+      nodes.put(node.getText(), node);
+    }
+    loaded = true;
+    loadedAt = System.nanoTime();
+  }
+
   /**
    * Get the file metadata.
    *
@@ -120,20 +220,19 @@ public class S3FileNode {
    *
    * @return child nodes.
    */
-  public List<S3FileNode> getNodes() {
+  public synchronized List<S3FileNode> getNodes() {
+    load();
     return new ArrayList<>(nodes.values());
   }
 
   /**
    * Find an existing child node with the specified name or create a new one.
-   * <p>
-   * This method is not thread-safe. Instances of this class should not be
-   * shared across threads.
    *
    * @param name name of a child node
    * @return the child node
    */
-  public S3FileNode getOrCreate(String name) {
+  public synchronized S3FileNode getOrCreate(String name) {
+    load();
     return nodes.computeIfAbsent(Objects.requireNonNull(name), S3FileNode::new);
   }
 
@@ -143,7 +242,8 @@ public class S3FileNode {
    * @param name name of a child node
    * @return the child node
    */
-  public S3FileNode get(String name) {
+  public synchronized S3FileNode get(String name) {
+    load();
     return nodes.get(Objects.requireNonNull(name));
   }
 
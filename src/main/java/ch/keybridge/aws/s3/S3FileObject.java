@@ -18,6 +18,7 @@
  */
 package ch.keybridge.aws.s3;
 
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import java.util.Date;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -61,6 +62,23 @@ public class S3FileObject {
    */
   protected Date lastModified;
 
+  public S3FileObject() {
+  }
+
+  /**
+   * Construct a new S3FileObject from an S3 object summary.
+   *
+   * @param summary the S3 object summary
+   * @since v1.7.0 added 10/18/26
+   */
+  public S3FileObject(S3ObjectSummary summary) {
+    this.bucketName = summary.getBucketName();
+    this.key = summary.getKey();
+    this.eTag = summary.getETag();
+    this.size = summary.getSize();
+    this.lastModified = summary.getLastModified();
+  }
+
   public String getBucketName() {
     return bucketName;
   }
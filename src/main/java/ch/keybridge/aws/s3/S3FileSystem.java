@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.nio.file.*;
+import java.nio.file.attribute.UserPrincipalLookupService;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A file system over one S3 bucket.
+ * <p>
+ * Object keys are mapped to paths by splitting them on "/"; key prefixes
+ * ending in "/" act as (virtual) directories. File attributes are cached for
+ * a short time: attributes returned by directory listings are cached for
+ * free, so that walking a tree needs no HEAD request per file.
+ * <p>
+ * Obtain instances from {@link S3FileSystemProvider}.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3FileSystem extends FileSystem {
+
+  /**
+   * 100,000. The number of cached attributes above which expired entries are
+   * pruned.
+   */
+  private static final int MAX_CACHED_ATTRIBUTES = 100_000;
+
+  /**
+   * The provider.
+   */
+  private final S3FileSystemProvider provider;
+  /**
+   * The S3 client of the bucket.
+   */
+  private final AwsS3 s3Client;
+  /**
+   * The attribute cache lifetime in nanoseconds.
+   */
+  private final long attributeTtlNanos;
+  /**
+   * The cached attributes by object key.
+   */
+  private final Map<String, CachedAttributes> attributes = new ConcurrentHashMap<>();
+  private volatile boolean open = true;
+
+  S3FileSystem(S3FileSystemProvider provider, AwsS3 s3Client, long attributeTtlMillis) {
+    this.provider = provider;
+    this.s3Client = s3Client;
+    this.attributeTtlNanos = TimeUnit.MILLISECONDS.toNanos(attributeTtlMillis);
+  }
+
+  public String getBucketName() {
+    return s3Client.getBucketName();
+  }
+
+  public AwsS3 getS3Client() {
+    return s3Client;
+  }
+
+  /**
+   * Get the attributes of a path, from the cache or by a HEAD request. A path
+   * with no object but with keys below it is a virtual directory.
+   *
+   * @param path the path
+   * @return the attributes
+   * @throws NoSuchFileException if neither an object nor a directory exists
+   */
+  S3FileAttributes getAttributes(S3Path path) throws NoSuchFileException {
+    String key = path.getKey();
+    if (key.isEmpty()) {
+      return S3FileAttributes.directory(key);
+    }
+    CachedAttributes cached = attributes.get(key);
+    if (cached != null && cached.expires - System.nanoTime() > 0) {
+      return cached.attributes;
+    }
+    S3FileAttributes result;
+    try {
+      ObjectMetadata metadata = s3Client.getObjectMetadata(key);
+      result = S3FileAttributes.file(key, metadata.getContentLength(), metadata.getLastModified());
+    } catch (AmazonServiceException ex) {
+      if (ex.getStatusCode() != 404) {
+        throw ex;
+      }
+      boolean directory = s3Client.streamPages(path.getDirectoryPrefix(), "/")
+        .findFirst()
+        .map(page -> !page.getObjectSummaries().isEmpty() || !page.getCommonPrefixes().isEmpty())
+        .orElse(false);
+      if (!directory) {
+        throw new NoSuchFileException(path.toString());
+      }
+      result = S3FileAttributes.directory(key);
+    }
+    cache(result);
+    return result;
+  }
+
+  /**
+   * Cache the attributes of an object or directory.
+   *
+   * @param fileAttributes the attributes
+   */
+  void cache(S3FileAttributes fileAttributes) {
+    if (attributes.size() > MAX_CACHED_ATTRIBUTES) {
+      long now = System.nanoTime();
+      attributes.values().removeIf(cached -> cached.expires - now <= 0);
+      if (attributes.size() > MAX_CACHED_ATTRIBUTES) {
+        attributes.clear();
+      }
+    }
+    attributes.put((String) fileAttributes.fileKey(), new CachedAttributes(fileAttributes, System.nanoTime() + attributeTtlNanos));
+  }
+
+  /**
+   * Forget the cached attributes of a path after it is changed.
+   *
+   * @param path the path
+   */
+  void invalidate(S3Path path) {
+    attributes.remove(path.getKey());
+  }
+
+  @Override
+  public S3FileSystemProvider provider() {
+    return provider;
+  }
+
+  @Override
+  public void close() {
+    open = false;
+    attributes.clear();
+    provider.remove(this);
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return false;
+  }
+
+  @Override
+  public String getSeparator() {
+    return "/";
+  }
+
+  @Override
+  public Iterable<Path> getRootDirectories() {
+    return Collections.singleton(S3Path.parse(this, "/"));
+  }
+
+  @Override
+  public Iterable<FileStore> getFileStores() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public Set<String> supportedFileAttributeViews() {
+    return Collections.singleton("basic");
+  }
+
+  @Override
+  public S3Path getPath(String first, String... more) {
+    StringBuilder path = new StringBuilder(first);
+    for (String name : more) {
+      path.append('/').append(name);
+    }
+    return S3Path.parse(this, path.toString());
+  }
+
+  /**
+   * Get a path matcher. Patterns are matched against the path string using the
+   * default file system syntax ("glob:" or "regex:").
+   *
+   * @param syntaxAndPattern the syntax and pattern
+   * @return a path matcher
+   */
+  @Override
+  public PathMatcher getPathMatcher(String syntaxAndPattern) {
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher(syntaxAndPattern);
+    return path -> matcher.matches(Paths.get(path.toString()));
+  }
+
+  @Override
+  public UserPrincipalLookupService getUserPrincipalLookupService() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public WatchService newWatchService() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Attributes with an expiry time.
+   */
+  private static class CachedAttributes {
+
+    private final S3FileAttributes attributes;
+    private final long expires;
+
+    public CachedAttributes(S3FileAttributes attributes, long expires) {
+      this.attributes = attributes;
+      this.expires = expires;
+    }
+  }
+}
@@ -0,0 +1,599 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.io.*;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.NonReadableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A {@code java.nio.file} provider for the "s3" URI scheme, backed by
+ * {@link AwsS3}.
+ * <p>
+ * Each bucket is one file system: {@code Paths.get(URI.create("s3://bucket/a/b.txt"))}
+ * denotes the object "a/b.txt". Code written against the Path API then works
+ * on S3 without staging copies on local disk:
+ * <ul>
+ * <li>{@code Files.newByteChannel} returns an {@link S3SeekableByteChannel}
+ * that reads with ranged GETs; {@code Files.newInputStream} streams the whole
+ * object (decompressed and verified, see {@link AwsS3#getInputStream(String)}).
+ * <li>{@code Files.newOutputStream} and writable byte channels stream a
+ * multipart upload; the object appears when the stream is closed. Content is
+ * stored verbatim (the compression policy is not applied) so that the size
+ * attribute and byte channels address the written bytes.
+ * <li>{@code Files.list}, {@code Files.walk} and directory streams list one
+ * level at a time with the "/" delimiter, lazily page by page.
+ * <li>{@code Files.readAttributes} and {@code Files.exists} use a HEAD request
+ * whose result is cached for a short time; attributes of listed entries are
+ * cached by the listing.
+ * </ul>
+ * Directories are virtual: a path is a directory if keys exist below it.
+ * {@code Files.createDirectory} stores an empty "key/" marker object.
+ * <p>
+ * A file system is created on first use of a bucket with a default AwsS3
+ * client (default credentials). To configure the client, create the file
+ * system first with {@code FileSystems.newFileSystem(uri, env)} where the env
+ * entry {@value #ENV_CLIENT} is an AwsS3 instance and
+ * {@value #ENV_ATTRIBUTE_TTL} is the attribute cache lifetime in
+ * milliseconds.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3FileSystemProvider extends FileSystemProvider {
+
+  /**
+   * "s3". The URI scheme.
+   */
+  public static final String SCHEME = "s3";
+  /**
+   * "s3Client". The file system env entry holding an AwsS3 client.
+   */
+  public static final String ENV_CLIENT = "s3Client";
+  /**
+   * "attributeTtl". The file system env entry holding the attribute cache
+   * lifetime in milliseconds.
+   */
+  public static final String ENV_ATTRIBUTE_TTL = "attributeTtl";
+  /**
+   * 30 seconds. The default attribute cache lifetime.
+   */
+  private static final long DEFAULT_ATTRIBUTE_TTL = 30_000;
+  /**
+   * 5 GB. The largest object copied with a single request.
+   */
+  private static final long MAX_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+  /**
+   * 512 MB. The part size of multipart copies.
+   */
+  private static final long COPY_PART_SIZE = 512L * 1024 * 1024;
+
+  /**
+   * The open file systems by bucket name.
+   */
+  private final Map<String, S3FileSystem> fileSystems = new ConcurrentHashMap<>();
+
+  @Override
+  public String getScheme() {
+    return SCHEME;
+  }
+
+  @Override
+  public S3FileSystem newFileSystem(URI uri, Map<String, ?> env) {
+    String bucketName = getBucketName(uri);
+    S3FileSystem fileSystem = buildFileSystem(bucketName, env);
+    if (fileSystems.putIfAbsent(bucketName, fileSystem) != null) {
+      throw new FileSystemAlreadyExistsException(bucketName);
+    }
+    return fileSystem;
+  }
+
+  private S3FileSystem buildFileSystem(String bucketName, Map<String, ?> env) {
+    Object client = env.get(ENV_CLIENT);
+    Object ttl = env.get(ENV_ATTRIBUTE_TTL);
+    AwsS3 s3Client = client instanceof AwsS3 ? (AwsS3) client : new AwsS3();
+    if (s3Client.getBucketName() == null) {
+      s3Client.setBucketName(bucketName);
+    } else if (!s3Client.getBucketName().equals(bucketName)) {
+      throw new IllegalArgumentException("Client bucket " + s3Client.getBucketName() + " does not match " + bucketName);
+    }
+    return new S3FileSystem(this, s3Client, ttl instanceof Number ? ((Number) ttl).longValue() : DEFAULT_ATTRIBUTE_TTL);
+  }
+
+  @Override
+  public S3FileSystem getFileSystem(URI uri) {
+    S3FileSystem fileSystem = fileSystems.get(getBucketName(uri));
+    if (fileSystem == null) {
+      throw new FileSystemNotFoundException(uri.toString());
+    }
+    return fileSystem;
+  }
+
+  /**
+   * Get the path of a URI, creating the bucket file system with a default
+   * client if necessary.
+   *
+   * @param uri the URI, of the form {@code s3://bucket/key}
+   * @return the path
+   */
+  @Override
+  public S3Path getPath(URI uri) {
+    S3FileSystem fileSystem = fileSystems.computeIfAbsent(getBucketName(uri), bucketName -> buildFileSystem(bucketName, Collections.emptyMap()));
+    return fileSystem.getPath(uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath());
+  }
+
+  void remove(S3FileSystem fileSystem) {
+    fileSystems.remove(fileSystem.getBucketName(), fileSystem);
+  }
+
+  private static String getBucketName(URI uri) {
+    if (!SCHEME.equalsIgnoreCase(uri.getScheme()) || uri.getAuthority() == null) {
+      throw new IllegalArgumentException("Not an S3 URI: " + uri);
+    }
+    return uri.getAuthority();
+  }
+
+  private static S3Path toS3Path(Path path) {
+    if (!(path instanceof S3Path)) {
+      throw new ProviderMismatchException();
+    }
+    return ((S3Path) path).toAbsolutePath();
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Content">
+  @Override
+  public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>... attrs) throws IOException {
+    if (options.contains(StandardOpenOption.WRITE) || options.contains(StandardOpenOption.APPEND)) {
+      if (options.contains(StandardOpenOption.READ)) {
+        throw new UnsupportedOperationException("S3 channels are either readable or writable");
+      }
+      return new WriteChannel(newOutputStream(path, options.toArray(new OpenOption[0])));
+    }
+    S3Path s3Path = toS3Path(path);
+    S3FileAttributes attributes = s3Path.getFileSystem().getAttributes(s3Path);
+    if (attributes.isDirectory()) {
+      throw new IOException(path + " is a directory");
+    }
+    return new S3SeekableByteChannel(s3Path.getFileSystem().getS3Client(), s3Path.getKey(), attributes.size());
+  }
+
+  @Override
+  public InputStream newInputStream(Path path, OpenOption... options) throws IOException {
+    for (OpenOption option : options) {
+      if (option == StandardOpenOption.WRITE || option == StandardOpenOption.APPEND) {
+        throw new UnsupportedOperationException("'" + option + "' not allowed");
+      }
+    }
+    S3Path s3Path = toS3Path(path);
+    try {
+      return s3Path.getFileSystem().getS3Client().getInputStream(s3Path.getKey());
+    } catch (AmazonServiceException ex) {
+      if (ex.getStatusCode() == 404) {
+        throw new NoSuchFileException(path.toString());
+      }
+      throw ex;
+    }
+  }
+
+  @Override
+  public OutputStream newOutputStream(Path path, OpenOption... options) throws IOException {
+    Set<OpenOption> set = options.length == 0
+                          ? new HashSet<>(Arrays.asList(StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+                          : new HashSet<>(Arrays.asList(options));
+    if (set.contains(StandardOpenOption.READ)) {
+      throw new IllegalArgumentException("READ not allowed");
+    }
+    if (set.contains(StandardOpenOption.APPEND)) {
+      throw new UnsupportedOperationException("S3 objects cannot be appended");
+    }
+    S3Path s3Path = toS3Path(path);
+    S3FileSystem fileSystem = s3Path.getFileSystem();
+    if (s3Path.getKey().isEmpty()) {
+      throw new IOException("Cannot write the bucket root");
+    }
+    if (set.contains(StandardOpenOption.CREATE_NEW)) {
+      if (exists(s3Path)) {
+        throw new FileAlreadyExistsException(path.toString());
+      }
+    } else if (!set.contains(StandardOpenOption.CREATE)) {
+      fileSystem.getAttributes(s3Path);
+    }
+    OutputStream outputStream = fileSystem.getS3Client().newMultipartOutputStream(s3Path.getKey(), null);
+    return new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        outputStream.write(b);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        outputStream.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        try {
+          outputStream.close();
+        } finally {
+          fileSystem.invalidate(s3Path);
+        }
+      }
+    };
+  }
+
+  /**
+   * A write-only channel over an upload stream. Writes are sequential; the
+   * position is the number of bytes written.
+   */
+  private static class WriteChannel implements SeekableByteChannel {
+
+    private final OutputStream outputStream;
+    private final WritableByteChannel channel;
+    private long position;
+
+    public WriteChannel(OutputStream outputStream) {
+      this.outputStream = outputStream;
+      this.channel = Channels.newChannel(outputStream);
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      throw new NonReadableChannelException();
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      int n = channel.write(src);
+      position += n;
+      return n;
+    }
+
+    @Override
+    public long position() {
+      return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) {
+      throw new UnsupportedOperationException("S3 uploads are sequential");
+    }
+
+    @Override
+    public long size() {
+      return position;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+      throw new UnsupportedOperationException("S3 uploads are sequential");
+    }
+
+    @Override
+    public boolean isOpen() {
+      return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+      outputStream.close();
+    }
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Directories">
+  /**
+   * Open a directory, listing its entries lazily one page at a time with the
+   * "/" delimiter. The attributes of the entries are cached.
+   */
+  @Override
+  public DirectoryStream<Path> newDirectoryStream(Path dir, DirectoryStream.Filter<? super Path> filter) throws IOException {
+    S3Path directory = toS3Path(dir);
+    S3FileSystem fileSystem = directory.getFileSystem();
+    if (!fileSystem.getAttributes(directory).isDirectory()) {
+      throw new NotDirectoryException(dir.toString());
+    }
+    String prefix = directory.getDirectoryPrefix();
+    Stream<ListObjectsV2Result> pages = fileSystem.getS3Client().streamPages(prefix, "/");
+    Iterator<ListObjectsV2Result> pageIterator = pages.iterator();
+    Iterator<Path> entries = new Iterator<Path>() {
+      private final Deque<Path> page = new ArrayDeque<>();
+
+      @Override
+      public boolean hasNext() {
+        while (page.isEmpty() && pageIterator.hasNext()) {
+          ListObjectsV2Result result = pageIterator.next();
+          for (String commonPrefix : result.getCommonPrefixes()) {
+            String name = commonPrefix.substring(prefix.length(), commonPrefix.length() - 1);
+            add(name, S3FileAttributes.directory(commonPrefix.substring(0, commonPrefix.length() - 1)));
+          }
+          for (S3ObjectSummary summary : result.getObjectSummaries()) {
+            add(summary.getKey().substring(prefix.length()), S3FileAttributes.file(summary.getKey(), summary.getSize(), summary.getLastModified()));
+          }
+        }
+        return !page.isEmpty();
+      }
+
+      /**
+       * Skip directory marker objects and names that cannot be represented as
+       * a path (empty, or containing "//").
+       */
+      private void add(String name, S3FileAttributes attributes) {
+        if (name.isEmpty() || name.contains("/")) {
+          return;
+        }
+        fileSystem.cache(attributes);
+        Path entry = directory.resolve(name);
+        try {
+          if (filter == null || filter.accept(entry)) {
+            page.add(entry);
+          }
+        } catch (IOException ex) {
+          throw new DirectoryIteratorException(ex);
+        }
+      }
+
+      @Override
+      public Path next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return page.poll();
+      }
+    };
+    return new DirectoryStream<Path>() {
+      private boolean iterated;
+
+      @Override
+      public Iterator<Path> iterator() {
+        if (iterated) {
+          throw new IllegalStateException("Iterator already obtained");
+        }
+        iterated = true;
+        return entries;
+      }
+
+      @Override
+      public void close() {
+        pages.close();
+      }
+    };
+  }
+
+  /**
+   * Create a directory by storing an empty "key/" marker object.
+   */
+  @Override
+  public void createDirectory(Path dir, FileAttribute<?>... attrs) throws IOException {
+    S3Path directory = toS3Path(dir);
+    if (exists(directory)) {
+      throw new FileAlreadyExistsException(dir.toString());
+    }
+    ObjectMetadata metadata = new ObjectMetadata();
+    metadata.setContentLength(0);
+    directory.getFileSystem().getS3Client().upload(directory.getDirectoryPrefix(), new ByteArrayInputStream(new byte[0]), metadata);
+    directory.getFileSystem().invalidate(directory);
+  }
+
+  @Override
+  public void delete(Path path) throws IOException {
+    S3Path s3Path = toS3Path(path);
+    S3FileSystem fileSystem = s3Path.getFileSystem();
+    AwsS3 s3Client = fileSystem.getS3Client();
+    if (fileSystem.getAttributes(s3Path).isDirectory()) {
+      String prefix = s3Path.getDirectoryPrefix();
+      boolean empty = s3Client.streamPages(prefix, "/")
+        .findFirst()
+        .map(page -> page.getCommonPrefixes().isEmpty()
+                     && page.getObjectSummaries().stream().allMatch(summary -> summary.getKey().equals(prefix)))
+        .orElse(true);
+      if (!empty) {
+        throw new DirectoryNotEmptyException(path.toString());
+      }
+      s3Client.delete(prefix);
+    } else {
+      s3Client.delete(s3Path.getKey());
+    }
+    fileSystem.invalidate(s3Path);
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Copy and Move">
+  /**
+   * Copy an object with a server-side copy, replacing an existing target object
+   * in place. Objects larger than 5 GB are copied with a multipart copy.
+   * Copying a directory creates an empty directory.
+   */
+  @Override
+  public void copy(Path source, Path target, CopyOption... options) throws IOException {
+    S3Path from = toS3Path(source);
+    S3Path to = toS3Path(target);
+    if (from.equals(to)) {
+      return;
+    }
+    boolean replace = Arrays.asList(options).contains(StandardCopyOption.REPLACE_EXISTING);
+    if (exists(to)) {
+      if (!replace) {
+        throw new FileAlreadyExistsException(target.toString());
+      }
+      /**
+       * The copy overwrites an object, so the target is never missing. Only an
+       * (empty) directory marker must be removed first.
+       */
+      if (to.getFileSystem().getAttributes(to).isDirectory()) {
+        delete(to);
+      }
+    }
+    S3FileAttributes attributes = from.getFileSystem().getAttributes(from);
+    if (attributes.isDirectory()) {
+      createDirectory(to);
+      return;
+    }
+    CopyObjectRequest request = new CopyObjectRequest(from.getFileSystem().getBucketName(), from.getKey(),
+                                                      to.getFileSystem().getBucketName(), to.getKey());
+    AwsS3 s3Client = from.getFileSystem().getS3Client();
+    try {
+      if (attributes.size() <= MAX_COPY_SIZE) {
+        s3Client.copyObject(request);
+      } else {
+        s3Client.copyObjectMultipart(request, attributes.size(), COPY_PART_SIZE);
+      }
+    } finally {
+      to.getFileSystem().invalidate(to);
+    }
+  }
+
+  /**
+   * Move an object by copying and deleting it. Atomic moves are not supported.
+   */
+  @Override
+  public void move(Path source, Path target, CopyOption... options) throws IOException {
+    if (Arrays.asList(options).contains(StandardCopyOption.ATOMIC_MOVE)) {
+      throw new AtomicMoveNotSupportedException(source.toString(), target.toString(), "S3 has no rename");
+    }
+    if (toS3Path(source).equals(toS3Path(target))) {
+      return;
+    }
+    copy(source, target, options);
+    delete(source);
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Attributes">
+  @Override
+  public boolean isSameFile(Path path, Path path2) {
+    return toS3Path(path).equals(toS3Path(path2));
+  }
+
+  @Override
+  public boolean isHidden(Path path) {
+    return false;
+  }
+
+  @Override
+  public FileStore getFileStore(Path path) {
+    throw new UnsupportedOperationException("S3 has no file stores");
+  }
+
+  @Override
+  public void checkAccess(Path path, AccessMode... modes) throws IOException {
+    S3Path s3Path = toS3Path(path);
+    s3Path.getFileSystem().getAttributes(s3Path);
+    for (AccessMode mode : modes) {
+      if (mode == AccessMode.EXECUTE) {
+        throw new AccessDeniedException(path.toString());
+      }
+    }
+  }
+
+  private boolean exists(S3Path path) throws IOException {
+    try {
+      path.getFileSystem().getAttributes(path);
+      return true;
+    } catch (NoSuchFileException ex) {
+      return false;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <V extends FileAttributeView> V getFileAttributeView(Path path, Class<V> type, LinkOption... options) {
+    if (type != BasicFileAttributeView.class) {
+      return null;
+    }
+    return (V) new BasicFileAttributeView() {
+      @Override
+      public String name() {
+        return "basic";
+      }
+
+      @Override
+      public BasicFileAttributes readAttributes() throws IOException {
+        return S3FileSystemProvider.this.readAttributes(path, BasicFileAttributes.class);
+      }
+
+      @Override
+      public void setTimes(FileTime lastModifiedTime, FileTime lastAccessTime, FileTime createTime) {
+        throw new UnsupportedOperationException("S3 timestamps are read-only");
+      }
+    };
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <A extends BasicFileAttributes> A readAttributes(Path path, Class<A> type, LinkOption... options) throws IOException {
+    if (!type.isAssignableFrom(S3FileAttributes.class)) {
+      throw new UnsupportedOperationException("Unsupported attributes " + type.getName());
+    }
+    S3Path s3Path = toS3Path(path);
+    return (A) s3Path.getFileSystem().getAttributes(s3Path);
+  }
+
+  @Override
+  public Map<String, Object> readAttributes(Path path, String attributes, LinkOption... options) throws IOException {
+    String names = attributes;
+    int colon = attributes.indexOf(':');
+    if (colon >= 0) {
+      if (!attributes.substring(0, colon).equals("basic")) {
+        throw new UnsupportedOperationException("Unsupported view " + attributes.substring(0, colon));
+      }
+      names = attributes.substring(colon + 1);
+    }
+    BasicFileAttributes basic = readAttributes(path, BasicFileAttributes.class);
+    Map<String, Object> all = new LinkedHashMap<>();
+    all.put("lastModifiedTime", basic.lastModifiedTime());
+    all.put("lastAccessTime", basic.lastAccessTime());
+    all.put("creationTime", basic.creationTime());
+    all.put("size", basic.size());
+    all.put("isRegularFile", basic.isRegularFile());
+    all.put("isDirectory", basic.isDirectory());
+    all.put("isSymbolicLink", basic.isSymbolicLink());
+    all.put("isOther", basic.isOther());
+    all.put("fileKey", basic.fileKey());
+    if (names.equals("*")) {
+      return all;
+    }
+    Map<String, Object> selected = new LinkedHashMap<>();
+    for (String name : names.split(",")) {
+      if (!all.containsKey(name)) {
+        throw new IllegalArgumentException("Unknown attribute " + name);
+      }
+      selected.put(name, all.get(name));
+    }
+    return selected;
+  }
+
+  @Override
+  public void setAttribute(Path path, String attribute, Object value, LinkOption... options) {
+    throw new UnsupportedOperationException("S3 attributes are read-only");
+  }//</editor-fold>
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * A persisted {@link S3FileNode} tree.
+ * <p>
+ * Building a file tree of a large bucket takes minutes of listing requests. A
+ * snapshot stores a built tree in a compact local file so that a service can
+ * start from it in milliseconds, then refresh it in the background (see
+ * {@link S3FileManager#getFileTree(Path, long)}).
+ * <p>
+ * File layout (integers are big-endian; counts and string lengths are
+ * unsigned varints):
+ * <pre>
+ * header   magic "S3FT", version, created (long), stamp (string index)
+ * strings  count, then each string: UTF-8 length, bytes
+ * nodes    count, then in pre-order: text (string index), child count,
+ *          file flag (byte)
+ * files    for each file node in pre-order: key (shared prefix length with
+ *          the previous key, suffix string), bucket, ETag and storage class
+ *          (string index, 0 for null), size, last modified (long)
+ * </pre> Node names, bucket names, ETags and storage classes are stored once in
+ * the string table and referenced by index + 1. The file is read with a single
+ * bulk read and decoded without further IO.
+ * <p>
+ * The stamp is an application value identifying the tree's source (for
+ * example the bucket name and prefix). Together with the creation time it
+ * decides whether a snapshot may be used.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3FileTreeSnapshot {
+
+  /**
+   * "S3FT". The file magic number.
+   */
+  private static final int MAGIC = 0x53334654;
+  private static final int VERSION = 1;
+
+  /**
+   * The tree root.
+   */
+  private final S3FileNode root;
+  /**
+   * The validity stamp.
+   */
+  private final String stamp;
+  /**
+   * The time the snapshot was written.
+   */
+  private final Date created;
+
+  private S3FileTreeSnapshot(S3FileNode root, String stamp, Date created) {
+    this.root = root;
+    this.stamp = stamp;
+    this.created = created;
+  }
+
+  public S3FileNode getRoot() {
+    return root;
+  }
+
+  public String getStamp() {
+    return stamp;
+  }
+
+  public Date getCreated() {
+    return created;
+  }
+
+  /**
+   * Determine if the snapshot is older than a maximum age.
+   *
+   * @param maxAgeMillis the maximum age in milliseconds
+   * @return true if the snapshot is stale
+   */
+  public boolean isOlderThan(long maxAgeMillis) {
+    return System.currentTimeMillis() - created.getTime() > maxAgeMillis;
+  }
+
+  /**
+   * Write a tree to a snapshot file. The file is written to a temporary file
+   * then atomically moved into place, so readers never see a partial
+   * snapshot. Lazy nodes are expanded (see {@link S3FileNode#lazy}).
+   *
+   * @param root  the tree root
+   * @param stamp the validity stamp
+   * @param file  the snapshot file
+   * @throws IOException on write error
+   */
+  public static void write(S3FileNode root, String stamp, Path file) throws IOException {
+    /**
+     * Flatten the tree in pre-order, collecting the string table.
+     */
+    List<S3FileNode> nodes = new ArrayList<>();
+    Deque<S3FileNode> stack = new ArrayDeque<>();
+    stack.push(root);
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    intern(strings, stamp);
+    while (!stack.isEmpty()) {
+      S3FileNode node = stack.pop();
+      nodes.add(node);
+      intern(strings, node.getText());
+      S3ObjectSummary summary = node.getS3ObjectSummary();
+      if (summary != null) {
+        intern(strings, summary.getBucketName());
+        intern(strings, summary.getETag());
+        intern(strings, summary.getStorageClass());
+      }
+      List<S3FileNode> children = node.getNodes();
+      for (int i = children.size() - 1; i >= 0; i--) {
+        stack.push(children.get(i));
+      }
+    }
+    Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        writeVarint(out, index(strings, stamp));
+        writeVarint(out, strings.size());
+        for (String value : strings.keySet()) {
+          byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+          writeVarint(out, bytes.length);
+          out.write(bytes);
+        }
+        writeVarint(out, nodes.size());
+        for (S3FileNode node : nodes) {
+          writeVarint(out, strings.get(node.getText()));
+          writeVarint(out, node.getNodes().size());
+          out.writeByte(node.getS3ObjectSummary() == null ? 0 : 1);
+        }
+        byte[] previous = new byte[0];
+        for (S3FileNode node : nodes) {
+          S3ObjectSummary summary = node.getS3ObjectSummary();
+          if (summary == null) {
+            continue;
+          }
+          byte[] key = summary.getKey().getBytes(StandardCharsets.UTF_8);
+          int shared = 0;
+          int n = Math.min(key.length, previous.length);
+          while (shared < n && key[shared] == previous[shared]) {
+            shared++;
+          }
+          writeVarint(out, shared);
+          writeVarint(out, key.length - shared);
+          out.write(key, shared, key.length - shared);
+          previous = key;
+          writeVarint(out, index(strings, summary.getBucketName()));
+          writeVarint(out, index(strings, summary.getETag()));
+          writeVarint(out, index(strings, summary.getStorageClass()));
+          out.writeLong(summary.getSize());
+          out.writeLong(summary.getLastModified() == null ? Long.MIN_VALUE : summary.getLastModified().getTime());
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Read a snapshot file.
+   *
+   * @param file the snapshot file
+   * @return the snapshot
+   * @throws IOException if the file cannot be read or is not a valid snapshot
+   */
+  public static S3FileTreeSnapshot read(Path file) throws IOException {
+    ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+    try {
+      if (in.getInt() != MAGIC || in.get() != VERSION) {
+        throw new IOException("Not an S3 file tree snapshot: " + file);
+      }
+      Date created = new Date(in.getLong());
+      int stampIndex = readVarint(in);
+      String[] strings = new String[readVarint(in)];
+      for (int i = 0; i < strings.length; i++) {
+        int length = readVarint(in);
+        strings[i] = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+      }
+      /**
+       * Read the flattened node arrays.
+       */
+      int count = readVarint(in);
+      int[] texts = new int[count];
+      int[] childCounts = new int[count];
+      boolean[] files = new boolean[count];
+      for (int i = 0; i < count; i++) {
+        texts[i] = readVarint(in);
+        childCounts[i] = readVarint(in);
+        files[i] = in.get() != 0;
+      }
+      /**
+       * Rebuild the tree: each node is a child of the nearest preceding node
+       * that still expects children.
+       */
+      S3FileNode root = new S3FileNode(strings[texts[0] - 1]);
+      Deque<S3FileNode> parents = new ArrayDeque<>();
+      Deque<Integer> remaining = new ArrayDeque<>();
+      byte[] key = new byte[128];
+      int keyLength = 0;
+      for (int i = 0; i < count; i++) {
+        S3FileNode node;
+        if (i == 0) {
+          node = root;
+        } else {
+          while (remaining.peek() == 0) {
+            remaining.pop();
+            parents.pop();
+          }
+          remaining.push(remaining.pop() - 1);
+          node = parents.peek().getOrCreate(strings[texts[i] - 1]);
+        }
+        if (files[i]) {
+          int shared = readVarint(in);
+          int suffix = readVarint(in);
+          if (shared + suffix > key.length) {
+            key = Arrays.copyOf(key, Math.max(key.length * 2, shared + suffix));
+          }
+          in.get(key, shared, suffix);
+          keyLength = shared + suffix;
+          S3ObjectSummary summary = new S3ObjectSummary();
+          summary.setKey(new String(key, 0, keyLength, StandardCharsets.UTF_8));
+          summary.setBucketName(string(strings, readVarint(in)));
+          summary.setETag(string(strings, readVarint(in)));
+          summary.setStorageClass(string(strings, readVarint(in)));
+          summary.setSize(in.getLong());
+          long lastModified = in.getLong();
+          summary.setLastModified(lastModified == Long.MIN_VALUE ? null : new Date(lastModified));
+          node.setS3ObjectSummary(summary);
+        }
+        if (childCounts[i] > 0) {
+          parents.push(node);
+          remaining.push(childCounts[i]);
+        }
+      }
+      return new S3FileTreeSnapshot(root, string(strings, stampIndex), created);
+    } catch (RuntimeException ex) {
+      throw new IOException("Corrupt S3 file tree snapshot: " + file, ex);
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Encoding helpers">
+  private static void intern(Map<String, Integer> strings, String value) {
+    if (value != null) {
+      strings.putIfAbsent(value, strings.size() + 1);
+    }
+  }
+
+  private static int index(Map<String, Integer> strings, String value) {
+    return value == null ? 0 : strings.get(value);
+  }
+
+  private static String string(String[] strings, int index) {
+    return index == 0 ? null : strings[index - 1];
+  }
+
+  private static void writeVarint(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7f) != 0) {
+      out.write((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int readVarint(ByteBuffer in) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = in.get();
+      value |= (b & 0x7f) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }//</editor-fold>
+}
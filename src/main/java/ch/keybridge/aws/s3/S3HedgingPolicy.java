@@ -0,0 +1,462 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.AbortedException;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hedged request policy for latency-sensitive S3 reads (GET and HEAD).
+ * <p>
+ * Most S3 requests complete quickly but a small fraction are served by a slow
+ * front-end and take many times longer. A hedged request sends a duplicate of
+ * any request still waiting for its response after the hedge delay and
+ * returns whichever response arrives first. The loser is cancelled (its
+ * thread interrupted) and, should it still produce a result, that result is
+ * closed (object content streams are aborted rather than drained).
+ * <p>
+ * The hedge delay is a percentile (by default the 95th) of the recent response
+ * latencies, recomputed as samples arrive, so that only the slowest requests
+ * are duplicated. No request is hedged until enough samples are collected.
+ * <p>
+ * The extra load is bounded by a hedge budget: each request earns a fraction
+ * (by default 5%) of a hedge credit, each hedge spends one credit and at most
+ * {@code maxBurst} credits accumulate. When S3 is slow across the board the
+ * budget runs out and requests are simply waited for.
+ * <p>
+ * A hedged operation must be idempotent and have no side effects; it should
+ * return once the response headers arrive (e.g. {@code getObject}), so that
+ * the latency measured is the time to the first byte. If the first attempt
+ * fails the error is thrown unless a hedge is in flight, in which case the
+ * hedge result is returned.
+ * <p>
+ * This class is thread-safe. Install it on an AwsS3 client with
+ * {@code AwsS3.setHedgingPolicy}.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3HedgingPolicy {
+
+  private static final Logger LOG = Logger.getLogger(S3HedgingPolicy.class.getName());
+
+  /**
+   * 1,000. Hedge credits are counted in thousandths.
+   */
+  private static final long CREDIT = 1_000;
+  /**
+   * 512. The number of recent latency samples kept.
+   */
+  private static final int WINDOW = 512;
+  /**
+   * 64. The hedge delay is recomputed after this many new samples.
+   */
+  private static final int RECOMPUTE_INTERVAL = 64;
+
+  /**
+   * The shared executor running the hedged attempts. Threads are daemon
+   * threads so that an idle executor does not block JVM exit.
+   */
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "s3-hedge-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  /**
+   * 0.95. The latency percentile after which a request is hedged.
+   */
+  private double percentile = 0.95;
+  /**
+   * 0.05. The hedge credit earned per request: the maximum fraction of
+   * requests that are hedged.
+   */
+  private double budget = 0.05;
+  /**
+   * 10. The maximum number of accumulated hedge credits.
+   */
+  private int maxBurst = 10;
+  /**
+   * 5 ms. The hedge delay is never shorter than this.
+   */
+  private long minDelayNanos = TimeUnit.MILLISECONDS.toNanos(5);
+  /**
+   * 32. No request is hedged until this many latencies are sampled.
+   */
+  private int minSamples = 32;
+
+  /**
+   * The recent latency samples (nanoseconds), a ring buffer.
+   */
+  private final long[] samples = new long[WINDOW];
+  /**
+   * The total number of samples recorded.
+   */
+  private long sampleCount;
+  /**
+   * The current hedge delay in nanoseconds; MAX_VALUE while warming up.
+   */
+  private volatile long hedgeDelayNanos = Long.MAX_VALUE;
+  /**
+   * The available hedge credit, in thousandths.
+   */
+  private final AtomicLong credit = new AtomicLong();
+
+  /**
+   * The number of requests executed.
+   */
+  private final LongAdder requestCount = new LongAdder();
+  /**
+   * The number of hedges sent.
+   */
+  private final LongAdder hedgeCount = new LongAdder();
+  /**
+   * The number of hedges that returned first.
+   */
+  private final LongAdder hedgeWinCount = new LongAdder();
+  /**
+   * The number of hedges not sent for lack of budget.
+   */
+  private final LongAdder budgetExhaustedCount = new LongAdder();
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public double getPercentile() {
+    return percentile;
+  }
+
+  /**
+   * Set the latency percentile after which a request is hedged.
+   *
+   * @param percentile the percentile, between 0 and 1 exclusive
+   */
+  public void setPercentile(double percentile) {
+    if (percentile <= 0 || percentile >= 1) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 1");
+    }
+    this.percentile = percentile;
+  }
+
+  public S3HedgingPolicy withPercentile(double percentile) {
+    setPercentile(percentile);
+    return this;
+  }
+
+  public double getBudget() {
+    return budget;
+  }
+
+  /**
+   * Set the hedge budget: the maximum fraction of requests that are hedged.
+   *
+   * @param budget the budget, e.g. 0.05 for 5%
+   */
+  public void setBudget(double budget) {
+    if (budget < 0 || budget > 1) {
+      throw new IllegalArgumentException("Budget must be between 0 and 1");
+    }
+    this.budget = budget;
+  }
+
+  public S3HedgingPolicy withBudget(double budget) {
+    setBudget(budget);
+    return this;
+  }
+
+  public int getMaxBurst() {
+    return maxBurst;
+  }
+
+  public void setMaxBurst(int maxBurst) {
+    this.maxBurst = maxBurst;
+  }
+
+  public S3HedgingPolicy withMaxBurst(int maxBurst) {
+    this.maxBurst = maxBurst;
+    return this;
+  }
+
+  public long getMinDelay(TimeUnit unit) {
+    return unit.convert(minDelayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void setMinDelay(long minDelay, TimeUnit unit) {
+    this.minDelayNanos = unit.toNanos(minDelay);
+  }
+
+  public S3HedgingPolicy withMinDelay(long minDelay, TimeUnit unit) {
+    setMinDelay(minDelay, unit);
+    return this;
+  }
+
+  public int getMinSamples() {
+    return minSamples;
+  }
+
+  public void setMinSamples(int minSamples) {
+    this.minSamples = Math.max(1, Math.min(WINDOW, minSamples));
+  }
+
+  public S3HedgingPolicy withMinSamples(int minSamples) {
+    setMinSamples(minSamples);
+    return this;
+  }
+
+  /**
+   * Get the current hedge delay.
+   *
+   * @param unit the time unit
+   * @return the hedge delay; Long.MAX_VALUE while not enough latencies are
+   *         sampled
+   */
+  public long getHedgeDelay(TimeUnit unit) {
+    long delay = hedgeDelayNanos;
+    return delay == Long.MAX_VALUE ? Long.MAX_VALUE : unit.convert(delay, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the number of requests executed.
+   *
+   * @return the request count
+   */
+  public long getRequestCount() {
+    return requestCount.sum();
+  }
+
+  /**
+   * Get the number of duplicate requests sent.
+   *
+   * @return the hedge count
+   */
+  public long getHedgeCount() {
+    return hedgeCount.sum();
+  }
+
+  /**
+   * Get the number of duplicate requests that returned before the original.
+   *
+   * @return the hedge win count
+   */
+  public long getHedgeWinCount() {
+    return hedgeWinCount.sum();
+  }
+
+  /**
+   * Get the number of slow requests not hedged because the budget was spent.
+   *
+   * @return the budget exhausted count
+   */
+  public long getBudgetExhaustedCount() {
+    return budgetExhaustedCount.sum();
+  }//</editor-fold>
+
+  /**
+   * Execute an S3 request, sending a duplicate if no response arrives within
+   * the hedge delay.
+   *
+   * @param <T>       the operation result type
+   * @param <E>       the operation checked exception type
+   * @param operation the idempotent S3 request
+   * @return the first successful result
+   * @throws E on operation error
+   */
+  @SuppressWarnings("unchecked")
+  public <T, E extends Exception> T execute(S3Operation<T, E> operation) throws E {
+    requestCount.increment();
+    earnCredit();
+    Hedge<T> hedge = new Hedge<>();
+    long start = System.nanoTime();
+    hedge.submit(operation, start, false);
+    try {
+      long delay = hedgeDelayNanos;
+      T result;
+      try {
+        result = delay == Long.MAX_VALUE
+                 ? hedge.winner.get()
+                 : hedge.winner.get(delay, TimeUnit.NANOSECONDS);
+      } catch (TimeoutException ex) {
+        if (spendCredit()) {
+          hedgeCount.increment();
+          hedge.submit(operation, System.nanoTime(), true);
+        } else {
+          budgetExhaustedCount.increment();
+        }
+        result = hedge.winner.get();
+      }
+      return result;
+    } catch (InterruptedException ex) {
+      hedge.cancel();
+      Thread.currentThread().interrupt();
+      throw new AbortedException(ex);
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw (E) cause;
+    }
+  }
+
+  /**
+   * Record a response latency and periodically recompute the hedge delay.
+   *
+   * @param nanos the latency in nanoseconds
+   */
+  protected synchronized void recordLatency(long nanos) {
+    samples[(int) (sampleCount++ % WINDOW)] = nanos;
+    if (sampleCount >= minSamples && (sampleCount % RECOMPUTE_INTERVAL == 0 || sampleCount == minSamples)) {
+      int size = (int) Math.min(sampleCount, WINDOW);
+      long[] sorted = Arrays.copyOf(samples, size);
+      Arrays.sort(sorted);
+      long delay = sorted[Math.min(size - 1, (int) (percentile * size))];
+      hedgeDelayNanos = Math.max(minDelayNanos, delay);
+    }
+  }
+
+  /**
+   * Add the per-request budget to the hedge credit, up to the maximum burst.
+   */
+  private void earnCredit() {
+    long earned = (long) (budget * CREDIT);
+    long max = maxBurst * CREDIT;
+    credit.getAndUpdate(c -> Math.min(max, c + earned));
+  }
+
+  /**
+   * Spend one hedge credit if available.
+   *
+   * @return true if a hedge may be sent
+   */
+  private boolean spendCredit() {
+    long c;
+    do {
+      c = credit.get();
+      if (c < CREDIT) {
+        return false;
+      }
+    } while (!credit.compareAndSet(c, c - CREDIT));
+    return true;
+  }
+
+  /**
+   * Release the result of a losing attempt. Object content is aborted so that
+   * the connection is not drained.
+   *
+   * @param result the losing result
+   */
+  private static void discard(Object result) {
+    try {
+      if (result instanceof S3Object) {
+        ((S3Object) result).getObjectContent().abort();
+        ((S3Object) result).close();
+      } else if (result instanceof S3ObjectInputStream) {
+        ((S3ObjectInputStream) result).abort();
+      } else if (result instanceof Closeable) {
+        ((Closeable) result).close();
+      }
+    } catch (IOException | RuntimeException ex) {
+      LOG.log(Level.FINE, "Failed to release hedged result: {0}", ex.getMessage());
+    }
+  }
+
+  /**
+   * The attempts of one hedged request. The first successful attempt
+   * completes the winner; later results are discarded. The request fails only
+   * when every attempt has failed, with the error of the first attempt.
+   *
+   * @param <T> the result type
+   */
+  private class Hedge<T> {
+
+    private final CompletableFuture<T> winner = new CompletableFuture<>();
+    private final Future<?>[] tasks = new Future<?>[2];
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean won = new AtomicBoolean();
+    private volatile int attempts;
+    private volatile Throwable firstError;
+
+    void submit(S3Operation<T, ?> operation, long start, boolean hedged) {
+      int attempt = attempts++;
+      tasks[attempt] = EXECUTOR.submit(() -> {
+        try {
+          T result = operation.execute();
+          /**
+           * Claim the win first and update the statistics before completing, so
+           * that they are current when the caller resumes.
+           */
+          if (won.compareAndSet(false, true)) {
+            recordLatency(System.nanoTime() - start);
+            if (hedged) {
+              hedgeWinCount.increment();
+            }
+            if (!winner.complete(result)) {
+              discard(result);
+            }
+            cancelOthers(attempt);
+          } else {
+            discard(result);
+          }
+        } catch (Throwable ex) {
+          if (attempt == 0) {
+            firstError = ex;
+          }
+          /**
+           * Fail when no other attempt can still succeed. The attempt count is
+           * read after the failure is counted, so a hedge submitted
+           * concurrently is always waited for.
+           */
+          if (failures.incrementAndGet() == attempts) {
+            winner.completeExceptionally(firstError != null ? firstError : ex);
+          }
+        }
+      });
+    }
+
+    void cancelOthers(int winning) {
+      for (int i = 0; i < attempts; i++) {
+        if (i != winning && tasks[i] != null) {
+          tasks[i].cancel(true);
+        }
+      }
+    }
+
+    void cancel() {
+      winner.cancel(false);
+      cancelOthers(-1);
+    }
+  }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.*;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A streaming reader of Amazon S3 Inventory reports.
+ * <p>
+ * S3 Inventory produces a daily (or weekly) listing of a bucket as a
+ * {@code manifest.json} file plus a set of gzip compressed CSV data files. For
+ * very large buckets reading the inventory is much faster and cheaper than
+ * listing the bucket through the API.
+ * <p>
+ * The reader parses the manifest then decompresses and parses the data files
+ * in parallel, one file per worker thread. Parsed records are handed to the
+ * consumer through a bounded queue so memory use is independent of the
+ * inventory size. The result is a stream of {@link S3ObjectSummary} records
+ * which can be used wherever {@code AwsS3.list} results are consumed, for
+ * example {@link S3FileManager#getFileTree(Stream)}.
+ * <p>
+ * Records are NOT returned in key order: data files are read concurrently and
+ * S3 does not sort keys across data files. Sort the records before writing
+ * an {@link S3ListingSnapshot}.
+ * <p>
+ * Only the CSV inventory format is supported.
+ *
+ * @see <a href="https://docs.aws.amazon.com/AmazonS3/latest/userguide/storage-inventory.html">Amazon
+ * S3 Inventory</a>
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3InventoryReader {
+
+  private static final Logger LOG = Logger.getLogger(S3InventoryReader.class.getName());
+
+  /**
+   * 10,000. The capacity of the record queue between the parser threads and
+   * the consumer.
+   */
+  private static final int QUEUE_CAPACITY = 10_000;
+  /**
+   * The end of file marker placed on the queue by each parser thread.
+   */
+  private static final S3ObjectSummary END = new S3ObjectSummary();
+
+  /**
+   * The source bucket name: the bucket described by the inventory.
+   */
+  private final String sourceBucket;
+  /**
+   * The column names of the data files, in order.
+   */
+  private final List<String> fileSchema;
+  /**
+   * The object keys of the data files.
+   */
+  private final List<String> dataFileKeys;
+  /**
+   * Opens a data file by key. Returns the compressed content.
+   */
+  private final DataFileSource source;
+  /**
+   * The number of data files read in parallel.
+   */
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Internal constructor. Use {@link #fromDirectory(Path)} or
+   * {@link #fromS3(AwsS3, String)}.
+   *
+   * @param manifest the manifest JSON
+   * @param source   the data file source
+   * @throws IOException if the manifest is invalid
+   */
+  private S3InventoryReader(InputStream manifest, DataFileSource source) throws IOException {
+    JsonNode root = new ObjectMapper().readTree(manifest);
+    String fileFormat = root.path("fileFormat").asText("CSV");
+    if (!"CSV".equalsIgnoreCase(fileFormat)) {
+      throw new IOException("Unsupported inventory file format " + fileFormat + ". Only CSV is supported.");
+    }
+    this.sourceBucket = root.path("sourceBucket").asText(null);
+    this.fileSchema = new ArrayList<>();
+    for (String column : root.path("fileSchema").asText("").split(",")) {
+      fileSchema.add(column.trim());
+    }
+    if (!fileSchema.contains("Key")) {
+      throw new IOException("Inventory file schema does not contain a Key column: " + fileSchema);
+    }
+    this.dataFileKeys = new ArrayList<>();
+    for (JsonNode file : root.path("files")) {
+      dataFileKeys.add(file.path("key").asText());
+    }
+    this.source = source;
+  }
+
+  /**
+   * Read an inventory report from a local directory. Data files are resolved
+   * by their manifest key relative to the manifest directory, else by file
+   * name in the manifest directory or its {@code data} sub-directory.
+   *
+   * @param manifestFile the local manifest.json file
+   * @return a new inventory reader
+   * @throws IOException if the manifest cannot be read
+   */
+  public static S3InventoryReader fromDirectory(Path manifestFile) throws IOException {
+    Path directory = manifestFile.toAbsolutePath().getParent();
+    try (InputStream inputStream = Files.newInputStream(manifestFile)) {
+      return new S3InventoryReader(inputStream, key -> {
+        String fileName = key.substring(key.lastIndexOf('/') + 1);
+        for (Path candidate : Arrays.asList(directory.resolve(key), directory.resolve("data").resolve(fileName), directory.resolve(fileName))) {
+          if (Files.isRegularFile(candidate)) {
+            return Files.newInputStream(candidate);
+          }
+        }
+        throw new FileNotFoundException("Inventory data file not found: " + key);
+      });
+    }
+  }
+
+  /**
+   * Read an inventory report from its destination bucket. Data files are
+   * streamed directly from S3 without local staging.
+   *
+   * @param s3Client    an S3 client configured for the inventory destination
+   *                    bucket
+   * @param manifestKey the key of the manifest.json object
+   * @return a new inventory reader
+   * @throws IOException if the manifest cannot be read
+   */
+  public static S3InventoryReader fromS3(AwsS3 s3Client, String manifestKey) throws IOException {
+    try (InputStream inputStream = s3Client.getInputStream(manifestKey)) {
+      return new S3InventoryReader(inputStream, s3Client::getInputStream);
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public String getSourceBucket() {
+    return sourceBucket;
+  }
+
+  public List<String> getFileSchema() {
+    return Collections.unmodifiableList(fileSchema);
+  }
+
+  public List<String> getDataFileKeys() {
+    return Collections.unmodifiableList(dataFileKeys);
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public S3InventoryReader withParallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }//</editor-fold>
+
+  /**
+   * Stream the inventory records as S3 file objects.
+   *
+   * @return a lazy stream of file objects. Close the stream to stop reading
+   *         early.
+   */
+  public Stream<S3FileObject> streamFileObjects() {
+    Stream<S3ObjectSummary> summaries = stream();
+    return summaries.map(S3FileObject::new).onClose(summaries::close);
+  }
+
+  /**
+   * Stream the inventory records. Data files are decompressed and parsed in
+   * parallel on background threads as the stream is consumed.
+   * <p>
+   * Always close the stream (e.g. with try-with-resources) to release the
+   * parser threads if the stream is not fully consumed.
+   *
+   * @return a lazy stream of object summaries.
+   * @throws SdkClientException if a data file cannot be read or parsed. The
+   *                            error is thrown from the stream consumer.
+   */
+  public Stream<S3ObjectSummary> stream() {
+    BlockingQueue<S3ObjectSummary> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, dataFileKeys.size())), r -> {
+      Thread thread = new Thread(r, "s3-inventory-reader");
+      thread.setDaemon(true);
+      return thread;
+    });
+    /**
+     * The first parser error, rethrown to the consumer.
+     */
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    /**
+     * Set when the consumer closes the stream. Nobody reads the queue any more,
+     * so the parsers must not block on it. (The interrupt from shutdownNow may
+     * already have been consumed by the parser.)
+     */
+    AtomicBoolean closed = new AtomicBoolean();
+    for (String key : dataFileKeys) {
+      executor.submit(() -> {
+        try {
+          parse(key, queue);
+        } catch (Exception ex) {
+          if (!closed.get()) {
+            failure.compareAndSet(null, ex);
+          }
+        } finally {
+          try {
+            if (!closed.get()) {
+              queue.put(END);
+            }
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return null;
+      });
+    }
+    executor.shutdown();
+    Iterator<S3ObjectSummary> iterator = new Iterator<S3ObjectSummary>() {
+      private int remaining = dataFileKeys.size();
+      private S3ObjectSummary next;
+
+      @Override
+      public boolean hasNext() {
+        while (next == null && remaining > 0) {
+          try {
+            S3ObjectSummary s = queue.take();
+            if (s == END) {
+              remaining--;
+              rethrow(failure.get());
+            } else {
+              next = s;
+            }
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SdkClientException("Interrupted while reading inventory", ex);
+          }
+        }
+        return next != null;
+      }
+
+      @Override
+      public S3ObjectSummary next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        S3ObjectSummary s = next;
+        next = null;
+        return s;
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+      .onClose(() -> {
+        closed.set(true);
+        executor.shutdownNow();
+      });
+  }
+
+  /**
+   * Decompress and parse one data file onto the queue.
+   *
+   * @param key   the data file key
+   * @param queue the record queue
+   * @throws IOException          if the file cannot be read
+   * @throws InterruptedException if the stream was closed
+   */
+  private void parse(String key, BlockingQueue<S3ObjectSummary> queue) throws IOException, InterruptedException {
+    long count = 0;
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(source.open(key), 1 << 16), StandardCharsets.UTF_8), 1 << 16)) {
+      List<String> fields = new ArrayList<>(fileSchema.size());
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        if (line.isEmpty()) {
+          continue;
+        }
+        splitCsv(line, fields);
+        queue.put(toSummary(fields));
+        count++;
+      }
+    }
+    LOG.log(Level.FINE, "Read {0} inventory records from {1}", new Object[]{count, key});
+  }
+
+  /**
+   * Build an object summary from the CSV fields of one record.
+   *
+   * @param fields the CSV fields in schema order
+   * @return the object summary
+   * @throws UnsupportedEncodingException never
+   */
+  private S3ObjectSummary toSummary(List<String> fields) throws UnsupportedEncodingException {
+    S3ObjectSummary summary = new S3ObjectSummary();
+    summary.setBucketName(sourceBucket);
+    for (int i = 0; i < fields.size() && i < fileSchema.size(); i++) {
+      String value = fields.get(i);
+      if (value.isEmpty()) {
+        continue;
+      }
+      switch (fileSchema.get(i)) {
+        case "Bucket":
+          summary.setBucketName(value);
+          break;
+        case "Key":
+          /**
+           * Inventory object keys are URL encoded.
+           */
+          summary.setKey(URLDecoder.decode(value, "UTF-8"));
+          break;
+        case "Size":
+          summary.setSize(Long.parseLong(value));
+          break;
+        case "LastModifiedDate":
+          summary.setLastModified(Date.from(Instant.parse(value)));
+          break;
+        case "ETag":
+          summary.setETag(value);
+          break;
+        case "StorageClass":
+          summary.setStorageClass(value);
+          break;
+        default:
+          break;
+      }
+    }
+    return summary;
+  }
+
+  /**
+   * Split a CSV line with double-quoted fields.
+   *
+   * @param line   the line
+   * @param fields the list to fill; cleared first
+   */
+  static void splitCsv(String line, List<String> fields) {
+    fields.clear();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"') {
+          if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+            field.append('"');
+            i++;
+          } else {
+            quoted = false;
+          }
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+  }
+
+  /**
+   * Rethrow a parser failure to the consumer.
+   *
+   * @param ex the failure; ignored if null
+   */
+  private static void rethrow(Exception ex) {
+    if (ex instanceof RuntimeException) {
+      throw (RuntimeException) ex;
+    }
+    if (ex != null) {
+      throw new SdkClientException("Failed to read inventory: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Opens the compressed content of a data file.
+   */
+  @FunctionalInterface
+  private interface DataFileSource {
+
+    InputStream open(String key) throws IOException;
+  }
+}
@@ -1,6 +1,7 @@
 package ch.keybridge.aws.s3;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
@@ -12,6 +13,27 @@ import java.util.Objects;
  */
 public class S3Key {
 
+  /**
+   * Compares S3 keys in UTF-8 binary order; the order in which Amazon S3
+   * returns listing results. This is equivalent to code point order, which
+   * differs from {@link String#compareTo(String)} for characters outside the
+   * Basic Multilingual Plane.
+   */
+  public static final Comparator<String> UTF8_BINARY_ORDER = (a, b) -> {
+    int i = 0;
+    int j = 0;
+    while (i < a.length() && j < b.length()) {
+      int ca = a.codePointAt(i);
+      int cb = b.codePointAt(j);
+      if (ca != cb) {
+        return Integer.compare(ca, cb);
+      }
+      i += Character.charCount(ca);
+      j += Character.charCount(cb);
+    }
+    return Integer.compare(a.length() - i, b.length() - j);
+  };
+
   /**
    * The S3 key verbatim.
    */
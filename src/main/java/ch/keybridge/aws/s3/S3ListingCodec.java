@@ -0,0 +1,726 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.util.BinaryUtils;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming codecs for sequences of object summaries, for shipping listings
+ * between services.
+ * <p>
+ * Both codecs encode entries one at a time to an output stream and decode them
+ * lazily from an input stream, so a listing of any length can be transferred
+ * with constant memory. Entries carry the bucket name, key, ETag, size, last
+ * modified date and storage class; the owner is not encoded.
+ * <p>
+ * {@link #BINARY} layout (integers are unsigned LEB128 varints unless noted):
+ * <pre>
+ * header   "S3LC" (4 bytes), version (1 byte)
+ * entry    flags (1 byte, bit 7 set)
+ *          [bucket: length, UTF-8]               if bit 0 (bucket changed)
+ *          key: shared prefix length with the previous key, suffix length,
+ *               suffix UTF-8
+ *          size
+ *          [last modified: zigzag delta in ms]   if bit 1
+ *          [ETag: MD5 (16 raw bytes), parts]     if bit 2 (hex ETag, "-parts")
+ *          [ETag: length, UTF-8]                 if bit 3 (any other ETag)
+ *          [storage class: length, UTF-8]        if bit 4 (class changed)
+ * end      a zero byte
+ * </pre> Keys of a sorted listing share long prefixes and timestamps of one
+ * upload batch are close, so a typical entry takes 30-40 bytes instead of
+ * several hundred as XML.
+ * <p>
+ * {@link #JSON} writes an array of objects with the fields "bucketName",
+ * "key", "eTag", "size", "lastModified" (epoch milliseconds) and
+ * "storageClass", and reads the same, ignoring unknown fields.
+ * <p>
+ * Use {@code S3FileObject::new} to map decoded summaries to DTOs.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public enum S3ListingCodec {
+
+  /**
+   * The compact binary format.
+   */
+  BINARY {
+    @Override
+    public Encoder newEncoder(OutputStream outputStream) throws IOException {
+      return new BinaryEncoder(outputStream);
+    }
+
+    @Override
+    public Stream<S3ObjectSummary> decode(InputStream inputStream) throws IOException {
+      return stream(new BinaryDecoder(inputStream));
+    }
+  },
+  /**
+   * A JSON array.
+   */
+  JSON {
+    @Override
+    public Encoder newEncoder(OutputStream outputStream) {
+      return new JsonEncoder(outputStream);
+    }
+
+    @Override
+    public Stream<S3ObjectSummary> decode(InputStream inputStream) throws IOException {
+      return stream(new JsonDecoder(inputStream));
+    }
+  };
+
+  /**
+   * "S3LC". The binary format magic number.
+   */
+  private static final int MAGIC = 0x53334c43;
+  private static final int VERSION = 1;
+  private static final int FLAG_ENTRY = 0x80;
+  private static final int FLAG_BUCKET = 0x01;
+  private static final int FLAG_LAST_MODIFIED = 0x02;
+  private static final int FLAG_MD5 = 0x04;
+  private static final int FLAG_ETAG = 0x08;
+  private static final int FLAG_STORAGE_CLASS = 0x10;
+
+  /**
+   * Create an encoder writing to an output stream. Closing the encoder ends
+   * the sequence and flushes, but does not close, the output stream.
+   *
+   * @param outputStream the output stream
+   * @return a new encoder
+   * @throws IOException on write error
+   */
+  public abstract Encoder newEncoder(OutputStream outputStream) throws IOException;
+
+  /**
+   * Lazily decode a sequence. The input stream is read as the returned stream
+   * is consumed, and is not closed. Read errors are thrown as
+   * {@link UncheckedIOException}.
+   *
+   * @param inputStream the input stream
+   * @return a lazy, sequential and ordered stream of object summaries
+   * @throws IOException if the header cannot be read
+   */
+  public abstract Stream<S3ObjectSummary> decode(InputStream inputStream) throws IOException;
+
+  /**
+   * Encode a sequence.
+   *
+   * @param summaries    the object summaries
+   * @param outputStream the output stream; not closed
+   * @throws IOException on write error
+   */
+  public void encode(Iterable<S3ObjectSummary> summaries, OutputStream outputStream) throws IOException {
+    try (Encoder encoder = newEncoder(outputStream)) {
+      for (S3ObjectSummary summary : summaries) {
+        encoder.write(summary);
+      }
+    }
+  }
+
+  /**
+   * A streaming encoder.
+   */
+  public interface Encoder extends Closeable {
+
+    /**
+     * Encode an object summary.
+     *
+     * @param summary the object summary
+     * @throws IOException on write error
+     */
+    void write(S3ObjectSummary summary) throws IOException;
+
+    /**
+     * Encode an S3 file object.
+     *
+     * @param fileObject the file object
+     * @throws IOException on write error
+     */
+    default void write(S3FileObject fileObject) throws IOException {
+      S3ObjectSummary summary = new S3ObjectSummary();
+      summary.setBucketName(fileObject.getBucketName());
+      summary.setKey(fileObject.getKey());
+      summary.setETag(fileObject.geteTag());
+      summary.setSize(fileObject.getSize());
+      summary.setLastModified(fileObject.getLastModified());
+      write(summary);
+    }
+  }
+
+  private static Stream<S3ObjectSummary> stream(Iterator<S3ObjectSummary> iterator) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * A decoder reading ahead one entry.
+   */
+  private static abstract class Decoder implements Iterator<S3ObjectSummary> {
+
+    private S3ObjectSummary next;
+    private boolean done;
+
+    /**
+     * Read the next entry.
+     *
+     * @return the entry; null at the end of the sequence
+     * @throws IOException on read error
+     */
+    protected abstract S3ObjectSummary read() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+      if (next == null && !done) {
+        try {
+          next = read();
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+        done = next == null;
+      }
+      return next != null;
+    }
+
+    @Override
+    public S3ObjectSummary next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      S3ObjectSummary summary = next;
+      next = null;
+      return summary;
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Binary">
+  private static class BinaryEncoder implements Encoder {
+
+    private final OutputStream outputStream;
+    private final DataOutputStream out;
+    private String bucketName;
+    private byte[] key = new byte[0];
+    private long lastModified;
+    private String storageClass;
+
+    public BinaryEncoder(OutputStream outputStream) throws IOException {
+      this.outputStream = outputStream;
+      this.out = new DataOutputStream(new BufferedOutputStream(new FilterOutputStream(outputStream) {
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+          flush();
+        }
+      }, 64 * 1024));
+      out.writeInt(MAGIC);
+      out.write(VERSION);
+    }
+
+    @Override
+    public void write(S3ObjectSummary summary) throws IOException {
+      byte[] k = summary.getKey().getBytes(StandardCharsets.UTF_8);
+      String eTag = summary.getETag();
+      int dash = eTag == null ? -1 : eTag.indexOf('-');
+      boolean md5 = eTag != null && isHex(eTag, dash < 0 ? eTag.length() : dash) && (dash < 0 || isParts(eTag, dash + 1));
+      int flags = FLAG_ENTRY;
+      if (!Objects.equals(bucketName, summary.getBucketName())) {
+        flags |= FLAG_BUCKET;
+      }
+      if (summary.getLastModified() != null) {
+        flags |= FLAG_LAST_MODIFIED;
+      }
+      if (md5) {
+        flags |= FLAG_MD5;
+      } else if (eTag != null) {
+        flags |= FLAG_ETAG;
+      }
+      if (!Objects.equals(storageClass, summary.getStorageClass())) {
+        flags |= FLAG_STORAGE_CLASS;
+      }
+      out.write(flags);
+      if ((flags & FLAG_BUCKET) != 0) {
+        bucketName = summary.getBucketName();
+        writeString(bucketName);
+      }
+      int shared = 0;
+      int n = Math.min(key.length, k.length);
+      while (shared < n && key[shared] == k[shared]) {
+        shared++;
+      }
+      writeVarint(shared);
+      writeVarint(k.length - shared);
+      out.write(k, shared, k.length - shared);
+      key = k;
+      writeVarint(summary.getSize());
+      if (summary.getLastModified() != null) {
+        long time = summary.getLastModified().getTime();
+        long delta = time - lastModified;
+        writeVarint((delta << 1) ^ (delta >> 63));
+        lastModified = time;
+      }
+      if (md5) {
+        out.write(BinaryUtils.fromHex(dash < 0 ? eTag : eTag.substring(0, dash)));
+        writeVarint(dash < 0 ? 0 : Long.parseLong(eTag.substring(dash + 1)));
+      } else if (eTag != null) {
+        writeString(eTag);
+      }
+      if ((flags & FLAG_STORAGE_CLASS) != 0) {
+        storageClass = summary.getStorageClass();
+        writeString(storageClass);
+      }
+    }
+
+    /**
+     * Determine if a string starts with exactly 32 lower case hex digits.
+     */
+    private static boolean isHex(String value, int length) {
+      if (length != 32) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Determine if a string ends with a positive part count without leading
+     * zeros.
+     */
+    private static boolean isParts(String value, int from) {
+      int length = value.length() - from;
+      if (length < 1 || length > 5 || value.charAt(from) == '0') {
+        return false;
+      }
+      for (int i = from; i < value.length(); i++) {
+        if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Write a string as its UTF-8 length plus one (0 for null) and bytes.
+     */
+    private void writeString(String value) throws IOException {
+      if (value == null) {
+        writeVarint(0);
+        return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarint(bytes.length + 1L);
+      out.write(bytes);
+    }
+
+    private void writeVarint(long value) throws IOException {
+      while ((value & ~0x7fL) != 0) {
+        out.write((int) (value & 0x7f) | 0x80);
+        value >>>= 7;
+      }
+      out.write((int) value);
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.write(0);
+      out.flush();
+      outputStream.flush();
+    }
+  }
+
+  private static class BinaryDecoder extends Decoder {
+
+    private final DataInputStream in;
+    private String bucketName;
+    private byte[] key = new byte[128];
+    private long lastModified;
+    private String storageClass;
+
+    public BinaryDecoder(InputStream inputStream) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(inputStream, 64 * 1024));
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not an S3 listing");
+      }
+      int version = in.read();
+      if (version != VERSION) {
+        throw new IOException("Unsupported S3 listing version " + version);
+      }
+    }
+
+    @Override
+    protected S3ObjectSummary read() throws IOException {
+      int flags = in.read();
+      if (flags == 0) {
+        return null;
+      }
+      if (flags < 0 || (flags & FLAG_ENTRY) == 0) {
+        throw new EOFException("Truncated S3 listing");
+      }
+      S3ObjectSummary summary = new S3ObjectSummary();
+      if ((flags & FLAG_BUCKET) != 0) {
+        bucketName = readString();
+      }
+      summary.setBucketName(bucketName);
+      int shared = (int) readVarint();
+      int suffix = (int) readVarint();
+      if (shared + suffix > key.length) {
+        key = Arrays.copyOf(key, Math.max(key.length * 2, shared + suffix));
+      }
+      in.readFully(key, shared, suffix);
+      summary.setKey(new String(key, 0, shared + suffix, StandardCharsets.UTF_8));
+      summary.setSize(readVarint());
+      if ((flags & FLAG_LAST_MODIFIED) != 0) {
+        long zigzag = readVarint();
+        lastModified += (zigzag >>> 1) ^ -(zigzag & 1);
+        summary.setLastModified(new Date(lastModified));
+      }
+      if ((flags & FLAG_MD5) != 0) {
+        byte[] digest = new byte[16];
+        in.readFully(digest);
+        long parts = readVarint();
+        summary.setETag(parts == 0 ? BinaryUtils.toHex(digest) : BinaryUtils.toHex(digest) + "-" + parts);
+      } else if ((flags & FLAG_ETAG) != 0) {
+        summary.setETag(readString());
+      }
+      if ((flags & FLAG_STORAGE_CLASS) != 0) {
+        storageClass = readString();
+      }
+      summary.setStorageClass(storageClass);
+      return summary;
+    }
+
+    private String readString() throws IOException {
+      int length = (int) readVarint();
+      if (length == 0) {
+        return null;
+      }
+      byte[] bytes = new byte[length - 1];
+      in.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long readVarint() throws IOException {
+      long value = 0;
+      int shift = 0;
+      int b;
+      do {
+        b = in.read();
+        if (b < 0) {
+          throw new EOFException("Truncated S3 listing");
+        }
+        value |= (long) (b & 0x7f) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return value;
+    }
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="JSON">
+  private static class JsonEncoder implements Encoder {
+
+    private final OutputStream outputStream;
+    private final Writer out;
+    private boolean first = true;
+
+    public JsonEncoder(OutputStream outputStream) {
+      this.outputStream = outputStream;
+      this.out = new BufferedWriter(new OutputStreamWriter(new FilterOutputStream(outputStream) {
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+          flush();
+        }
+      }, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void write(S3ObjectSummary summary) throws IOException {
+      out.write(first ? "[\n{" : ",\n{");
+      first = false;
+      writeField("bucketName", summary.getBucketName());
+      out.write(',');
+      writeField("key", summary.getKey());
+      out.write(',');
+      writeField("eTag", summary.getETag());
+      out.write(",\"size\":");
+      out.write(Long.toString(summary.getSize()));
+      out.write(",\"lastModified\":");
+      out.write(summary.getLastModified() == null ? "null" : Long.toString(summary.getLastModified().getTime()));
+      out.write(',');
+      writeField("storageClass", summary.getStorageClass());
+      out.write('}');
+    }
+
+    private void writeField(String name, String value) throws IOException {
+      out.write('"');
+      out.write(name);
+      out.write("\":");
+      if (value == null) {
+        out.write("null");
+        return;
+      }
+      out.write('"');
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '"':
+            out.write("\\\"");
+            break;
+          case '\\':
+            out.write("\\\\");
+            break;
+          case '\n':
+            out.write("\\n");
+            break;
+          case '\r':
+            out.write("\\r");
+            break;
+          case '\t':
+            out.write("\\t");
+            break;
+          default:
+            if (c < 0x20) {
+              out.write(String.format("\\u%04x", (int) c));
+            } else {
+              out.write(c);
+            }
+        }
+      }
+      out.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.write(first ? "[]\n" : "\n]\n");
+      out.flush();
+      outputStream.flush();
+    }
+  }
+
+  /**
+   * A minimal streaming JSON reader for an array of flat objects.
+   */
+  private static class JsonDecoder extends Decoder {
+
+    private final Reader in;
+    private final StringBuilder text = new StringBuilder();
+    private int peek = -2;
+    private boolean first = true;
+
+    public JsonDecoder(InputStream inputStream) throws IOException {
+      this.in = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 64 * 1024);
+      expect('[');
+    }
+
+    @Override
+    protected S3ObjectSummary read() throws IOException {
+      int c = skipWhitespace();
+      if (c == ']') {
+        return null;
+      }
+      if (!first) {
+        if (c != ',') {
+          throw new IOException("Expected ',' or ']' in S3 listing");
+        }
+        c = skipWhitespace();
+      }
+      first = false;
+      if (c != '{') {
+        throw new IOException("Expected '{' in S3 listing");
+      }
+      S3ObjectSummary summary = new S3ObjectSummary();
+      c = skipWhitespace();
+      while (c != '}') {
+        if (c == ',') {
+          c = skipWhitespace();
+        }
+        if (c != '"') {
+          throw new IOException("Expected a field name in S3 listing");
+        }
+        String name = readString();
+        expect(':');
+        switch (name) {
+          case "bucketName":
+            summary.setBucketName(readNullableString());
+            break;
+          case "key":
+            summary.setKey(readNullableString());
+            break;
+          case "eTag":
+            summary.setETag(readNullableString());
+            break;
+          case "size":
+            summary.setSize(Long.parseLong(readLiteral()));
+            break;
+          case "lastModified":
+            String time = readLiteral();
+            summary.setLastModified("null".equals(time) ? null : new Date(Long.parseLong(time)));
+            break;
+          case "storageClass":
+            summary.setStorageClass(readNullableString());
+            break;
+          default:
+            skipValue();
+        }
+        c = skipWhitespace();
+      }
+      return summary;
+    }
+
+    private int read0() throws IOException {
+      if (peek != -2) {
+        int c = peek;
+        peek = -2;
+        return c;
+      }
+      return in.read();
+    }
+
+    private int skipWhitespace() throws IOException {
+      int c;
+      do {
+        c = read0();
+      } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+      if (c < 0) {
+        throw new EOFException("Truncated S3 listing");
+      }
+      return c;
+    }
+
+    private void expect(char expected) throws IOException {
+      if (skipWhitespace() != expected) {
+        throw new IOException("Expected '" + expected + "' in S3 listing");
+      }
+    }
+
+    private String readNullableString() throws IOException {
+      int c = skipWhitespace();
+      if (c == '"') {
+        return readString();
+      }
+      peek = c;
+      readLiteral();
+      return null;
+    }
+
+    /**
+     * Read a string after its opening quote.
+     */
+    private String readString() throws IOException {
+      text.setLength(0);
+      int c;
+      while ((c = read0()) != '"') {
+        if (c < 0) {
+          throw new EOFException("Truncated S3 listing");
+        }
+        if (c == '\\') {
+          c = read0();
+          switch (c) {
+            case 'n':
+              c = '\n';
+              break;
+            case 'r':
+              c = '\r';
+              break;
+            case 't':
+              c = '\t';
+              break;
+            case 'b':
+              c = '\b';
+              break;
+            case 'f':
+              c = '\f';
+              break;
+            case 'u':
+              char[] hex = new char[4];
+              for (int i = 0; i < 4; i++) {
+                hex[i] = (char) read0();
+              }
+              c = Integer.parseInt(new String(hex), 16);
+              break;
+            default:
+            /**
+             * '"', '\\' and '/' stand for themselves.
+             */
+          }
+        }
+        text.append((char) c);
+      }
+      return text.toString();
+    }
+
+    /**
+     * Read a number or literal (true, false, null).
+     */
+    private String readLiteral() throws IOException {
+      text.setLength(0);
+      int c = skipWhitespace();
+      while (c >= 0 && c != ',' && c != '}' && c != ']' && c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        text.append((char) c);
+        c = read0();
+      }
+      peek = c;
+      return text.toString();
+    }
+
+    /**
+     * Skip a value of an unknown field, including nested objects and arrays.
+     */
+    private void skipValue() throws IOException {
+      int c = skipWhitespace();
+      if (c == '"') {
+        readString();
+      } else if (c == '{' || c == '[') {
+        int depth = 1;
+        while (depth > 0) {
+          c = read0();
+          if (c < 0) {
+            throw new EOFException("Truncated S3 listing");
+          } else if (c == '"') {
+            readString();
+          } else if (c == '{' || c == '[') {
+            depth++;
+          } else if (c == '}' || c == ']') {
+            depth--;
+          }
+        }
+      } else {
+        peek = c;
+        readLiteral();
+      }
+    }
+  }//</editor-fold>
+}
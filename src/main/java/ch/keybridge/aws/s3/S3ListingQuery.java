@@ -0,0 +1,362 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A listing query: structured filters on the object summaries of a listing.
+ * <p>
+ * When run with {@code AwsS3.query(S3ListingQuery)} the filters are applied
+ * to each page as it streams in and non-matching entries are discarded
+ * immediately, so memory is proportional to the matches rather than the
+ * bucket. Key constraints are also pushed down to S3 to narrow the listed
+ * range:
+ * <ul>
+ * <li>the listing prefix is the longer of the explicit prefix and the literal
+ * prefix of the glob pattern (the text before its first wildcard);
+ * <li>the {@code StartAfter} key skips all keys up to the lower bound;
+ * <li>the listing stops at the first key past the upper bound.
+ * </ul>
+ * Glob patterns match the whole key: {@code *} matches any characters except
+ * "/", {@code **} any characters including "/", {@code ?} one character
+ * except "/", {@code [abc]} a character class and {@code {png,jpg}}
+ * alternatives.
+ * <p>
+ * Example: PNG files under "tiles/" modified in the last day.
+ * <pre>
+ * S3ListingQuery query = new S3ListingQuery()
+ *   .withPrefix("tiles/")
+ *   .withExtensions("png")
+ *   .withModifiedAfter(new Date(System.currentTimeMillis() - 86_400_000));
+ * try (Stream&lt;S3ObjectSummary&gt; s = s3.query(query)) { ... }
+ * </pre> A query is also a predicate, so it can filter other listing sources
+ * such as {@link S3ListingSnapshot} or {@link S3InventoryReader}.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3ListingQuery implements Predicate<S3ObjectSummary> {
+
+  /**
+   * OPTIONAL. The key prefix.
+   */
+  private String prefix;
+  /**
+   * OPTIONAL. The key pattern; from a glob or regular expression.
+   */
+  private Pattern pattern;
+  /**
+   * OPTIONAL. The literal prefix of the glob pattern.
+   */
+  private String patternPrefix;
+  /**
+   * OPTIONAL. Keys must be greater than this key.
+   */
+  private String startAfter;
+  /**
+   * OPTIONAL. Keys must be less than this key.
+   */
+  private String endBefore;
+  /**
+   * OPTIONAL. The accepted (lower case) file extensions.
+   */
+  private Set<String> extensions;
+  /**
+   * The minimum and maximum size in bytes, inclusive.
+   */
+  private long minSize = 0;
+  private long maxSize = Long.MAX_VALUE;
+  /**
+   * OPTIONAL. The last modified range: on or after, and before.
+   */
+  private Date modifiedAfter;
+  private Date modifiedBefore;
+  /**
+   * OPTIONAL. The accepted storage classes.
+   */
+  private Set<String> storageClasses;
+
+  //<editor-fold defaultstate="collapsed" desc="Builder">
+  /**
+   * Restrict keys to a prefix.
+   *
+   * @param prefix the key prefix
+   * @return this query
+   */
+  public S3ListingQuery withPrefix(String prefix) {
+    this.prefix = prefix;
+    return this;
+  }
+
+  /**
+   * Match the whole key with a glob pattern. Replaces any regular expression.
+   *
+   * @param glob the glob pattern
+   * @return this query
+   */
+  public S3ListingQuery withGlob(String glob) {
+    StringBuilder literal = new StringBuilder();
+    this.pattern = Pattern.compile(globToRegex(glob, literal));
+    this.patternPrefix = literal.toString();
+    return this;
+  }
+
+  /**
+   * Match the whole key with a regular expression. Replaces any glob.
+   *
+   * @param regex the regular expression
+   * @return this query
+   */
+  public S3ListingQuery withRegex(String regex) {
+    this.pattern = Pattern.compile(regex);
+    this.patternPrefix = null;
+    return this;
+  }
+
+  /**
+   * Restrict keys to a range in UTF-8 binary order.
+   *
+   * @param startAfter OPTIONAL. keys must be greater than this key
+   * @param endBefore  OPTIONAL. keys must be less than this key
+   * @return this query
+   */
+  public S3ListingQuery withKeyRange(String startAfter, String endBefore) {
+    this.startAfter = startAfter;
+    this.endBefore = endBefore;
+    return this;
+  }
+
+  /**
+   * Accept only keys with one of the file extensions (see
+   * {@link S3Key#getExtension()}), ignoring case.
+   *
+   * @param extensions the file extensions, without the dot
+   * @return this query
+   */
+  public S3ListingQuery withExtensions(String... extensions) {
+    this.extensions = new HashSet<>();
+    for (String extension : extensions) {
+      this.extensions.add(extension.toLowerCase(Locale.ROOT));
+    }
+    return this;
+  }
+
+  /**
+   * Accept only objects with a size in a range.
+   *
+   * @param minSize the minimum size in bytes, inclusive
+   * @param maxSize the maximum size in bytes, inclusive
+   * @return this query
+   */
+  public S3ListingQuery withSizeRange(long minSize, long maxSize) {
+    this.minSize = minSize;
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  /**
+   * Accept only objects modified at or after a time.
+   *
+   * @param modifiedAfter the earliest last modified time
+   * @return this query
+   */
+  public S3ListingQuery withModifiedAfter(Date modifiedAfter) {
+    this.modifiedAfter = modifiedAfter;
+    return this;
+  }
+
+  /**
+   * Accept only objects modified before a time.
+   *
+   * @param modifiedBefore the last modified time limit, exclusive
+   * @return this query
+   */
+  public S3ListingQuery withModifiedBefore(Date modifiedBefore) {
+    this.modifiedBefore = modifiedBefore;
+    return this;
+  }
+
+  /**
+   * Accept only objects of the storage classes, e.g. "STANDARD".
+   *
+   * @param storageClasses the storage classes
+   * @return this query
+   */
+  public S3ListingQuery withStorageClasses(String... storageClasses) {
+    this.storageClasses = new HashSet<>(Arrays.asList(storageClasses));
+    return this;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Pushdown">
+  /**
+   * Get the prefix to list: the longer of the explicit prefix and the literal
+   * glob prefix. If the two are inconsistent no key can match, and the
+   * explicit prefix is returned ({@link #test} rejects every key).
+   *
+   * @return the listing prefix; empty for the whole bucket
+   */
+  public String getListingPrefix() {
+    String explicit = prefix == null ? "" : prefix;
+    if (patternPrefix != null && patternPrefix.startsWith(explicit)) {
+      return patternPrefix;
+    }
+    return explicit;
+  }
+
+  /**
+   * Get the key after which to start listing.
+   *
+   * @return the StartAfter key; null to start at the prefix
+   */
+  public String getStartAfter() {
+    return startAfter;
+  }
+
+  /**
+   * Determine if a key is past the upper bound of the query, so that no later
+   * key in a listing can match.
+   *
+   * @param key the key
+   * @return true if the listing may stop
+   */
+  public boolean isPastEnd(String key) {
+    return endBefore != null && S3Key.UTF8_BINARY_ORDER.compare(key, endBefore) >= 0;
+  }//</editor-fold>
+
+  /**
+   * Determine if an object summary matches all filters. The cheapest
+   * filters are applied first.
+   *
+   * @param summary the object summary
+   * @return true if the object matches
+   */
+  @Override
+  public boolean test(S3ObjectSummary summary) {
+    String key = summary.getKey();
+    if (summary.getSize() < minSize || summary.getSize() > maxSize) {
+      return false;
+    }
+    if (modifiedAfter != null || modifiedBefore != null) {
+      Date lastModified = summary.getLastModified();
+      if (lastModified == null
+          || modifiedAfter != null && lastModified.before(modifiedAfter)
+          || modifiedBefore != null && !lastModified.before(modifiedBefore)) {
+        return false;
+      }
+    }
+    if (storageClasses != null && !storageClasses.contains(summary.getStorageClass())) {
+      return false;
+    }
+    if (prefix != null && !key.startsWith(prefix)) {
+      return false;
+    }
+    if (startAfter != null && S3Key.UTF8_BINARY_ORDER.compare(key, startAfter) <= 0 || isPastEnd(key)) {
+      return false;
+    }
+    if (extensions != null) {
+      String extension = new S3Key(key).getExtension();
+      if (extension == null || !extensions.contains(extension.toLowerCase(Locale.ROOT))) {
+        return false;
+      }
+    }
+    return pattern == null || pattern.matcher(key).matches();
+  }
+
+  /**
+   * Translate a glob pattern to a regular expression.
+   *
+   * @param glob    the glob pattern
+   * @param literal receives the literal prefix before the first wildcard
+   * @return the regular expression
+   */
+  static String globToRegex(String glob, StringBuilder literal) {
+    StringBuilder regex = new StringBuilder();
+    boolean inLiteral = true;
+    boolean inGroup = false;
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      switch (c) {
+        case '*':
+          if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+            regex.append(".*");
+            i++;
+          } else {
+            regex.append("[^/]*");
+          }
+          inLiteral = false;
+          break;
+        case '?':
+          regex.append("[^/]");
+          inLiteral = false;
+          break;
+        case '[':
+          int close = glob.indexOf(']', i + 2);
+          if (close < 0) {
+            throw new IllegalArgumentException("Unclosed character class in " + glob);
+          }
+          String set = glob.substring(i + 1, close);
+          regex.append('[').append(set.startsWith("!") ? "^" + set.substring(1) : set).append(']');
+          i = close;
+          inLiteral = false;
+          break;
+        case '{':
+          regex.append("(?:");
+          inGroup = true;
+          inLiteral = false;
+          break;
+        case '}':
+          if (inGroup) {
+            regex.append(')');
+            inGroup = false;
+          } else {
+            regex.append("\\}");
+            if (inLiteral) {
+              literal.append(c);
+            }
+          }
+          break;
+        case ',':
+          if (inGroup) {
+            regex.append('|');
+          } else {
+            regex.append(',');
+            if (inLiteral) {
+              literal.append(c);
+            }
+          }
+          break;
+        case '\\':
+          if (i + 1 < glob.length()) {
+            c = glob.charAt(++i);
+          }
+        // fall through: the escaped character is a literal
+        default:
+          regex.append(Pattern.quote(String.valueOf(c)));
+          if (inLiteral) {
+            literal.append(c);
+          }
+      }
+    }
+    return regex.toString();
+  }
+}
@@ -0,0 +1,690 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.util.BinaryUtils;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A persistent, memory-mapped snapshot of a bucket listing.
+ * <p>
+ * The snapshot is a compact binary file that can be queried without loading
+ * the listing onto the heap: point lookups, prefix range scans and aggregate
+ * sizes are answered directly from the mapped file. Services can open a
+ * snapshot instantly at startup and query millions of keys offline instead of
+ * calling {@code AwsS3.list} first.
+ * <p>
+ * File layout (all integers big-endian):
+ * <pre>
+ * header   512 bytes: magic, version, count, restart interval, created,
+ *          total size, records offset, keys offset, keys length, bucket name
+ * records  count x 40 bytes: key offset (int), ETag parts (int), size (long),
+ *          last modified (long), ETag MD5 digest (16 bytes)
+ * keys     prefix compressed UTF-8 keys: shared length (varint), suffix
+ *          length (varint), suffix bytes. Every 16th key is stored in full
+ *          (a restart point) so that lookups binary search the restart
+ *          points then decode at most 16 keys.
+ * </pre> Keys are stored in UTF-8 binary order, the order of an S3 listing.
+ * The ETag parts field is 0 for a plain MD5 ETag, N for a multipart ETag of
+ * the form {@code md5-N}, and -1 if the ETag could not be encoded.
+ * <p>
+ * A snapshot is immutable. {@link #refresh(AwsS3, String)} writes a new
+ * snapshot file re-listing only the given prefix and atomically replaces the
+ * old file.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3ListingSnapshot implements Closeable {
+
+  /**
+   * "S3LS". The file magic number.
+   */
+  private static final int MAGIC = 0x53334c53;
+  /**
+   * The file format version.
+   */
+  private static final int VERSION = 1;
+  /**
+   * 512 bytes. The fixed header size.
+   */
+  private static final int HEADER_SIZE = 512;
+  /**
+   * 40 bytes. The fixed record size.
+   */
+  private static final int RECORD_SIZE = 40;
+  /**
+   * 16. The number of keys between restart points.
+   */
+  private static final int RESTART_INTERVAL = 16;
+
+  /**
+   * The snapshot file.
+   */
+  private final Path file;
+  /**
+   * The bucket name.
+   */
+  private final String bucketName;
+  /**
+   * The number of entries.
+   */
+  private final int count;
+  /**
+   * The snapshot creation time.
+   */
+  private final Date created;
+  /**
+   * The sum of all object sizes.
+   */
+  private final long totalSize;
+  /**
+   * The mapped fixed-width records.
+   */
+  private final ByteBuffer records;
+  /**
+   * The mapped prefix compressed keys.
+   */
+  private final ByteBuffer keys;
+
+  /**
+   * Internal constructor. Use {@link #open(Path)}.
+   *
+   * @param file the snapshot file
+   * @throws IOException if the file cannot be read
+   */
+  private S3ListingSnapshot(Path file) throws IOException {
+    this.file = file;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+      if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+        throw new IOException("Not a listing snapshot file: " + file);
+      }
+      this.count = header.getInt();
+      header.getInt(); // restart interval
+      this.created = new Date(header.getLong());
+      this.totalSize = header.getLong();
+      long recordsOffset = header.getLong();
+      long keysOffset = header.getLong();
+      long keysLength = header.getLong();
+      byte[] name = new byte[header.getShort()];
+      header.get(name);
+      this.bucketName = new String(name, StandardCharsets.UTF_8);
+      /**
+       * A mapping remains valid after the channel is closed.
+       */
+      this.records = channel.map(FileChannel.MapMode.READ_ONLY, recordsOffset, (long) count * RECORD_SIZE);
+      this.keys = channel.map(FileChannel.MapMode.READ_ONLY, keysOffset, keysLength);
+    }
+  }
+
+  /**
+   * Open an existing snapshot file.
+   *
+   * @param file the snapshot file
+   * @return the memory-mapped snapshot
+   * @throws IOException if the file cannot be read or is not a snapshot
+   */
+  public static S3ListingSnapshot open(Path file) throws IOException {
+    return new S3ListingSnapshot(file);
+  }
+
+  /**
+   * List a bucket prefix and write the listing to a new snapshot file. The
+   * listing is streamed to disk and never held in memory.
+   *
+   * @param s3Client the S3 client to use
+   * @param prefix   an optional prefix restricting the snapshot to keys that
+   *                 begin with the specified prefix.
+   * @param file     the snapshot file to create or replace
+   * @return the memory-mapped snapshot
+   * @throws IOException if the file cannot be written
+   */
+  public static S3ListingSnapshot create(AwsS3 s3Client, String prefix, Path file) throws IOException {
+    try (Stream<S3ObjectSummary> listing = s3Client.stream(prefix)) {
+      write(file, s3Client.getBucketName(), listing.iterator());
+    }
+    return open(file);
+  }
+
+  /**
+   * Write a snapshot file from a listing. The file is written to a temporary
+   * file and then atomically moved into place so open snapshots of the same
+   * file are not disturbed.
+   *
+   * @param file       the snapshot file to create or replace
+   * @param bucketName the bucket name
+   * @param listing    object summaries in UTF-8 binary key order
+   * @throws IOException              if the file cannot be written
+   * @throws IllegalArgumentException if the listing is not sorted
+   */
+  public static void write(Path file, String bucketName, Iterator<S3ObjectSummary> listing) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+    Path tempKeys = Files.createTempFile(parent, file.getFileName().toString(), ".keys");
+    try {
+      int entryCount = 0;
+      long sizeSum = 0;
+      long keysLength = 0;
+      try (DataOutputStream recordOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16));
+           DataOutputStream keyOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempKeys), 1 << 16))) {
+        recordOut.write(new byte[HEADER_SIZE]);
+        byte[] previous = new byte[0];
+        while (listing.hasNext()) {
+          S3ObjectSummary summary = listing.next();
+          byte[] key = summary.getKey().getBytes(StandardCharsets.UTF_8);
+          if (entryCount > 0 && compare(previous, key) >= 0) {
+            throw new IllegalArgumentException("Listing is not sorted at key " + summary.getKey());
+          }
+          if (keysLength > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot key section exceeds 2 GB");
+          }
+          int shared = entryCount % RESTART_INTERVAL == 0 ? 0 : sharedLength(previous, key);
+          writeRecord(recordOut, (int) keysLength, summary);
+          keysLength += writeVarint(keyOut, shared);
+          keysLength += writeVarint(keyOut, key.length - shared);
+          keyOut.write(key, shared, key.length - shared);
+          keysLength += key.length - shared;
+          previous = key;
+          entryCount++;
+          sizeSum += summary.getSize();
+        }
+      }
+      /**
+       * Append the key section and fill in the header.
+       */
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+        long keysOffset = channel.size();
+        try (FileChannel keyChannel = FileChannel.open(tempKeys, StandardOpenOption.READ)) {
+          long position = 0;
+          while (position < keysLength) {
+            position += keyChannel.transferTo(position, keysLength - position, channel);
+          }
+        }
+        byte[] name = (bucketName == null ? "" : bucketName).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(entryCount).putInt(RESTART_INTERVAL)
+          .putLong(System.currentTimeMillis()).putLong(sizeSum)
+          .putLong(HEADER_SIZE).putLong(keysOffset).putLong(keysLength)
+          .putShort((short) name.length).put(name);
+        header.flip();
+        try (FileChannel headerChannel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+          headerChannel.write(header, 0);
+          headerChannel.force(true);
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+      Files.deleteIfExists(tempKeys);
+    }
+  }
+
+  /**
+   * Refresh a prefix of this snapshot. Only the given prefix is re-listed;
+   * entries outside the prefix are copied from this snapshot. The new snapshot
+   * atomically replaces this snapshot's file.
+   * <p>
+   * This snapshot remains usable (with its old content) until closed.
+   *
+   * @param s3Client the S3 client to use
+   * @param prefix   the prefix to re-list; the null or empty string to refresh
+   *                 the entire snapshot
+   * @return the refreshed snapshot
+   * @throws IOException if the file cannot be written
+   */
+  public S3ListingSnapshot refresh(AwsS3 s3Client, String prefix) throws IOException {
+    try (Stream<S3ObjectSummary> listing = s3Client.stream(prefix)) {
+      return refresh(prefix, listing.iterator());
+    }
+  }
+
+  /**
+   * Refresh a prefix of this snapshot with a new listing of that prefix.
+   *
+   * @param prefix  the refreshed prefix; the null or empty string to replace
+   *                the entire snapshot
+   * @param listing the current listing of the prefix in UTF-8 binary order
+   * @return the refreshed snapshot
+   * @throws IOException if the file cannot be written
+   */
+  public S3ListingSnapshot refresh(String prefix, Iterator<S3ObjectSummary> listing) throws IOException {
+    String p = prefix == null ? "" : prefix;
+    /**
+     * The prefix range is contiguous in key order: copy the entries before it,
+     * then the new listing, then the entries after it.
+     */
+    int from = lowerBound(p.getBytes(StandardCharsets.UTF_8));
+    int to = p.isEmpty() ? count : lowerBound(successor(p.getBytes(StandardCharsets.UTF_8)));
+    Iterator<S3ObjectSummary> merged = concat(Arrays.asList(
+      iterator(0, from),
+      listing,
+      iterator(to, count)));
+    write(file, bucketName, merged);
+    return open(file);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter">
+  public Path getFile() {
+    return file;
+  }
+
+  public String getBucketName() {
+    return bucketName;
+  }
+
+  /**
+   * Get the time the snapshot was written.
+   *
+   * @return the creation time
+   */
+  public Date getCreated() {
+    return created;
+  }
+
+  /**
+   * Get the number of objects in the snapshot.
+   *
+   * @return the number of objects
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Get the total size of all objects in the snapshot.
+   *
+   * @return the total size in bytes
+   */
+  public long getTotalSize() {
+    return totalSize;
+  }//</editor-fold>
+
+  /**
+   * Find an object by key.
+   *
+   * @param key the object key
+   * @return the object summary; null if not present
+   */
+  public S3ObjectSummary get(String key) {
+    byte[] target = key.getBytes(StandardCharsets.UTF_8);
+    int index = lowerBound(target);
+    if (index >= count) {
+      return null;
+    }
+    KeyCursor cursor = new KeyCursor(index);
+    return compare(cursor.key, cursor.length, target) == 0 ? toSummary(index, cursor) : null;
+  }
+
+  /**
+   * Scan all objects whose key begins with a prefix, in key order.
+   *
+   * @param prefix the key prefix; the null or empty string for all objects
+   * @return a lazy ordered stream of object summaries
+   */
+  public Stream<S3ObjectSummary> scan(String prefix) {
+    int[] range = range(prefix);
+    return StreamSupport.stream(Spliterators.spliterator(iterator(range[0], range[1]), range[1] - range[0],
+                                                         Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED), false);
+  }
+
+  /**
+   * Count the objects whose key begins with a prefix.
+   *
+   * @param prefix the key prefix
+   * @return the number of objects
+   */
+  public int count(String prefix) {
+    int[] range = range(prefix);
+    return range[1] - range[0];
+  }
+
+  /**
+   * Sum the size of all objects whose key begins with a prefix. Only the
+   * fixed-width size column is read; no keys are decoded.
+   *
+   * @param prefix the key prefix
+   * @return the total size in bytes
+   */
+  public long sizeOf(String prefix) {
+    int[] range = range(prefix);
+    long sum = 0;
+    for (int i = range[0]; i < range[1]; i++) {
+      sum += records.getLong(i * RECORD_SIZE + 8);
+    }
+    return sum;
+  }
+
+  /**
+   * Mapped buffers are released when garbage collected. Closing a snapshot is
+   * optional and only documents the end of use.
+   */
+  @Override
+  public void close() {
+  }
+
+  /**
+   * Find the index range of keys beginning with a prefix.
+   *
+   * @param prefix the prefix
+   * @return the start (inclusive) and end (exclusive) indices
+   */
+  private int[] range(String prefix) {
+    if (prefix == null || prefix.isEmpty()) {
+      return new int[]{0, count};
+    }
+    byte[] p = prefix.getBytes(StandardCharsets.UTF_8);
+    byte[] next = successor(p);
+    return new int[]{lowerBound(p), next == null ? count : lowerBound(next)};
+  }
+
+  /**
+   * Find the index of the first key greater than or equal to the target.
+   *
+   * @param target the UTF-8 encoded target key
+   * @return the index; count if all keys are less than the target
+   */
+  private int lowerBound(byte[] target) {
+    if (target == null) {
+      return count;
+    }
+    /**
+     * Binary search the restart points for the last one with a key strictly
+     * less than the target, then scan forward.
+     */
+    int lo = 0;
+    int hi = (count + RESTART_INTERVAL - 1) / RESTART_INTERVAL - 1;
+    int block = -1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      KeyCursor cursor = new KeyCursor(mid * RESTART_INTERVAL);
+      if (compare(cursor.key, cursor.length, target) < 0) {
+        block = mid;
+        lo = mid + 1;
+      } else {
+        hi = mid - 1;
+      }
+    }
+    if (block < 0) {
+      return 0;
+    }
+    KeyCursor cursor = new KeyCursor(block * RESTART_INTERVAL);
+    while (cursor.index < count && compare(cursor.key, cursor.length, target) < 0) {
+      cursor.next();
+    }
+    return cursor.index;
+  }
+
+  /**
+   * Build an iterator over an index range.
+   *
+   * @param from the start index (inclusive)
+   * @param to   the end index (exclusive)
+   * @return the iterator
+   */
+  private Iterator<S3ObjectSummary> iterator(int from, int to) {
+    return new Iterator<S3ObjectSummary>() {
+      private KeyCursor cursor;
+
+      @Override
+      public boolean hasNext() {
+        return (cursor == null ? from : cursor.index + 1) < to;
+      }
+
+      @Override
+      public S3ObjectSummary next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (cursor == null) {
+          cursor = new KeyCursor(from);
+        } else {
+          cursor.next();
+        }
+        return toSummary(cursor.index, cursor);
+      }
+    };
+  }
+
+  /**
+   * Build an object summary from a record and its decoded key.
+   *
+   * @param index  the entry index
+   * @param cursor the key cursor positioned at the entry
+   * @return the object summary
+   */
+  private S3ObjectSummary toSummary(int index, KeyCursor cursor) {
+    int position = index * RECORD_SIZE;
+    S3ObjectSummary summary = new S3ObjectSummary();
+    summary.setBucketName(bucketName);
+    summary.setKey(new String(cursor.key, 0, cursor.length, StandardCharsets.UTF_8));
+    int parts = records.getInt(position + 4);
+    summary.setSize(records.getLong(position + 8));
+    summary.setLastModified(new Date(records.getLong(position + 16)));
+    if (parts >= 0) {
+      byte[] digest = new byte[16];
+      for (int i = 0; i < 16; i++) {
+        digest[i] = records.get(position + 24 + i);
+      }
+      summary.setETag(BinaryUtils.toHex(digest) + (parts > 0 ? "-" + parts : ""));
+    }
+    return summary;
+  }
+
+  /**
+   * A sequential decoder of prefix compressed keys.
+   */
+  private class KeyCursor {
+
+    private int index;
+    private int position;
+    private byte[] key = new byte[128];
+    private int length;
+
+    /**
+     * Position a cursor at an entry by decoding forward from the preceding
+     * restart point.
+     *
+     * @param index the entry index
+     */
+    KeyCursor(int index) {
+      this.index = index - index % RESTART_INTERVAL;
+      this.position = records.getInt(this.index * RECORD_SIZE);
+      decode();
+      while (this.index < index) {
+        next();
+      }
+    }
+
+    /**
+     * Advance to the next entry. Past the last entry the cursor index equals
+     * count and the key is undefined.
+     */
+    final void next() {
+      index++;
+      if (index < count) {
+        decode();
+      }
+    }
+
+    private void decode() {
+      int shared = readVarint();
+      int suffix = readVarint();
+      if (shared + suffix > key.length) {
+        key = Arrays.copyOf(key, Math.max(key.length * 2, shared + suffix));
+      }
+      for (int i = 0; i < suffix; i++) {
+        key[shared + i] = keys.get(position++);
+      }
+      length = shared + suffix;
+    }
+
+    private int readVarint() {
+      int value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = keys.get(position++);
+        value |= (b & 0x7f) << shift;
+        shift += 7;
+      } while (b < 0);
+      return value;
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Encoding helpers">
+  /**
+   * Write a fixed-width record.
+   *
+   * @param out       the record output
+   * @param keyOffset the offset of the entry in the key section
+   * @param summary   the object summary
+   * @throws IOException on write error
+   */
+  private static void writeRecord(DataOutputStream out, int keyOffset, S3ObjectSummary summary) throws IOException {
+    String value = summary.getETag() == null ? "" : summary.getETag().replace("\"", "");
+    int dash = value.indexOf('-');
+    String hex = dash < 0 ? value : value.substring(0, dash);
+    int parts = -1;
+    byte[] digest = new byte[16];
+    if (hex.length() == 32 && hex.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+      try {
+        parts = dash < 0 ? 0 : Integer.parseInt(value.substring(dash + 1));
+        digest = BinaryUtils.fromHex(hex);
+      } catch (NumberFormatException ex) {
+        parts = -1;
+      }
+    }
+    out.writeInt(keyOffset);
+    out.writeInt(parts);
+    out.writeLong(summary.getSize());
+    out.writeLong(summary.getLastModified() == null ? 0 : summary.getLastModified().getTime());
+    out.write(digest);
+  }
+
+  /**
+   * Write an unsigned varint.
+   *
+   * @param out   the output
+   * @param value the value
+   * @return the number of bytes written
+   * @throws IOException on write error
+   */
+  private static int writeVarint(DataOutputStream out, int value) throws IOException {
+    int bytes = 1;
+    while ((value & ~0x7f) != 0) {
+      out.write((value & 0x7f) | 0x80);
+      value >>>= 7;
+      bytes++;
+    }
+    out.write(value);
+    return bytes;
+  }
+
+  /**
+   * Get the length of the common prefix of two byte arrays.
+   */
+  private static int sharedLength(byte[] a, byte[] b) {
+    int n = Math.min(a.length, b.length);
+    int i = 0;
+    while (i < n && a[i] == b[i]) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Compare two byte arrays as unsigned bytes (UTF-8 binary order).
+   */
+  private static int compare(byte[] a, byte[] b) {
+    return compare(a, a.length, b);
+  }
+
+  private static int compare(byte[] a, int aLength, byte[] b) {
+    int n = Math.min(aLength, b.length);
+    for (int i = 0; i < n; i++) {
+      int c = (a[i] & 0xff) - (b[i] & 0xff);
+      if (c != 0) {
+        return c;
+      }
+    }
+    return aLength - b.length;
+  }
+
+  /**
+   * Get the smallest byte string greater than all strings beginning with the
+   * prefix.
+   *
+   * @param prefix the prefix
+   * @return the successor; null if there is none (all bytes 0xff)
+   */
+  private static byte[] successor(byte[] prefix) {
+    int end = prefix.length;
+    while (end > 0 && prefix[end - 1] == (byte) 0xff) {
+      end--;
+    }
+    if (end == 0) {
+      return null;
+    }
+    byte[] next = Arrays.copyOf(prefix, end);
+    next[end - 1]++;
+    return next;
+  }
+
+  /**
+   * Lazily concatenate iterators.
+   */
+  private static <T> Iterator<T> concat(List<Iterator<T>> iterators) {
+    Iterator<Iterator<T>> outer = iterators.iterator();
+    return new Iterator<T>() {
+      private Iterator<T> current = Collections.emptyIterator();
+
+      @Override
+      public boolean hasNext() {
+        while (!current.hasNext() && outer.hasNext()) {
+          current = outer.next();
+        }
+        return current.hasNext();
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return current.next();
+      }
+    };
+  }//</editor-fold>
+}
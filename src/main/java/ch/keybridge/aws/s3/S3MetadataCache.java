@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, expiring cache of object metadata by key.
+ * <p>
+ * Entries expire {@code ttl} after they are stored and the least recently used
+ * entries are evicted once the cache holds {@code maxSize} entries. Cached
+ * metadata is returned as stored; callers must not modify it.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3MetadataCache {
+
+  /**
+   * The maximum number of entries.
+   */
+  private final int maxSize;
+  /**
+   * The entry lifetime in nanoseconds.
+   */
+  private final long ttlNanos;
+  /**
+   * The entries in access order.
+   */
+  private final LinkedHashMap<String, Entry> entries;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  /**
+   * Construct a new metadata cache.
+   *
+   * @param maxSize the maximum number of entries
+   * @param ttl     the entry lifetime
+   * @param unit    the lifetime time unit
+   */
+  public S3MetadataCache(int maxSize, long ttl, TimeUnit unit) {
+    this.maxSize = maxSize;
+    this.ttlNanos = unit.toNanos(ttl);
+    this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > S3MetadataCache.this.maxSize;
+      }
+    };
+  }
+
+  /**
+   * Get the cached metadata of a key.
+   *
+   * @param key the object key
+   * @return the metadata; null if not cached or expired
+   */
+  public synchronized ObjectMetadata get(String key) {
+    Entry entry = entries.get(key);
+    if (entry != null && System.nanoTime() - entry.stored < ttlNanos) {
+      hitCount.increment();
+      return entry.metadata;
+    }
+    if (entry != null) {
+      entries.remove(key);
+    }
+    missCount.increment();
+    return null;
+  }
+
+  /**
+   * Store the metadata of a key.
+   *
+   * @param key      the object key
+   * @param metadata the metadata
+   */
+  public synchronized void put(String key, ObjectMetadata metadata) {
+    entries.put(key, new Entry(metadata, System.nanoTime()));
+  }
+
+  /**
+   * Remove the metadata of a key, e.g. after the object is changed.
+   *
+   * @param key the object key
+   */
+  public synchronized void invalidate(String key) {
+    entries.remove(key);
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  private static class Entry {
+
+    private final ObjectMetadata metadata;
+    private final long stored;
+
+    Entry(ObjectMetadata metadata, long stored) {
+      this.metadata = metadata;
+      this.stored = stored;
+    }
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.AbortedException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fetches the metadata of many objects with concurrent HEAD requests.
+ * <p>
+ * Keys are read lazily from the input as results are consumed, and at most
+ * {@code parallelism} requests are in flight, so a key stream of any length is
+ * processed with constant memory. Results are streamed back in completion
+ * order. Requests go through the request policies of the AwsS3 client: its
+ * rate limiter paces them per key prefix, and its bulkhead and circuit breaker
+ * apply. All requests share one S3 client (see {@link AwsS3#bindClient()}).
+ * <p>
+ * Each result is either found (with metadata), missing (404 Not Found) or
+ * failed (any other error), so missing keys are reported distinctly rather
+ * than as errors. With a metadata cache, cached keys are answered without a
+ * request and fetched metadata is stored.
+ * <p>
+ * Example: the content types of a list of keys.
+ * <pre>
+ * try (Stream&lt;S3MetadataFetcher.Result&gt; results = new S3MetadataFetcher(s3).fetch(keys)) {
+ *   results.filter(Result::isFound).forEach(r -&gt; ... r.getMetadata().getContentType());
+ * }
+ * </pre>
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3MetadataFetcher {
+
+  /**
+   * 404. The HTTP status of a missing object.
+   */
+  private static final int STATUS_NOT_FOUND = 404;
+
+  /**
+   * The configured S3 client instance.
+   */
+  private final AwsS3 s3Client;
+  /**
+   * 16. The maximum number of concurrent requests.
+   */
+  private int parallelism = 16;
+  /**
+   * OPTIONAL. The metadata cache.
+   */
+  private S3MetadataCache cache;
+
+  /**
+   * Construct a new metadata fetcher.
+   *
+   * @param s3Client the S3 client
+   */
+  public S3MetadataFetcher(AwsS3 s3Client) {
+    this.s3Client = s3Client;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public S3MetadataFetcher withParallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  public S3MetadataCache getCache() {
+    return cache;
+  }
+
+  public void setCache(S3MetadataCache cache) {
+    this.cache = cache;
+  }
+
+  public S3MetadataFetcher withCache(S3MetadataCache cache) {
+    this.cache = cache;
+    return this;
+  }//</editor-fold>
+
+  /**
+   * Fetch the metadata of a collection of keys.
+   *
+   * @param keys the object keys
+   * @return a lazy stream of results in completion order; close it to cancel
+   *         outstanding requests
+   */
+  public Stream<Result> fetch(Collection<String> keys) {
+    return fetch(keys.iterator());
+  }
+
+  /**
+   * Fetch the metadata of a stream of keys.
+   *
+   * @param keys the object keys
+   * @return a lazy stream of results in completion order; close it to cancel
+   *         outstanding requests
+   */
+  public Stream<Result> fetch(Stream<String> keys) {
+    return fetch(keys.iterator()).onClose(keys::close);
+  }
+
+  /**
+   * Fetch the metadata of an iterator of keys.
+   *
+   * @param keys the object keys
+   * @return a lazy stream of results in completion order; close it to cancel
+   *         outstanding requests
+   */
+  public Stream<Result> fetch(Iterator<String> keys) {
+    AwsS3 client = s3Client.bindClient();
+    AtomicInteger count = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "s3-metadata-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    CompletionService<Result> completion = new ExecutorCompletionService<>(executor);
+    Iterator<Result> iterator = new Iterator<Result>() {
+      private final Deque<Result> cached = new ArrayDeque<>();
+      private int inFlight;
+
+      @Override
+      public boolean hasNext() {
+        /**
+         * Keep the pool busy. Cached keys are answered immediately, without
+         * taking a request slot.
+         */
+        while (inFlight < parallelism && cached.isEmpty() && keys.hasNext()) {
+          String key = keys.next();
+          ObjectMetadata metadata = cache == null ? null : cache.get(key);
+          if (metadata != null) {
+            cached.add(new Result(key, metadata, null));
+          } else {
+            completion.submit(() -> head(client, key));
+            inFlight++;
+          }
+        }
+        boolean more = !cached.isEmpty() || inFlight > 0;
+        if (!more) {
+          executor.shutdown();
+          client.shutdown();
+        }
+        return more;
+      }
+
+      @Override
+      public Result next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (!cached.isEmpty()) {
+          return cached.poll();
+        }
+        try {
+          Result result = completion.take().get();
+          inFlight--;
+          return result;
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          executor.shutdownNow();
+          throw new AbortedException(ex);
+        } catch (ExecutionException ex) {
+          /**
+           * head() catches all request errors; this is a programming error.
+           */
+          throw new IllegalStateException(ex.getCause());
+        }
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+      .onClose(() -> {
+        executor.shutdownNow();
+        client.shutdown();
+      });
+  }
+
+  /**
+   * Send a HEAD request for a key.
+   *
+   * @param client the bound client
+   * @param key    the object key
+   * @return the result
+   */
+  private Result head(AwsS3 client, String key) {
+    try {
+      ObjectMetadata metadata = client.getObjectMetadata(key);
+      if (cache != null) {
+        cache.put(key, metadata);
+      }
+      return new Result(key, metadata, null);
+    } catch (AmazonServiceException ex) {
+      if (ex.getStatusCode() == STATUS_NOT_FOUND) {
+        return new Result(key, null, null);
+      }
+      return new Result(key, null, ex);
+    } catch (RuntimeException ex) {
+      return new Result(key, null, ex);
+    }
+  }
+
+  /**
+   * The metadata fetch result of a key.
+   */
+  public static class Result {
+
+    private final String key;
+    private final ObjectMetadata metadata;
+    private final Exception exception;
+
+    Result(String key, ObjectMetadata metadata, Exception exception) {
+      this.key = key;
+      this.metadata = metadata;
+      this.exception = exception;
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    /**
+     * Get the object metadata.
+     *
+     * @return the metadata; null if the object is missing or the request
+     *         failed
+     */
+    public ObjectMetadata getMetadata() {
+      return metadata;
+    }
+
+    /**
+     * Get the request error.
+     *
+     * @return the error; null unless the request failed
+     */
+    public Exception getException() {
+      return exception;
+    }
+
+    public boolean isFound() {
+      return metadata != null;
+    }
+
+    /**
+     * Determine if the object does not exist.
+     *
+     * @return true if S3 responded 404 Not Found
+     */
+    public boolean isMissing() {
+      return metadata == null && exception == null;
+    }
+
+    public boolean isFailed() {
+      return exception != null;
+    }
+
+    @Override
+    public String toString() {
+      return key + (isFound() ? " found" : isMissing() ? " missing" : " failed: " + exception.getMessage());
+    }
+  }
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.StorageClass;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Rewrites the metadata of every object under a prefix.
+ * <p>
+ * S3 object metadata cannot be modified in place; it is replaced by copying
+ * the object onto itself with the REPLACE metadata directive. The rewriter
+ * streams the prefix listing, fetches the current metadata of each object and
+ * passes a copy to the rewrite function, which returns the new metadata (or
+ * null to leave the object alone). Objects whose replaceable metadata is
+ * unchanged are skipped. Changed objects are copied concurrently, objects
+ * larger than the multipart threshold with a multipart copy.
+ * <p>
+ * The replaceable metadata are the user metadata and the headers
+ * Content-Type, Cache-Control, Content-Disposition, Content-Encoding,
+ * Content-Language, Expires, the website redirect location and the
+ * server-side encryption settings; other headers of the returned metadata are
+ * ignored. The storage class and object tags are preserved; object ACLs are
+ * not. Each copy is conditional on the ETag read, so an object overwritten
+ * during the job is not clobbered (the copy fails and is reported). All
+ * requests share one S3 client (see {@link AwsS3#bindClient()}).
+ * <p>
+ * With a checkpoint file the job can resume after a crash: the key up to which
+ * every object has been processed is written to the file periodically, and a
+ * new run starts listing after it. Failed objects are reported, not retried,
+ * and the checkpoint stops before the first of them, so the next run retries
+ * it (and re-checks the objects after it). The file is deleted when the job
+ * completes without failures.
+ * <p>
+ * Example: set a Cache-Control header on all images.
+ * <pre>
+ * S3MetadataRewriter.Report report = new S3MetadataRewriter(s3)
+ *   .withCheckpoint(Paths.get("rewrite.checkpoint"))
+ *   .rewrite("images/", (key, metadata) -&gt; {
+ *     metadata.setCacheControl("max-age=86400");
+ *     return metadata;
+ *   });
+ * </pre>
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3MetadataRewriter {
+
+  private static final Logger LOG = Logger.getLogger(S3MetadataRewriter.class.getName());
+
+  /**
+   * The HTTP headers replaced by a metadata rewrite.
+   */
+  private static final List<String> REPLACEABLE_HEADERS = Arrays.asList(
+    Headers.CONTENT_TYPE, Headers.CACHE_CONTROL, Headers.CONTENT_DISPOSITION, Headers.CONTENT_ENCODING,
+    Headers.CONTENT_LANGUAGE, Headers.EXPIRES, Headers.REDIRECT_LOCATION,
+    Headers.SERVER_SIDE_ENCRYPTION, Headers.SERVER_SIDE_ENCRYPTION_AWS_KMS_KEYID);
+  /**
+   * 5 GB. The largest object copied with a single request.
+   */
+  private static final long MAX_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+
+  /**
+   * The configured S3 client instance.
+   */
+  private final AwsS3 s3Client;
+  /**
+   * 8. The number of concurrent objects.
+   */
+  private int parallelism = 8;
+  /**
+   * 5 GB. Larger objects are copied with a multipart copy.
+   */
+  private long multipartThreshold = MAX_COPY_SIZE;
+  /**
+   * 512 MB. The multipart copy part size.
+   */
+  private long partSize = 512L * 1024 * 1024;
+  /**
+   * OPTIONAL. The checkpoint file.
+   */
+  private Path checkpoint;
+  /**
+   * 1,000. The checkpoint is written after this many processed objects.
+   */
+  private int checkpointInterval = 1_000;
+  /**
+   * False. Report changes without copying.
+   */
+  private boolean dryRun;
+
+  /**
+   * Construct a new metadata rewriter.
+   *
+   * @param s3Client the S3 client
+   */
+  public S3MetadataRewriter(AwsS3 s3Client) {
+    this.s3Client = s3Client;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public S3MetadataRewriter withParallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  public long getMultipartThreshold() {
+    return multipartThreshold;
+  }
+
+  /**
+   * Set the size above which objects are copied with a multipart copy.
+   *
+   * @param multipartThreshold the threshold in bytes; at most 5 GB
+   */
+  public void setMultipartThreshold(long multipartThreshold) {
+    this.multipartThreshold = Math.min(multipartThreshold, MAX_COPY_SIZE);
+  }
+
+  public S3MetadataRewriter withMultipartThreshold(long multipartThreshold) {
+    setMultipartThreshold(multipartThreshold);
+    return this;
+  }
+
+  public long getPartSize() {
+    return partSize;
+  }
+
+  public void setPartSize(long partSize) {
+    this.partSize = partSize;
+  }
+
+  public S3MetadataRewriter withPartSize(long partSize) {
+    this.partSize = partSize;
+    return this;
+  }
+
+  public Path getCheckpoint() {
+    return checkpoint;
+  }
+
+  public void setCheckpoint(Path checkpoint) {
+    this.checkpoint = checkpoint;
+  }
+
+  public S3MetadataRewriter withCheckpoint(Path checkpoint) {
+    this.checkpoint = checkpoint;
+    return this;
+  }
+
+  public int getCheckpointInterval() {
+    return checkpointInterval;
+  }
+
+  public void setCheckpointInterval(int checkpointInterval) {
+    this.checkpointInterval = checkpointInterval;
+  }
+
+  public S3MetadataRewriter withCheckpointInterval(int checkpointInterval) {
+    this.checkpointInterval = checkpointInterval;
+    return this;
+  }
+
+  public boolean isDryRun() {
+    return dryRun;
+  }
+
+  public void setDryRun(boolean dryRun) {
+    this.dryRun = dryRun;
+  }
+
+  public S3MetadataRewriter withDryRun(boolean dryRun) {
+    this.dryRun = dryRun;
+    return this;
+  }//</editor-fold>
+
+  /**
+   * Rewrite the metadata of the objects under a prefix, resuming from the
+   * checkpoint if present.
+   *
+   * @param prefix   the key prefix; empty or null for the whole bucket
+   * @param function computes the new metadata of an object from its key and a
+   *                 copy of its current metadata; returns null to skip the
+   *                 object
+   * @return the rewrite report
+   * @throws IOException if the checkpoint cannot be read or written
+   */
+  public Report rewrite(String prefix, BiFunction<String, ObjectMetadata, ObjectMetadata> function) throws IOException {
+    /**
+     * A dry run neither resumes from nor advances the checkpoint.
+     */
+    Path checkpointFile = dryRun ? null : checkpoint;
+    String resumeAfter = checkpointFile != null && Files.exists(checkpointFile)
+                         ? new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8)
+                         : null;
+    Report report = new Report(dryRun, resumeAfter);
+    Watermark watermark = new Watermark(checkpointFile, resumeAfter);
+    AwsS3 client = s3Client.bindClient();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    /**
+     * Bound the number of queued objects so that memory stays proportional to
+     * the pool size.
+     */
+    Semaphore permits = new Semaphore(parallelism * 2);
+    S3ListingQuery query = new S3ListingQuery().withPrefix(prefix).withKeyRange(resumeAfter, null);
+    try (Stream<S3ObjectSummary> listing = client.query(query)) {
+      Iterator<S3ObjectSummary> iterator = listing.iterator();
+      while (iterator.hasNext()) {
+        S3ObjectSummary summary = iterator.next();
+        report.scannedCount.increment();
+        Watermark.Pending pending = watermark.add(summary.getKey());
+        permits.acquireUninterruptibly();
+        executor.submit(() -> {
+          boolean failed = false;
+          try {
+            rewrite(client, summary, function, report);
+          } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Metadata rewrite failed for {0}: {1}", new Object[]{summary.getKey(), ex.getMessage()});
+            report.failures.put(summary.getKey(), String.valueOf(ex.getMessage()));
+            failed = true;
+          } finally {
+            permits.release();
+            watermark.done(pending, failed);
+          }
+        });
+      }
+    } finally {
+      executor.shutdown();
+      try {
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        executor.shutdownNow();
+      }
+      client.shutdown();
+    }
+    watermark.complete();
+    LOG.log(Level.INFO, "Metadata rewrite {0} {1}", new Object[]{prefix, report});
+    return report;
+  }
+
+  /**
+   * Rewrite the metadata of one object.
+   *
+   * @param client   the S3 client
+   * @param summary  the object summary
+   * @param function the rewrite function
+   * @param report   the report
+   */
+  private void rewrite(AwsS3 client, S3ObjectSummary summary, BiFunction<String, ObjectMetadata, ObjectMetadata> function, Report report) {
+    String key = summary.getKey();
+    ObjectMetadata current = client.getObjectMetadata(key);
+    ObjectMetadata proposed = function.apply(key, current.clone());
+    if (proposed == null) {
+      report.unchangedCount.increment();
+      return;
+    }
+    ObjectMetadata replacement = toReplaceable(proposed);
+    ObjectMetadata original = toReplaceable(current);
+    if (replacement.getRawMetadata().equals(original.getRawMetadata())
+        && replacement.getUserMetadata().equals(original.getUserMetadata())) {
+      report.unchangedCount.increment();
+      return;
+    }
+    long size = current.getContentLength();
+    report.updatedCount.increment();
+    report.bytesCopied.add(size);
+    if (dryRun) {
+      return;
+    }
+    CopyObjectRequest request = new CopyObjectRequest(client.getBucketName(), key, client.getBucketName(), key)
+      .withNewObjectMetadata(replacement)
+      .withMatchingETagConstraint(current.getETag());
+    if (summary.getStorageClass() != null && !StorageClass.Standard.toString().equals(summary.getStorageClass())) {
+      request.setStorageClass(summary.getStorageClass());
+    }
+    if (size > multipartThreshold) {
+      client.copyObjectMultipart(request, size, partSize);
+    } else {
+      client.copyObject(request);
+    }
+  }
+
+  /**
+   * Copy the replaceable headers and user metadata. The part size describes the
+   * stored layout, not the content: it is dropped here and set by the multipart
+   * copy.
+   *
+   * @param metadata the metadata
+   * @return new metadata
+   */
+  private static ObjectMetadata toReplaceable(ObjectMetadata metadata) {
+    ObjectMetadata copy = new ObjectMetadata();
+    for (String header : REPLACEABLE_HEADERS) {
+      Object value = metadata.getRawMetadataValue(header);
+      if (value != null) {
+        copy.setHeader(header, value);
+      }
+    }
+    copy.setUserMetadata(new TreeMap<>(metadata.getUserMetadata()));
+    copy.getUserMetadata().remove(S3Checksum.METADATA_PART_SIZE);
+    return copy;
+  }
+
+  /**
+   * Tracks the key up to which every listed object has been processed and
+   * writes it to the checkpoint file. The watermark stops before the first
+   * failed object.
+   */
+  private class Watermark {
+
+    private final Path file;
+    private final Deque<Pending> pending = new ArrayDeque<>();
+    private String key;
+    private int sinceWrite;
+    /**
+     * True once the watermark reached a failed object; it no longer advances.
+     */
+    private boolean stopped;
+
+    Watermark(Path file, String key) {
+      this.file = file;
+      this.key = key;
+    }
+
+    synchronized Pending add(String key) {
+      Pending entry = new Pending(key);
+      if (!stopped) {
+        pending.add(entry);
+      }
+      return entry;
+    }
+
+    synchronized void done(Pending entry, boolean failed) {
+      entry.done = true;
+      entry.failed = failed;
+      while (!stopped && !pending.isEmpty() && pending.peek().done) {
+        Pending head = pending.poll();
+        if (head.failed) {
+          /**
+           * Later objects need not be tracked: the next run lists them again.
+           */
+          stopped = true;
+          pending.clear();
+        } else {
+          key = head.key;
+          sinceWrite++;
+        }
+      }
+      if (file != null && sinceWrite >= checkpointInterval) {
+        sinceWrite = 0;
+        write();
+      }
+    }
+
+    /**
+     * Complete the job: delete the checkpoint if every object was processed
+     * without failure, otherwise record progress.
+     */
+    synchronized void complete() throws IOException {
+      if (file == null) {
+        return;
+      }
+      if (!stopped && pending.isEmpty()) {
+        Files.deleteIfExists(file);
+      } else {
+        write();
+      }
+    }
+
+    private void write() {
+      if (key == null) {
+        return;
+      }
+      try {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+          Files.write(temp, key.getBytes(StandardCharsets.UTF_8));
+          Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+          Files.deleteIfExists(temp);
+        }
+      } catch (IOException ex) {
+        LOG.log(Level.WARNING, "Failed to write checkpoint {0}: {1}", new Object[]{file, ex.getMessage()});
+      }
+    }
+
+    private class Pending {
+
+      private final String key;
+      private boolean done;
+      private boolean failed;
+
+      Pending(String key) {
+        this.key = key;
+      }
+    }
+  }
+
+  /**
+   * The result of a metadata rewrite. In dry-run mode the report describes
+   * the changes that would have been made.
+   */
+  public static class Report {
+
+    private final boolean dryRun;
+    private final String resumedAfter;
+    private final LongAdder scannedCount = new LongAdder();
+    private final LongAdder updatedCount = new LongAdder();
+    private final LongAdder unchangedCount = new LongAdder();
+    private final LongAdder bytesCopied = new LongAdder();
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+    Report(boolean dryRun, String resumedAfter) {
+      this.dryRun = dryRun;
+      this.resumedAfter = resumedAfter;
+    }
+
+    public boolean isDryRun() {
+      return dryRun;
+    }
+
+    /**
+     * Get the checkpoint key this run resumed after.
+     *
+     * @return the key; null if the run started at the beginning
+     */
+    public String getResumedAfter() {
+      return resumedAfter;
+    }
+
+    public long getScannedCount() {
+      return scannedCount.sum();
+    }
+
+    public long getUpdatedCount() {
+      return updatedCount.sum();
+    }
+
+    public long getUnchangedCount() {
+      return unchangedCount.sum();
+    }
+
+    public long getBytesCopied() {
+      return bytesCopied.sum();
+    }
+
+    /**
+     * Get the failed objects.
+     *
+     * @return the error message of each failed key
+     */
+    public Map<String, String> getFailures() {
+      return failures;
+    }
+
+    @Override
+    public String toString() {
+      return (dryRun ? "dry run: " : "") + getScannedCount() + " scanned, " + getUpdatedCount() + " updated, "
+             + getUnchangedCount() + " unchanged, " + failures.size() + " failed";
+    }
+  }
+}
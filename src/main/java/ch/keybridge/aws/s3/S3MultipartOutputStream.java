@@ -0,0 +1,361 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.*;
+import com.amazonaws.util.Base64;
+import com.amazonaws.util.BinaryUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An output stream that uploads its content to an S3 object.
+ * <p>
+ * Content is collected in a single part buffer that grows up to the part size,
+ * so small uploads do not allocate a full part. Each time the buffer fills it
+ * is uploaded as one part of a multipart upload, so memory use
+ * is bounded by the part size regardless of the object size and the total
+ * length need not be known in advance. If the stream is closed before the
+ * first part fills the content is sent with a single PUT request instead.
+ * <p>
+ * The MD5 and CRC-32C checksums of the content are computed as it is written
+ * (see {@link S3Checksum}). Each request carries the Content-MD5 of its part so
+ * that S3 rejects corrupted data immediately, and each returned ETag is
+ * compared with the expected value. Single-part uploads also store the
+ * CRC-32C checksum and multipart uploads the part size in the user metadata,
+ * so that downloads can verify the content. The content length, MD5 and
+ * CRC-32C checksum of the provided metadata are ignored.
+ * <p>
+ * The object becomes visible when the stream is closed. If writing or closing
+ * fails the multipart upload is aborted. S3 errors are thrown unchanged as
+ * AmazonClientException.
+ * <p>
+ * The object metadata may be modified with {@link #getMetadata()} until the
+ * first part is uploaded.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3MultipartOutputStream extends OutputStream {
+
+  private static final Logger LOG = Logger.getLogger(S3MultipartOutputStream.class.getName());
+
+  /**
+   * 5 MB. The minimum part size accepted by S3 (except for the last part).
+   */
+  public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+  /**
+   * 8 MB. The default part size.
+   */
+  public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+  /**
+   * 64 KB. The initial part buffer size. The buffer grows as content is
+   * written, so small uploads do not allocate a full part.
+   */
+  private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The S3 client.
+   */
+  private final AmazonS3 s3Client;
+  /**
+   * The bucket name.
+   */
+  private final String bucketName;
+  /**
+   * The object key.
+   */
+  private final String key;
+  /**
+   * The object metadata.
+   */
+  private final ObjectMetadata metadata;
+  /**
+   * The part size in bytes.
+   */
+  private final int partSize;
+  /**
+   * The part buffer; grows up to the part size.
+   */
+  private byte[] buffer;
+  /**
+   * The number of bytes in the part buffer.
+   */
+  private int position;
+  /**
+   * The multipart upload ID; null until the first part is uploaded.
+   */
+  private String uploadId;
+  /**
+   * The uploaded parts.
+   */
+  private final List<PartETag> partETags = new ArrayList<>();
+  /**
+   * The content checksum, with one MD5 digest per part.
+   */
+  private final S3Checksum checksum;
+  /**
+   * The upload result; set when the stream is closed.
+   */
+  private PutObjectResult result;
+  private boolean closed;
+
+  /**
+   * Construct a new multipart output stream with the default part size.
+   *
+   * @param s3Client   the S3 client
+   * @param bucketName the bucket name
+   * @param key        the object key
+   * @param metadata   OPTIONAL. the object metadata
+   */
+  public S3MultipartOutputStream(AmazonS3 s3Client, String bucketName, String key, ObjectMetadata metadata) {
+    this(s3Client, bucketName, key, metadata, DEFAULT_PART_SIZE);
+  }
+
+  /**
+   * Construct a new multipart output stream.
+   *
+   * @param s3Client   the S3 client
+   * @param bucketName the bucket name
+   * @param key        the object key
+   * @param metadata   OPTIONAL. the object metadata
+   * @param partSize   the part size in bytes; at least 5 MB
+   */
+  public S3MultipartOutputStream(AmazonS3 s3Client, String bucketName, String key, ObjectMetadata metadata, int partSize) {
+    if (partSize < MIN_PART_SIZE) {
+      throw new IllegalArgumentException("Part size must be at least " + MIN_PART_SIZE + " bytes");
+    }
+    this.s3Client = s3Client;
+    this.bucketName = bucketName;
+    this.key = key;
+    this.metadata = copyMetadata(metadata);
+    this.partSize = partSize;
+    this.buffer = new byte[Math.min(INITIAL_BUFFER_SIZE, partSize)];
+    this.checksum = new S3Checksum(partSize);
+  }
+
+  /**
+   * Copy the metadata, omitting the content length and MD5 which are
+   * determined by the stream.
+   *
+   * @param metadata the metadata; may be null
+   * @return new metadata
+   */
+  private static ObjectMetadata copyMetadata(ObjectMetadata metadata) {
+    ObjectMetadata copy = new ObjectMetadata();
+    if (metadata != null) {
+      metadata.getRawMetadata().entrySet().stream()
+        .filter(e -> !Headers.CONTENT_LENGTH.equals(e.getKey()) && !Headers.CONTENT_MD5.equals(e.getKey()))
+        .forEach(e -> copy.setHeader(e.getKey(), e.getValue()));
+      copy.setUserMetadata(new HashMap<>(metadata.getUserMetadata()));
+    }
+    return copy;
+  }
+
+  /**
+   * Get the object metadata. Changes have effect only until the first part is
+   * uploaded.
+   *
+   * @return the object metadata
+   */
+  public ObjectMetadata getMetadata() {
+    return metadata;
+  }
+
+  /**
+   * Get the total number of bytes written.
+   *
+   * @return the number of bytes written
+   */
+  public long getBytesWritten() {
+    return checksum.getLength();
+  }
+
+  /**
+   * Get the content checksum. Complete once the stream is closed.
+   *
+   * @return the content checksum
+   */
+  public S3Checksum getChecksum() {
+    return checksum;
+  }
+
+  /**
+   * Get the upload result. For multipart uploads the result contains the ETag
+   * and version ID of the completed upload.
+   *
+   * @return the result; null until the stream is closed
+   */
+  public PutObjectResult getResult() {
+    return result;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    ensureOpen();
+    ensureCapacity(position + 1);
+    buffer[position++] = (byte) b;
+    checksum.update(b);
+    if (position == partSize) {
+      uploadPart(false);
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    ensureOpen();
+    while (len > 0) {
+      int n = Math.min(len, partSize - position);
+      ensureCapacity(position + n);
+      System.arraycopy(b, off, buffer, position, n);
+      checksum.update(b, off, n);
+      position += n;
+      off += n;
+      len -= n;
+      if (position == partSize) {
+        uploadPart(false);
+      }
+    }
+  }
+
+  /**
+   * Complete the upload. Small content is sent with a single PUT; otherwise
+   * the last part is uploaded and the multipart upload completed.
+   *
+   * @throws IOException            if the upload fails
+   * @throws AmazonClientException on S3 error or checksum mismatch
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    checksum.finish();
+    try {
+      if (uploadId == null) {
+        metadata.setContentLength(position);
+        metadata.setContentMD5(Base64.encodeAsString(checksum.getPartDigest(1)));
+        metadata.addUserMetadata(S3Checksum.METADATA_CRC32C, checksum.getCrc32cBase64());
+        result = s3Client.putObject(new PutObjectRequest(bucketName, key, new ByteArrayInputStream(buffer, 0, position), metadata));
+        S3Checksum.verifyETag(key, BinaryUtils.toHex(checksum.getPartDigest(1)), result.getETag(), result);
+      } else {
+        if (position > 0) {
+          uploadPart(true);
+        }
+        CompleteMultipartUploadResult complete = s3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+        checksum.verifyETag(key, complete.getETag(), complete);
+        result = new PutObjectResult();
+        result.setETag(complete.getETag());
+        result.setVersionId(complete.getVersionId());
+      }
+    } catch (AmazonClientException ex) {
+      abort();
+      throw ex;
+    }
+  }
+
+  /**
+   * Abort the upload. Uploaded parts are discarded and no object is created.
+   */
+  public void abort() {
+    closed = true;
+    if (uploadId != null) {
+      try {
+        s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+      } catch (AmazonClientException ex) {
+        LOG.log(Level.WARNING, "Failed to abort multipart upload {0} of {1}: {2}", new Object[]{uploadId, key, ex.getMessage()});
+      }
+      uploadId = null;
+    }
+  }
+
+  /**
+   * Upload the buffered content as the next part, initiating the multipart
+   * upload first if necessary.
+   *
+   * @param lastPart true if this is the final part
+   * @throws AmazonClientException on S3 error or checksum mismatch
+   */
+  protected void uploadPart(boolean lastPart) {
+    try {
+      if (uploadId == null) {
+        /**
+         * The content checksum is not known until the last part; remove any
+         * provided (e.g. copied) value so downloads verify the part digests.
+         */
+        metadata.getUserMetadata().remove(S3Checksum.METADATA_CRC32C);
+        metadata.addUserMetadata(S3Checksum.METADATA_PART_SIZE, String.valueOf(partSize));
+        uploadId = s3Client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, metadata)).getUploadId();
+      }
+      int partNumber = partETags.size() + 1;
+      byte[] digest = checksum.getPartDigest(partNumber);
+      UploadPartRequest request = new UploadPartRequest()
+        .withBucketName(bucketName)
+        .withKey(key)
+        .withUploadId(uploadId)
+        .withPartNumber(partNumber)
+        .withPartSize(position)
+        .withMD5Digest(Base64.encodeAsString(digest))
+        .withInputStream(new ByteArrayInputStream(buffer, 0, position))
+        .withLastPart(lastPart);
+      UploadPartResult part = s3Client.uploadPart(request);
+      S3Checksum.verifyETag(key, BinaryUtils.toHex(digest), part.getETag(), part);
+      partETags.add(part.getPartETag());
+      position = 0;
+    } catch (AmazonClientException ex) {
+      abort();
+      throw ex;
+    }
+  }
+
+  /**
+   * Grow the part buffer to hold at least the given number of bytes, doubling
+   * its size up to the part size.
+   *
+   * @param capacity the required capacity; at most the part size
+   */
+  private void ensureCapacity(int capacity) {
+    if (capacity > buffer.length) {
+      int size = buffer.length;
+      while (size < capacity) {
+        size = (int) Math.min((long) size * 2, partSize);
+      }
+      buffer = Arrays.copyOf(buffer, size);
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+/**
+ * A single S3 request. Operations are passed to request policies (such as the
+ * rate limiter) which decide when and how often the request is executed.
+ * <p>
+ * Amazon errors are unchecked ({@code AmazonServiceException},
+ * {@code SdkClientException}); the type parameter {@code E} carries any checked
+ * exception, such as an {@code IOException} while copying object content.
+ *
+ * @param <T> the operation result type
+ * @param <E> the checked exception type thrown by the operation
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+@FunctionalInterface
+public interface S3Operation<T, E extends Exception> {
+
+  /**
+   * Execute the S3 request.
+   *
+   * @return the request result
+   * @throws E on error
+   */
+  T execute() throws E;
+}
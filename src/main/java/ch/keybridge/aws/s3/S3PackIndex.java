@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The index of a pack object: the name, offset and length of each member,
+ * sorted by name.
+ * <p>
+ * The binary format is a header (magic number, version, member count)
+ * followed by one entry per member in UTF-8 binary order of the names. Each
+ * entry holds the number of leading name bytes shared with the previous name
+ * and the remaining name bytes, then the member offset and length, all
+ * integers as unsigned LEB128 varints. An index of 100,000 tile names of the
+ * form "z/x/y.png" is typically well under 1 MB.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ * @see S3PackWriter
+ * @see S3PackReader
+ */
+public final class S3PackIndex {
+
+  /**
+   * ".idx". The key suffix of the index object of a pack.
+   */
+  public static final String EXTENSION = ".idx";
+  /**
+   * "S3PK".
+   */
+  private static final int MAGIC = 0x5333504b;
+  private static final int VERSION = 1;
+
+  /**
+   * The member names, sorted.
+   */
+  private final String[] names;
+  /**
+   * The member offsets in the pack object.
+   */
+  private final long[] offsets;
+  /**
+   * The member lengths.
+   */
+  private final int[] lengths;
+
+  private S3PackIndex(String[] names, long[] offsets, int[] lengths) {
+    this.names = names;
+    this.offsets = offsets;
+    this.lengths = lengths;
+  }
+
+  /**
+   * Build an index from unsorted members.
+   *
+   * @param names   the member names, in pack order
+   * @param offsets the member offsets
+   * @param lengths the member lengths
+   * @return a new index
+   * @throws IllegalArgumentException if a name is duplicated
+   */
+  static S3PackIndex build(List<String> names, List<Long> offsets, List<Integer> lengths) {
+    Integer[] order = new Integer[names.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> S3Key.UTF8_BINARY_ORDER.compare(names.get(a), names.get(b)));
+    String[] sortedNames = new String[order.length];
+    long[] sortedOffsets = new long[order.length];
+    int[] sortedLengths = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      sortedNames[i] = names.get(order[i]);
+      sortedOffsets[i] = offsets.get(order[i]);
+      sortedLengths[i] = lengths.get(order[i]);
+      if (i > 0 && sortedNames[i].equals(sortedNames[i - 1])) {
+        throw new IllegalArgumentException("Duplicate pack member " + sortedNames[i]);
+      }
+    }
+    return new S3PackIndex(sortedNames, sortedOffsets, sortedLengths);
+  }
+
+  /**
+   * Get the number of members.
+   *
+   * @return the number of members
+   */
+  public int size() {
+    return names.length;
+  }
+
+  /**
+   * Find a member by name.
+   *
+   * @param name the member name
+   * @return the member position in this index; negative if not found
+   */
+  public int indexOf(String name) {
+    return Arrays.binarySearch(names, name, S3Key.UTF8_BINARY_ORDER);
+  }
+
+  public String getName(int index) {
+    return names[index];
+  }
+
+  public long getOffset(int index) {
+    return offsets[index];
+  }
+
+  public int getLength(int index) {
+    return lengths[index];
+  }
+
+  /**
+   * Get the member names in sorted order.
+   *
+   * @return an unmodifiable list of names
+   */
+  public List<String> getNames() {
+    return Collections.unmodifiableList(Arrays.asList(names));
+  }
+
+  /**
+   * Encode this index.
+   *
+   * @return the binary index
+   */
+  public byte[] toByteArray() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + names.length * 16);
+    DataOutputStream out = new DataOutputStream(bytes);
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(names.length);
+      byte[] previous = new byte[0];
+      for (int i = 0; i < names.length; i++) {
+        byte[] name = names[i].getBytes(StandardCharsets.UTF_8);
+        int shared = 0;
+        int max = Math.min(previous.length, name.length);
+        while (shared < max && previous[shared] == name[shared]) {
+          shared++;
+        }
+        writeVarint(out, shared);
+        writeVarint(out, name.length - shared);
+        out.write(name, shared, name.length - shared);
+        writeVarint(out, offsets[i]);
+        writeVarint(out, lengths[i]);
+        previous = name;
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decode an index.
+   *
+   * @param inputStream the binary index
+   * @return the index
+   * @throws IOException if the stream cannot be read or is not a pack index
+   */
+  public static S3PackIndex read(InputStream inputStream) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+    if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+      throw new IOException("Not a pack index");
+    }
+    int count = in.readInt();
+    String[] names = new String[count];
+    long[] offsets = new long[count];
+    int[] lengths = new int[count];
+    byte[] name = new byte[256];
+    for (int i = 0; i < count; i++) {
+      int shared = (int) readVarint(in);
+      int suffix = (int) readVarint(in);
+      if (shared + suffix > name.length) {
+        name = Arrays.copyOf(name, Math.max(shared + suffix, name.length * 2));
+      }
+      in.readFully(name, shared, suffix);
+      names[i] = new String(name, 0, shared + suffix, StandardCharsets.UTF_8);
+      offsets[i] = readVarint(in);
+      lengths[i] = (int) readVarint(in);
+    }
+    return new S3PackIndex(names, offsets, lengths);
+  }
+
+  private static void writeVarint(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static long readVarint(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads members of a pack object written by {@link S3PackWriter}.
+ * <p>
+ * The pack index is loaded once, on first use, and optionally cached in a
+ * local directory so that later readers of the same pack only need a HEAD
+ * request to find members. Cached indexes are keyed by the pack ETag, so a
+ * rewritten pack is never read with the index of its previous content. A
+ * reader keeps the index it loaded: use a new reader after rewriting a pack.
+ * <p>
+ * Each member is fetched with a single ranged GET. Batch reads sort the
+ * requested members by offset and coalesce members that are adjacent (or
+ * separated by at most {@code maxGap} bytes) into one range request of at
+ * most {@code maxRangeSize} bytes: reading a few unwanted bytes is far cheaper
+ * than another request.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3PackReader {
+
+  /**
+   * 16 KB. The default largest gap between members read with one request.
+   */
+  private static final long DEFAULT_MAX_GAP = 16 * 1024;
+  /**
+   * 8 MB. The default largest range read with one request.
+   */
+  private static final long DEFAULT_MAX_RANGE_SIZE = 8 * 1024 * 1024;
+
+  /**
+   * The S3 client.
+   */
+  private final AwsS3 s3Client;
+  /**
+   * The pack object key.
+   */
+  private final String packKey;
+  /**
+   * OPTIONAL. The local directory caching pack indexes.
+   */
+  private Path cacheDirectory;
+  /**
+   * The largest number of unrequested bytes between two members read with one
+   * request.
+   */
+  private long maxGap = DEFAULT_MAX_GAP;
+  /**
+   * The largest range read with one request.
+   */
+  private long maxRangeSize = DEFAULT_MAX_RANGE_SIZE;
+  /**
+   * The pack index; loaded on first use.
+   */
+  private volatile S3PackIndex index;
+  /**
+   * The number of range requests sent.
+   */
+  private final AtomicLong requestCount = new AtomicLong();
+
+  /**
+   * Construct a new pack reader.
+   *
+   * @param s3Client the S3 client
+   * @param packKey  the pack object key
+   */
+  public S3PackReader(AwsS3 s3Client, String packKey) {
+    this.s3Client = s3Client;
+    this.packKey = packKey;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public Path getCacheDirectory() {
+    return cacheDirectory;
+  }
+
+  public S3PackReader withCacheDirectory(Path cacheDirectory) {
+    this.cacheDirectory = cacheDirectory;
+    return this;
+  }
+
+  public long getMaxGap() {
+    return maxGap;
+  }
+
+  public S3PackReader withMaxGap(long maxGap) {
+    this.maxGap = maxGap;
+    return this;
+  }
+
+  public long getMaxRangeSize() {
+    return maxRangeSize;
+  }
+
+  public S3PackReader withMaxRangeSize(long maxRangeSize) {
+    this.maxRangeSize = maxRangeSize;
+    return this;
+  }
+
+  /**
+   * Get the number of range requests sent.
+   *
+   * @return the number of range requests
+   */
+  public long getRequestCount() {
+    return requestCount.get();
+  }//</editor-fold>
+
+  /**
+   * Get the pack index, loading it from the local cache or from S3 on first
+   * use.
+   *
+   * @return the pack index
+   * @throws IOException if the index cannot be read
+   */
+  public S3PackIndex getIndex() throws IOException {
+    S3PackIndex current = index;
+    if (current == null) {
+      synchronized (this) {
+        current = index;
+        if (current == null) {
+          current = loadIndex();
+          index = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private S3PackIndex loadIndex() throws IOException {
+    String indexKey = packKey + S3PackIndex.EXTENSION;
+    Path cacheFile = null;
+    if (cacheDirectory != null) {
+      String eTag = s3Client.getObjectMetadata(packKey).getETag();
+      cacheFile = cacheDirectory.resolve(encode(s3Client.getBucketName()) + "_" + encode(indexKey) + "_" + encode(eTag));
+    }
+    if (cacheFile != null && Files.isRegularFile(cacheFile)) {
+      try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+        return S3PackIndex.read(inputStream);
+      } catch (IOException ex) {
+        // a corrupt cache file is replaced below
+      }
+    }
+    S3PackIndex loaded;
+    try (InputStream inputStream = s3Client.getInputStream(indexKey)) {
+      loaded = S3PackIndex.read(inputStream);
+    }
+    if (cacheFile != null) {
+      Files.createDirectories(cacheDirectory);
+      Path temp = Files.createTempFile(cacheDirectory, "pack", ".tmp");
+      try {
+        Files.write(temp, loaded.toByteArray());
+        Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    }
+    return loaded;
+  }
+
+  private static String encode(String value) throws UnsupportedEncodingException {
+    return URLEncoder.encode(String.valueOf(value), "UTF-8");
+  }
+
+  /**
+   * Determine whether the pack contains a member.
+   *
+   * @param name the member name
+   * @return true if the member exists
+   * @throws IOException if the index cannot be read
+   */
+  public boolean contains(String name) throws IOException {
+    return getIndex().indexOf(name) >= 0;
+  }
+
+  /**
+   * Read a member.
+   *
+   * @param name the member name
+   * @return the member content; null if the pack has no such member
+   * @throws IOException if the index or member cannot be read
+   */
+  public byte[] read(String name) throws IOException {
+    return read(Collections.singleton(name)).get(name);
+  }
+
+  /**
+   * Read several members, coalescing nearby members into shared range
+   * requests.
+   *
+   * @param names the member names
+   * @return the content of each member found, in pack order; members not in
+   *         the pack are omitted
+   * @throws IOException if the index or members cannot be read
+   */
+  public Map<String, byte[]> read(Collection<String> names) throws IOException {
+    S3PackIndex packIndex = getIndex();
+    int[] members = names.stream()
+      .mapToInt(packIndex::indexOf)
+      .filter(i -> i >= 0)
+      .distinct()
+      .boxed()
+      .sorted(Comparator.comparingLong(packIndex::getOffset))
+      .mapToInt(Integer::intValue)
+      .toArray();
+    Map<String, byte[]> result = new LinkedHashMap<>();
+    int start = 0;
+    while (start < members.length) {
+      /**
+       * Extend the range over following members while the gap and the total
+       * range size stay within bounds.
+       */
+      long rangeStart = packIndex.getOffset(members[start]);
+      long rangeEnd = rangeStart + packIndex.getLength(members[start]);
+      int end = start + 1;
+      while (end < members.length) {
+        long offset = packIndex.getOffset(members[end]);
+        long memberEnd = Math.max(rangeEnd, offset + packIndex.getLength(members[end]));
+        if (offset - rangeEnd > maxGap || memberEnd - rangeStart > maxRangeSize) {
+          break;
+        }
+        rangeEnd = memberEnd;
+        end++;
+      }
+      byte[] range = new byte[0];
+      if (rangeEnd > rangeStart) {
+        requestCount.incrementAndGet();
+        range = s3Client.downloadRange(packKey, rangeStart, rangeEnd - 1);
+        if (range.length != rangeEnd - rangeStart) {
+          throw new IOException("Pack " + packKey + " is truncated: expected " + (rangeEnd - rangeStart) + " bytes at " + rangeStart + " but read " + range.length);
+        }
+      }
+      for (int i = start; i < end; i++) {
+        int from = (int) (packIndex.getOffset(members[i]) - rangeStart);
+        result.put(packIndex.getName(members[i]), Arrays.copyOfRange(range, from, from + packIndex.getLength(members[i])));
+      }
+      start = end;
+    }
+    return result;
+  }
+}
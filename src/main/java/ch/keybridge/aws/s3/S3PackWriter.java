@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bundles many small files into one pack object.
+ * <p>
+ * Storing millions of small objects (e.g. 2-20 KB map tiles) makes request
+ * overhead dominate both cost and latency. A pack concatenates the members
+ * into one large object, uploaded in parts as it is written, and stores a
+ * sorted {@link S3PackIndex} of member offsets in a sidecar object named by
+ * the pack key plus {@value S3PackIndex#EXTENSION}. Members are then read
+ * individually with {@link S3PackReader}, each with a single ranged GET.
+ * <p>
+ * The pack is written verbatim (the compression policy is not applied) so
+ * that index offsets address the stored bytes. The index is uploaded after the
+ * pack is complete, so a visible index always describes a complete pack. Packs
+ * are immutable: to change a member write a new pack.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3PackWriter implements Closeable {
+
+  /**
+   * The S3 client.
+   */
+  private final AwsS3 s3Client;
+  /**
+   * The pack object key.
+   */
+  private final String packKey;
+  /**
+   * The pack content stream.
+   */
+  private final S3MultipartOutputStream outputStream;
+  /**
+   * The member names, offsets and lengths in pack order.
+   */
+  private final List<String> names = new ArrayList<>();
+  private final List<Long> offsets = new ArrayList<>();
+  private final List<Integer> lengths = new ArrayList<>();
+  private final Set<String> nameSet = new HashSet<>();
+  /**
+   * The index; set when the pack is closed.
+   */
+  private S3PackIndex index;
+  private boolean aborted;
+
+  /**
+   * Construct a new pack writer.
+   *
+   * @param s3Client the S3 client
+   * @param packKey  the pack object key
+   */
+  public S3PackWriter(AwsS3 s3Client, String packKey) {
+    this.s3Client = s3Client;
+    this.packKey = packKey;
+    ObjectMetadata metadata = new ObjectMetadata();
+    metadata.setContentType("application/octet-stream");
+    this.outputStream = s3Client.newMultipartOutputStream(packKey, metadata);
+  }
+
+  /**
+   * Add a member. If the upload fails the pack is aborted.
+   *
+   * @param name    the member name; must be unique within the pack
+   * @param content the member content
+   * @throws IOException on upload error
+   */
+  public void add(String name, byte[] content) throws IOException {
+    addName(name);
+    long offset = outputStream.getBytesWritten();
+    try {
+      outputStream.write(content);
+    } catch (IOException | RuntimeException ex) {
+      abort();
+      throw ex;
+    }
+    addEntry(name, offset);
+  }
+
+  /**
+   * Add a member read from a stream. The stream is not closed. If reading or
+   * the upload fails the pack is aborted.
+   *
+   * @param name        the member name; must be unique within the pack
+   * @param inputStream the member content
+   * @throws IOException on read or upload error
+   */
+  public void add(String name, InputStream inputStream) throws IOException {
+    addName(name);
+    long offset = outputStream.getBytesWritten();
+    byte[] buffer = new byte[16 * 1024];
+    try {
+      for (int n; (n = inputStream.read(buffer)) != -1;) {
+        outputStream.write(buffer, 0, n);
+      }
+    } catch (IOException | RuntimeException ex) {
+      abort();
+      throw ex;
+    }
+    addEntry(name, offset);
+  }
+
+  /**
+   * Add a member read from a file.
+   *
+   * @param name the member name; must be unique within the pack
+   * @param file the member content
+   * @throws IOException on read or upload error
+   */
+  public void add(String name, Path file) throws IOException {
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      add(name, inputStream);
+    }
+  }
+
+  private void addName(String name) {
+    if (index != null || aborted) {
+      throw new IllegalStateException("Pack is closed");
+    }
+    if (!nameSet.add(name)) {
+      throw new IllegalArgumentException("Duplicate pack member " + name);
+    }
+  }
+
+  private void addEntry(String name, long offset) throws IOException {
+    long length = outputStream.getBytesWritten() - offset;
+    if (length > Integer.MAX_VALUE) {
+      abort();
+      throw new IOException("Pack member " + name + " is too large");
+    }
+    names.add(name);
+    offsets.add(offset);
+    lengths.add((int) length);
+  }
+
+  /**
+   * Get the number of members added.
+   *
+   * @return the number of members
+   */
+  public int size() {
+    return names.size();
+  }
+
+  /**
+   * Get the pack index.
+   *
+   * @return the index; null until the pack is closed
+   */
+  public S3PackIndex getIndex() {
+    return index;
+  }
+
+  /**
+   * Abort the pack. Nothing is stored.
+   */
+  public void abort() {
+    aborted = true;
+    outputStream.abort();
+  }
+
+  /**
+   * Complete the pack object, then upload its index. The index is not uploaded
+   * if the pack was aborted or its upload fails.
+   *
+   * @throws IOException on upload error
+   */
+  @Override
+  public void close() throws IOException {
+    if (index != null || aborted) {
+      return;
+    }
+    try {
+      outputStream.close();
+    } catch (IOException | RuntimeException ex) {
+      abort();
+      throw ex;
+    }
+    if (outputStream.getResult() == null) {
+      aborted = true;
+      throw new IOException("Pack " + packKey + " was not stored");
+    }
+    index = S3PackIndex.build(names, offsets, lengths);
+    byte[] bytes = index.toByteArray();
+    ObjectMetadata metadata = new ObjectMetadata();
+    metadata.setContentType("application/octet-stream");
+    metadata.setContentLength(bytes.length);
+    s3Client.upload(packKey + S3PackIndex.EXTENSION, new ByteArrayInputStream(bytes), metadata);
+  }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A path in an {@link S3FileSystem}.
+ * <p>
+ * A path is a sequence of names separated by "/". The absolute path
+ * "/a/b/c.txt" denotes the object key "a/b/c.txt" and, as a directory, all
+ * keys with the prefix "a/b/c.txt/". The root "/" denotes the whole bucket.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public final class S3Path implements Path {
+
+  /**
+   * The file system.
+   */
+  private final S3FileSystem fileSystem;
+  /**
+   * True if the path starts at the root.
+   */
+  private final boolean absolute;
+  /**
+   * The path names; never empty strings.
+   */
+  private final String[] names;
+
+  private S3Path(S3FileSystem fileSystem, boolean absolute, String[] names) {
+    this.fileSystem = fileSystem;
+    this.absolute = absolute;
+    this.names = names;
+  }
+
+  /**
+   * Parse a path string.
+   *
+   * @param fileSystem the file system
+   * @param path       the path string; a leading "/" makes it absolute
+   * @return the path
+   */
+  static S3Path parse(S3FileSystem fileSystem, String path) {
+    return new S3Path(fileSystem, path.startsWith("/"), Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new));
+  }
+
+  /**
+   * Get the object key of this path: the names of the absolute path joined
+   * by "/", without a leading "/".
+   *
+   * @return the object key; empty for the root
+   */
+  public String getKey() {
+    return String.join("/", toAbsolutePath().names);
+  }
+
+  /**
+   * Get the key prefix of the entries of this path as a directory.
+   *
+   * @return the key followed by "/"; empty for the root
+   */
+  String getDirectoryPrefix() {
+    String key = getKey();
+    return key.isEmpty() ? "" : key + "/";
+  }
+
+  @Override
+  public S3FileSystem getFileSystem() {
+    return fileSystem;
+  }
+
+  @Override
+  public boolean isAbsolute() {
+    return absolute;
+  }
+
+  @Override
+  public S3Path getRoot() {
+    return absolute ? new S3Path(fileSystem, true, new String[0]) : null;
+  }
+
+  @Override
+  public S3Path getFileName() {
+    return names.length == 0 ? null : new S3Path(fileSystem, false, new String[]{names[names.length - 1]});
+  }
+
+  @Override
+  public S3Path getParent() {
+    if (names.length == 0 || (names.length == 1 && !absolute)) {
+      return null;
+    }
+    return new S3Path(fileSystem, absolute, Arrays.copyOf(names, names.length - 1));
+  }
+
+  @Override
+  public int getNameCount() {
+    return names.length;
+  }
+
+  @Override
+  public S3Path getName(int index) {
+    return subpath(index, index + 1);
+  }
+
+  @Override
+  public S3Path subpath(int beginIndex, int endIndex) {
+    if (beginIndex < 0 || endIndex > names.length || beginIndex >= endIndex) {
+      throw new IllegalArgumentException();
+    }
+    return new S3Path(fileSystem, false, Arrays.copyOfRange(names, beginIndex, endIndex));
+  }
+
+  @Override
+  public boolean startsWith(Path other) {
+    S3Path path = toS3Path(other);
+    if (path == null || path.absolute != absolute || path.names.length > names.length) {
+      return false;
+    }
+    for (int i = 0; i < path.names.length; i++) {
+      if (!path.names[i].equals(names[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean startsWith(String other) {
+    return startsWith(parse(fileSystem, other));
+  }
+
+  @Override
+  public boolean endsWith(Path other) {
+    S3Path path = toS3Path(other);
+    if (path == null || path.names.length > names.length || (path.absolute && (!absolute || path.names.length != names.length))) {
+      return false;
+    }
+    for (int i = 1; i <= path.names.length; i++) {
+      if (!path.names[path.names.length - i].equals(names[names.length - i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean endsWith(String other) {
+    return endsWith(parse(fileSystem, other));
+  }
+
+  @Override
+  public S3Path normalize() {
+    List<String> normal = new ArrayList<>();
+    for (String name : names) {
+      if (name.equals("..")) {
+        if (!normal.isEmpty() && !normal.get(normal.size() - 1).equals("..")) {
+          normal.remove(normal.size() - 1);
+        } else if (!absolute) {
+          normal.add(name);
+        }
+      } else if (!name.equals(".")) {
+        normal.add(name);
+      }
+    }
+    return new S3Path(fileSystem, absolute, normal.toArray(new String[0]));
+  }
+
+  @Override
+  public S3Path resolve(Path other) {
+    S3Path path = checkPath(other);
+    if (path.absolute) {
+      return path;
+    }
+    String[] resolved = Arrays.copyOf(names, names.length + path.names.length);
+    System.arraycopy(path.names, 0, resolved, names.length, path.names.length);
+    return new S3Path(fileSystem, absolute, resolved);
+  }
+
+  @Override
+  public S3Path resolve(String other) {
+    return resolve(parse(fileSystem, other));
+  }
+
+  @Override
+  public Path resolveSibling(Path other) {
+    S3Path parent = getParent();
+    return parent == null ? other : parent.resolve(other);
+  }
+
+  @Override
+  public Path resolveSibling(String other) {
+    return resolveSibling(parse(fileSystem, other));
+  }
+
+  @Override
+  public S3Path relativize(Path other) {
+    S3Path path = checkPath(other);
+    if (path.absolute != absolute) {
+      throw new IllegalArgumentException("Cannot relativize an absolute and a relative path");
+    }
+    int common = 0;
+    while (common < names.length && common < path.names.length && names[common].equals(path.names[common])) {
+      common++;
+    }
+    List<String> relative = new ArrayList<>();
+    for (int i = common; i < names.length; i++) {
+      relative.add("..");
+    }
+    relative.addAll(Arrays.asList(path.names).subList(common, path.names.length));
+    return new S3Path(fileSystem, false, relative.toArray(new String[0]));
+  }
+
+  /**
+   * Get the URI of this path, of the form {@code s3://bucket/key}.
+   *
+   * @return the URI
+   */
+  @Override
+  public URI toUri() {
+    try {
+      return new URI(S3FileSystemProvider.SCHEME, fileSystem.getBucketName(), "/" + getKey(), null);
+    } catch (URISyntaxException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  @Override
+  public S3Path toAbsolutePath() {
+    return absolute ? this : new S3Path(fileSystem, true, names);
+  }
+
+  @Override
+  public S3Path toRealPath(LinkOption... options) throws IOException {
+    S3Path real = toAbsolutePath().normalize();
+    fileSystem.provider().checkAccess(real);
+    return real;
+  }
+
+  @Override
+  public File toFile() {
+    throw new UnsupportedOperationException("S3 paths have no File representation");
+  }
+
+  @Override
+  public WatchKey register(WatchService watcher, WatchEvent.Kind<?>[] events, WatchEvent.Modifier... modifiers) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public WatchKey register(WatchService watcher, WatchEvent.Kind<?>... events) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Iterator<Path> iterator() {
+    List<Path> paths = new ArrayList<>(names.length);
+    for (int i = 0; i < names.length; i++) {
+      paths.add(getName(i));
+    }
+    return paths.iterator();
+  }
+
+  @Override
+  public int compareTo(Path other) {
+    return S3Key.UTF8_BINARY_ORDER.compare(toString(), other.toString());
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof S3Path)) {
+      return false;
+    }
+    S3Path other = (S3Path) obj;
+    return fileSystem == other.fileSystem && absolute == other.absolute && Arrays.equals(names, other.names);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * System.identityHashCode(fileSystem) + (absolute ? 1 : 0)) + Arrays.hashCode(names);
+  }
+
+  @Override
+  public String toString() {
+    return (absolute ? "/" : "") + String.join("/", names);
+  }
+
+  private S3Path toS3Path(Path other) {
+    return other instanceof S3Path && ((S3Path) other).fileSystem == fileSystem ? (S3Path) other : null;
+  }
+
+  private S3Path checkPath(Path other) {
+    S3Path path = toS3Path(other);
+    if (path == null) {
+      throw new ProviderMismatchException();
+    }
+    return path;
+  }
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.AWSSessionCredentials;
+import com.amazonaws.regions.Regions;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.*;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Generates presigned GET URLs (AWS Signature Version 4, query string
+ * authentication) without a round trip through the SDK client.
+ * <p>
+ * Presigning is a local computation, but the SDK builds a client, a request
+ * object graph and a fresh signing key for every URL. This presigner is
+ * designed for high volume, such as one URL per map tile:
+ * <ul>
+ * <li>The derived signing key is cached per (date, region, service) and
+ * credentials, so the four-step HMAC key derivation runs once a day.
+ * <li>Each thread reuses one HMAC-SHA256 {@link Mac}, already initialized with
+ * the current signing key, and one SHA-256 digest.
+ * <li>The URL and the canonical request are built in a reused per-thread
+ * buffer; the only allocation per URL is the returned string.
+ * <li>{@link #presign(Collection, int)} signs many keys with one timestamp and
+ * one credentials lookup.
+ * </ul>
+ * URLs use virtual-hosted style ({@code https://bucket.s3.region.amazonaws.com/key})
+ * unless the bucket name contains a dot, in which case path style is used so
+ * that the TLS certificate matches. Only the host header is signed and the
+ * payload is unsigned, as for any presigned GET.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3Presigner {
+
+  /**
+   * 604800 (7 days). The maximum URL lifetime in seconds accepted by S3.
+   */
+  public static final int MAX_EXPIRES = 7 * 24 * 3600;
+
+  private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+  private static final String SERVICE = "s3";
+  private static final String TERMINATOR = "aws4_request";
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+  private static final byte[] GET = "GET\n".getBytes(StandardCharsets.US_ASCII);
+
+  /**
+   * The per-thread signing state.
+   */
+  private static final ThreadLocal<Signer> SIGNER = ThreadLocal.withInitial(Signer::new);
+
+  /**
+   * The credentials provider.
+   */
+  private final AWSCredentialsProvider credentialsProvider;
+  /**
+   * The region name, e.g. "us-east-1".
+   */
+  private final String region;
+  /**
+   * The URL prefix up to and excluding the object key, e.g.
+   * "https://bucket.s3.amazonaws.com/".
+   */
+  private final String urlPrefix;
+  /**
+   * The offset of the canonical URI path in the URL.
+   */
+  private final int pathOffset;
+  /**
+   * The canonical request suffix: canonical headers, signed headers and
+   * payload hash.
+   */
+  private final byte[] canonicalSuffix;
+  /**
+   * The cached signing key; replaced when the date or credentials change.
+   */
+  private volatile SigningKey signingKey;
+
+  /**
+   * Construct a new presigner.
+   *
+   * @param credentialsProvider the credentials provider
+   * @param region              the bucket region
+   * @param bucketName          the bucket name
+   */
+  public S3Presigner(AWSCredentialsProvider credentialsProvider, Regions region, String bucketName) {
+    this.credentialsProvider = credentialsProvider;
+    this.region = region.getName();
+    String endpoint = region == Regions.US_EAST_1 ? "s3.amazonaws.com" : "s3." + this.region + ".amazonaws.com";
+    String host;
+    if (bucketName.contains(".")) {
+      host = endpoint;
+      this.urlPrefix = "https://" + host + "/" + bucketName + "/";
+    } else {
+      host = bucketName + "." + endpoint;
+      this.urlPrefix = "https://" + host + "/";
+    }
+    this.pathOffset = "https://".length() + host.length();
+    this.canonicalSuffix = ("\nhost:" + host + "\n\nhost\nUNSIGNED-PAYLOAD").getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Presign a GET URL valid from now.
+   *
+   * @param key            the object key
+   * @param expiresSeconds the URL lifetime in seconds; at most 7 days
+   * @return the presigned URL
+   */
+  public String presign(String key, int expiresSeconds) {
+    return presign(key, expiresSeconds, System.currentTimeMillis());
+  }
+
+  /**
+   * Presign a GET URL.
+   *
+   * @param key            the object key
+   * @param expiresSeconds the URL lifetime in seconds; at most 7 days
+   * @param timeMillis     the signing time in epoch milliseconds
+   * @return the presigned URL
+   */
+  public String presign(String key, int expiresSeconds, long timeMillis) {
+    checkExpires(expiresSeconds);
+    return SIGNER.get().sign(this, key, expiresSeconds, timeMillis / 1000, getSigningKey(timeMillis / 1000));
+  }
+
+  /**
+   * Presign GET URLs for many keys, with one signing time.
+   *
+   * @param keys           the object keys
+   * @param expiresSeconds the URL lifetime in seconds; at most 7 days
+   * @return the presigned URLs, in the order of the keys
+   */
+  public List<String> presign(Collection<String> keys, int expiresSeconds) {
+    checkExpires(expiresSeconds);
+    long epochSeconds = System.currentTimeMillis() / 1000;
+    SigningKey current = getSigningKey(epochSeconds);
+    Signer signer = SIGNER.get();
+    List<String> urls = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      urls.add(signer.sign(this, key, expiresSeconds, epochSeconds, current));
+    }
+    return urls;
+  }
+
+  private static void checkExpires(int expiresSeconds) {
+    if (expiresSeconds < 1 || expiresSeconds > MAX_EXPIRES) {
+      throw new IllegalArgumentException("Expiration must be between 1 second and 7 days");
+    }
+  }
+
+  /**
+   * Get the signing key of a date, deriving it if the date or the credentials
+   * changed.
+   *
+   * @param epochSeconds the signing time
+   * @return the signing key
+   */
+  private SigningKey getSigningKey(long epochSeconds) {
+    AWSCredentials credentials = credentialsProvider.getCredentials();
+    long day = Math.floorDiv(epochSeconds, 86400);
+    SigningKey current = signingKey;
+    if (current == null || current.day != day || current.credentials != credentials
+        && (!current.credentials.getAWSAccessKeyId().equals(credentials.getAWSAccessKeyId())
+            || !current.credentials.getAWSSecretKey().equals(credentials.getAWSSecretKey())
+            || !Objects.equals(sessionToken(current.credentials), sessionToken(credentials)))) {
+      current = new SigningKey(credentials, day, region);
+      signingKey = current;
+    }
+    return current;
+  }
+
+  private static String sessionToken(AWSCredentials credentials) {
+    return credentials instanceof AWSSessionCredentials ? ((AWSSessionCredentials) credentials).getSessionToken() : null;
+  }
+
+  /**
+   * Append a date as "yyyyMMdd".
+   *
+   * @param sb  the destination
+   * @param day the days since the epoch
+   */
+  private static void appendDate(StringBuilder sb, long day) {
+    /**
+     * Civil date from days since 1970-01-01 (proleptic Gregorian calendar).
+     */
+    long z = day + 719468;
+    long era = Math.floorDiv(z, 146097);
+    long doe = z - era * 146097;
+    long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+    long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+    long mp = (5 * doy + 2) / 153;
+    long d = doy - (153 * mp + 2) / 5 + 1;
+    long m = mp < 10 ? mp + 3 : mp - 9;
+    long y = yoe + era * 400 + (m <= 2 ? 1 : 0);
+    sb.append(y);
+    append2(sb, m);
+    append2(sb, d);
+  }
+
+  /**
+   * Append a time as "yyyyMMdd'T'HHmmss'Z'".
+   *
+   * @param sb           the destination
+   * @param epochSeconds the seconds since the epoch
+   */
+  private static void appendDateTime(StringBuilder sb, long epochSeconds) {
+    long day = Math.floorDiv(epochSeconds, 86400);
+    long seconds = epochSeconds - day * 86400;
+    appendDate(sb, day);
+    sb.append('T');
+    append2(sb, seconds / 3600);
+    append2(sb, seconds / 60 % 60);
+    append2(sb, seconds % 60);
+    sb.append('Z');
+  }
+
+  private static void append2(StringBuilder sb, long value) {
+    sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+  }
+
+  /**
+   * Append a URI-encoded string: unreserved characters are kept, all others
+   * are percent-encoded as UTF-8.
+   *
+   * @param sb           the destination
+   * @param value        the string
+   * @param encodeSlash  true to encode "/"
+   */
+  private static void appendEncoded(StringBuilder sb, String value, boolean encodeSlash) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9'
+          || c == '-' || c == '_' || c == '.' || c == '~' || c == '/' && !encodeSlash) {
+        sb.append(c);
+      } else if (c < 0x80) {
+        appendPercent(sb, c);
+      } else if (c < 0x800) {
+        appendPercent(sb, 0xc0 | c >> 6);
+        appendPercent(sb, 0x80 | c & 0x3f);
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int cp = Character.toCodePoint(c, value.charAt(++i));
+        appendPercent(sb, 0xf0 | cp >> 18);
+        appendPercent(sb, 0x80 | cp >> 12 & 0x3f);
+        appendPercent(sb, 0x80 | cp >> 6 & 0x3f);
+        appendPercent(sb, 0x80 | cp & 0x3f);
+      } else {
+        /**
+         * Unpaired surrogates are encoded as U+FFFD, as by String.getBytes.
+         */
+        int cp = Character.isSurrogate(c) ? 0xfffd : c;
+        appendPercent(sb, 0xe0 | cp >> 12);
+        appendPercent(sb, 0x80 | cp >> 6 & 0x3f);
+        appendPercent(sb, 0x80 | cp & 0x3f);
+      }
+    }
+  }
+
+  private static void appendPercent(StringBuilder sb, int b) {
+    sb.append('%').append(Character.toUpperCase(HEX[b >> 4 & 0xf])).append(Character.toUpperCase(HEX[b & 0xf]));
+  }
+
+  private static void appendHex(StringBuilder sb, byte[] bytes, int length) {
+    for (int i = 0; i < length; i++) {
+      sb.append(HEX[bytes[i] >> 4 & 0xf]).append(HEX[bytes[i] & 0xf]);
+    }
+  }
+
+  private static Mac newMac() {
+    try {
+      return Mac.getInstance("HmacSHA256");
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("HmacSHA256 not available", ex);
+    }
+  }
+
+  /**
+   * A signing key derived for one date, region, service and credentials.
+   */
+  private static class SigningKey {
+
+    private final AWSCredentials credentials;
+    private final long day;
+    private final SecretKeySpec key;
+    /**
+     * The credential scope: "date/region/s3/aws4_request".
+     */
+    private final String scope;
+    /**
+     * The URI-encoded "X-Amz-Credential" value.
+     */
+    private final String credential;
+    /**
+     * OPTIONAL. The URI-encoded "X-Amz-Security-Token" value.
+     */
+    private final String securityToken;
+
+    public SigningKey(AWSCredentials credentials, long day, String region) {
+      this.credentials = credentials;
+      this.day = day;
+      StringBuilder sb = new StringBuilder(8);
+      appendDate(sb, day);
+      String date = sb.toString();
+      Mac mac = newMac();
+      byte[] k = ("AWS4" + credentials.getAWSSecretKey()).getBytes(StandardCharsets.UTF_8);
+      for (String part : new String[]{date, region, SERVICE, TERMINATOR}) {
+        try {
+          mac.init(new SecretKeySpec(k, "HmacSHA256"));
+        } catch (GeneralSecurityException ex) {
+          throw new IllegalStateException(ex);
+        }
+        k = mac.doFinal(part.getBytes(StandardCharsets.UTF_8));
+      }
+      this.key = new SecretKeySpec(k, "HmacSHA256");
+      this.scope = date + "/" + region + "/" + SERVICE + "/" + TERMINATOR;
+      sb.setLength(0);
+      appendEncoded(sb, credentials.getAWSAccessKeyId() + "/" + scope, true);
+      this.credential = sb.toString();
+      String token = sessionToken(credentials);
+      if (token == null) {
+        this.securityToken = null;
+      } else {
+        sb.setLength(0);
+        appendEncoded(sb, token, true);
+        this.securityToken = sb.toString();
+      }
+    }
+  }
+
+  /**
+   * The per-thread signing state: a Mac initialized with the last used
+   * signing key, a digest and reusable buffers.
+   */
+  private static class Signer {
+
+    private final Mac mac = newMac();
+    private final MessageDigest digest;
+    private final StringBuilder url = new StringBuilder(512);
+    private final byte[] hash = new byte[32];
+    private byte[] bytes = new byte[512];
+    private SecretKeySpec macKey;
+
+    public Signer() {
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (GeneralSecurityException ex) {
+        throw new IllegalStateException("SHA-256 not available", ex);
+      }
+    }
+
+    /**
+     * Sign one URL.
+     */
+    public String sign(S3Presigner presigner, String key, int expiresSeconds, long epochSeconds, SigningKey signingKey) {
+      try {
+        /**
+         * The URL up to the signature. The canonical URI and query string
+         * are the part after the host, with "?" as the only unencoded
+         * separator.
+         */
+        url.setLength(0);
+        url.append(presigner.urlPrefix);
+        appendEncoded(url, key, false);
+        url.append("?X-Amz-Algorithm=").append(ALGORITHM)
+          .append("&X-Amz-Credential=").append(signingKey.credential)
+          .append("&X-Amz-Date=");
+        int dateOffset = url.length();
+        appendDateTime(url, epochSeconds);
+        url.append("&X-Amz-Expires=").append(expiresSeconds);
+        if (signingKey.securityToken != null) {
+          url.append("&X-Amz-Security-Token=").append(signingKey.securityToken);
+        }
+        url.append("&X-Amz-SignedHeaders=host");
+        /**
+         * Hash the canonical request.
+         */
+        int length = url.length() - presigner.pathOffset;
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+          char c = url.charAt(presigner.pathOffset + i);
+          bytes[i] = c == '?' ? (byte) '\n' : (byte) c;
+        }
+        digest.update(GET);
+        digest.update(bytes, 0, length);
+        digest.update(presigner.canonicalSuffix);
+        digest.digest(hash, 0, hash.length);
+        /**
+         * Sign the string to sign: algorithm, time, scope and hash.
+         */
+        if (macKey != signingKey.key) {
+          mac.init(signingKey.key);
+          macKey = signingKey.key;
+        }
+        int n = 0;
+        n = putAscii(ALGORITHM, n);
+        bytes[n++] = '\n';
+        for (int i = 0; i < 16; i++) {
+          bytes[n++] = (byte) url.charAt(dateOffset + i);
+        }
+        bytes[n++] = '\n';
+        n = putAscii(signingKey.scope, n);
+        bytes[n++] = '\n';
+        for (byte b : hash) {
+          bytes[n++] = (byte) HEX[b >> 4 & 0xf];
+          bytes[n++] = (byte) HEX[b & 0xf];
+        }
+        mac.update(bytes, 0, n);
+        mac.doFinal(hash, 0);
+        url.append("&X-Amz-Signature=");
+        appendHex(url, hash, hash.length);
+        return url.toString();
+      } catch (GeneralSecurityException ex) {
+        throw new IllegalStateException("Failed to sign " + key, ex);
+      }
+    }
+
+    private int putAscii(String value, int offset) {
+      for (int i = 0; i < value.length(); i++) {
+        bytes[offset++] = (byte) value.charAt(i);
+      }
+      return offset;
+    }
+
+    private void ensureCapacity(int length) {
+      if (bytes.length < length) {
+        bytes = new byte[Math.max(length, bytes.length * 2)];
+      }
+    }
+  }
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.event.ProgressEvent;
+import com.amazonaws.event.ProgressListener;
+import com.amazonaws.services.s3.transfer.Transfer;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated progress of many concurrent transfers.
+ * <p>
+ * Progress events only add to striped {@link LongAdder} counters of the
+ * transfer and of its job, so reporting is cheap and contention free however
+ * many threads report at once. Transfer rates and ETAs are computed by a
+ * background sampler at a fixed interval (by default every second), not per
+ * event, and smoothed with an exponentially weighted moving average. Readers
+ * take immutable snapshots.
+ * <p>
+ * Progress is reported by SDK transfers (see {@link #track(String, String,
+ * Transfer)}), by wrapping a content stream (see
+ * {@link TransferCounter#track(InputStream)}) or directly with
+ * {@link TransferCounter#add(long)}.
+ * <p>
+ * Finished transfers are dropped from the transfer list but remain counted in
+ * their job. Jobs are kept until removed with {@link #remove(String)}. Close
+ * the tracker to stop the sampler.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3ProgressTracker implements Closeable {
+
+  /**
+   * 0.3. The weight of the latest sample in the smoothed rate.
+   */
+  private static final double SMOOTHING = 0.3;
+
+  /**
+   * The shared executor sampling the rates of all trackers. Threads are daemon
+   * threads so that an idle executor does not block JVM exit.
+   */
+  private static final ScheduledExecutorService SAMPLER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "s3-progress-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  /**
+   * The jobs by name.
+   */
+  private final Map<String, JobCounter> jobs = new ConcurrentHashMap<>();
+  /**
+   * The unfinished transfers.
+   */
+  private final Map<TransferCounter, Boolean> transfers = new ConcurrentHashMap<>();
+  /**
+   * The scheduled sampling task.
+   */
+  private final ScheduledFuture<?> sampling;
+  /**
+   * The time (System.nanoTime) of the last sample.
+   */
+  private long sampled = System.nanoTime();
+
+  /**
+   * Construct a new progress tracker sampling every second.
+   */
+  public S3ProgressTracker() {
+    this(1, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Construct a new progress tracker.
+   *
+   * @param interval the sampling interval
+   * @param unit     the interval time unit
+   */
+  public S3ProgressTracker(long interval, TimeUnit unit) {
+    this.sampling = SAMPLER.scheduleAtFixedRate(this::sample, interval, interval, unit);
+  }
+
+  /**
+   * Start tracking a transfer.
+   *
+   * @param job        the job name
+   * @param key        the object key
+   * @param totalBytes the number of bytes to transfer; -1 if unknown
+   * @return the transfer counter
+   */
+  public TransferCounter start(String job, String key, long totalBytes) {
+    JobCounter jobCounter = jobs.computeIfAbsent(job, JobCounter::new);
+    TransferCounter transfer = new TransferCounter(jobCounter, key, totalBytes);
+    transfers.put(transfer, Boolean.TRUE);
+    return transfer;
+  }
+
+  /**
+   * Track an SDK transfer (Upload, Download, MultipleFileUpload etc.) by its
+   * progress events.
+   *
+   * @param job      the job name
+   * @param key      the object key or directory prefix
+   * @param transfer the SDK transfer
+   * @return the transfer counter
+   */
+  public TransferCounter track(String job, String key, Transfer transfer) {
+    TransferCounter counter = start(job, key, transfer.getProgress().getTotalBytesToTransfer());
+    transfer.addProgressListener(counter);
+    /**
+     * Account for bytes transferred (and a state reached) before the listener
+     * was added, less those the listener has already counted.
+     */
+    counter.add(transfer.getProgress().getBytesTransferred() - counter.bytes.sum());
+    if (transfer.isDone()) {
+      if (transfer.getState() == Transfer.TransferState.Completed) {
+        counter.complete();
+      } else {
+        counter.fail();
+      }
+    }
+    return counter;
+  }
+
+  /**
+   * Get a snapshot of a job.
+   *
+   * @param job the job name
+   * @return the job snapshot; null if no such job
+   */
+  public Snapshot getJob(String job) {
+    JobCounter counter = jobs.get(job);
+    return counter == null ? null : counter.snapshot();
+  }
+
+  /**
+   * Stop tracking a job, typically once it is finished and reported.
+   * Transfers of the job still unfinished keep counting, but only in their
+   * own counters.
+   *
+   * @param job the job name
+   * @return the final job snapshot; null if no such job
+   */
+  public Snapshot remove(String job) {
+    JobCounter counter = jobs.remove(job);
+    return counter == null ? null : counter.snapshot();
+  }
+
+  /**
+   * Get snapshots of all jobs.
+   *
+   * @return the job snapshots
+   */
+  public List<Snapshot> getJobs() {
+    List<Snapshot> snapshots = new ArrayList<>();
+    for (JobCounter counter : jobs.values()) {
+      snapshots.add(counter.snapshot());
+    }
+    return snapshots;
+  }
+
+  /**
+   * Get snapshots of the unfinished transfers.
+   *
+   * @return the transfer snapshots
+   */
+  public List<Snapshot> getTransfers() {
+    List<Snapshot> snapshots = new ArrayList<>();
+    for (TransferCounter counter : transfers.keySet()) {
+      snapshots.add(counter.snapshot());
+    }
+    return snapshots;
+  }
+
+  /**
+   * Sample the byte counts and update the smoothed rates.
+   */
+  synchronized void sample() {
+    long now = System.nanoTime();
+    double seconds = (now - sampled) / 1e9;
+    sampled = now;
+    if (seconds <= 0) {
+      return;
+    }
+    for (TransferCounter counter : transfers.keySet()) {
+      counter.rate.sample(counter.bytes.sum(), seconds);
+    }
+    for (JobCounter counter : jobs.values()) {
+      counter.rate.sample(counter.bytes.sum(), seconds);
+    }
+  }
+
+  /**
+   * Stop the sampler. Counters may still be read.
+   */
+  @Override
+  public void close() {
+    sampling.cancel(false);
+  }
+
+  /**
+   * A smoothed byte rate, updated by the sampler only.
+   */
+  private static class Rate {
+
+    private long lastBytes;
+    private volatile double bytesPerSecond;
+    private boolean initialized;
+
+    void sample(long bytes, double seconds) {
+      double current = (bytes - lastBytes) / seconds;
+      lastBytes = bytes;
+      bytesPerSecond = initialized ? SMOOTHING * current + (1 - SMOOTHING) * bytesPerSecond : current;
+      initialized = true;
+    }
+  }
+
+  /**
+   * The counters of a job: the totals of its transfers.
+   */
+  public static class JobCounter {
+
+    private final String name;
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder totalBytes = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Rate rate = new Rate();
+
+    private JobCounter(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Get an immutable snapshot of the job.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+      long done = completed.sum();
+      long lost = failed.sum();
+      return new Snapshot(name, bytes.sum(), totalBytes.sum(), rate.bytesPerSecond,
+                          started.sum() - done - lost, done, lost);
+    }
+  }
+
+  /**
+   * The counters of a transfer. The counter is also a progress listener for
+   * SDK transfers.
+   */
+  public class TransferCounter implements ProgressListener {
+
+    private final JobCounter job;
+    private final String key;
+    private final long totalBytes;
+    private final LongAdder bytes = new LongAdder();
+    private final Rate rate = new Rate();
+    private volatile boolean finished;
+
+    private TransferCounter(JobCounter job, String key, long totalBytes) {
+      this.job = job;
+      this.key = key;
+      this.totalBytes = totalBytes;
+      job.started.increment();
+      if (totalBytes > 0) {
+        job.totalBytes.add(totalBytes);
+      }
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    /**
+     * Add transferred bytes.
+     *
+     * @param count the number of bytes
+     */
+    public void add(long count) {
+      if (count != 0) {
+        bytes.add(count);
+        job.bytes.add(count);
+      }
+    }
+
+    /**
+     * Mark the transfer completed.
+     */
+    public void complete() {
+      finish(job.completed);
+    }
+
+    /**
+     * Mark the transfer failed.
+     */
+    public void fail() {
+      finish(job.failed);
+    }
+
+    private synchronized void finish(LongAdder outcome) {
+      if (!finished) {
+        finished = true;
+        outcome.increment();
+        transfers.remove(this);
+      }
+    }
+
+    @Override
+    public void progressChanged(ProgressEvent event) {
+      switch (event.getEventType()) {
+        case REQUEST_BYTE_TRANSFER_EVENT:
+        case RESPONSE_BYTE_TRANSFER_EVENT:
+          add(event.getBytesTransferred());
+          break;
+        case TRANSFER_COMPLETED_EVENT:
+          complete();
+          break;
+        case TRANSFER_FAILED_EVENT:
+        case TRANSFER_CANCELED_EVENT:
+          fail();
+          break;
+        default:
+          break;
+      }
+    }
+
+    /**
+     * Wrap a content stream so that reading it reports progress. The transfer
+     * completes when the stream ends or is closed after the total number of
+     * bytes was read, and otherwise fails when it is closed.
+     *
+     * @param inputStream the content stream
+     * @return a progress reporting stream
+     */
+    public InputStream track(InputStream inputStream) {
+      return new FilterInputStream(inputStream) {
+        @Override
+        public int read() throws IOException {
+          int b = super.read();
+          if (b >= 0) {
+            add(1);
+          } else {
+            complete();
+          }
+          return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+          int n = super.read(b, off, len);
+          if (n > 0) {
+            add(n);
+          } else if (n < 0) {
+            complete();
+          }
+          return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            if (totalBytes >= 0 && bytes.sum() >= totalBytes) {
+              complete();
+            } else {
+              fail();
+            }
+          }
+        }
+      };
+    }
+
+    /**
+     * Get an immutable snapshot of the transfer.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+      return new Snapshot(key, bytes.sum(), totalBytes, rate.bytesPerSecond,
+                          finished ? 0 : 1, 0, 0);
+    }
+  }
+
+  /**
+   * An immutable progress snapshot of a transfer or job.
+   */
+  public static class Snapshot {
+
+    private final String name;
+    private final long bytesTransferred;
+    private final long totalBytes;
+    private final double bytesPerSecond;
+    private final long active;
+    private final long completed;
+    private final long failed;
+
+    Snapshot(String name, long bytesTransferred, long totalBytes, double bytesPerSecond, long active, long completed, long failed) {
+      this.name = name;
+      this.bytesTransferred = bytesTransferred;
+      this.totalBytes = totalBytes;
+      this.bytesPerSecond = bytesPerSecond;
+      this.active = active;
+      this.completed = completed;
+      this.failed = failed;
+    }
+
+    /**
+     * Get the object key (transfers) or job name (jobs).
+     *
+     * @return the name
+     */
+    public String getName() {
+      return name;
+    }
+
+    public long getBytesTransferred() {
+      return bytesTransferred;
+    }
+
+    /**
+     * Get the number of bytes to transfer.
+     *
+     * @return the total; -1 (transfers) or 0 (jobs) if unknown
+     */
+    public long getTotalBytes() {
+      return totalBytes;
+    }
+
+    /**
+     * Get the smoothed transfer rate at the last sample.
+     *
+     * @return the rate in bytes per second
+     */
+    public double getBytesPerSecond() {
+      return bytesPerSecond;
+    }
+
+    /**
+     * Get the fraction of the bytes transferred.
+     *
+     * @return the fraction, between 0 and 1; -1 if the total is unknown
+     */
+    public double getFraction() {
+      return totalBytes <= 0 ? -1 : Math.min(1, (double) bytesTransferred / totalBytes);
+    }
+
+    /**
+     * Get the estimated time to complete at the current rate.
+     *
+     * @param unit the time unit
+     * @return the estimated remaining time; -1 if unknown
+     */
+    public long getEta(TimeUnit unit) {
+      if (totalBytes <= 0 || bytesPerSecond <= 0) {
+        return -1;
+      }
+      double seconds = Math.max(0, totalBytes - bytesTransferred) / bytesPerSecond;
+      return unit.convert((long) (seconds * 1e9), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the number of unfinished transfers (1 or 0 for a transfer).
+     *
+     * @return the active count
+     */
+    public long getActive() {
+      return active;
+    }
+
+    public long getCompleted() {
+      return completed;
+    }
+
+    public long getFailed() {
+      return failed;
+    }
+
+    @Override
+    public String toString() {
+      return name + " " + bytesTransferred + "/" + totalBytes + " bytes @ " + Math.round(bytesPerSecond) + " B/s";
+    }
+  }
+}
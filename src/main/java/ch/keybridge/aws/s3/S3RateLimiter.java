@@ -0,0 +1,465 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.retry.RetryPolicy;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Adaptive client-side rate limiter for S3 requests.
+ * <p>
+ * Amazon S3 scales request capacity per key prefix and responds with
+ * {@code 503 SlowDown} when a prefix receives requests faster than it can
+ * currently sustain. This limiter tracks a request rate for each key prefix
+ * and adjusts it with the AIMD (additive increase, multiplicative decrease)
+ * algorithm: every throttled request multiplies the prefix rate by the
+ * decrease factor and every successful request adds a small increment, so the
+ * rate grows by about {@code additiveIncrease} requests per second while S3
+ * keeps up.
+ * <p>
+ * Callers that exceed the current rate are queued (blocked) until their turn
+ * instead of failing, and throttled requests are re-queued and retried up to
+ * {@code maxAttempts} times. AwsS3 applies the limiter outside its bulkhead,
+ * so waiting requests do not hold a bulkhead permit.
+ * <p>
+ * The SDK's default retry policy also retries throttled requests, which
+ * multiplies the attempts and hides the throttling from the limiter. Clients
+ * used with a limiter should be built with {@link #RETRY_POLICY}; AwsS3 does
+ * this for the clients it builds.
+ * <p>
+ * The key prefix is derived from {@link S3Key#getIntermediatePath()}, limited
+ * to the first {@code prefixDepth} path segments.
+ * <p>
+ * This class is thread-safe. Install it on an AwsS3 client with
+ * {@code AwsS3.setRateLimiter}.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3RateLimiter {
+
+  private static final Logger LOG = Logger.getLogger(S3RateLimiter.class.getName());
+
+  /**
+   * 503. The HTTP status returned by S3 when throttling requests.
+   */
+  private static final int STATUS_SLOW_DOWN = 503;
+  /**
+   * 100 ms. The minimum interval between two rate decreases of the same prefix.
+   * A burst of throttled responses to requests sent at the same rate should
+   * only decrease the rate once.
+   */
+  private static final long DECREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  /**
+   * 60 seconds. Idle prefixes are discarded after this time.
+   */
+  private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+  /**
+   * 10,000. Idle prefixes are pruned when the number of tracked prefixes
+   * exceeds this size.
+   */
+  private static final int MAX_PREFIXES = 10_000;
+  /**
+   * The SDK default retry policy, except that throttled requests are not
+   * retried: they are returned to the rate limiter, which decreases the prefix
+   * rate and re-queues them.
+   */
+  public static final RetryPolicy RETRY_POLICY = new RetryPolicy(
+    (request, exception, retries) -> !(exception instanceof AmazonServiceException && isThrottled((AmazonServiceException) exception))
+                                     && PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION.shouldRetry(request, exception, retries),
+    PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY,
+    PredefinedRetryPolicies.DEFAULT_MAX_ERROR_RETRY,
+    true);
+
+  /**
+   * 100 requests per second. The initial rate of a new prefix.
+   */
+  private double initialRate = 100;
+  /**
+   * 1 request per second. The rate never decreases below this value.
+   */
+  private double minRate = 1;
+  /**
+   * 5,500 requests per second. The rate never increases above this value. (S3
+   * supports at least 3,500 PUT and 5,500 GET requests per prefix.)
+   */
+  private double maxRate = 5_500;
+  /**
+   * 10 requests per second. The rate increase per second of successful
+   * requests.
+   */
+  private double additiveIncrease = 10;
+  /**
+   * 0.5. The rate multiplier applied when a request is throttled.
+   */
+  private double multiplicativeDecrease = 0.5;
+  /**
+   * 10. The maximum number of attempts for a throttled request.
+   */
+  private int maxAttempts = 10;
+  /**
+   * Integer.MAX_VALUE. The number of key path segments forming the prefix.
+   */
+  private int prefixDepth = Integer.MAX_VALUE;
+
+  /**
+   * The current limit of each key prefix.
+   */
+  private final Map<String, PrefixLimit> limits = new ConcurrentHashMap<>();
+  /**
+   * The number of throttled responses received.
+   */
+  private final LongAdder throttleCount = new LongAdder();
+  /**
+   * The total time requests spent queued, in nanoseconds.
+   */
+  private final LongAdder queuedNanos = new LongAdder();
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public double getInitialRate() {
+    return initialRate;
+  }
+
+  public void setInitialRate(double initialRate) {
+    this.initialRate = initialRate;
+  }
+
+  public S3RateLimiter withInitialRate(double initialRate) {
+    this.initialRate = initialRate;
+    return this;
+  }
+
+  public double getMinRate() {
+    return minRate;
+  }
+
+  public void setMinRate(double minRate) {
+    this.minRate = minRate;
+  }
+
+  public S3RateLimiter withMinRate(double minRate) {
+    this.minRate = minRate;
+    return this;
+  }
+
+  public double getMaxRate() {
+    return maxRate;
+  }
+
+  public void setMaxRate(double maxRate) {
+    this.maxRate = maxRate;
+  }
+
+  public S3RateLimiter withMaxRate(double maxRate) {
+    this.maxRate = maxRate;
+    return this;
+  }
+
+  public double getAdditiveIncrease() {
+    return additiveIncrease;
+  }
+
+  public void setAdditiveIncrease(double additiveIncrease) {
+    this.additiveIncrease = additiveIncrease;
+  }
+
+  public S3RateLimiter withAdditiveIncrease(double additiveIncrease) {
+    this.additiveIncrease = additiveIncrease;
+    return this;
+  }
+
+  public double getMultiplicativeDecrease() {
+    return multiplicativeDecrease;
+  }
+
+  public void setMultiplicativeDecrease(double multiplicativeDecrease) {
+    this.multiplicativeDecrease = multiplicativeDecrease;
+  }
+
+  public S3RateLimiter withMultiplicativeDecrease(double multiplicativeDecrease) {
+    this.multiplicativeDecrease = multiplicativeDecrease;
+    return this;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public S3RateLimiter withMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  public int getPrefixDepth() {
+    return prefixDepth;
+  }
+
+  public void setPrefixDepth(int prefixDepth) {
+    this.prefixDepth = prefixDepth;
+  }
+
+  public S3RateLimiter withPrefixDepth(int prefixDepth) {
+    this.prefixDepth = prefixDepth;
+    return this;
+  }//</editor-fold>
+
+  /**
+   * Get the number of throttled (503 SlowDown) responses received.
+   *
+   * @return the number of throttled responses
+   */
+  public long getThrottleCount() {
+    return throttleCount.sum();
+  }
+
+  /**
+   * Get the total time requests have spent waiting in the queue.
+   *
+   * @return the total queue time in milliseconds
+   */
+  public long getQueuedMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(queuedNanos.sum());
+  }
+
+  /**
+   * Get the current request rate of the prefix of an object key.
+   *
+   * @param key an S3 object key
+   * @return the current rate in requests per second
+   */
+  public double getRate(String key) {
+    PrefixLimit limit = limits.get(toPrefix(key));
+    return limit == null ? initialRate : limit.getRate();
+  }
+
+  /**
+   * Execute an S3 request at the current rate of its key prefix, retrying
+   * throttled requests.
+   * <p>
+   * Only use this method for repeatable requests. Requests that consume a
+   * stream should use {@link #executeOnce(String, S3Operation)}.
+   *
+   * @param <T>       the operation result type
+   * @param <E>       the operation checked exception type
+   * @param key       the object key (or listing prefix) of the request
+   * @param operation the S3 request
+   * @return the request result
+   * @throws E                      on operation error
+   * @throws AmazonServiceException if the request fails or remains throttled
+   *                                after the maximum number of attempts
+   */
+  public <T, E extends Exception> T execute(String key, S3Operation<T, E> operation) throws E {
+    PrefixLimit limit = getLimit(key);
+    for (int attempt = 1;; attempt++) {
+      acquire(limit);
+      try {
+        T result = operation.execute();
+        limit.increase();
+        return result;
+      } catch (AmazonServiceException ex) {
+        if (!isThrottled(ex) || attempt >= maxAttempts) {
+          throw ex;
+        }
+        throttleCount.increment();
+        limit.decrease();
+        LOG.log(Level.FINE, "Throttled {0} attempt {1}; rate reduced to {2} req/s", new Object[]{key, attempt, limit.getRate()});
+      }
+    }
+  }
+
+  /**
+   * Execute an S3 request at the current rate of its key prefix without
+   * retrying. A throttled response still decreases the rate of the prefix and
+   * is rethrown to the caller.
+   *
+   * @param <T>       the operation result type
+   * @param <E>       the operation checked exception type
+   * @param key       the object key (or listing prefix) of the request
+   * @param operation the S3 request
+   * @return the request result
+   * @throws E on operation error
+   */
+  public <T, E extends Exception> T executeOnce(String key, S3Operation<T, E> operation) throws E {
+    PrefixLimit limit = getLimit(key);
+    acquire(limit);
+    try {
+      T result = operation.execute();
+      limit.increase();
+      return result;
+    } catch (AmazonServiceException ex) {
+      if (isThrottled(ex)) {
+        throttleCount.increment();
+        limit.decrease();
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * Determine if an exception is an S3 throttling response.
+   *
+   * @param ex the exception
+   * @return true if the request was throttled
+   */
+  public static boolean isThrottled(AmazonServiceException ex) {
+    return ex.getStatusCode() == STATUS_SLOW_DOWN || "SlowDown".equals(ex.getErrorCode());
+  }
+
+  /**
+   * Wait until the prefix rate allows another request.
+   *
+   * @param limit the prefix limit
+   */
+  private void acquire(PrefixLimit limit) {
+    long waitNanos = limit.reserve();
+    if (waitNanos <= 0) {
+      return;
+    }
+    queuedNanos.add(waitNanos);
+    try {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SdkClientException("Interrupted while waiting for S3 rate limit", ex);
+    }
+  }
+
+  /**
+   * Get or create the limit of an object key prefix.
+   *
+   * @param key the object key
+   * @return the prefix limit
+   */
+  private PrefixLimit getLimit(String key) {
+    if (limits.size() > MAX_PREFIXES) {
+      pruneIdle();
+    }
+    return limits.computeIfAbsent(toPrefix(key), p -> new PrefixLimit());
+  }
+
+  /**
+   * Discard the limits of prefixes without recent requests.
+   */
+  private void pruneIdle() {
+    long now = System.nanoTime();
+    for (Iterator<PrefixLimit> it = limits.values().iterator(); it.hasNext();) {
+      if (it.next().isIdle(now)) {
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Derive the rate limited prefix of an object key.
+   *
+   * @param key the object key
+   * @return the key prefix; empty for the bucket root
+   */
+  private String toPrefix(String key) {
+    if (key == null || key.isEmpty()) {
+      return "";
+    }
+    /**
+     * A listing prefix ending with a slash is itself a directory path.
+     */
+    List<String> path = key.endsWith("/")
+                        ? Arrays.asList(key.split("/"))
+                        : new S3Key(key).getIntermediatePath();
+    return String.join("/", path.subList(0, Math.min(prefixDepth, path.size())));
+  }
+
+  /**
+   * The rate and request schedule of a single key prefix.
+   */
+  private class PrefixLimit {
+
+    /**
+     * The current rate in requests per second.
+     */
+    private double rate = initialRate;
+    /**
+     * The time at which the next request may be sent.
+     */
+    private long nextFreeNanos = System.nanoTime();
+    /**
+     * The time of the last rate decrease. The nano time origin is arbitrary,
+     * so start one interval in the past to allow an immediate decrease.
+     */
+    private long lastDecreaseNanos = System.nanoTime() - DECREASE_INTERVAL_NANOS;
+
+    /**
+     * Reserve the next request slot.
+     *
+     * @return the time to wait for the reserved slot in nanoseconds
+     */
+    synchronized long reserve() {
+      long now = System.nanoTime();
+      long slot = Math.max(now, nextFreeNanos);
+      nextFreeNanos = slot + (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+      return slot - now;
+    }
+
+    /**
+     * Additive increase. Adding {@code additiveIncrease / rate} per request
+     * increases the rate by about {@code additiveIncrease} each second.
+     */
+    synchronized void increase() {
+      rate = Math.min(maxRate, rate + additiveIncrease / rate);
+    }
+
+    /**
+     * Multiplicative decrease, applied at most once per decrease interval.
+     */
+    synchronized void decrease() {
+      long now = System.nanoTime();
+      if (now - lastDecreaseNanos < DECREASE_INTERVAL_NANOS) {
+        return;
+      }
+      lastDecreaseNanos = now;
+      rate = Math.max(minRate, rate * multiplicativeDecrease);
+      /**
+       * Push back the schedule so queued requests are spaced at the new rate.
+       */
+      nextFreeNanos = Math.max(nextFreeNanos, now) + (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+
+    synchronized double getRate() {
+      return rate;
+    }
+
+    synchronized boolean isIdle(long now) {
+      return now - nextFreeNanos > IDLE_NANOS;
+    }
+  }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single-flight request coalescing for concurrent reads of the same object.
+ * <p>
+ * When many threads request the same bucket/key/range at the same time only
+ * the first caller (the leader) issues the S3 request. All other callers that
+ * arrive while the request is in flight wait for and share the leader's
+ * result. Once the request completes it is removed from the in-flight table
+ * and the next caller starts a new request; results are never cached.
+ * <p>
+ * Downloads are fetched once into a temporary file which is then copied to
+ * each caller's destination. The temporary file is deleted when the last
+ * waiting caller has finished copying. Range reads share a single read-only
+ * byte buffer.
+ * <p>
+ * This class is thread-safe and should be shared by all threads reading from
+ * the same bucket.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26 to cut request volume during cache stampedes
+ */
+public class S3RequestCoalescer {
+
+  private static final Logger LOG = Logger.getLogger(S3RequestCoalescer.class.getName());
+
+  /**
+   * The configured S3 client instance.
+   */
+  private final AwsS3 s3Client;
+  /**
+   * The requests currently in flight, indexed by their request identity.
+   */
+  private final ConcurrentMap<RequestKey, Flight<?>> inFlight = new ConcurrentHashMap<>();
+  /**
+   * The number of requests received.
+   */
+  private final LongAdder requestCount = new LongAdder();
+  /**
+   * The number of requests answered by joining an in-flight request.
+   */
+  private final LongAdder coalescedCount = new LongAdder();
+
+  /**
+   * Construct a new S3RequestCoalescer instance.
+   *
+   * @param s3Client the S3 client to use
+   */
+  public S3RequestCoalescer(AwsS3 s3Client) {
+    this.s3Client = Objects.requireNonNull(s3Client);
+  }
+
+  /**
+   * Get the number of requests received.
+   *
+   * @return the number of requests received
+   */
+  public long getRequestCount() {
+    return requestCount.sum();
+  }
+
+  /**
+   * Get the number of requests that were answered by joining an in-flight
+   * request instead of calling S3.
+   *
+   * @return the number of coalesced requests
+   */
+  public long getCoalescedCount() {
+    return coalescedCount.sum();
+  }
+
+  /**
+   * Get the metadata for the specified Amazon S3 object. Concurrent calls for
+   * the same key share a single HEAD request.
+   *
+   * @param key The key of the object whose metadata is being retrieved.
+   * @return All Amazon S3 object metadata for the specified object.
+   * @throws SdkClientException     If any errors are encountered in the client
+   *                                while making the request or handling the
+   *                                response.
+   * @throws AmazonServiceException If any errors occurred in Amazon S3 while
+   *                                processing the request.
+   */
+  public ObjectMetadata getObjectMetadata(String key) throws SdkClientException, AmazonServiceException {
+    RequestKey requestKey = new RequestKey(RequestType.HEAD, s3Client.getBucketName(), key, -1, -1);
+    try {
+      return execute(requestKey, () -> s3Client.getObjectMetadata(key)).result;
+    } catch (IOException ex) {
+      throw new SdkClientException(ex);
+    }
+  }
+
+  /**
+   * Get a byte range of an object. Concurrent calls for the same key and range
+   * share a single ranged GET request.
+   *
+   * @param key        The key where the online object is stored.
+   * @param rangeStart The start of the inclusive byte range to download.
+   * @param rangeEnd   The end of the inclusive byte range to download.
+   * @return a read-only buffer containing the requested bytes
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @throws IOException            if the object content cannot be read
+   */
+  public ByteBuffer downloadRange(String key, long rangeStart, long rangeEnd) throws AmazonServiceException, SdkClientException, IOException {
+    RequestKey requestKey = new RequestKey(RequestType.RANGE, s3Client.getBucketName(), key, rangeStart, rangeEnd);
+    ByteBuffer buffer = execute(requestKey, () -> ByteBuffer.wrap(s3Client.downloadRange(key, rangeStart, rangeEnd)).asReadOnlyBuffer()).result;
+    /**
+     * Each caller gets an independent position and limit over the shared
+     * content.
+     */
+    return buffer.duplicate();
+  }
+
+  /**
+   * Download an object to a local file. Concurrent calls for the same key share
+   * a single GET request. The object is downloaded once to a temporary file
+   * which is then copied to each caller's destination file.
+   *
+   * @param key  The key where the online object is stored.
+   * @param file the local file to save the object
+   * @throws AmazonServiceException The call was transmitted successfully, but
+   *                                Amazon S3 couldn't process it, so it
+   *                                returned an error response.
+   * @throws SdkClientException     Amazon S3 couldn't be contacted for a
+   *                                response, or the client couldn't parse the
+   *                                response from Amazon S3.
+   * @throws IOException            if the local file cannot be created or
+   *                                written
+   */
+  public void download(String key, Path file) throws AmazonServiceException, SdkClientException, IOException {
+    RequestKey requestKey = new RequestKey(RequestType.GET, s3Client.getBucketName(), key, -1, -1);
+    Flight<Path> flight = execute(requestKey, () -> {
+      Path temp = Files.createTempFile("s3-coalesce-", ".tmp");
+      try {
+        s3Client.download(key, temp);
+      } catch (IOException | RuntimeException ex) {
+        Files.deleteIfExists(temp);
+        throw ex;
+      }
+      return temp;
+    });
+    try {
+      Files.copy(flight.result, file, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      release(flight);
+    }
+  }
+
+  /**
+   * Internal method to execute a request or join the matching in-flight
+   * request.
+   * <p>
+   * If the returned flight holds a shared temporary file the caller must call
+   * {@link #release(Flight)} when done with the file. Failed flights are
+   * released before the exception is thrown.
+   *
+   * @param <T>        the result type
+   * @param requestKey the request identity
+   * @param call       the S3 call to execute if no request is in flight
+   * @return the completed flight
+   * @throws IOException on IO error
+   */
+  @SuppressWarnings("unchecked")
+  private <T> Flight<T> execute(RequestKey requestKey, S3Call<T> call) throws IOException {
+    requestCount.increment();
+    Flight<T> created = new Flight<>();
+    /**
+     * Atomically either register a new flight or join the existing one. Joining
+     * inside compute guarantees the participant count is incremented before
+     * the flight can be removed from the table.
+     */
+    Flight<T> flight = (Flight<T>) inFlight.compute(requestKey, (k, existing) -> {
+      Flight<?> f = existing == null ? created : existing;
+      f.participants.incrementAndGet();
+      return f;
+    });
+    if (flight == created) {
+      try {
+        flight.result = call.call();
+        flight.future.complete(flight.result);
+      } catch (IOException | RuntimeException ex) {
+        flight.future.completeExceptionally(ex);
+      } finally {
+        inFlight.remove(requestKey, flight);
+      }
+    } else {
+      coalescedCount.increment();
+      LOG.log(Level.FINEST, "Coalesced {0}", requestKey);
+    }
+    try {
+      flight.future.get();
+      return flight;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      release(flight);
+      throw new SdkClientException("Interrupted while waiting for " + requestKey, ex);
+    } catch (ExecutionException ex) {
+      release(flight);
+      Throwable cause = ex.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new SdkClientException(cause);
+    }
+  }
+
+  /**
+   * Release a flight participant. The last participant deletes any temporary
+   * file held by the flight.
+   *
+   * @param flight the flight
+   */
+  private void release(Flight<?> flight) {
+    if (flight.participants.decrementAndGet() == 0 && flight.result instanceof Path) {
+      try {
+        Files.deleteIfExists((Path) flight.result);
+      } catch (IOException ex) {
+        LOG.log(Level.WARNING, "Failed to delete temporary file {0}: {1}", new Object[]{flight.result, ex.getMessage()});
+      }
+    }
+  }
+
+  /**
+   * An S3 call that may throw an IOException.
+   *
+   * @param <T> the result type
+   */
+  @FunctionalInterface
+  private interface S3Call<T> {
+
+    T call() throws IOException;
+  }
+
+  /**
+   * The supported request types.
+   */
+  private enum RequestType {
+    HEAD, GET, RANGE;
+  }
+
+  /**
+   * An in-flight request. The result is shared by all participants.
+   *
+   * @param <T> the result type
+   */
+  private static class Flight<T> {
+
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final AtomicInteger participants = new AtomicInteger();
+    private volatile T result;
+  }
+
+  /**
+   * The identity of a request: type, bucket, key and range.
+   */
+  private static class RequestKey {
+
+    private final RequestType type;
+    private final String bucketName;
+    private final String key;
+    private final long rangeStart;
+    private final long rangeEnd;
+
+    public RequestKey(RequestType type, String bucketName, String key, long rangeStart, long rangeEnd) {
+      this.type = type;
+      this.bucketName = bucketName;
+      this.key = Objects.requireNonNull(key);
+      this.rangeStart = rangeStart;
+      this.rangeEnd = rangeEnd;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      RequestKey other = (RequestKey) o;
+      return type == other.type
+        && rangeStart == other.rangeStart
+        && rangeEnd == other.rangeEnd
+        && Objects.equals(bucketName, other.bucketName)
+        && key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = type.hashCode();
+      result = 31 * result + Objects.hashCode(bucketName);
+      result = 31 * result + key.hashCode();
+      result = 31 * result + Long.hashCode(rangeStart);
+      result = 31 * result + Long.hashCode(rangeEnd);
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return type + " " + bucketName + "/" + key + (rangeStart < 0 ? "" : " [" + rangeStart + "-" + rangeEnd + "]");
+    }
+  }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Deletes expired objects according to retention rules.
+ * <p>
+ * The sweeper streams the listing of a query (see {@link S3ListingQuery}),
+ * whose prefix, key pattern and other filters select the objects subject to
+ * retention. A selected object is deleted if it is older than the maximum age
+ * (by its last modified date) and is not one of the newest objects of its
+ * folder, the folder being the intermediate path of its key (see
+ * {@link S3Key#getIntermediatePath()}). At least one of the two rules must be
+ * set.
+ * <p>
+ * Memory use is constant: the listing is sorted, so the objects of a folder
+ * are listed together with those of its subfolders and only the newest
+ * objects of the folders enclosing the current key are held. Objects to delete
+ * are collected in batches of up to 1,000 keys that are deleted with a single
+ * request each while listing continues.
+ * <p>
+ * In dry-run mode nothing is deleted; the report and the listener describe
+ * the objects that would have been deleted.
+ * <p>
+ * Example: delete logs older than 30 days, but always keep the latest five
+ * logs of each folder.
+ * <pre>
+ * S3RetentionSweeper.Report report = new S3RetentionSweeper(s3)
+ *   .withQuery(new S3ListingQuery().withGlob("logs/**.log.gz"))
+ *   .withMaxAge(30, TimeUnit.DAYS)
+ *   .withKeepLatest(5)
+ *   .sweep();
+ * </pre>
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3RetentionSweeper {
+
+  private static final Logger LOG = Logger.getLogger(S3RetentionSweeper.class.getName());
+
+  /**
+   * 1,000. The maximum number of keys in a delete request.
+   */
+  public static final int MAX_BATCH_SIZE = 1_000;
+
+  /**
+   * The configured S3 client instance.
+   */
+  private final AwsS3 s3Client;
+  /**
+   * The query selecting the objects subject to retention. Default is the whole
+   * bucket.
+   */
+  private S3ListingQuery query = new S3ListingQuery();
+  /**
+   * OPTIONAL. The maximum age in milliseconds.
+   */
+  private Long maxAge;
+  /**
+   * 0. The number of newest objects kept in each folder.
+   */
+  private int keepLatest;
+  /**
+   * 1,000. The number of keys per delete request.
+   */
+  private int batchSize = MAX_BATCH_SIZE;
+  /**
+   * 2. The number of concurrent delete requests.
+   */
+  private int parallelism = 2;
+  /**
+   * False. Report deletions without deleting.
+   */
+  private boolean dryRun;
+  /**
+   * OPTIONAL. Receives each object selected for deletion.
+   */
+  private Consumer<S3ObjectSummary> listener;
+
+  /**
+   * Construct a new retention sweeper.
+   *
+   * @param s3Client the S3 client
+   */
+  public S3RetentionSweeper(AwsS3 s3Client) {
+    this.s3Client = s3Client;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public S3ListingQuery getQuery() {
+    return query;
+  }
+
+  public void setQuery(S3ListingQuery query) {
+    this.query = query;
+  }
+
+  public S3RetentionSweeper withQuery(S3ListingQuery query) {
+    this.query = query;
+    return this;
+  }
+
+  public Long getMaxAge() {
+    return maxAge;
+  }
+
+  /**
+   * Set the maximum age. Objects last modified earlier are expired.
+   *
+   * @param maxAge the maximum age
+   * @param unit   the time unit
+   */
+  public void setMaxAge(long maxAge, TimeUnit unit) {
+    this.maxAge = unit.toMillis(maxAge);
+  }
+
+  public S3RetentionSweeper withMaxAge(long maxAge, TimeUnit unit) {
+    setMaxAge(maxAge, unit);
+    return this;
+  }
+
+  public int getKeepLatest() {
+    return keepLatest;
+  }
+
+  /**
+   * Set the number of newest objects kept in each folder regardless of age.
+   *
+   * @param keepLatest the number of objects; 0 for none
+   */
+  public void setKeepLatest(int keepLatest) {
+    this.keepLatest = keepLatest;
+  }
+
+  public S3RetentionSweeper withKeepLatest(int keepLatest) {
+    this.keepLatest = keepLatest;
+    return this;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Set the number of keys per delete request.
+   *
+   * @param batchSize the batch size; at most 1,000
+   */
+  public void setBatchSize(int batchSize) {
+    this.batchSize = Math.min(batchSize, MAX_BATCH_SIZE);
+  }
+
+  public S3RetentionSweeper withBatchSize(int batchSize) {
+    setBatchSize(batchSize);
+    return this;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public S3RetentionSweeper withParallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  public boolean isDryRun() {
+    return dryRun;
+  }
+
+  public void setDryRun(boolean dryRun) {
+    this.dryRun = dryRun;
+  }
+
+  public S3RetentionSweeper withDryRun(boolean dryRun) {
+    this.dryRun = dryRun;
+    return this;
+  }
+
+  public Consumer<S3ObjectSummary> getListener() {
+    return listener;
+  }
+
+  /**
+   * Set a listener receiving each object selected for deletion, before it is
+   * deleted. The listener is called from the sweeping thread.
+   *
+   * @param listener the listener
+   */
+  public void setListener(Consumer<S3ObjectSummary> listener) {
+    this.listener = listener;
+  }
+
+  public S3RetentionSweeper withListener(Consumer<S3ObjectSummary> listener) {
+    this.listener = listener;
+    return this;
+  }//</editor-fold>
+
+  /**
+   * Delete the expired objects.
+   *
+   * @return the sweep report
+   * @throws IllegalStateException if neither a maximum age nor a number of
+   *                               objects to keep is set
+   */
+  public Report sweep() {
+    if (maxAge == null && keepLatest <= 0) {
+      throw new IllegalStateException("No retention rule set");
+    }
+    Report report = new Report(dryRun);
+    long expiry = maxAge == null ? Long.MAX_VALUE : System.currentTimeMillis() - maxAge;
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    /**
+     * Bound the number of pending batches so that memory stays constant when
+     * deletes are slower than listing.
+     */
+    Semaphore permits = new Semaphore(parallelism * 2);
+    AwsS3 client = s3Client.bindClient();
+    Consumer<List<S3ObjectSummary>> deleter = batch -> {
+      permits.acquireUninterruptibly();
+      executor.submit(() -> {
+        try {
+          delete(client, batch, report);
+        } finally {
+          permits.release();
+        }
+      });
+    };
+    Sweep sweep = new Sweep(expiry, report, deleter);
+    try (Stream<S3ObjectSummary> listing = client.query(query)) {
+      listing.forEach(sweep::add);
+      sweep.finish();
+    } finally {
+      executor.shutdown();
+      try {
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        executor.shutdownNow();
+      }
+      client.shutdown();
+    }
+    LOG.log(Level.INFO, "Retention sweep {0} {1}", new Object[]{query.getListingPrefix(), report});
+    return report;
+  }
+
+  /**
+   * Delete a batch of objects.
+   *
+   * @param client the S3 client
+   * @param batch  the objects
+   * @param report the report
+   */
+  private void delete(AwsS3 client, List<S3ObjectSummary> batch, Report report) {
+    List<String> keys = new ArrayList<>(batch.size());
+    batch.forEach(summary -> keys.add(summary.getKey()));
+    try {
+      client.delete(keys);
+      report.deletedCount.add(batch.size());
+    } catch (MultiObjectDeleteException ex) {
+      ex.getErrors().forEach(error -> report.failures.put(error.getKey(), error.getCode() + " " + error.getMessage()));
+      report.deletedCount.add(batch.size() - ex.getErrors().size());
+    } catch (AmazonClientException ex) {
+      LOG.log(Level.WARNING, "Batch delete of {0} objects failed: {1}", new Object[]{keys.size(), ex.getMessage()});
+      keys.forEach(key -> report.failures.put(key, String.valueOf(ex.getMessage())));
+    }
+  }
+
+  /**
+   * The state of a sweep: the folders enclosing the current key and the
+   * current batch.
+   */
+  private class Sweep {
+
+    private final long expiry;
+    private final Report report;
+    private final Consumer<List<S3ObjectSummary>> deleter;
+    /**
+     * The open folders, innermost last. Each is an ancestor of the next.
+     */
+    private final Deque<Folder> folders = new ArrayDeque<>();
+    private List<S3ObjectSummary> batch = new ArrayList<>();
+
+    Sweep(long expiry, Report report, Consumer<List<S3ObjectSummary>> deleter) {
+      this.expiry = expiry;
+      this.report = report;
+      this.deleter = deleter;
+    }
+
+    void add(S3ObjectSummary summary) {
+      report.scannedCount.increment();
+      String key = summary.getKey();
+      /**
+       * The listing is sorted, so a folder not enclosing this key is complete.
+       */
+      while (!folders.isEmpty() && !key.startsWith(folders.peekLast().prefix)) {
+        folders.pollLast().close();
+      }
+      List<String> path = new S3Key(key).getIntermediatePath();
+      String prefix = path.isEmpty() ? "" : String.join("/", path) + "/";
+      if (folders.isEmpty() || !folders.peekLast().prefix.equals(prefix)) {
+        folders.addLast(new Folder(prefix));
+      }
+      folders.peekLast().add(summary);
+    }
+
+    void finish() {
+      while (!folders.isEmpty()) {
+        folders.pollLast().close();
+      }
+      if (!batch.isEmpty()) {
+        deleter.accept(batch);
+        batch = new ArrayList<>();
+      }
+    }
+
+    /**
+     * Evaluate an object that is not among the newest of its folder.
+     *
+     * @param summary the object
+     */
+    void evaluate(S3ObjectSummary summary) {
+      if (summary.getLastModified() == null || summary.getLastModified().getTime() >= expiry) {
+        report.retainedCount.increment();
+        return;
+      }
+      report.expiredCount.increment();
+      report.expiredBytes.add(summary.getSize());
+      if (listener != null) {
+        listener.accept(summary);
+      }
+      if (dryRun) {
+        return;
+      }
+      batch.add(summary);
+      if (batch.size() >= batchSize) {
+        deleter.accept(batch);
+        batch = new ArrayList<>();
+      }
+    }
+
+    /**
+     * A folder holding its newest objects seen so far.
+     */
+    private class Folder {
+
+      private final String prefix;
+      /**
+       * The newest objects, oldest first.
+       */
+      private final PriorityQueue<S3ObjectSummary> newest = new PriorityQueue<>(
+        Comparator.comparing(S3ObjectSummary::getLastModified, Comparator.nullsLast(Comparator.naturalOrder())));
+
+      Folder(String prefix) {
+        this.prefix = prefix;
+      }
+
+      void add(S3ObjectSummary summary) {
+        if (keepLatest <= 0) {
+          evaluate(summary);
+          return;
+        }
+        newest.add(summary);
+        if (newest.size() > keepLatest) {
+          evaluate(newest.poll());
+        }
+      }
+
+      /**
+       * The folder is complete; its newest objects are retained.
+       */
+      void close() {
+        report.retainedCount.add(newest.size());
+        newest.clear();
+      }
+    }
+  }
+
+  /**
+   * The result of a retention sweep. In dry-run mode the report describes the
+   * objects that would have been deleted.
+   */
+  public static class Report {
+
+    private final boolean dryRun;
+    private final LongAdder scannedCount = new LongAdder();
+    private final LongAdder retainedCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder expiredBytes = new LongAdder();
+    private final LongAdder deletedCount = new LongAdder();
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+    Report(boolean dryRun) {
+      this.dryRun = dryRun;
+    }
+
+    public boolean isDryRun() {
+      return dryRun;
+    }
+
+    /**
+     * Get the number of objects selected by the query.
+     *
+     * @return the number of objects
+     */
+    public long getScannedCount() {
+      return scannedCount.sum();
+    }
+
+    public long getRetainedCount() {
+      return retainedCount.sum();
+    }
+
+    /**
+     * Get the number of expired objects, deleted or (in dry-run mode) to be
+     * deleted.
+     *
+     * @return the number of objects
+     */
+    public long getExpiredCount() {
+      return expiredCount.sum();
+    }
+
+    public long getExpiredBytes() {
+      return expiredBytes.sum();
+    }
+
+    public long getDeletedCount() {
+      return deletedCount.sum();
+    }
+
+    /**
+     * Get the objects that could not be deleted.
+     *
+     * @return the error message of each failed key
+     */
+    public Map<String, String> getFailures() {
+      return failures;
+    }
+
+    @Override
+    public String toString() {
+      return (dryRun ? "dry run: " : "") + getScannedCount() + " scanned, " + getRetainedCount() + " retained, "
+             + getExpiredCount() + " expired (" + getExpiredBytes() + " bytes), " + getDeletedCount() + " deleted, "
+             + failures.size() + " failed";
+    }
+  }
+}
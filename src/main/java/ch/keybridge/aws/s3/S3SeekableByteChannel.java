@@ -0,0 +1,399 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A read-only seekable byte channel over the content of an S3 object.
+ * <p>
+ * The object is read in fixed-size blocks, each fetched with one ranged GET
+ * only when a read first touches it, so random reads (e.g. of a footer index)
+ * move only the blocks actually used. The most recently used blocks are kept
+ * in an LRU cache. When reads advance sequentially from block to block, the
+ * following blocks are fetched asynchronously ahead of the reader so that
+ * streaming reads overlap network transfer with processing. Block buffers are
+ * taken from and returned to a shared {@link S3BufferPool}.
+ * <p>
+ * The channel reads the stored bytes: objects compressed on upload are read
+ * compressed. Use {@link java.nio.channels.Channels#newInputStream} for an
+ * InputStream view.
+ * <p>
+ * This class is thread-safe; reads are serialized.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3SeekableByteChannel implements SeekableByteChannel {
+
+  /**
+   * 1 MB. The default block size.
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+  /**
+   * 16. The default maximum number of cached blocks.
+   */
+  private static final int DEFAULT_MAX_BLOCKS = 16;
+  /**
+   * 4. The default number of blocks prefetched ahead of sequential reads.
+   */
+  private static final int DEFAULT_READ_AHEAD = 4;
+  /**
+   * The buffer pool shared by channels with the default block size.
+   */
+  private static final S3BufferPool DEFAULT_BUFFER_POOL = new S3BufferPool(DEFAULT_BLOCK_SIZE, 64);
+  /**
+   * 16. The maximum number of concurrent prefetches of all channels.
+   */
+  private static final int PREFETCH_THREADS = 16;
+  /**
+   * The prefetch executor shared by all channels. Its threads are bounded, so
+   * many open channels queue their prefetches rather than start a thread (and
+   * a request) each; idle threads time out. Daemon threads, so open channels
+   * do not prevent JVM exit.
+   */
+  private static final ThreadPoolExecutor PREFETCH_EXECUTOR = new ThreadPoolExecutor(
+    PREFETCH_THREADS, PREFETCH_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactory() {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "s3-prefetch-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  static {
+    PREFETCH_EXECUTOR.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * The S3 client.
+   */
+  private final AwsS3 s3Client;
+  /**
+   * The object key.
+   */
+  private final String key;
+  /**
+   * The object size.
+   */
+  private final long size;
+  /**
+   * The block size.
+   */
+  private final int blockSize;
+  /**
+   * The block buffer pool.
+   */
+  private final S3BufferPool bufferPool;
+  /**
+   * The maximum number of cached blocks.
+   */
+  private int maxBlocks = DEFAULT_MAX_BLOCKS;
+  /**
+   * The number of blocks prefetched ahead of sequential reads.
+   */
+  private int readAhead = DEFAULT_READ_AHEAD;
+  /**
+   * The cached (or in flight) blocks by block number, in access order.
+   */
+  private final LinkedHashMap<Long, CompletableFuture<byte[]>> blocks = new LinkedHashMap<>(16, 0.75f, true);
+  /**
+   * The current position.
+   */
+  private long position;
+  /**
+   * The block of the previous read; -1 if none.
+   */
+  private long lastBlock = -1;
+  /**
+   * The number of ranged GET requests sent.
+   */
+  private final AtomicInteger requestCount = new AtomicInteger();
+  private boolean open = true;
+
+  /**
+   * Construct a new channel with the default block size.
+   *
+   * @param s3Client the S3 client
+   * @param key      the object key
+   * @param size     the object size in bytes
+   */
+  public S3SeekableByteChannel(AwsS3 s3Client, String key, long size) {
+    this(s3Client, key, size, DEFAULT_BUFFER_POOL);
+  }
+
+  /**
+   * Construct a new channel with the block size of a buffer pool.
+   *
+   * @param s3Client   the S3 client
+   * @param key        the object key
+   * @param size       the object size in bytes
+   * @param bufferPool the block buffer pool; its buffer size is the block size
+   */
+  public S3SeekableByteChannel(AwsS3 s3Client, String key, long size, S3BufferPool bufferPool) {
+    this.s3Client = s3Client;
+    this.key = key;
+    this.size = size;
+    this.bufferPool = bufferPool;
+    this.blockSize = bufferPool.getBufferSize();
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter and Setter">
+  public String getKey() {
+    return key;
+  }
+
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  public int getMaxBlocks() {
+    return maxBlocks;
+  }
+
+  /**
+   * Set the maximum number of cached blocks. Must exceed the read ahead.
+   *
+   * @param maxBlocks the maximum number of cached blocks
+   * @return this channel
+   */
+  public S3SeekableByteChannel withMaxBlocks(int maxBlocks) {
+    this.maxBlocks = maxBlocks;
+    return this;
+  }
+
+  public int getReadAhead() {
+    return readAhead;
+  }
+
+  /**
+   * Set the number of blocks prefetched ahead of sequential reads. Zero
+   * disables prefetching.
+   *
+   * @param readAhead the number of blocks
+   * @return this channel
+   */
+  public S3SeekableByteChannel withReadAhead(int readAhead) {
+    this.readAhead = readAhead;
+    return this;
+  }
+
+  /**
+   * Get the number of ranged GET requests sent.
+   *
+   * @return the number of requests
+   */
+  public int getRequestCount() {
+    return requestCount.get();
+  }//</editor-fold>
+
+  @Override
+  public synchronized int read(ByteBuffer dst) throws IOException {
+    ensureOpen();
+    if (position >= size) {
+      return -1;
+    }
+    int total = 0;
+    while (dst.hasRemaining() && position < size) {
+      long block = position / blockSize;
+      int offset = (int) (position % blockSize);
+      int length = (int) Math.min(blockSize, size - block * blockSize);
+      byte[] data = getBlock(block);
+      int n = Math.min(dst.remaining(), length - offset);
+      dst.put(data, offset, n);
+      position += n;
+      total += n;
+    }
+    return total;
+  }
+
+  /**
+   * Get a block, fetching it if necessary, and prefetch following blocks if
+   * reads are sequential.
+   *
+   * @param block the block number
+   * @return the block data
+   * @throws IOException if the block cannot be read
+   */
+  private byte[] getBlock(long block) throws IOException {
+    CompletableFuture<byte[]> future = blocks.get(block);
+    if (future == null) {
+      /**
+       * Fetch on the calling thread; there is nothing else to do meanwhile.
+       */
+      future = new CompletableFuture<>();
+      try {
+        future.complete(fetch(block));
+      } catch (IOException | RuntimeException ex) {
+        future.completeExceptionally(ex);
+      }
+      blocks.put(block, future);
+    }
+    /**
+     * Reads are sequential when they move on from one block to the next.
+     */
+    if (lastBlock >= 0 && block == lastBlock + 1 && readAhead > 0) {
+      for (long next = block + 1; next <= block + readAhead && next * blockSize < size; next++) {
+        if (!blocks.containsKey(next)) {
+          long prefetch = next;
+          blocks.put(prefetch, CompletableFuture.supplyAsync(() -> {
+            try {
+              return fetch(prefetch);
+            } catch (IOException ex) {
+              throw new CompletionException(ex);
+            }
+          }, PREFETCH_EXECUTOR));
+        }
+      }
+    }
+    lastBlock = block;
+    evict(block);
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted reading " + key, ex);
+    } catch (ExecutionException ex) {
+      /**
+       * Forget the failed block so that a later read retries it.
+       */
+      blocks.remove(block);
+      Throwable cause = ex.getCause() instanceof CompletionException ? ex.getCause().getCause() : ex.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException("Failed to read " + key + ": " + cause, cause);
+    }
+  }
+
+  /**
+   * Fetch a block with a ranged GET into a pooled buffer.
+   *
+   * @param block the block number
+   * @return the buffer
+   * @throws IOException if the block cannot be read
+   */
+  private byte[] fetch(long block) throws IOException {
+    long start = block * blockSize;
+    int length = (int) Math.min(blockSize, size - start);
+    byte[] buffer = bufferPool.acquire();
+    requestCount.incrementAndGet();
+    try (InputStream inputStream = s3Client.getInputStream(key, start, start + length - 1)) {
+      int read = 0;
+      while (read < length) {
+        int n = inputStream.read(buffer, read, length - read);
+        if (n == -1) {
+          throw new EOFException("Object " + key + " ended at " + (start + read) + " bytes; expected " + size);
+        }
+        read += n;
+      }
+      return buffer;
+    } catch (IOException | RuntimeException ex) {
+      bufferPool.release(buffer);
+      throw ex;
+    }
+  }
+
+  /**
+   * Evict least recently used blocks beyond maxBlocks, returning their buffers
+   * to the pool once any fetch in flight completes.
+   *
+   * @param current the block being read, which is never evicted
+   */
+  private void evict(long current) {
+    Iterator<Map.Entry<Long, CompletableFuture<byte[]>>> iterator = blocks.entrySet().iterator();
+    while (blocks.size() > maxBlocks && iterator.hasNext()) {
+      Map.Entry<Long, CompletableFuture<byte[]>> entry = iterator.next();
+      if (entry.getKey() != current) {
+        iterator.remove();
+        entry.getValue().thenAccept(bufferPool::release);
+      }
+    }
+  }
+
+  @Override
+  public int write(ByteBuffer src) {
+    throw new NonWritableChannelException();
+  }
+
+  @Override
+  public synchronized long position() throws IOException {
+    ensureOpen();
+    return position;
+  }
+
+  @Override
+  public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+    ensureOpen();
+    if (newPosition < 0) {
+      throw new IllegalArgumentException("Negative position");
+    }
+    position = newPosition;
+    return this;
+  }
+
+  @Override
+  public long size() throws IOException {
+    ensureOpen();
+    return size;
+  }
+
+  @Override
+  public SeekableByteChannel truncate(long size) {
+    throw new NonWritableChannelException();
+  }
+
+  @Override
+  public synchronized boolean isOpen() {
+    return open;
+  }
+
+  /**
+   * Close the channel, returning cached block buffers to the pool.
+   */
+  @Override
+  public synchronized void close() {
+    if (open) {
+      open = false;
+      blocks.values().forEach(future -> future.thenAccept(bufferPool::release));
+      blocks.clear();
+    }
+  }
+
+  private void ensureOpen() throws ClosedChannelException {
+    if (!open) {
+      throw new ClosedChannelException();
+    }
+  }
+}
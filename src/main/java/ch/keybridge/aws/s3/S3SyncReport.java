@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The result of a directory synchronization. In dry-run mode the report
+ * describes the actions that would have been performed.
+ * <p>
+ * Only actions (transfers and deletions) are recorded individually; unchanged
+ * files are only counted.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3SyncReport {
+
+  /**
+   * The synchronization actions.
+   */
+  public enum Action {
+    /**
+     * The file exists only in the source and was copied to the destination.
+     */
+    CREATE,
+    /**
+     * The file exists in both locations but differs and was copied to the
+     * destination.
+     */
+    UPDATE,
+    /**
+     * The file exists only in the destination and was deleted.
+     */
+    DELETE;
+  }
+
+  /**
+   * True if no changes were made.
+   */
+  private final boolean dryRun;
+  /**
+   * The actions performed (or planned).
+   */
+  private final List<Entry> entries = Collections.synchronizedList(new ArrayList<>());
+  /**
+   * Failed actions, indexed by key.
+   */
+  private final Map<String, String> failures = new ConcurrentHashMap<>();
+  /**
+   * The number of files found to be identical.
+   */
+  private final LongAdder unchangedCount = new LongAdder();
+  /**
+   * The number of bytes transferred (or to be transferred).
+   */
+  private final LongAdder bytesTransferred = new LongAdder();
+
+  public S3SyncReport(boolean dryRun) {
+    this.dryRun = dryRun;
+  }
+
+  public boolean isDryRun() {
+    return dryRun;
+  }
+
+  /**
+   * Get the actions performed or, in dry-run mode, the actions that would be
+   * performed.
+   *
+   * @return the actions
+   */
+  public List<Entry> getEntries() {
+    synchronized (entries) {
+      return new ArrayList<>(entries);
+    }
+  }
+
+  /**
+   * Get the failed actions.
+   *
+   * @return a map of object key to error message
+   */
+  public Map<String, String> getFailures() {
+    return failures;
+  }
+
+  public long getUnchangedCount() {
+    return unchangedCount.sum();
+  }
+
+  public long getBytesTransferred() {
+    return bytesTransferred.sum();
+  }
+
+  /**
+   * Count the number of actions of a type.
+   *
+   * @param action the action type
+   * @return the number of actions of the type
+   */
+  public long count(Action action) {
+    synchronized (entries) {
+      return entries.stream().filter(e -> e.getAction() == action).count();
+    }
+  }
+
+  void addEntry(Entry entry) {
+    entries.add(entry);
+  }
+
+  void addFailure(String key, Exception exception) {
+    failures.put(key, String.valueOf(exception.getMessage()));
+  }
+
+  void addUnchanged() {
+    unchangedCount.increment();
+  }
+
+  void addBytesTransferred(long bytes) {
+    bytesTransferred.add(bytes);
+  }
+
+  @Override
+  public String toString() {
+    return "S3SyncReport {" + "dryRun=" + dryRun
+      + ", create=" + count(Action.CREATE)
+      + ", update=" + count(Action.UPDATE)
+      + ", delete=" + count(Action.DELETE)
+      + ", unchanged=" + unchangedCount
+      + ", bytes=" + bytesTransferred
+      + ", failures=" + failures.size() + '}';
+  }
+
+  /**
+   * A single synchronization action.
+   */
+  public static class Entry {
+
+    private final Action action;
+    private final String key;
+    private final long size;
+
+    public Entry(Action action, String key, long size) {
+      this.action = action;
+      this.key = key;
+      this.size = size;
+    }
+
+    public Action getAction() {
+      return action;
+    }
+
+    /**
+     * Get the S3 object key.
+     *
+     * @return the object key
+     */
+    public String getKey() {
+      return key;
+    }
+
+    /**
+     * Get the size of the transferred or deleted file in bytes.
+     *
+     * @return the file size
+     */
+    public long getSize() {
+      return size;
+    }
+
+    @Override
+    public String toString() {
+      return action + " " + key + " (" + size + " bytes)";
+    }
+  }
+}
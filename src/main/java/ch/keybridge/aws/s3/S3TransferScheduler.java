@@ -0,0 +1,455 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import java.io.*;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bandwidth scheduler for S3 transfers.
+ * <p>
+ * Transfers are grouped into jobs. Each job has a priority class and an
+ * optional byte rate limit of its own, and all jobs share the global byte
+ * rate of the scheduler. The limits are applied at the stream level: a job
+ * wraps the content streams of its transfers (see {@link Job#throttle}) and
+ * every chunk of up to 64 KB read or written waits for its share of
+ * bandwidth.
+ * <p>
+ * The global bandwidth is a token bucket shared with weighted fair queuing:
+ * pending chunks are served in the order of their virtual finish time (self
+ * clocked fair queuing), where the virtual size of a chunk is its byte count
+ * divided by the weight of its priority class. While jobs of several classes
+ * are busy each receives bandwidth in proportion to its weight (interactive
+ * 16, normal 4, bulk 1); a job alone may use the whole bandwidth. Bulk jobs
+ * therefore use mostly spare bandwidth without being starved.
+ * <p>
+ * Example: limit the host to 50 MB/s and run a backup in the background.
+ * <pre>
+ * S3TransferScheduler scheduler = new S3TransferScheduler(50_000_000);
+ * AwsS3 backup = new AwsS3(config)
+ *   .withTransferJob(scheduler.newJob("backup", S3TransferScheduler.Priority.BULK));
+ * </pre>
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v1.7.0 added 10/18/26
+ */
+public class S3TransferScheduler {
+
+  /**
+   * The transfer priority classes and their fair queuing weights.
+   */
+  public enum Priority {
+    INTERACTIVE(16), NORMAL(4), BULK(1);
+
+    private final int weight;
+
+    private Priority(int weight) {
+      this.weight = weight;
+    }
+
+    public int getWeight() {
+      return weight;
+    }
+  }
+
+  /**
+   * 64 KB. The maximum number of bytes acquired at once.
+   */
+  static final int CHUNK_SIZE = 64 * 1024;
+
+  /**
+   * The global rate in bytes per second; zero or less for no global limit.
+   */
+  private final double bytesPerSecond;
+  /**
+   * The global bucket capacity: 100 ms of bandwidth, at least one chunk.
+   */
+  private final double capacity;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition served = lock.newCondition();
+  /**
+   * The pending chunks ordered by virtual finish time.
+   */
+  private final PriorityQueue<Request> queue = new PriorityQueue<>();
+  /**
+   * The available global tokens (bytes) and the time they were counted.
+   */
+  private double tokens;
+  private long refilled = System.nanoTime();
+  /**
+   * The virtual time: the finish time of the last served chunk.
+   */
+  private double virtualTime;
+  private long sequence;
+
+  /**
+   * The bytes transferred per priority class.
+   */
+  private final Map<Priority, LongAdder> bytes = new EnumMap<>(Priority.class);
+  /**
+   * The total time chunks waited for bandwidth, in nanoseconds.
+   */
+  private final LongAdder waitNanos = new LongAdder();
+  /**
+   * The total time each thread waited for bandwidth in any scheduler, in
+   * nanoseconds.
+   */
+  private static final ThreadLocal<long[]> THREAD_WAIT_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+  /**
+   * Construct a new transfer scheduler.
+   *
+   * @param bytesPerSecond the global byte rate; zero or less for no global
+   *                       limit (job limits still apply)
+   */
+  public S3TransferScheduler(double bytesPerSecond) {
+    this.bytesPerSecond = bytesPerSecond;
+    this.capacity = Math.max(CHUNK_SIZE, bytesPerSecond / 10);
+    this.tokens = capacity;
+    for (Priority priority : Priority.values()) {
+      bytes.put(priority, new LongAdder());
+    }
+  }
+
+  public double getBytesPerSecond() {
+    return bytesPerSecond;
+  }
+
+  /**
+   * Create a job with no rate limit of its own.
+   *
+   * @param name     the job name
+   * @param priority the priority class
+   * @return a new job
+   */
+  public Job newJob(String name, Priority priority) {
+    return new Job(name, priority, 0);
+  }
+
+  /**
+   * Create a job.
+   *
+   * @param name           the job name
+   * @param priority       the priority class
+   * @param bytesPerSecond the job byte rate; zero or less for no job limit
+   * @return a new job
+   */
+  public Job newJob(String name, Priority priority, double bytesPerSecond) {
+    return new Job(name, priority, bytesPerSecond);
+  }
+
+  /**
+   * Get the number of bytes transferred by jobs of a priority class.
+   *
+   * @param priority the priority class
+   * @return the byte count
+   */
+  public long getBytesTransferred(Priority priority) {
+    return bytes.get(priority).sum();
+  }
+
+  /**
+   * Get the total time chunks have waited for bandwidth.
+   *
+   * @return the total wait time in milliseconds
+   */
+  public long getWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+  }
+
+  /**
+   * Get the total time the current thread has waited for bandwidth in any
+   * scheduler. The circuit breaker subtracts it from request durations, so that
+   * throttled transfers are not recorded as slow calls.
+   *
+   * @return the wait time in nanoseconds
+   */
+  static long getThreadWaitNanos() {
+    return THREAD_WAIT_NANOS.get()[0];
+  }
+
+  /**
+   * Get the number of chunks waiting for global bandwidth.
+   *
+   * @return the queue length
+   */
+  public int getQueueLength() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Wait until a job may transfer a chunk: first for the job rate, then for
+   * its fair share of the global rate.
+   *
+   * @param job   the job
+   * @param count the chunk size in bytes; at most {@link #CHUNK_SIZE}
+   * @throws InterruptedIOException if interrupted while waiting
+   */
+  void acquire(Job job, int count) throws InterruptedIOException {
+    long start = System.nanoTime();
+    try {
+      if (job.bytesPerSecond > 0) {
+        long wait = job.reserve(count, start);
+        if (wait > 0) {
+          TimeUnit.NANOSECONDS.sleep(wait);
+        }
+      }
+      if (bytesPerSecond > 0) {
+        acquireGlobal(job, count);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted waiting for bandwidth");
+    } finally {
+      long waited = System.nanoTime() - start;
+      waitNanos.add(waited);
+      THREAD_WAIT_NANOS.get()[0] += waited;
+    }
+    job.bytes.add(count);
+    bytes.get(job.priority).add(count);
+  }
+
+  /**
+   * Queue a chunk by virtual finish time and wait until it is at the head of
+   * the queue and the bucket holds enough tokens.
+   */
+  private void acquireGlobal(Job job, int count) throws InterruptedException {
+    lock.lock();
+    try {
+      double begin = Math.max(virtualTime, job.finishTag);
+      Request request = new Request(begin + (double) count / job.priority.weight, sequence++);
+      job.finishTag = request.finishTag;
+      queue.add(request);
+      try {
+        for (;;) {
+          refill();
+          if (queue.peek() == request) {
+            if (tokens >= count) {
+              tokens -= count;
+              queue.poll();
+              virtualTime = request.finishTag;
+              served.signalAll();
+              return;
+            }
+            served.awaitNanos((long) ((count - tokens) / bytesPerSecond * 1e9) + 1);
+          } else {
+            served.await();
+          }
+        }
+      } catch (InterruptedException ex) {
+        queue.remove(request);
+        served.signalAll();
+        throw ex;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Add the tokens accumulated since the last refill, up to the capacity.
+   */
+  private void refill() {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - refilled) * bytesPerSecond / 1e9);
+    refilled = now;
+  }
+
+  /**
+   * A chunk waiting for global bandwidth.
+   */
+  private static class Request implements Comparable<Request> {
+
+    private final double finishTag;
+    private final long sequence;
+
+    Request(double finishTag, long sequence) {
+      this.finishTag = finishTag;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(Request o) {
+      int c = Double.compare(finishTag, o.finishTag);
+      return c != 0 ? c : Long.compare(sequence, o.sequence);
+    }
+  }
+
+  /**
+   * A group of transfers sharing a priority class and an optional rate limit.
+   * Install a job on an AwsS3 client with {@code AwsS3.setTransferJob} to
+   * throttle the content streams of its uploads and downloads.
+   */
+  public class Job {
+
+    private final String name;
+    private final Priority priority;
+    private final double bytesPerSecond;
+    /**
+     * The job bucket: the time (System.nanoTime) from which the job rate
+     * permits the next chunk.
+     */
+    private long nextFree = System.nanoTime();
+    /**
+     * The virtual finish time of the last queued chunk; guarded by the
+     * scheduler lock.
+     */
+    private double finishTag;
+    private final LongAdder bytes = new LongAdder();
+
+    private Job(String name, Priority priority, double bytesPerSecond) {
+      this.name = name;
+      this.priority = priority;
+      this.bytesPerSecond = bytesPerSecond;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Priority getPriority() {
+      return priority;
+    }
+
+    public double getBytesPerSecond() {
+      return bytesPerSecond;
+    }
+
+    public S3TransferScheduler getScheduler() {
+      return S3TransferScheduler.this;
+    }
+
+    /**
+     * Get the number of bytes transferred by this job.
+     *
+     * @return the byte count
+     */
+    public long getBytesTransferred() {
+      return bytes.sum();
+    }
+
+    /**
+     * Wait until this job may transfer a number of bytes.
+     *
+     * @param count the number of bytes
+     * @throws InterruptedIOException if interrupted while waiting
+     */
+    public void acquire(long count) throws InterruptedIOException {
+      while (count > 0) {
+        int chunk = (int) Math.min(CHUNK_SIZE, count);
+        S3TransferScheduler.this.acquire(this, chunk);
+        count -= chunk;
+      }
+    }
+
+    /**
+     * Reserve job bandwidth for a chunk. Up to 100 ms of unused bandwidth may
+     * be spent at once.
+     *
+     * @return the time to wait in nanoseconds
+     */
+    private synchronized long reserve(int count, long now) {
+      long burst = TimeUnit.MILLISECONDS.toNanos(100);
+      long start = Math.max(nextFree, now);
+      nextFree = start + (long) (count / bytesPerSecond * 1e9);
+      return nextFree - now - burst;
+    }
+
+    /**
+     * Wrap an input stream so that reading it is throttled by this job.
+     *
+     * @param inputStream the input stream
+     * @return a throttled input stream
+     */
+    public InputStream throttle(InputStream inputStream) {
+      return new FilterInputStream(inputStream) {
+        @Override
+        public int read() throws IOException {
+          int b = super.read();
+          if (b >= 0) {
+            S3TransferScheduler.this.acquire(Job.this, 1);
+          }
+          return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+          int n = super.read(b, off, Math.min(len, CHUNK_SIZE));
+          if (n > 0) {
+            S3TransferScheduler.this.acquire(Job.this, n);
+          }
+          return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+          long skipped = super.skip(n);
+          acquire(skipped);
+          return skipped;
+        }
+      };
+    }
+
+    /**
+     * Wrap an output stream so that writing it is throttled by this job.
+     *
+     * @param outputStream the output stream
+     * @return a throttled output stream
+     */
+    public OutputStream throttle(OutputStream outputStream) {
+      return new FilterOutputStream(outputStream) {
+        @Override
+        public void write(int b) throws IOException {
+          S3TransferScheduler.this.acquire(Job.this, 1);
+          out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          while (len > 0) {
+            int n = Math.min(len, CHUNK_SIZE);
+            S3TransferScheduler.this.acquire(Job.this, n);
+            out.write(b, off, n);
+            off += n;
+            len -= n;
+          }
+        }
+      };
+    }
+
+    @Override
+    public String toString() {
+      return name + " (" + priority + ")";
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws;
+
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.auth.BasicSessionCredentials;
+import java.io.File;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class AwsCredentialsProviderTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testFileChange() throws Exception {
+    File file = folder.newFile("credentials");
+    CountingProvider delegate = new CountingProvider(false);
+    AwsCredentialsProvider provider = new AwsCredentialsProvider(delegate, file).withCheckInterval(0);
+    for (int i = 0; i < 100; i++) {
+      assertEquals("key1", provider.getCredentials().getAWSAccessKeyId());
+    }
+    provider.check();
+    assertEquals(1, delegate.loads);
+    assertTrue(file.setLastModified(file.lastModified() - 60_000));
+    provider.check();
+    assertEquals("key2", provider.getCredentials().getAWSAccessKeyId());
+  }
+
+  @Test
+  public void testSessionExpiry() {
+    CountingProvider delegate = new CountingProvider(true);
+    AwsCredentialsProvider provider = new AwsCredentialsProvider(delegate, null).withCheckInterval(0);
+    provider.getCredentials();
+    provider.check();
+    assertEquals(1, delegate.loads);
+    provider.withSessionMaxAge(0).check();
+    assertEquals(2, delegate.loads);
+  }
+
+  /**
+   * Returns new credentials on each load.
+   */
+  private static class CountingProvider implements AWSCredentialsProvider {
+
+    private final boolean session;
+    private int loads;
+
+    public CountingProvider(boolean session) {
+      this.session = session;
+    }
+
+    @Override
+    public AWSCredentials getCredentials() {
+      loads++;
+      return session
+             ? new BasicSessionCredentials("key" + loads, "secret", "token")
+             : new BasicAWSCredentials("key" + loads, "secret");
+    }
+
+    @Override
+    public void refresh() {
+    }
+  }
+}
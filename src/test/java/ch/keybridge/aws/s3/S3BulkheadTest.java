@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import ch.keybridge.aws.s3.S3Bulkhead.Compartment;
+import com.amazonaws.SdkClientException;
+import java.io.InputStream;
+import java.util.concurrent.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3BulkheadTest {
+
+  @Test
+  public void testIsolation() throws Exception {
+    S3Bulkhead bulkhead = new S3Bulkhead().withLimit(Compartment.BULK_WRITE, 1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> write = executor.submit(() -> bulkhead.execute(Compartment.BULK_WRITE, () -> {
+        started.countDown();
+        release.await();
+        return "written";
+      }));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      assertEquals(1, bulkhead.getActiveCount(Compartment.BULK_WRITE));
+      /**
+       * The full write compartment rejects writes but not reads.
+       */
+      try {
+        bulkhead.execute(Compartment.BULK_WRITE, () -> "rejected");
+        fail("expected rejection");
+      } catch (SdkClientException ex) {
+        assertEquals(1, bulkhead.getRejectedCount(Compartment.BULK_WRITE));
+      }
+      assertEquals("read", bulkhead.execute(Compartment.INTERACTIVE_READ, () -> "read"));
+      release.countDown();
+      assertEquals("written", write.get(5, TimeUnit.SECONDS));
+      assertEquals(0, bulkhead.getActiveCount(Compartment.BULK_WRITE));
+      assertEquals(1, bulkhead.getExecutedCount(Compartment.INTERACTIVE_READ));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testStreamHoldsPermit() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    bucket.put("a.txt", new byte[]{1, 2, 3}, null);
+    S3Bulkhead bulkhead = new S3Bulkhead().withLimit(Compartment.INTERACTIVE_READ, 1);
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket").withBulkhead(bulkhead);
+    /**
+     * The permit is held while the content is read, not only until the
+     * response headers arrive.
+     */
+    try (InputStream inputStream = s3.getInputStream("a.txt")) {
+      assertEquals(1, bulkhead.getActiveCount(Compartment.INTERACTIVE_READ));
+      try {
+        s3.getInputStream("a.txt", 0, 1);
+        fail("expected rejection");
+      } catch (SdkClientException ex) {
+        assertEquals(1, bulkhead.getRejectedCount(Compartment.INTERACTIVE_READ));
+      }
+      assertEquals(1, inputStream.read());
+    }
+    assertEquals(0, bulkhead.getActiveCount(Compartment.INTERACTIVE_READ));
+    s3.getInputStream("a.txt", 0, 1).close();
+    assertEquals(0, bulkhead.getActiveCount(Compartment.INTERACTIVE_READ));
+  }
+}
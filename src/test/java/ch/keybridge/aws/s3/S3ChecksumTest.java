@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.amazonaws.util.Base64;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.Md5Utils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3ChecksumTest {
+
+  @Test
+  public void testCrc32c() {
+    byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+    S3Crc32c crc = new S3Crc32c();
+    crc.update(data, 0, data.length);
+    assertEquals(0xE3069283L, crc.getValue());
+    crc.reset();
+    for (byte b : data) {
+      crc.update(b);
+    }
+    assertEquals(0xE3069283L, crc.getValue());
+  }
+
+  @Test
+  public void testMultipartETag() {
+    byte[] data = new byte[25];
+    new Random(1).nextBytes(data);
+    S3Checksum checksum = new S3Checksum(10);
+    checksum.update(data, 0, 7);
+    checksum.update(data, 7, 18);
+    byte[] parts = concat(Md5Utils.computeMD5Hash(Arrays.copyOfRange(data, 0, 10)),
+                          Md5Utils.computeMD5Hash(Arrays.copyOfRange(data, 10, 20)),
+                          Md5Utils.computeMD5Hash(Arrays.copyOfRange(data, 20, 25)));
+    assertEquals(BinaryUtils.toHex(Md5Utils.computeMD5Hash(parts)) + "-3", checksum.getETag());
+    assertEquals(3, checksum.getParts());
+
+    S3Checksum single = new S3Checksum();
+    single.update(data, 0, data.length);
+    assertEquals(BinaryUtils.toHex(Md5Utils.computeMD5Hash(data)), single.getETag());
+  }
+
+  @Test
+  public void testVerifyingStream() throws IOException {
+    byte[] data = "hello world".getBytes(StandardCharsets.UTF_8);
+    S3Checksum expected = new S3Checksum();
+    expected.update(data, 0, data.length);
+    ObjectMetadata metadata = new ObjectMetadata();
+    metadata.setContentLength(data.length);
+    metadata.addUserMetadata(S3Checksum.METADATA_CRC32C, expected.getCrc32cBase64());
+    try (InputStream inputStream = S3Checksum.forObject(metadata).verifying(new ByteArrayInputStream(data), "k", metadata)) {
+      assertArrayEquals(data, IOUtils.toByteArray(inputStream));
+    }
+    data[0] = 'j';
+    try (InputStream inputStream = S3Checksum.forObject(metadata).verifying(new ByteArrayInputStream(data), "k", metadata)) {
+      IOUtils.toByteArray(inputStream);
+      fail("Corrupted content must not verify");
+    } catch (IOException ex) {
+      assertTrue(ex.getCause() instanceof SdkClientException);
+    }
+  }
+
+  @Test
+  public void testMultipartOutputStream() throws IOException {
+    FakeS3 s3 = new FakeS3();
+    byte[] data = new byte[S3MultipartOutputStream.MIN_PART_SIZE * 2 + 100];
+    new Random(2).nextBytes(data);
+    /**
+     * A checksum in the provided (e.g. copied) metadata is stale.
+     */
+    ObjectMetadata stale = new ObjectMetadata();
+    stale.addUserMetadata(S3Checksum.METADATA_CRC32C, "AAAAAA==");
+    S3MultipartOutputStream outputStream = new S3MultipartOutputStream(s3, "bucket", "big.bin", stale, S3MultipartOutputStream.MIN_PART_SIZE);
+    outputStream.write(data);
+    outputStream.close();
+    assertEquals(3, s3.parts.size());
+    assertEquals(outputStream.getChecksum().getETag(), outputStream.getResult().getETag());
+    assertEquals(String.valueOf(S3MultipartOutputStream.MIN_PART_SIZE), s3.metadata.getUserMetaDataOf(S3Checksum.METADATA_PART_SIZE));
+    assertNull(s3.metadata.getUserMetaDataOf(S3Checksum.METADATA_CRC32C));
+
+    S3MultipartOutputStream small = new S3MultipartOutputStream(s3, "bucket", "small.txt", stale);
+    small.write(data, 0, 100);
+    small.close();
+    assertEquals(BinaryUtils.toHex(Md5Utils.computeMD5Hash(Arrays.copyOf(data, 100))), small.getResult().getETag());
+    assertEquals(small.getChecksum().getCrc32cBase64(), s3.metadata.getUserMetaDataOf(S3Checksum.METADATA_CRC32C));
+  }
+
+  private static byte[] concat(byte[]... arrays) {
+    byte[] result = new byte[arrays.length * 16];
+    for (int i = 0; i < arrays.length; i++) {
+      System.arraycopy(arrays[i], 0, result, i * 16, 16);
+    }
+    return result;
+  }
+
+  /**
+   * Checks the Content-MD5 of each request and returns S3 style ETags.
+   */
+  private static class FakeS3 extends AbstractAmazonS3 {
+
+    private final List<byte[]> parts = new ArrayList<>();
+    private ObjectMetadata metadata;
+
+    private static byte[] receive(InputStream inputStream, String contentMd5) {
+      byte[] content;
+      try {
+        content = IOUtils.toByteArray(inputStream);
+      } catch (IOException ex) {
+        throw new SdkClientException(ex);
+      }
+      assertArrayEquals(Base64.decode(contentMd5), Md5Utils.computeMD5Hash(content));
+      return content;
+    }
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest request) {
+      metadata = request.getMetadata();
+      PutObjectResult result = new PutObjectResult();
+      result.setETag(BinaryUtils.toHex(Md5Utils.computeMD5Hash(receive(request.getInputStream(), metadata.getContentMD5()))));
+      return result;
+    }
+
+    @Override
+    public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+      metadata = request.getObjectMetadata();
+      InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+      result.setUploadId("upload");
+      return result;
+    }
+
+    @Override
+    public UploadPartResult uploadPart(UploadPartRequest request) {
+      byte[] content = receive(request.getInputStream(), request.getMd5Digest());
+      parts.add(Md5Utils.computeMD5Hash(content));
+      UploadPartResult result = new UploadPartResult();
+      result.setPartNumber(request.getPartNumber());
+      result.setETag(BinaryUtils.toHex(parts.get(parts.size() - 1)));
+      return result;
+    }
+
+    @Override
+    public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+      CompleteMultipartUploadResult result = new CompleteMultipartUploadResult();
+      result.setETag(BinaryUtils.toHex(Md5Utils.computeMD5Hash(concat(parts.toArray(new byte[0][])))) + "-" + parts.size());
+      return result;
+    }
+  }
+}
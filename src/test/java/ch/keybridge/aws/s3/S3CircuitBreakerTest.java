@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.s3.S3Bulkhead.Compartment;
+import ch.keybridge.aws.s3.S3CircuitBreaker.State;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.util.IOUtils;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3CircuitBreakerTest {
+
+  @Test
+  public void testStates() throws Exception {
+    S3CircuitBreaker breaker = new S3CircuitBreaker()
+      .withWindowSize(10)
+      .withMinCalls(4)
+      .withOpenDuration(50, TimeUnit.MILLISECONDS)
+      .withHalfOpenCalls(2);
+    /**
+     * Client errors are not failures.
+     */
+    for (int i = 0; i < 4; i++) {
+      respond(breaker, 404);
+    }
+    assertEquals(State.CLOSED, breaker.getState(Compartment.INTERACTIVE_READ));
+    for (int i = 0; i < 4; i++) {
+      respond(breaker, 500);
+    }
+    assertEquals(State.OPEN, breaker.getState(Compartment.INTERACTIVE_READ));
+    assertEquals(1, breaker.getOpenCount());
+    try {
+      breaker.execute(Compartment.INTERACTIVE_READ, () -> "rejected");
+      fail("expected rejection");
+    } catch (SdkClientException ex) {
+      assertEquals(1, breaker.getRejectedCount());
+    }
+    /**
+     * After the open duration a failed probe re-opens the breaker and
+     * successful probes close it.
+     */
+    Thread.sleep(60);
+    assertEquals(State.HALF_OPEN, breaker.getState(Compartment.INTERACTIVE_READ));
+    respond(breaker, 503);
+    assertEquals(State.HALF_OPEN, breaker.getState(Compartment.INTERACTIVE_READ));
+    respond(breaker, 502);
+    assertEquals(State.OPEN, breaker.getState(Compartment.INTERACTIVE_READ));
+    Thread.sleep(60);
+    assertEquals("ok", breaker.execute(Compartment.INTERACTIVE_READ, () -> "ok"));
+    assertEquals("ok", breaker.execute(Compartment.INTERACTIVE_READ, () -> "ok"));
+    assertEquals(State.CLOSED, breaker.getState(Compartment.INTERACTIVE_READ));
+    assertEquals(0, breaker.getFailureRate(Compartment.INTERACTIVE_READ), 0);
+  }
+
+  @Test
+  public void testCompartments() throws Exception {
+    S3CircuitBreaker breaker = new S3CircuitBreaker()
+      .withWindowSize(10)
+      .withMinCalls(4)
+      .withSlowCallDuration(Compartment.BULK_WRITE, 10, TimeUnit.MILLISECONDS);
+    assertEquals(60, breaker.getSlowCallDuration(Compartment.INTERACTIVE_READ, TimeUnit.SECONDS));
+    /**
+     * Slow transfers open the bulk write circuit only.
+     */
+    for (int i = 0; i < 4; i++) {
+      breaker.execute(Compartment.BULK_WRITE, () -> {
+        Thread.sleep(20);
+        return null;
+      });
+    }
+    assertEquals(State.OPEN, breaker.getState(Compartment.BULK_WRITE));
+    assertEquals(1, breaker.getSlowCallRate(Compartment.BULK_WRITE), 0);
+    assertEquals(State.CLOSED, breaker.getState(Compartment.INTERACTIVE_READ));
+    assertEquals("ok", breaker.execute(Compartment.INTERACTIVE_READ, () -> "ok"));
+    assertEquals(0, breaker.getSlowCallRate(Compartment.INTERACTIVE_READ), 0);
+  }
+
+  @Test
+  public void testThrottledTransferIsNotSlow() throws Exception {
+    S3CircuitBreaker breaker = new S3CircuitBreaker()
+      .withMinCalls(1)
+      .withSlowCallDuration(50, TimeUnit.MILLISECONDS);
+    S3TransferScheduler.Job job = new S3TransferScheduler(0).newJob("bulk", S3TransferScheduler.Priority.BULK, 1_000_000);
+    /**
+     * 250 KB at 1 MB/s waits about 150 ms beyond the burst allowance.
+     */
+    long start = System.nanoTime();
+    breaker.execute(Compartment.INTERACTIVE_READ, () -> IOUtils.toByteArray(job.throttle(new ByteArrayInputStream(new byte[250_000]))));
+    assertTrue(System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(50));
+    assertEquals(0, breaker.getSlowCount());
+    assertEquals(State.CLOSED, breaker.getState(Compartment.INTERACTIVE_READ));
+  }
+
+  private static void respond(S3CircuitBreaker breaker, int status) {
+    try {
+      breaker.execute(Compartment.INTERACTIVE_READ, () -> {
+        AmazonServiceException ex = new AmazonServiceException("status " + status);
+        ex.setStatusCode(status);
+        if (status == 503) {
+          ex.setErrorCode("SlowDown");
+        }
+        throw ex;
+      });
+    } catch (AmazonServiceException ex) {
+      assertEquals(status, ex.getStatusCode());
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.regions.Regions;
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.AmazonS3;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3ClientRegistryTest {
+
+  @Test
+  public void testSharing() {
+    try (FakeRegistry registry = new FakeRegistry()) {
+      AwsS3 a = registry.acquire(new S3BucketConfig("key", "secret", Regions.US_EAST_1, "a"));
+      AwsS3 b = registry.acquire(new S3BucketConfig("key", "secret", Regions.US_EAST_1, "b"));
+      AwsS3 c = registry.acquire(new S3BucketConfig("key", "secret", Regions.EU_WEST_1, "c"));
+      assertEquals("b", b.getBucketName());
+      assertSame(a.getS3Client(), b.getS3Client());
+      assertNotSame(a.getS3Client(), c.getS3Client());
+      assertEquals(2, registry.getClientCount());
+      assertEquals(3, registry.getReferenceCount());
+      /**
+       * A referenced client is never evicted.
+       */
+      FakeClient shared = (FakeClient) a.getS3Client();
+      /**
+       * A copy takes no lease, so it does not keep the shared client.
+       */
+      AwsS3 copy = new AwsS3(a);
+      assertEquals("a", copy.getBucketName());
+      assertNull(copy.getS3Client());
+      registry.release(a);
+      assertNull(a.getS3Client());
+      assertEquals(0, registry.evictIdle());
+      registry.release(b);
+      assertEquals(1, registry.evictIdle());
+      assertTrue(shared.shutdown);
+      assertEquals(1, registry.getClientCount());
+    }
+  }
+
+  @Test
+  public void testBindClient() {
+    S3Bulkhead bulkhead = new S3Bulkhead();
+    AwsS3 s3 = new AwsS3("key", "secret").withRegion(Regions.US_EAST_1).withBucketName("a").withMaxKeys(10).withBulkhead(bulkhead);
+    AwsS3 bound = s3.bindClient();
+    assertNotSame(s3, bound);
+    assertNull(s3.getS3Client());
+    assertNotNull(bound.getS3Client());
+    assertEquals("a", bound.getBucketName());
+    assertEquals(10, bound.getMaxKeys());
+    assertSame(bulkhead, bound.getBulkhead());
+    bound.shutdown();
+    /**
+     * A shared client is used as is and not shut down.
+     */
+    FakeClient shared = new FakeClient();
+    AwsS3 sharing = new AwsS3().withS3Client(shared);
+    assertSame(sharing, sharing.bindClient());
+    sharing.bindClient().shutdown();
+    assertFalse(shared.shutdown);
+  }
+
+  /**
+   * A registry with no idle timeout and fake clients.
+   */
+  private static class FakeRegistry extends S3ClientRegistry {
+
+    public FakeRegistry() {
+      super(0);
+    }
+
+    @Override
+    protected AmazonS3 buildClient(Regions region, String awsAccessKeyId, String awsSecretAccessKey) {
+      return new FakeClient();
+    }
+  }
+
+  private static class FakeClient extends AbstractAmazonS3 {
+
+    private boolean shutdown;
+
+    @Override
+    public void shutdown() {
+      shutdown = true;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.util.IOUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3CompressionPolicyTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testGetCodec() {
+    S3CompressionPolicy policy = new S3CompressionPolicy()
+      .withCodec("json", S3CompressionCodec.DEFLATE)
+      .withDefaultCodec(S3CompressionCodec.GZIP);
+    assertEquals(S3CompressionCodec.DEFLATE, policy.getCodec("export/2026/data.JSON"));
+    assertEquals(S3CompressionCodec.GZIP, policy.getCodec("export/2026/data.csv"));
+    assertEquals(S3CompressionCodec.GZIP, policy.getCodec("export/2026/README"));
+    assertNull(policy.getCodec("tiles/z10/1.png"));
+    assertNull(policy.getCodec("export/2026/data.csv.gz"));
+    assertNull(new S3CompressionPolicy().getCodec("export/2026/data.csv"));
+  }
+
+  @Test
+  public void testCodecRoundTrip() throws Exception {
+    byte[] content = new String(new char[10000]).replace('\0', 'x').getBytes(StandardCharsets.UTF_8);
+    for (S3CompressionCodec codec : S3CompressionCodec.values()) {
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+      try (OutputStream outputStream = codec.compress(compressed)) {
+        outputStream.write(content);
+      }
+      assertTrue(compressed.size() < content.length / 10);
+      try (InputStream inputStream = codec.decompress(new ByteArrayInputStream(compressed.toByteArray()))) {
+        assertArrayEquals(content, IOUtils.toByteArray(inputStream));
+      }
+      ObjectMetadata metadata = new ObjectMetadata();
+      metadata.addUserMetadata(S3CompressionCodec.METADATA_CODEC, codec.name());
+      assertEquals(codec, S3CompressionCodec.fromMetadata(metadata));
+    }
+    assertNull(S3CompressionCodec.fromMetadata(new ObjectMetadata()));
+  }
+
+  @Test
+  public void testUploadDownload() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    AwsS3 s3 = new AwsS3().withBucketName("bucket").withS3Client(bucket)
+      .withCompressionPolicy(new S3CompressionPolicy().withCodec("txt", S3CompressionCodec.GZIP));
+    byte[] text = new String(new char[100000]).replace('\0', 'x').getBytes(StandardCharsets.UTF_8);
+    /**
+     * Incompressible content larger than one part, so the compressed stream is
+     * uploaded in several parts.
+     */
+    byte[] random = new byte[S3MultipartOutputStream.DEFAULT_PART_SIZE + 1000];
+    new Random(1).nextBytes(random);
+    s3.upload("a.txt", new ByteArrayInputStream(text), null);
+    try (OutputStream outputStream = s3.newOutputStream("b.txt", null)) {
+      outputStream.write(random);
+    }
+    s3.upload("c.bin", new ByteArrayInputStream(text), null);
+    /**
+     * Matching keys are stored compressed and tagged with the codec.
+     */
+    ObjectMetadata metadata = bucket.getMetadata("a.txt");
+    assertEquals("gzip", metadata.getContentEncoding());
+    assertEquals("GZIP", metadata.getUserMetaDataOf(S3CompressionCodec.METADATA_CODEC));
+    assertEquals(String.valueOf(text.length), metadata.getUserMetaDataOf(S3CompressionCodec.METADATA_LENGTH));
+    assertTrue(bucket.getContent("a.txt").length < text.length / 10);
+    assertTrue(bucket.getMetadata("b.txt").getETag().endsWith("-2"));
+    assertNull(bucket.getMetadata("c.bin").getUserMetaDataOf(S3CompressionCodec.METADATA_CODEC));
+    assertArrayEquals(text, bucket.getContent("c.bin"));
+    /**
+     * Downloads decompress (and verify the stored bytes).
+     */
+    try (InputStream inputStream = s3.getInputStream("a.txt")) {
+      assertArrayEquals(text, IOUtils.toByteArray(inputStream));
+    }
+    try (InputStream inputStream = s3.getInputStream("b.txt")) {
+      assertArrayEquals(random, IOUtils.toByteArray(inputStream));
+    }
+    Path file = folder.getRoot().toPath().resolve("a.txt");
+    s3.download("a.txt", file);
+    assertArrayEquals(text, Files.readAllBytes(file));
+    s3.download("c.bin", file);
+    assertArrayEquals(text, Files.readAllBytes(file));
+  }
+
+  @Test
+  public void testUploadLengthSpanningParts() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    AwsS3 s3 = new AwsS3().withBucketName("bucket").withS3Client(bucket)
+      .withCompressionPolicy(new S3CompressionPolicy().withDefaultCodec(S3CompressionCodec.GZIP));
+    byte[] random = new byte[2 * S3MultipartOutputStream.DEFAULT_PART_SIZE];
+    new Random(1).nextBytes(random);
+    /**
+     * A known content length is recorded before the multipart upload is
+     * initiated.
+     */
+    ObjectMetadata metadata = new ObjectMetadata();
+    metadata.setContentLength(random.length);
+    s3.upload("a.bin", new ByteArrayInputStream(random), metadata);
+    assertTrue(bucket.getMetadata("a.bin").getETag().endsWith("-3"));
+    assertEquals(String.valueOf(random.length), bucket.getMetadata("a.bin").getUserMetaDataOf(S3CompressionCodec.METADATA_LENGTH));
+    /**
+     * An unknown length is counted while uploading, too late for the
+     * multipart metadata.
+     */
+    s3.upload("b.bin", new ByteArrayInputStream(random), null);
+    assertTrue(bucket.getMetadata("b.bin").getETag().endsWith("-3"));
+    assertNull(bucket.getMetadata("b.bin").getUserMetaDataOf(S3CompressionCodec.METADATA_LENGTH));
+    try (InputStream inputStream = s3.getInputStream("b.bin")) {
+      assertArrayEquals(random, IOUtils.toByteArray(inputStream));
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.*;
+import com.amazonaws.util.IOUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3ContentDeduplicatorTest {
+
+  @Test
+  public void testUpload() {
+    FakeS3 s3 = new FakeS3();
+    S3FileManager manager = new S3FileManager(s3).withDeduplicator(new S3ContentDeduplicator().withMemoryThreshold(4));
+    manager.uploadFile("a.txt", content("hello world"), null);
+    manager.uploadFile("a.txt", content("hello world"), null);
+    manager.uploadFile("b.txt", content("hello world"), null);
+    manager.uploadFile("c.txt", content("other"), null);
+    assertEquals(2, s3.puts);
+    assertEquals(1, s3.copies);
+    assertEquals("hello world", s3.objects.get("b.txt"));
+    S3ContentDeduplicator deduplicator = manager.getDeduplicator();
+    assertEquals(0.5, deduplicator.getHitRate(), 0);
+    assertEquals(22, deduplicator.getBytesSaved());
+    assertEquals(16, deduplicator.getBytesUploaded());
+    /**
+     * A cold index compares with the stored hash.
+     */
+    S3ContentDeduplicator cold = new S3ContentDeduplicator();
+    cold.upload(s3, "c.txt", content("other"), null);
+    cold.upload(s3, "c.txt", content("changed"), null);
+    assertEquals(3, s3.puts);
+    assertEquals(1, cold.getSkippedCount());
+  }
+
+  @Test
+  public void testCopyCompressed() throws IOException {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    AwsS3 s3 = new AwsS3().withBucketName("bucket").withS3Client(bucket)
+      .withCompressionPolicy(new S3CompressionPolicy().withSkip("bin").withDefaultCodec(S3CompressionCodec.GZIP));
+    String text = new String(new char[1000]).replace('\0', 'x');
+    S3ContentDeduplicator deduplicator = new S3ContentDeduplicator();
+    deduplicator.upload(s3, "a.txt", content(text), null);
+    deduplicator.upload(s3, "b.txt", content(text), null);
+    deduplicator.upload(s3, "c.bin", content("other"), null);
+    deduplicator.upload(s3, "d.txt", content("other"), null);
+    assertEquals(2, deduplicator.getCopiedCount());
+    /**
+     * The copies describe the stored bytes as their sources do.
+     */
+    ObjectMetadata compressed = bucket.getMetadata("b.txt");
+    assertEquals("gzip", compressed.getContentEncoding());
+    assertEquals("GZIP", compressed.getUserMetaDataOf(S3CompressionCodec.METADATA_CODEC));
+    assertEquals(bucket.getMetadata("a.txt").getUserMetaDataOf(S3Checksum.METADATA_CRC32C), compressed.getUserMetaDataOf(S3Checksum.METADATA_CRC32C));
+    ObjectMetadata plain = bucket.getMetadata("d.txt");
+    assertNull(plain.getContentEncoding());
+    assertNull(plain.getUserMetaDataOf(S3CompressionCodec.METADATA_CODEC));
+    try (InputStream inputStream = s3.getInputStream("b.txt")) {
+      assertEquals(text, new String(IOUtils.toByteArray(inputStream), StandardCharsets.UTF_8));
+    }
+    try (InputStream inputStream = s3.getInputStream("d.txt")) {
+      assertEquals("other", new String(IOUtils.toByteArray(inputStream), StandardCharsets.UTF_8));
+    }
+  }
+
+  private static InputStream content(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static class FakeS3 extends AwsS3 {
+
+    private final Map<String, String> objects = new HashMap<>();
+    private final Map<String, ObjectMetadata> metadata = new HashMap<>();
+    private int puts;
+    private int copies;
+
+    public FakeS3() {
+      setBucketName("bucket");
+    }
+
+    @Override
+    public PutObjectResult upload(String key, InputStream inputStream, ObjectMetadata objectMetadata) {
+      try {
+        puts++;
+        objects.put(key, new String(IOUtils.toByteArray(inputStream), StandardCharsets.UTF_8));
+        metadata.put(key, objectMetadata);
+        PutObjectResult result = new PutObjectResult();
+        result.setETag("etag-" + key);
+        return result;
+      } catch (IOException ex) {
+        throw new AssertionError(ex);
+      }
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String key) {
+      if (!metadata.containsKey(key)) {
+        AmazonS3Exception ex = new AmazonS3Exception("Not Found");
+        ex.setStatusCode(404);
+        throw ex;
+      }
+      return metadata.get(key);
+    }
+
+    @Override
+    public CopyObjectResult copyObject(CopyObjectRequest request) {
+      copies++;
+      objects.put(request.getDestinationKey(), objects.get(request.getSourceKey()));
+      metadata.put(request.getDestinationKey(), request.getNewObjectMetadata());
+      CopyObjectResult result = new CopyObjectResult();
+      result.setETag("etag-" + request.getDestinationKey());
+      return result;
+    }
+  }
+}
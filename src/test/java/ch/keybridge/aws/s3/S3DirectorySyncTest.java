@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import ch.keybridge.aws.s3.S3SyncReport.Action;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3DirectorySyncTest {
+
+  @Test
+  public void testUpload() throws Exception {
+    S3MemoryBucket bucket = newRemote();
+    Path directory = newLocal();
+    S3SyncReport report = new S3DirectorySync(new AwsS3().withS3Client(bucket).withBucketName("bucket"))
+      .withDeleteExtraneous(true)
+      .withCompareChecksums(true)
+      .upload(directory, "site");
+    assertTrue(report.getFailures().isEmpty());
+    assertEquals(Collections.singleton("site/a.txt"), keys(report, Action.CREATE));
+    assertEquals(Collections.singleton("site/b.txt"), keys(report, Action.UPDATE));
+    assertEquals(1, report.getUnchangedCount());
+    assertEquals(1501, report.count(Action.DELETE));
+    assertEquals("new", text(bucket.getContent("site/a.txt")));
+    assertEquals("changed", text(bucket.getContent("site/b.txt")));
+    assertEquals(new HashSet<>(Arrays.asList("site/a.txt", "site/b.txt", "site/c.txt")), bucket.getKeys());
+    /**
+     * Remote deletions are sent in batches of at most 1,000 keys.
+     */
+    List<Integer> batches = bucket.getRequests(DeleteObjectsRequest.class).stream()
+      .map(r -> r.getKeys().size())
+      .sorted()
+      .collect(Collectors.toList());
+    assertEquals(Arrays.asList(501, 1000), batches);
+    assertEquals(2, bucket.getRequests(PutObjectRequest.class).size());
+  }
+
+  @Test
+  public void testDryRun() throws Exception {
+    S3MemoryBucket bucket = newRemote();
+    Path directory = newLocal();
+    Set<String> keys = new HashSet<>(bucket.getKeys());
+    S3SyncReport report = new S3DirectorySync(new AwsS3().withS3Client(bucket).withBucketName("bucket"))
+      .withDeleteExtraneous(true)
+      .withCompareChecksums(true)
+      .withDryRun(true)
+      .upload(directory, "site/");
+    assertTrue(report.isDryRun());
+    assertEquals(1, report.count(Action.CREATE));
+    assertEquals(1, report.count(Action.UPDATE));
+    assertEquals(1501, report.count(Action.DELETE));
+    assertEquals(1, report.getUnchangedCount());
+    assertEquals("new".length() + "changed".length(), report.getBytesTransferred());
+    assertEquals(keys, bucket.getKeys());
+    assertTrue(bucket.getRequests(PutObjectRequest.class).isEmpty());
+    assertTrue(bucket.getRequests(DeleteObjectsRequest.class).isEmpty());
+  }
+
+  @Test
+  public void testDownload() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    bucket.put("site/x.txt", bytes("remote x"), null);
+    bucket.put("site/sub/y.txt", bytes("remote y"), null);
+    Path directory = Files.createTempDirectory("sync");
+    Files.write(directory.resolve("x.txt"), bytes("stale"));
+    Files.write(directory.resolve("z.txt"), bytes("extra"));
+    S3SyncReport report = new S3DirectorySync(new AwsS3().withS3Client(bucket).withBucketName("bucket"))
+      .withDeleteExtraneous(true)
+      .download("site", directory);
+    assertTrue(report.getFailures().isEmpty());
+    assertEquals(Collections.singleton("site/sub/y.txt"), keys(report, Action.CREATE));
+    assertEquals(Collections.singleton("site/x.txt"), keys(report, Action.UPDATE));
+    assertEquals(Collections.singleton("site/z.txt"), keys(report, Action.DELETE));
+    assertEquals("remote x", text(Files.readAllBytes(directory.resolve("x.txt"))));
+    assertEquals("remote y", text(Files.readAllBytes(directory.resolve("sub/y.txt"))));
+    assertFalse(Files.exists(directory.resolve("z.txt")));
+    /**
+     * Downloaded files take the remote modification time, so a second sync
+     * transfers nothing.
+     */
+    S3SyncReport again = new S3DirectorySync(new AwsS3().withS3Client(bucket).withBucketName("bucket"))
+      .download("site", directory);
+    assertTrue(again.getEntries().isEmpty());
+    assertEquals(2, again.getUnchangedCount());
+  }
+
+  @Test
+  public void testCompressed() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    Path directory = newLocal();
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket")
+      .withCompressionPolicy(new S3CompressionPolicy().withDefaultCodec(S3CompressionCodec.GZIP));
+    S3SyncReport report = new S3DirectorySync(s3).withCompareChecksums(true).upload(directory, "site");
+    assertEquals(3, report.count(Action.CREATE));
+    assertEquals(S3CompressionCodec.GZIP, S3CompressionCodec.fromMetadata(bucket.getMetadata("site/a.txt")));
+    /**
+     * The stored objects are compressed, so their listed size differs from
+     * the local files; they are compared by their original length.
+     */
+    S3SyncReport again = new S3DirectorySync(s3).withCompareChecksums(true).upload(directory, "site");
+    assertTrue(again.getEntries().isEmpty());
+    assertEquals(3, again.getUnchangedCount());
+    assertEquals(3, bucket.getRequests(PutObjectRequest.class).size());
+    /**
+     * A changed file of the same length is still detected by its time.
+     */
+    Files.write(directory.resolve("c.txt"), bytes("SAME"));
+    Files.setLastModifiedTime(directory.resolve("c.txt"), FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+    S3SyncReport changed = new S3DirectorySync(s3).withCompareChecksums(true).upload(directory, "site");
+    assertEquals(Collections.singleton("site/c.txt"), keys(changed, Action.UPDATE));
+    /**
+     * Downloads are decompressed and then compared the same way.
+     */
+    Path copy = Files.createTempDirectory("sync");
+    new S3DirectorySync(s3).download("site", copy);
+    assertEquals("SAME", text(Files.readAllBytes(copy.resolve("c.txt"))));
+    S3SyncReport download = new S3DirectorySync(s3).download("site", copy);
+    assertTrue(download.getEntries().isEmpty());
+    assertEquals(3, download.getUnchangedCount());
+  }
+
+  /**
+   * A remote prefix with b.txt (stale), c.txt (current), d.txt and 1,500 other
+   * objects not present locally.
+   */
+  private static S3MemoryBucket newRemote() {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    bucket.put("site/b.txt", bytes("old"), null);
+    bucket.put("site/c.txt", bytes("same"), null);
+    bucket.put("site/d.txt", bytes("extra"), null);
+    for (int i = 0; i < 1500; i++) {
+      bucket.put(String.format("site/old/%04d.txt", i), new byte[1], null);
+    }
+    return bucket;
+  }
+
+  /**
+   * A local directory with a.txt (new), b.txt (changed) and c.txt (unchanged).
+   */
+  private static Path newLocal() throws IOException {
+    Path directory = Files.createTempDirectory("sync");
+    Files.write(directory.resolve("a.txt"), bytes("new"));
+    Files.write(directory.resolve("b.txt"), bytes("changed"));
+    Files.write(directory.resolve("c.txt"), bytes("same"));
+    return directory;
+  }
+
+  private static Set<String> keys(S3SyncReport report, Action action) {
+    return report.getEntries().stream()
+      .filter(e -> e.getAction() == action)
+      .map(S3SyncReport.Entry::getKey)
+      .collect(Collectors.toSet());
+  }
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String text(byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
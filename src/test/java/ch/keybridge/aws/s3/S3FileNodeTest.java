@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3FileNodeTest {
+
+  @Test
+  public void testListDirectory() {
+    FakeS3 s3 = new FakeS3("uc/a/1.png", "uc/a/2.png", "uc/b/c/3.png", "uc/", "uc/readme.txt");
+    S3DirectoryListing listing = s3.listDirectory("uc");
+    assertEquals("uc/", listing.getPrefix());
+    assertEquals(Arrays.asList("a", "b"), listing.getDirectoryNames());
+    assertEquals(1, listing.getFiles().size());
+    assertEquals("uc/readme.txt", listing.getFiles().get(0).getKey());
+  }
+
+  @Test
+  public void testLazy() {
+    FakeS3 s3 = new FakeS3("uc/a/1.png", "uc/a/2.png", "uc/b/c/3.png", "uc/readme.txt");
+    S3FileNode root = S3FileNode.lazy(s3, "uc/", S3FileNode.DEFAULT_TTL);
+    assertEquals("uc", root.getText());
+    assertEquals(0, s3.requests);
+    assertEquals(Arrays.asList("a", "b", "readme.txt"), names(root));
+    assertEquals(Arrays.asList("a", "b", "readme.txt"), names(root));
+    assertEquals(1, s3.requests);
+    S3FileNode a = root.get("a");
+    assertEquals(Arrays.asList("1.png", "2.png"), names(a));
+    assertEquals("uc/a/1.png", a.get("1.png").getS3ObjectSummary().getKey());
+    assertEquals(2, s3.requests);
+    /**
+     * A reload keeps the loaded subdirectories.
+     */
+    root.invalidate();
+    assertSame(a, root.get("a"));
+    names(a);
+    assertEquals(3, s3.requests);
+  }
+
+  private static List<String> names(S3FileNode node) {
+    return node.getNodes().stream().map(S3FileNode::getText).collect(Collectors.toList());
+  }
+
+  private static class FakeS3 extends AwsS3 {
+
+    private final SortedSet<String> keys;
+    private int requests;
+
+    public FakeS3(String... keys) {
+      this.keys = new TreeSet<>(Arrays.asList(keys));
+    }
+
+    @Override
+    public Stream<ListObjectsV2Result> streamPages(String prefix, String delimiter) {
+      requests++;
+      ListObjectsV2Result result = new ListObjectsV2Result();
+      Set<String> commonPrefixes = new TreeSet<>();
+      for (String key : keys) {
+        if (key.startsWith(prefix)) {
+          int slash = key.indexOf(delimiter, prefix.length());
+          if (slash >= 0) {
+            commonPrefixes.add(key.substring(0, slash + 1));
+          } else {
+            S3ObjectSummary summary = new S3ObjectSummary();
+            summary.setKey(key);
+            result.getObjectSummaries().add(summary);
+          }
+        }
+      }
+      result.setCommonPrefixes(new ArrayList<>(commonPrefixes));
+      return Stream.of(result);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3FileSystemTest {
+
+  @Test
+  public void testPath() throws Exception {
+    try (S3FileSystem fileSystem = newFileSystem(new FakeS3())) {
+      S3Path path = fileSystem.getPath("/data", "2026", "report.csv");
+      assertEquals("data/2026/report.csv", path.getKey());
+      assertEquals("report.csv", path.getFileName().toString());
+      assertEquals("/data/2026", path.getParent().toString());
+      assertEquals(3, path.getNameCount());
+      assertEquals(URI.create("s3://bucket/data/2026/report.csv"), path.toUri());
+      assertEquals(path, fileSystem.getPath("/data").resolve("2026/./x/../report.csv").normalize());
+      assertEquals(fileSystem.getPath("2026/report.csv"), fileSystem.getPath("/data").relativize(path));
+      assertTrue(path.startsWith("/data"));
+      assertTrue(fileSystem.getPathMatcher("glob:**/*.csv").matches(path));
+    }
+  }
+
+  @Test
+  public void testListAndAttributes() throws Exception {
+    FakeS3 s3 = new FakeS3();
+    try (S3FileSystem fileSystem = newFileSystem(s3)) {
+      Path data = fileSystem.getPath("/data");
+      assertTrue(Files.isDirectory(data));
+      List<String> names;
+      try (Stream<Path> list = Files.list(data)) {
+        names = list.map(p -> p.getFileName().toString()).collect(Collectors.toList());
+      }
+      assertEquals(Arrays.asList("2026", "a.txt", "b.txt"), names);
+      /**
+       * Listed attributes are cached: no HEAD requests.
+       */
+      int heads = s3.heads;
+      BasicFileAttributes attributes = Files.readAttributes(data.resolve("b.txt"), BasicFileAttributes.class);
+      assertEquals(20, attributes.size());
+      assertTrue(attributes.isRegularFile());
+      assertTrue(Files.isDirectory(data.resolve("2026")));
+      assertEquals(heads, s3.heads);
+      assertFalse(Files.exists(data.resolve("missing.txt")));
+      try {
+        Files.delete(data);
+        fail("Directory is not empty");
+      } catch (DirectoryNotEmptyException ex) {
+      }
+    }
+  }
+
+  @Test
+  public void testWriteAndCopy() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    AwsS3 s3 = new AwsS3().withBucketName("bucket").withS3Client(bucket)
+      .withCompressionPolicy(new S3CompressionPolicy().withDefaultCodec(S3CompressionCodec.GZIP));
+    byte[] content = new String(new char[1000]).replace('\0', 'x').getBytes(StandardCharsets.UTF_8);
+    try (S3FileSystem fileSystem = newFileSystem(s3)) {
+      Path a = fileSystem.getPath("/data/a.txt");
+      Path b = fileSystem.getPath("/data/b.txt");
+      /**
+       * Written content is stored verbatim, so the size and ranged reads
+       * address the written bytes.
+       */
+      Files.write(a, content);
+      Files.write(b, new byte[]{1});
+      assertArrayEquals(content, bucket.getContent("data/a.txt"));
+      assertEquals(content.length, Files.size(a));
+      assertArrayEquals(content, Files.readAllBytes(a));
+      /**
+       * The copy replaces the target in place.
+       */
+      Files.copy(a, b, StandardCopyOption.REPLACE_EXISTING);
+      assertArrayEquals(content, bucket.getContent("data/b.txt"));
+      assertEquals(content.length, Files.size(b));
+      assertEquals(1, bucket.getRequests(CopyObjectRequest.class).size());
+      assertTrue(bucket.getRequests(DeleteObjectRequest.class).isEmpty());
+      try {
+        Files.copy(a, b);
+        fail("Target exists");
+      } catch (FileAlreadyExistsException ex) {
+      }
+    }
+  }
+
+  private static S3FileSystem newFileSystem(AwsS3 s3) {
+    Map<String, Object> env = new HashMap<>();
+    env.put(S3FileSystemProvider.ENV_CLIENT, s3);
+    return new S3FileSystemProvider().newFileSystem(URI.create("s3://bucket"), env);
+  }
+
+  /**
+   * A bucket with the keys data/a.txt, data/b.txt and data/2026/report.csv.
+   */
+  private static class FakeS3 extends AwsS3 {
+
+    private final Map<String, Long> objects = new TreeMap<>();
+    private int heads;
+
+    public FakeS3() {
+      objects.put("data/a.txt", 10L);
+      objects.put("data/b.txt", 20L);
+      objects.put("data/2026/report.csv", 30L);
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String key) {
+      heads++;
+      if (!objects.containsKey(key)) {
+        AmazonS3Exception ex = new AmazonS3Exception("Not Found");
+        ex.setStatusCode(404);
+        throw ex;
+      }
+      ObjectMetadata metadata = new ObjectMetadata();
+      metadata.setContentLength(objects.get(key));
+      return metadata;
+    }
+
+    @Override
+    public Stream<ListObjectsV2Result> streamPages(String prefix, String delimiter) {
+      ListObjectsV2Result result = new ListObjectsV2Result();
+      Set<String> commonPrefixes = new TreeSet<>();
+      objects.forEach((key, size) -> {
+        if (key.startsWith(prefix)) {
+          int slash = key.indexOf(delimiter, prefix.length());
+          if (slash >= 0) {
+            commonPrefixes.add(key.substring(0, slash + 1));
+          } else {
+            S3ObjectSummary summary = new S3ObjectSummary();
+            summary.setKey(key);
+            summary.setSize(size);
+            summary.setLastModified(new Date());
+            result.getObjectSummaries().add(summary);
+          }
+        }
+      });
+      result.setCommonPrefixes(new ArrayList<>(commonPrefixes));
+      return Stream.of(result);
+    }
+  }
+}
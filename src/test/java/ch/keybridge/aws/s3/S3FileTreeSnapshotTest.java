@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3FileTreeSnapshotTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testWriteRead() throws Exception {
+    FakeS3 s3 = new FakeS3();
+    S3FileNode tree = new S3FileManager(s3).getFileTree();
+    Path file = folder.getRoot().toPath().resolve("tree.snapshot");
+    S3FileTreeSnapshot.write(tree, "bucket", file);
+    S3FileTreeSnapshot snapshot = S3FileTreeSnapshot.read(file);
+    assertEquals("bucket", snapshot.getStamp());
+    assertFalse(snapshot.isOlderThan(60_000));
+    assertEquals(describe(tree), describe(snapshot.getRoot()));
+  }
+
+  @Test
+  public void testServeStale() throws Exception {
+    FakeS3 s3 = new FakeS3();
+    S3FileManager manager = new S3FileManager(s3);
+    Path file = folder.getRoot().toPath().resolve("tree.snapshot");
+    S3FileNode built = manager.getFileTree(file, 60_000);
+    assertTrue(Files.exists(file));
+    assertEquals(1, s3.lists);
+    /**
+     * A fresh snapshot is used as is; a stale one is served then refreshed.
+     */
+    assertEquals(describe(built), describe(manager.getFileTree(file, 60_000)));
+    assertEquals(1, s3.lists);
+    manager.getFileTree(file, -1);
+    manager.refreshFileTree(file).get(10, TimeUnit.SECONDS);
+    assertTrue(s3.lists >= 2);
+    /**
+     * A snapshot of another bucket is not used.
+     */
+    s3.setBucketName("other");
+    manager.getFileTree(file, 60_000);
+    assertEquals("other", S3FileTreeSnapshot.read(file).getStamp());
+  }
+
+  private static String describe(S3FileNode node) {
+    StringBuilder sb = new StringBuilder(node.getText());
+    S3ObjectSummary summary = node.getS3ObjectSummary();
+    if (summary != null) {
+      sb.append('=').append(summary.getBucketName()).append('|').append(summary.getKey()).append('|').append(summary.getETag())
+        .append('|').append(summary.getSize()).append('|').append(summary.getLastModified()).append('|').append(summary.getStorageClass());
+    }
+    sb.append('[');
+    for (S3FileNode child : node.getNodes()) {
+      sb.append(describe(child)).append(',');
+    }
+    return sb.append(']').toString();
+  }
+
+  private static class FakeS3 extends AwsS3 {
+
+    private volatile int lists;
+
+    public FakeS3() {
+      setBucketName("bucket");
+    }
+
+    @Override
+    public synchronized List<S3ObjectSummary> list(String prefix) {
+      lists++;
+      List<S3ObjectSummary> summaries = new ArrayList<>();
+      String[] keys = {"uc/87982fbbd3/206a2dcd.xml", "uc/87982fbbd3/border.sql.gz", "uc/90afd80709/01acd559.png", "readme.txt"};
+      for (int i = 0; i < keys.length; i++) {
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setBucketName(getBucketName());
+        summary.setKey(keys[i]);
+        summary.setETag(i == 0 ? null : "etag" + i);
+        summary.setSize(i * 100);
+        summary.setLastModified(i == 1 ? null : new Date(1792281600000L + i));
+        summary.setStorageClass("STANDARD");
+        summaries.add(summary);
+      }
+      return summaries;
+    }
+  }
+}
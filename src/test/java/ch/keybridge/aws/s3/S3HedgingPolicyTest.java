@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import java.io.Closeable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3HedgingPolicyTest {
+
+  @Test
+  public void testHedge() throws Exception {
+    S3HedgingPolicy policy = new S3HedgingPolicy().withMinSamples(32).withMinDelay(20, TimeUnit.MILLISECONDS);
+    assertEquals(Long.MAX_VALUE, policy.getHedgeDelay(TimeUnit.MILLISECONDS));
+    for (int i = 0; i < 40; i++) {
+      assertEquals("fast", policy.execute(() -> "fast"));
+    }
+    assertTrue(policy.getHedgeDelay(TimeUnit.MILLISECONDS) < 100);
+    /**
+     * The first attempt stalls; the hedge returns and the stalled attempt is
+     * interrupted.
+     */
+    long hedges = policy.getHedgeCount();
+    long wins = policy.getHedgeWinCount();
+    AtomicInteger attempts = new AtomicInteger();
+    CountDownLatch interrupted = new CountDownLatch(1);
+    CountDownLatch closed = new CountDownLatch(1);
+    long start = System.nanoTime();
+    Closeable result = policy.execute(() -> {
+      if (attempts.getAndIncrement() == 0) {
+        try {
+          Thread.sleep(10_000);
+        } catch (InterruptedException ex) {
+          interrupted.countDown();
+        }
+        return closed::countDown;
+      }
+      return () -> fail("winner closed");
+    });
+    assertNotNull(result);
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    assertEquals(hedges + 1, policy.getHedgeCount());
+    assertEquals(wins + 1, policy.getHedgeWinCount());
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    /**
+     * The late loser result is released.
+     */
+    assertTrue(closed.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testBudget() throws Exception {
+    S3HedgingPolicy policy = new S3HedgingPolicy().withMinSamples(1).withMinDelay(1, TimeUnit.MILLISECONDS).withBudget(0);
+    policy.execute(() -> "warm");
+    assertEquals("slow", policy.execute(() -> {
+      Thread.sleep(50);
+      return "slow";
+    }));
+    assertEquals(0, policy.getHedgeCount());
+    assertEquals(1, policy.getBudgetExhaustedCount());
+  }
+
+  @Test
+  public void testFailure() {
+    S3HedgingPolicy policy = new S3HedgingPolicy();
+    try {
+      policy.execute(() -> {
+        throw new IllegalStateException("boom");
+      });
+      fail("expected failure");
+    } catch (IllegalStateException ex) {
+      assertEquals("boom", ex.getMessage());
+    }
+  }
+}
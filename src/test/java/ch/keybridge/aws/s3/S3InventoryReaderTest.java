@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3InventoryReaderTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static void writeDataFile(Path file, String... lines) throws Exception {
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file));
+         Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+      for (String line : lines) {
+        writer.write(line + "\n");
+      }
+    }
+  }
+
+  @Test
+  public void testReadLocalInventory() throws Exception {
+    Path directory = folder.getRoot().toPath();
+    Files.createDirectories(directory.resolve("data"));
+    writeDataFile(directory.resolve("data/a.csv.gz"),
+                  "\"my-aws-bucket\",\"uc/87982fbbd3/world+border.sql.gz\",\"1024\",\"2019-02-27T12:00:00.000Z\",\"0123456789abcdef0123456789abcdef\",\"STANDARD\"",
+                  "\"my-aws-bucket\",\"uc/90afd80709/01acd559.png\",\"10\",\"2019-02-28T12:00:00.000Z\",\"fedcba9876543210fedcba9876543210\",\"GLACIER\"");
+    writeDataFile(directory.resolve("data/b.csv.gz"),
+                  "\"my-aws-bucket\",\"uc/90afd80709/07313419.jpg\",\"20\",\"2019-03-01T12:00:00.000Z\",\"00000000000000000000000000000000\",\"STANDARD\"");
+    Files.write(directory.resolve("manifest.json"), ("{\"sourceBucket\":\"my-aws-bucket\",\"fileFormat\":\"CSV\","
+                                                      + "\"fileSchema\":\"Bucket, Key, Size, LastModifiedDate, ETag, StorageClass\","
+                                                      + "\"files\":[{\"key\":\"inventory/my-aws-bucket/cfg/data/a.csv.gz\"},"
+                                                      + "{\"key\":\"inventory/my-aws-bucket/cfg/data/b.csv.gz\"}]}").getBytes(StandardCharsets.UTF_8));
+
+    S3InventoryReader reader = S3InventoryReader.fromDirectory(directory.resolve("manifest.json"));
+    assertEquals("my-aws-bucket", reader.getSourceBucket());
+    Map<String, S3ObjectSummary> records;
+    try (Stream<S3ObjectSummary> stream = reader.stream()) {
+      records = stream.collect(Collectors.toMap(S3ObjectSummary::getKey, Function.identity()));
+    }
+    assertEquals(3, records.size());
+    S3ObjectSummary border = records.get("uc/87982fbbd3/world border.sql.gz");
+    assertNotNull(border);
+    assertEquals(1024, border.getSize());
+    assertEquals("STANDARD", border.getStorageClass());
+    assertEquals("GLACIER", records.get("uc/90afd80709/01acd559.png").getStorageClass());
+
+    S3FileNode root = new S3FileManager(new AwsS3()).getFileTree(reader.stream());
+    assertNotNull(root.get("my-aws-bucket").get("uc").get("90afd80709").get("07313419.jpg"));
+  }
+
+  @Test
+  public void testCloseEarly() throws Exception {
+    Path directory = folder.getRoot().toPath();
+    Files.createDirectories(directory.resolve("data"));
+    StringBuilder files = new StringBuilder();
+    String[] lines = new String[30_000];
+    for (int f = 0; f < 4; f++) {
+      for (int i = 0; i < lines.length; i++) {
+        lines[i] = "\"bucket\",\"key/" + f + "/" + i + "\",\"1\"";
+      }
+      writeDataFile(directory.resolve("data/" + f + ".csv.gz"), lines);
+      files.append(f == 0 ? "" : ",").append("{\"key\":\"inventory/data/").append(f).append(".csv.gz\"}");
+    }
+    Files.write(directory.resolve("manifest.json"), ("{\"sourceBucket\":\"bucket\",\"fileFormat\":\"CSV\","
+                                                      + "\"fileSchema\":\"Bucket, Key, Size\",\"files\":[" + files + "]}").getBytes(StandardCharsets.UTF_8));
+    S3InventoryReader reader = S3InventoryReader.fromDirectory(directory.resolve("manifest.json")).withParallelism(4);
+    try (Stream<S3ObjectSummary> stream = reader.stream()) {
+      assertEquals(10, stream.limit(10).count());
+      /**
+       * Let the parsers fill the queue and block.
+       */
+      Thread.sleep(500);
+    }
+    /**
+     * The parsers blocked on the full queue stop once the stream is closed.
+     */
+    long deadline = System.currentTimeMillis() + 5000;
+    while (countParserThreads() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(0, countParserThreads());
+  }
+
+  private static long countParserThreads() {
+    return Thread.getAllStackTraces().keySet().stream()
+      .filter(t -> t.isAlive() && t.getName().equals("s3-inventory-reader"))
+      .count();
+  }
+}
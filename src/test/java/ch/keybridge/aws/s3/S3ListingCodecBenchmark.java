@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Listing encode and decode time: S3ListingCodec compared with JAXB XML, for
+ * a listing of 100,000 objects. The encoded sizes are printed at setup.
+ * <p>
+ * Run with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=ch.keybridge.aws.s3.S3ListingCodecBenchmark -Dexec.classpathScope=test}
+ * or from the IDE.
+ *
+ * @author Key Bridge
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class S3ListingCodecBenchmark {
+
+  private static final int COUNT = 100_000;
+
+  private List<S3ObjectSummary> summaries;
+  private Listing listing;
+  private JAXBContext context;
+  private byte[] binary;
+  private byte[] json;
+  private byte[] xml;
+
+  @Setup
+  public void setup() throws Exception {
+    summaries = new ArrayList<>(COUNT);
+    long time = 1792281600000L;
+    for (int i = 0; i < COUNT; i++) {
+      S3ObjectSummary summary = new S3ObjectSummary();
+      summary.setBucketName("tiles");
+      summary.setKey(String.format("map/%d/%05d/%05d.png", i % 12, i / 300, i % 300));
+      summary.setETag(String.format("%032x", i * 2654435761L));
+      summary.setSize(1000 + i % 50_000);
+      summary.setLastModified(new Date(time + i * 37L));
+      summary.setStorageClass("STANDARD");
+      summaries.add(summary);
+    }
+    summaries.sort((a, b) -> a.getKey().compareTo(b.getKey()));
+    listing = new Listing();
+    listing.objects = summaries.stream().map(S3FileObject::new).collect(Collectors.toList());
+    context = JAXBContext.newInstance(Listing.class);
+    binary = encode(S3ListingCodec.BINARY);
+    json = encode(S3ListingCodec.JSON);
+    xml = jaxbEncode();
+    System.out.printf("%nbinary %,d bytes, json %,d bytes, xml %,d bytes%n", binary.length, json.length, xml.length);
+  }
+
+  private byte[] encode(S3ListingCodec codec) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    codec.encode(summaries, out);
+    return out.toByteArray();
+  }
+
+  private byte[] jaxbEncode() throws JAXBException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    context.createMarshaller().marshal(listing, out);
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public byte[] binaryEncode() throws IOException {
+    return encode(S3ListingCodec.BINARY);
+  }
+
+  @Benchmark
+  public long binaryDecode() throws IOException {
+    return S3ListingCodec.BINARY.decode(new ByteArrayInputStream(binary)).count();
+  }
+
+  @Benchmark
+  public byte[] jsonEncode() throws IOException {
+    return encode(S3ListingCodec.JSON);
+  }
+
+  @Benchmark
+  public long jsonDecode() throws IOException {
+    return S3ListingCodec.JSON.decode(new ByteArrayInputStream(json)).count();
+  }
+
+  @Benchmark
+  public byte[] xmlEncode() throws JAXBException {
+    return jaxbEncode();
+  }
+
+  @Benchmark
+  public int xmlDecode() throws JAXBException {
+    return ((Listing) context.createUnmarshaller().unmarshal(new ByteArrayInputStream(xml))).objects.size();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(S3ListingCodecBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  /**
+   * The JAXB listing document.
+   */
+  @XmlRootElement(name = "Listing")
+  @XmlAccessorType(XmlAccessType.FIELD)
+  public static class Listing {
+
+    @XmlElement(name = "S3FileObject")
+    private List<S3FileObject> objects;
+  }
+}
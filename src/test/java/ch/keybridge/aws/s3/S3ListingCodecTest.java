@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3ListingCodecTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    List<S3ObjectSummary> summaries = Arrays.asList(
+      summary("bucket", "data/2026/a.csv", "9e107d9d372bb6826bd81d3542a419d6", 1000, 1792281600000L, "STANDARD"),
+      summary("bucket", "data/2026/b.csv", "9e107d9d372bb6826bd81d3542a419d6-12", 0, 1792281599000L, "STANDARD"),
+      summary("bucket", "data/2026/é \"quoted\"\n.txt", "\"not-an-md5\"", Long.MAX_VALUE, null, null),
+      summary("other", "x", null, 5, 0L, "GLACIER"));
+    for (S3ListingCodec codec : S3ListingCodec.values()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      codec.encode(summaries, out);
+      List<S3ObjectSummary> decoded;
+      try (Stream<S3ObjectSummary> stream = codec.decode(new ByteArrayInputStream(out.toByteArray()))) {
+        decoded = stream.collect(Collectors.toList());
+      }
+      assertEquals(codec.name(), summaries.size(), decoded.size());
+      for (int i = 0; i < summaries.size(); i++) {
+        assertEquals(codec.name(), toString(summaries.get(i)), toString(decoded.get(i)));
+      }
+    }
+  }
+
+  @Test
+  public void testJsonUnknownFields() throws Exception {
+    String json = " [ {\"owner\": {\"id\": \"1\", \"tags\": [1, {}]}, \"key\" : \"a\u00e9\", \"size\": 3, \"x\": true} ] ";
+    List<S3ObjectSummary> decoded = S3ListingCodec.JSON.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))).collect(Collectors.toList());
+    assertEquals(1, decoded.size());
+    assertEquals("aé", decoded.get(0).getKey());
+    assertEquals(3, decoded.get(0).getSize());
+  }
+
+  private static S3ObjectSummary summary(String bucket, String key, String eTag, long size, Long lastModified, String storageClass) {
+    S3ObjectSummary summary = new S3ObjectSummary();
+    summary.setBucketName(bucket);
+    summary.setKey(key);
+    summary.setETag(eTag);
+    summary.setSize(size);
+    summary.setLastModified(lastModified == null ? null : new Date(lastModified));
+    summary.setStorageClass(storageClass);
+    return summary;
+  }
+
+  private static String toString(S3ObjectSummary s) {
+    return s.getBucketName() + "|" + s.getKey() + "|" + s.getETag() + "|" + s.getSize() + "|" + s.getLastModified() + "|" + s.getStorageClass();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3ListingQueryTest {
+
+  @Test
+  public void testGlob() {
+    S3ListingQuery query = new S3ListingQuery().withGlob("tiles/*/z?.{png,jpg}");
+    assertEquals("tiles/", query.getListingPrefix());
+    assertTrue(query.test(summary("tiles/a/z1.png", 1, 0)));
+    assertTrue(query.test(summary("tiles/b/z2.jpg", 1, 0)));
+    assertFalse(query.test(summary("tiles/a/b/z1.png", 1, 0)));
+    assertFalse(query.test(summary("tiles/a/z10.png", 1, 0)));
+    assertTrue(new S3ListingQuery().withGlob("tiles/**.png").test(summary("tiles/a/b/z1.png", 1, 0)));
+    assertTrue(new S3ListingQuery().withGlob("a[!0-9].txt").test(summary("ab.txt", 1, 0)));
+    assertFalse(new S3ListingQuery().withGlob("a[!0-9].txt").test(summary("a1.txt", 1, 0)));
+    /**
+     * The longer of the explicit and glob prefixes is listed.
+     */
+    assertEquals("tiles/a/b", new S3ListingQuery().withPrefix("tiles/a/").withGlob("tiles/a/b*").getListingPrefix());
+    assertEquals("logs/", new S3ListingQuery().withPrefix("logs/").withGlob("tiles/*").getListingPrefix());
+    /**
+     * A comma or closing brace outside a group is part of the literal prefix.
+     */
+    S3ListingQuery punctuated = new S3ListingQuery().withGlob("a,b}/*.csv");
+    assertEquals("a,b}/", punctuated.getListingPrefix());
+    assertTrue(punctuated.test(summary("a,b}/x.csv", 1, 0)));
+  }
+
+  @Test
+  public void testFilters() {
+    S3ListingQuery query = new S3ListingQuery()
+      .withExtensions("CSV")
+      .withSizeRange(10, 100)
+      .withModifiedAfter(new Date(1000))
+      .withModifiedBefore(new Date(2000))
+      .withStorageClasses("STANDARD");
+    assertTrue(query.test(summary("a/b.csv", 10, 1000)));
+    assertTrue(query.test(summary("a/b.Csv", 100, 1999)));
+    assertFalse(query.test(summary("a/b.json", 50, 1500)));
+    assertFalse(query.test(summary("a/b.csv", 101, 1500)));
+    assertFalse(query.test(summary("a/b.csv", 50, 2000)));
+    assertFalse(query.test(summary("a/b.csv", 50, 999)));
+    S3ObjectSummary glacier = summary("a/b.csv", 50, 1500);
+    glacier.setStorageClass("GLACIER");
+    assertFalse(query.test(glacier));
+  }
+
+  @Test
+  public void testPushdown() {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    for (int i = 0; i < 100; i++) {
+      bucket.put(String.format("data/%03d.%s", i, i % 2 == 0 ? "csv" : "json"), 1, new Date(0));
+    }
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withMaxKeys(10);
+    s3.setBucketName("bucket");
+    S3ListingQuery query = new S3ListingQuery()
+      .withPrefix("data/")
+      .withExtensions("csv")
+      .withKeyRange("data/040.csv", "data/060.csv");
+    List<String> keys;
+    try (Stream<S3ObjectSummary> stream = s3.query(query)) {
+      keys = stream.map(S3ObjectSummary::getKey).collect(Collectors.toList());
+    }
+    assertEquals(Arrays.asList("data/042.csv", "data/044.csv", "data/046.csv", "data/048.csv", "data/050.csv",
+                               "data/052.csv", "data/054.csv", "data/056.csv", "data/058.csv"), keys);
+    /**
+     * Listing starts after the lower bound and stops at the upper bound.
+     */
+    assertEquals("data/040.csv", bucket.getRequests(ListObjectsV2Request.class).get(0).getStartAfter());
+    assertEquals("data/", bucket.getRequests(ListObjectsV2Request.class).get(0).getPrefix());
+    assertEquals(2, bucket.getRequests(ListObjectsV2Request.class).size());
+  }
+
+  private static S3ObjectSummary summary(String key, long size, long lastModified) {
+    S3ObjectSummary summary = new S3ObjectSummary();
+    summary.setKey(key);
+    summary.setSize(size);
+    summary.setLastModified(new Date(lastModified));
+    summary.setStorageClass("STANDARD");
+    return summary;
+  }
+}
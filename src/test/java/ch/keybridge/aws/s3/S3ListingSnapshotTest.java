@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3ListingSnapshotTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static S3ObjectSummary summary(String key, long size) {
+    S3ObjectSummary summary = new S3ObjectSummary();
+    summary.setKey(key);
+    summary.setSize(size);
+    summary.setLastModified(new Date(1_600_000_000_000L + size));
+    summary.setETag("0123456789abcdef0123456789abcdef");
+    return summary;
+  }
+
+  private static List<S3ObjectSummary> listing() {
+    List<S3ObjectSummary> listing = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      listing.add(summary(String.format("uc/%03d/file.png", i), i));
+    }
+    listing.add(summary("uc/z.xml", 1000));
+    return listing;
+  }
+
+  @Test
+  public void testQuery() throws Exception {
+    Path file = folder.getRoot().toPath().resolve("listing.snapshot");
+    S3ListingSnapshot.write(file, "my-aws-bucket", listing().iterator());
+    try (S3ListingSnapshot snapshot = S3ListingSnapshot.open(file)) {
+      assertEquals(101, snapshot.size());
+      assertEquals("my-aws-bucket", snapshot.getBucketName());
+      assertEquals(4950 + 1000, snapshot.getTotalSize());
+
+      S3ObjectSummary found = snapshot.get("uc/042/file.png");
+      assertNotNull(found);
+      assertEquals(42, found.getSize());
+      assertEquals(1_600_000_000_042L, found.getLastModified().getTime());
+      assertEquals("0123456789abcdef0123456789abcdef", found.getETag());
+      assertNull(snapshot.get("uc/042/file.jpg"));
+      assertNull(snapshot.get("zz"));
+
+      assertEquals(10, snapshot.count("uc/01"));
+      assertEquals(145, snapshot.sizeOf("uc/01"));
+      List<String> keys = snapshot.scan("uc/09").map(S3ObjectSummary::getKey).collect(Collectors.toList());
+      assertEquals(10, keys.size());
+      assertEquals("uc/090/file.png", keys.get(0));
+      assertEquals("uc/099/file.png", keys.get(9));
+      assertEquals(101, snapshot.scan(null).count());
+    }
+  }
+
+  @Test
+  public void testRefreshPrefix() throws Exception {
+    Path file = folder.getRoot().toPath().resolve("listing.snapshot");
+    S3ListingSnapshot.write(file, "my-aws-bucket", listing().iterator());
+    List<S3ObjectSummary> fresh = new ArrayList<>();
+    fresh.add(summary("uc/050/file.png", 5));
+    fresh.add(summary("uc/050/new.png", 7));
+    try (S3ListingSnapshot snapshot = S3ListingSnapshot.open(file);
+         S3ListingSnapshot refreshed = snapshot.refresh("uc/05", fresh.iterator())) {
+      assertEquals(101 - 10 + 2, refreshed.size());
+      assertEquals(5, refreshed.get("uc/050/file.png").getSize());
+      assertNotNull(refreshed.get("uc/050/new.png"));
+      assertNull(refreshed.get("uc/051/file.png"));
+      assertNotNull(refreshed.get("uc/049/file.png"));
+      assertNotNull(refreshed.get("uc/060/file.png"));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsortedListing() throws Exception {
+    List<S3ObjectSummary> listing = listing();
+    listing.add(summary("a", 1));
+    S3ListingSnapshot.write(folder.getRoot().toPath().resolve("bad.snapshot"), "b", listing.iterator());
+  }
+
+}
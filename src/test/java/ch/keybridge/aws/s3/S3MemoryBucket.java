@@ -0,0 +1,484 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.*;
+import com.amazonaws.util.Base64;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.IOUtils;
+import com.amazonaws.util.Md5Utils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An in-memory bucket for tests.
+ * <p>
+ * Supports paged and delimited listings, HEAD, ranged GET, PUT, single and
+ * multipart copies, multipart uploads, single and batch deletes and object
+ * tagging. Objects have S3 style ETags and are listed in key order. Content
+ * MD5 headers and ETag copy conditions are checked. All requests are
+ * recorded.
+ *
+ * @author Key Bridge
+ */
+public class S3MemoryBucket extends AbstractAmazonS3 {
+
+  /**
+   * The stored objects, in key order.
+   */
+  private final ConcurrentSkipListMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+  /**
+   * The multipart uploads in progress.
+   */
+  private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+  /**
+   * The requests received. Listing requests are copied as the client reuses
+   * them for each page.
+   */
+  private final List<AmazonWebServiceRequest> requests = new CopyOnWriteArrayList<>();
+  /**
+   * Keys whose batch delete fails with AccessDenied.
+   */
+  private final Set<String> protectedKeys = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Store an object.
+   *
+   * @param key      the key
+   * @param content  the content
+   * @param metadata OPTIONAL. the metadata; the content length and ETag are
+   *                 set from the content
+   * @return the stored metadata
+   */
+  public ObjectMetadata put(String key, byte[] content, ObjectMetadata metadata) {
+    return store(key, content, metadata, BinaryUtils.toHex(Md5Utils.computeMD5Hash(content)), Collections.emptyList());
+  }
+
+  /**
+   * Store an object of zeros last modified at the given time.
+   *
+   * @param key          the key
+   * @param size         the content length
+   * @param lastModified the last modified time
+   * @return the stored metadata
+   */
+  public ObjectMetadata put(String key, int size, Date lastModified) {
+    ObjectMetadata metadata = put(key, new byte[size], null);
+    metadata.setLastModified(lastModified);
+    return metadata;
+  }
+
+  /**
+   * Get the stored metadata of an object. Changes are visible to subsequent
+   * requests.
+   *
+   * @param key the key
+   * @return the metadata; null if the object does not exist
+   */
+  public ObjectMetadata getMetadata(String key) {
+    StoredObject object = objects.get(key);
+    return object == null ? null : object.metadata;
+  }
+
+  /**
+   * Get the content of an object.
+   *
+   * @param key the key
+   * @return the content; null if the object does not exist
+   */
+  public byte[] getContent(String key) {
+    StoredObject object = objects.get(key);
+    return object == null ? null : object.content;
+  }
+
+  public List<Tag> getTags(String key) {
+    StoredObject object = objects.get(key);
+    return object == null ? null : object.tags;
+  }
+
+  public Set<String> getKeys() {
+    return objects.keySet();
+  }
+
+  /**
+   * Get the requests of a type.
+   *
+   * @param <T>  the request type
+   * @param type the request class
+   * @return the requests in the order received
+   */
+  public <T extends AmazonWebServiceRequest> List<T> getRequests(Class<T> type) {
+    List<T> list = new ArrayList<>();
+    requests.stream().filter(type::isInstance).map(type::cast).forEach(list::add);
+    return list;
+  }
+
+  public Set<String> getProtectedKeys() {
+    return protectedKeys;
+  }
+
+  public Map<String, ?> getUploads() {
+    return uploads;
+  }
+
+  @Override
+  public ListObjectsV2Result listObjectsV2(ListObjectsV2Request request) {
+    requests.add(new ListObjectsV2Request()
+      .withPrefix(request.getPrefix())
+      .withDelimiter(request.getDelimiter())
+      .withStartAfter(request.getStartAfter())
+      .withContinuationToken(request.getContinuationToken())
+      .withMaxKeys(request.getMaxKeys()));
+    String prefix = request.getPrefix() == null ? "" : request.getPrefix();
+    String after = request.getContinuationToken() != null ? request.getContinuationToken() : request.getStartAfter();
+    int maxKeys = request.getMaxKeys() == null ? 1000 : request.getMaxKeys();
+    ListObjectsV2Result result = new ListObjectsV2Result();
+    result.setPrefix(request.getPrefix());
+    result.setDelimiter(request.getDelimiter());
+    String last = null;
+    for (Map.Entry<String, StoredObject> entry : (after == null ? objects : objects.tailMap(after, false)).entrySet()) {
+      String key = entry.getKey();
+      if (!key.startsWith(prefix)) {
+        if (key.compareTo(prefix) > 0) {
+          break;
+        }
+        continue;
+      }
+      String commonPrefix = null;
+      if (request.getDelimiter() != null) {
+        int index = key.indexOf(request.getDelimiter(), prefix.length());
+        if (index >= 0) {
+          commonPrefix = key.substring(0, index + request.getDelimiter().length());
+          if (result.getCommonPrefixes().contains(commonPrefix)) {
+            last = key;
+            continue;
+          }
+        }
+      }
+      if (result.getKeyCount() == maxKeys) {
+        result.setTruncated(true);
+        result.setNextContinuationToken(last);
+        break;
+      }
+      if (commonPrefix != null) {
+        result.getCommonPrefixes().add(commonPrefix);
+      } else {
+        result.getObjectSummaries().add(entry.getValue().toSummary(key));
+      }
+      result.setKeyCount(result.getKeyCount() + 1);
+      last = key;
+    }
+    return result;
+  }
+
+  @Override
+  public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+    return getObjectMetadata(new GetObjectMetadataRequest(bucketName, key));
+  }
+
+  @Override
+  public ObjectMetadata getObjectMetadata(GetObjectMetadataRequest request) {
+    requests.add(request);
+    return find(request.getKey()).metadata.clone();
+  }
+
+  @Override
+  public S3Object getObject(String bucketName, String key) {
+    return getObject(new GetObjectRequest(bucketName, key));
+  }
+
+  @Override
+  public S3Object getObject(GetObjectRequest request) {
+    requests.add(request);
+    StoredObject object = find(request.getKey());
+    byte[] content = object.content;
+    long[] range = request.getRange();
+    if (range != null) {
+      int start = (int) Math.min(range[0], content.length);
+      int end = (int) Math.min(range[1] + 1, content.length);
+      content = Arrays.copyOfRange(content, start, end);
+    }
+    S3Object s3Object = new S3Object();
+    s3Object.setBucketName(request.getBucketName());
+    s3Object.setKey(request.getKey());
+    s3Object.setObjectMetadata(object.metadata.clone());
+    if (range != null) {
+      s3Object.getObjectMetadata().setContentLength(content.length);
+    }
+    s3Object.setObjectContent(new ByteArrayInputStream(content));
+    return s3Object;
+  }
+
+  @Override
+  public PutObjectResult putObject(PutObjectRequest request) {
+    requests.add(request);
+    byte[] content;
+    try (InputStream inputStream = request.getInputStream() != null
+                                   ? request.getInputStream()
+                                   : new FileInputStream(request.getFile())) {
+      content = IOUtils.toByteArray(inputStream);
+    } catch (IOException ex) {
+      throw new SdkClientException(ex);
+    }
+    ObjectMetadata metadata = request.getMetadata() == null ? new ObjectMetadata() : request.getMetadata();
+    checkMd5(content, metadata.getContentMD5());
+    ObjectMetadata stored = put(request.getKey(), content, metadata);
+    PutObjectResult result = new PutObjectResult();
+    result.setETag(stored.getETag());
+    result.setMetadata(stored.clone());
+    return result;
+  }
+
+  @Override
+  public CopyObjectResult copyObject(CopyObjectRequest request) {
+    requests.add(request);
+    StoredObject source = find(request.getSourceKey());
+    checkETag(source, request.getMatchingETagConstraints());
+    ObjectMetadata metadata = request.getNewObjectMetadata() == null ? source.metadata : request.getNewObjectMetadata();
+    ObjectMetadata stored = store(request.getDestinationKey(), source.content, metadata, source.metadata.getETag(), source.tags);
+    CopyObjectResult result = new CopyObjectResult();
+    result.setETag(stored.getETag());
+    return result;
+  }
+
+  @Override
+  public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+    requests.add(request);
+    String uploadId = UUID.randomUUID().toString();
+    /**
+     * The metadata is sent with the initiate request; later changes by the
+     * caller are not part of the object.
+     */
+    ObjectMetadata metadata = request.getObjectMetadata() == null ? null : request.getObjectMetadata().clone();
+    uploads.put(uploadId, new Upload(request.getKey(), metadata, request.getTagging()));
+    InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+    result.setUploadId(uploadId);
+    return result;
+  }
+
+  @Override
+  public UploadPartResult uploadPart(UploadPartRequest request) {
+    requests.add(request);
+    Upload upload = findUpload(request.getUploadId());
+    byte[] content;
+    try {
+      content = IOUtils.toByteArray(request.getInputStream());
+    } catch (IOException ex) {
+      throw new SdkClientException(ex);
+    }
+    checkMd5(content, request.getMd5Digest());
+    upload.parts.put(request.getPartNumber(), content);
+    UploadPartResult result = new UploadPartResult();
+    result.setPartNumber(request.getPartNumber());
+    result.setETag(BinaryUtils.toHex(Md5Utils.computeMD5Hash(content)));
+    return result;
+  }
+
+  @Override
+  public CopyPartResult copyPart(CopyPartRequest request) {
+    requests.add(request);
+    Upload upload = findUpload(request.getUploadId());
+    StoredObject source = find(request.getSourceKey());
+    checkETag(source, request.getMatchingETagConstraints());
+    byte[] content = Arrays.copyOfRange(source.content, request.getFirstByte().intValue(), request.getLastByte().intValue() + 1);
+    upload.parts.put(request.getPartNumber(), content);
+    CopyPartResult result = new CopyPartResult();
+    result.setPartNumber(request.getPartNumber());
+    result.setETag(BinaryUtils.toHex(Md5Utils.computeMD5Hash(content)));
+    return result;
+  }
+
+  @Override
+  public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+    requests.add(request);
+    Upload upload = uploads.remove(request.getUploadId());
+    if (upload == null) {
+      throw error(404, "NoSuchUpload");
+    }
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    ByteArrayOutputStream digests = new ByteArrayOutputStream();
+    for (PartETag partETag : request.getPartETags()) {
+      byte[] part = upload.parts.get(partETag.getPartNumber());
+      content.write(part, 0, part.length);
+      byte[] digest = Md5Utils.computeMD5Hash(part);
+      digests.write(digest, 0, digest.length);
+    }
+    String eTag = BinaryUtils.toHex(Md5Utils.computeMD5Hash(digests.toByteArray())) + "-" + request.getPartETags().size();
+    ObjectMetadata stored = store(upload.key, content.toByteArray(), upload.metadata, eTag, upload.tags);
+    CompleteMultipartUploadResult result = new CompleteMultipartUploadResult();
+    result.setKey(upload.key);
+    result.setETag(stored.getETag());
+    return result;
+  }
+
+  @Override
+  public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+    requests.add(request);
+    uploads.remove(request.getUploadId());
+  }
+
+  @Override
+  public void deleteObject(String bucketName, String key) {
+    deleteObject(new DeleteObjectRequest(bucketName, key));
+  }
+
+  @Override
+  public void deleteObject(DeleteObjectRequest request) {
+    requests.add(request);
+    objects.remove(request.getKey());
+  }
+
+  @Override
+  public DeleteObjectsResult deleteObjects(DeleteObjectsRequest request) {
+    requests.add(request);
+    List<DeleteObjectsResult.DeletedObject> deleted = new ArrayList<>();
+    List<MultiObjectDeleteException.DeleteError> errors = new ArrayList<>();
+    for (DeleteObjectsRequest.KeyVersion keyVersion : request.getKeys()) {
+      if (protectedKeys.contains(keyVersion.getKey())) {
+        MultiObjectDeleteException.DeleteError error = new MultiObjectDeleteException.DeleteError();
+        error.setKey(keyVersion.getKey());
+        error.setCode("AccessDenied");
+        error.setMessage("Access Denied");
+        errors.add(error);
+      } else {
+        objects.remove(keyVersion.getKey());
+        DeleteObjectsResult.DeletedObject object = new DeleteObjectsResult.DeletedObject();
+        object.setKey(keyVersion.getKey());
+        deleted.add(object);
+      }
+    }
+    if (!errors.isEmpty()) {
+      throw new MultiObjectDeleteException(errors, deleted);
+    }
+    return new DeleteObjectsResult(request.getQuiet() ? Collections.emptyList() : deleted);
+  }
+
+  @Override
+  public GetObjectTaggingResult getObjectTagging(GetObjectTaggingRequest request) {
+    requests.add(request);
+    return new GetObjectTaggingResult(new ArrayList<>(find(request.getKey()).tags));
+  }
+
+  @Override
+  public SetObjectTaggingResult setObjectTagging(SetObjectTaggingRequest request) {
+    requests.add(request);
+    find(request.getKey()).tags = new ArrayList<>(request.getTagging().getTagSet());
+    return new SetObjectTaggingResult();
+  }
+
+  private ObjectMetadata store(String key, byte[] content, ObjectMetadata metadata, String eTag, List<Tag> tags) {
+    ObjectMetadata stored = new ObjectMetadata();
+    if (metadata != null) {
+      metadata.getRawMetadata().forEach((header, value) -> {
+        if (!Headers.CONTENT_MD5.equals(header)) {
+          stored.setHeader(header, value);
+        }
+      });
+      stored.setUserMetadata(new TreeMap<>(metadata.getUserMetadata()));
+    }
+    stored.setContentLength(content.length);
+    stored.setHeader(Headers.ETAG, eTag);
+    stored.setLastModified(new Date());
+    objects.put(key, new StoredObject(content, stored, tags));
+    return stored;
+  }
+
+  private StoredObject find(String key) {
+    StoredObject object = objects.get(key);
+    if (object == null) {
+      throw error(404, "NoSuchKey");
+    }
+    return object;
+  }
+
+  private Upload findUpload(String uploadId) {
+    Upload upload = uploads.get(uploadId);
+    if (upload == null) {
+      throw error(404, "NoSuchUpload");
+    }
+    return upload;
+  }
+
+  private static void checkMd5(byte[] content, String contentMd5) {
+    if (contentMd5 != null && !Arrays.equals(Base64.decode(contentMd5), Md5Utils.computeMD5Hash(content))) {
+      throw error(400, "BadDigest");
+    }
+  }
+
+  private static void checkETag(StoredObject object, List<String> matching) {
+    if (matching != null && !matching.isEmpty() && !matching.contains(object.metadata.getETag())) {
+      throw error(412, "PreconditionFailed");
+    }
+  }
+
+  private static AmazonS3Exception error(int statusCode, String errorCode) {
+    AmazonS3Exception ex = new AmazonS3Exception(errorCode);
+    ex.setStatusCode(statusCode);
+    ex.setErrorCode(errorCode);
+    return ex;
+  }
+
+  private static class StoredObject {
+
+    private final byte[] content;
+    private final ObjectMetadata metadata;
+    private volatile List<Tag> tags;
+
+    StoredObject(byte[] content, ObjectMetadata metadata, List<Tag> tags) {
+      this.content = content;
+      this.metadata = metadata;
+      this.tags = tags;
+    }
+
+    S3ObjectSummary toSummary(String key) {
+      S3ObjectSummary summary = new S3ObjectSummary();
+      summary.setKey(key);
+      summary.setSize(content.length);
+      summary.setETag(metadata.getETag());
+      summary.setLastModified(metadata.getLastModified());
+      summary.setStorageClass(metadata.getStorageClass() == null ? StorageClass.Standard.toString() : metadata.getStorageClass());
+      return summary;
+    }
+  }
+
+  private static class Upload {
+
+    private final String key;
+    private final ObjectMetadata metadata;
+    private final List<Tag> tags;
+    private final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+
+    Upload(String key, ObjectMetadata metadata, ObjectTagging tagging) {
+      this.key = key;
+      this.metadata = metadata;
+      this.tags = tagging == null ? Collections.emptyList() : tagging.getTagSet();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3MetadataFetcherTest {
+
+  @Test
+  public void testFetch() {
+    FakeClient client = new FakeClient();
+    AwsS3 s3 = new AwsS3().withS3Client(client).withBucketName("bucket");
+    S3MetadataCache cache = new S3MetadataCache(1000, 1, TimeUnit.MINUTES);
+    S3MetadataFetcher fetcher = new S3MetadataFetcher(s3).withParallelism(4).withCache(cache);
+    List<String> keys = IntStream.range(0, 100).mapToObj(i -> "key" + i).collect(Collectors.toList());
+    Map<String, S3MetadataFetcher.Result> results;
+    try (Stream<S3MetadataFetcher.Result> stream = fetcher.fetch(keys.stream())) {
+      results = stream.collect(Collectors.toMap(S3MetadataFetcher.Result::getKey, r -> r));
+    }
+    assertEquals(100, results.size());
+    assertTrue(results.get("key1").isFound());
+    assertEquals("text/key1", results.get("key1").getMetadata().getContentType());
+    assertTrue(results.get("key7").isMissing());
+    assertTrue(results.get("key13").isFailed());
+    assertEquals(79, results.values().stream().filter(S3MetadataFetcher.Result::isFound).count());
+    assertTrue(client.maxConcurrency.get() <= 4);
+    assertEquals(100, client.requests.get());
+    /**
+     * Found keys are answered from the cache.
+     */
+    try (Stream<S3MetadataFetcher.Result> stream = fetcher.fetch(keys)) {
+      assertEquals(100, stream.count());
+    }
+    assertEquals(121, client.requests.get());
+    assertEquals(79, cache.getHitCount());
+  }
+
+  /**
+   * Every 7th key is missing and every other 13th fails.
+   */
+  private static class FakeClient extends AbstractAmazonS3 {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger concurrency = new AtomicInteger();
+    private final AtomicInteger maxConcurrency = new AtomicInteger();
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+      requests.incrementAndGet();
+      maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(1);
+        int n = Integer.parseInt(key.substring(3));
+        if (n % 7 == 0) {
+          AmazonS3Exception ex = new AmazonS3Exception("Not Found");
+          ex.setStatusCode(404);
+          throw ex;
+        }
+        if (n % 13 == 0) {
+          AmazonS3Exception ex = new AmazonS3Exception("Internal Error");
+          ex.setStatusCode(500);
+          throw ex;
+        }
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType("text/" + key);
+        return metadata;
+      } catch (InterruptedException ex) {
+        throw new IllegalStateException(ex);
+      } finally {
+        concurrency.decrementAndGet();
+      }
+    }
+  }
+}
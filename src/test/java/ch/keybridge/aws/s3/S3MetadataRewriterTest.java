@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.*;
+import com.amazonaws.util.IOUtils;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3MetadataRewriterTest {
+
+  @Test
+  public void testRewrite() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    for (int i = 0; i < 40; i++) {
+      put(bucket, String.format("data/%03d.%s", i, i % 2 == 0 ? "csv" : "json"), 10);
+    }
+    /**
+     * The large object was uploaded in parts of 64 bytes and is tagged.
+     */
+    put(bucket, "data/large.csv", 250).addUserMetadata(S3Checksum.METADATA_PART_SIZE, "64");
+    bucket.setObjectTagging(new SetObjectTaggingRequest("bucket", "data/large.csv", new ObjectTagging(Collections.singletonList(new Tag("team", "geo")))));
+    Map<String, String> eTags = new HashMap<>();
+    bucket.getKeys().forEach(key -> eTags.put(key, bucket.getMetadata(key).getETag()));
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket").withMaxKeys(7);
+    S3MetadataRewriter rewriter = new S3MetadataRewriter(s3)
+      .withParallelism(4)
+      .withMultipartThreshold(100)
+      .withPartSize(100);
+    S3MetadataRewriter.Report report = rewriter.rewrite("data/", (key, metadata) -> {
+      if (key.endsWith(".csv")) {
+        metadata.setContentType("text/csv");
+        metadata.addUserMetadata("rewritten", "true");
+        return metadata;
+      }
+      return key.endsWith("001.json") ? metadata : null;
+    });
+    assertEquals(41, report.getScannedCount());
+    assertEquals(21, report.getUpdatedCount());
+    assertEquals(20, report.getUnchangedCount());
+    assertTrue(report.getFailures().isEmpty());
+    assertEquals(20 * 10 + 250, report.getBytesCopied());
+    assertEquals("text/csv", bucket.getMetadata("data/002.csv").getContentType());
+    assertEquals("true", bucket.getMetadata("data/002.csv").getUserMetaDataOf("rewritten"));
+    assertEquals("text/plain", bucket.getMetadata("data/001.json").getContentType());
+    /**
+     * Copies replace only the replaceable headers and are conditional on the
+     * ETag read. The large object is copied in three parts.
+     */
+    List<CopyObjectRequest> copies = bucket.getRequests(CopyObjectRequest.class);
+    assertEquals(20, copies.size());
+    for (CopyObjectRequest copy : copies) {
+      assertEquals(copy.getSourceKey(), copy.getDestinationKey());
+      assertNull(copy.getNewObjectMetadata().getRawMetadataValue(Headers.CONTENT_LENGTH));
+      assertNull(copy.getNewObjectMetadata().getRawMetadataValue(Headers.ETAG));
+      assertEquals(Collections.singletonList(eTags.get(copy.getSourceKey())), copy.getMatchingETagConstraints());
+    }
+    assertEquals(3, bucket.getRequests(CopyPartRequest.class).size());
+    assertEquals("text/csv", bucket.getMetadata("data/large.csv").getContentType());
+    assertEquals(250, bucket.getContent("data/large.csv").length);
+    /**
+     * The multipart copy records its own part size, so downloads verify, and
+     * keeps the tags. Single copies drop the part size.
+     */
+    assertEquals("100", bucket.getMetadata("data/large.csv").getUserMetaDataOf(S3Checksum.METADATA_PART_SIZE));
+    assertEquals("geo", bucket.getTags("data/large.csv").get(0).getValue());
+    try (InputStream inputStream = s3.getInputStream("data/large.csv")) {
+      assertEquals(250, IOUtils.toByteArray(inputStream).length);
+    }
+    for (CopyObjectRequest copy : copies) {
+      assertNull(copy.getNewObjectMetadata().getUserMetaDataOf(S3Checksum.METADATA_PART_SIZE));
+    }
+  }
+
+  @Test
+  public void testCheckpoint() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    for (int i = 0; i < 50; i++) {
+      put(bucket, String.format("data/%03d.csv", i), 10);
+    }
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket");
+    Path checkpoint = Files.createTempFile("rewrite", ".checkpoint");
+    Files.write(checkpoint, "data/019.csv".getBytes(StandardCharsets.UTF_8));
+    S3MetadataRewriter rewriter = new S3MetadataRewriter(s3)
+      .withParallelism(1)
+      .withCheckpoint(checkpoint)
+      .withCheckpointInterval(5);
+    List<String> checkpoints = new ArrayList<>();
+    S3MetadataRewriter.Report report = rewriter.rewrite("data/", (key, metadata) -> {
+      checkpoints.add(new String(readAllBytes(checkpoint), StandardCharsets.UTF_8));
+      if (key.equals("data/030.csv")) {
+        /**
+         * A concurrent write between the HEAD and the copy.
+         */
+        bucket.getMetadata(key).setHeader(Headers.ETAG, "etag-concurrent");
+      }
+      metadata.setCacheControl("no-cache");
+      return metadata;
+    });
+    /**
+     * The run resumes after the checkpoint and advances it every five objects,
+     * up to the failed object.
+     */
+    assertEquals("data/019.csv", report.getResumedAfter());
+    assertEquals(30, report.getScannedCount());
+    assertEquals("data/019.csv", checkpoints.get(0));
+    assertEquals("data/019.csv", checkpoints.get(4));
+    assertEquals("data/024.csv", checkpoints.get(5));
+    assertEquals("data/029.csv", checkpoints.get(29));
+    assertNull(bucket.getMetadata("data/019.csv").getCacheControl());
+    assertEquals("no-cache", bucket.getMetadata("data/020.csv").getCacheControl());
+    assertEquals("no-cache", bucket.getMetadata("data/049.csv").getCacheControl());
+    assertEquals(Collections.singleton("data/030.csv"), report.getFailures().keySet());
+    assertNull(bucket.getMetadata("data/030.csv").getCacheControl());
+    /**
+     * The checkpoint is kept, so the next run retries the failed object; the
+     * objects after it are already up to date.
+     */
+    assertEquals("data/029.csv", new String(readAllBytes(checkpoint), StandardCharsets.UTF_8));
+    S3MetadataRewriter.Report retry = rewriter.rewrite("data/", (key, metadata) -> {
+      metadata.setCacheControl("no-cache");
+      return metadata;
+    });
+    assertEquals(20, retry.getScannedCount());
+    assertEquals(1, retry.getUpdatedCount());
+    assertTrue(retry.getFailures().isEmpty());
+    assertEquals("no-cache", bucket.getMetadata("data/030.csv").getCacheControl());
+    assertFalse(Files.exists(checkpoint));
+  }
+
+  @Test
+  public void testMultipartCopyKeepsMetadata() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    ObjectMetadata source = put(bucket, "data/large.csv", 250);
+    source.setContentType("text/csv");
+    source.setCacheControl("max-age=60");
+    source.addUserMetadata("owner", "geo");
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket");
+    /**
+     * Without new metadata the source metadata is copied, as by a single copy.
+     */
+    s3.copyObjectMultipart(new CopyObjectRequest("bucket", "data/large.csv", "bucket", "copy/large.csv"), 250, 100);
+    ObjectMetadata copy = bucket.getMetadata("copy/large.csv");
+    assertEquals("text/csv", copy.getContentType());
+    assertEquals("max-age=60", copy.getCacheControl());
+    assertEquals("geo", copy.getUserMetaDataOf("owner"));
+    assertEquals("100", copy.getUserMetaDataOf(S3Checksum.METADATA_PART_SIZE));
+    InitiateMultipartUploadRequest initiate = bucket.getRequests(InitiateMultipartUploadRequest.class).get(0);
+    assertNull(initiate.getObjectMetadata().getRawMetadataValue(Headers.ETAG));
+    assertNull(initiate.getObjectMetadata().getRawMetadataValue(Headers.CONTENT_LENGTH));
+    try (InputStream inputStream = s3.getInputStream("copy/large.csv")) {
+      assertEquals(250, IOUtils.toByteArray(inputStream).length);
+    }
+  }
+
+  @Test
+  public void testDryRun() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    put(bucket, "a.txt", 10);
+    put(bucket, "b.txt", 10).setContentType("text/html");
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket");
+    S3MetadataRewriter.Report report = new S3MetadataRewriter(s3).withDryRun(true).rewrite(null, (key, metadata) -> {
+      metadata.setContentType("text/html");
+      return metadata;
+    });
+    assertTrue(report.isDryRun());
+    assertEquals(1, report.getUpdatedCount());
+    assertEquals(1, report.getUnchangedCount());
+    assertTrue(bucket.getRequests(CopyObjectRequest.class).isEmpty());
+  }
+
+  private static ObjectMetadata put(S3MemoryBucket bucket, String key, int size) {
+    ObjectMetadata metadata = new ObjectMetadata();
+    metadata.setContentType("text/plain");
+    return bucket.put(key, new byte[size], metadata);
+  }
+
+  private static byte[] readAllBytes(Path path) {
+    try {
+      return Files.readAllBytes(path);
+    } catch (java.io.IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
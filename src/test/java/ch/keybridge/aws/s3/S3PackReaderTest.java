@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.*;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3PackReaderTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testReadCoalescesAdjacentMembers() throws Exception {
+    /**
+     * Members 0..9 of 100 bytes each, written in reverse name order.
+     */
+    ByteArrayOutputStream pack = new ByteArrayOutputStream();
+    List<String> names = new ArrayList<>();
+    List<Long> offsets = new ArrayList<>();
+    List<Integer> lengths = new ArrayList<>();
+    for (int i = 9; i >= 0; i--) {
+      byte[] content = new byte[100];
+      Arrays.fill(content, (byte) i);
+      names.add("tiles/10/" + i + ".png");
+      offsets.add((long) pack.size());
+      lengths.add(content.length);
+      pack.write(content);
+    }
+    S3PackIndex index = S3PackIndex.read(new ByteArrayInputStream(S3PackIndex.build(names, offsets, lengths).toByteArray()));
+    assertEquals(10, index.size());
+    assertEquals("tiles/10/0.png", index.getName(0));
+    assertEquals(900, index.getOffset(0));
+
+    FakeS3 s3 = new FakeS3(pack.toByteArray(), index.toByteArray());
+    S3PackReader reader = new S3PackReader(s3, "tiles/10.pack")
+      .withMaxGap(100)
+      .withCacheDirectory(folder.getRoot().toPath());
+    assertArrayEquals(filled(3), reader.read("tiles/10/3.png"));
+    assertNull(reader.read("tiles/10/missing.png"));
+    assertEquals(1, reader.getRequestCount());
+    /**
+     * 1 and 2 are adjacent; 4 is one member (100 bytes) away from 2; 8 is not
+     * within the gap.
+     */
+    Map<String, byte[]> batch = reader.read(Arrays.asList("tiles/10/8.png", "tiles/10/1.png", "tiles/10/2.png", "tiles/10/4.png"));
+    assertEquals(3, reader.getRequestCount());
+    assertEquals(4, batch.size());
+    for (int i : new int[]{1, 2, 4, 8}) {
+      assertArrayEquals(filled(i), batch.get("tiles/10/" + i + ".png"));
+    }
+    /**
+     * A second reader uses the locally cached index.
+     */
+    s3.index = null;
+    assertTrue(new S3PackReader(s3, "tiles/10.pack").withCacheDirectory(folder.getRoot().toPath()).contains("tiles/10/9.png"));
+    /**
+     * A rewritten pack has a new ETag, so its index is loaded again.
+     */
+    s3.eTag = "rewritten";
+    s3.index = S3PackIndex.build(Arrays.asList("tiles/10/new.png"), Arrays.asList(0L), Arrays.asList(100)).toByteArray();
+    S3PackReader rewritten = new S3PackReader(s3, "tiles/10.pack").withCacheDirectory(folder.getRoot().toPath());
+    assertTrue(rewritten.contains("tiles/10/new.png"));
+    assertFalse(rewritten.contains("tiles/10/9.png"));
+  }
+
+  @Test
+  public void testWriteFailureSkipsIndex() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket() {
+      @Override
+      public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+        throw new SdkClientException("Unable to execute HTTP request");
+      }
+    };
+    AwsS3 s3 = new AwsS3().withBucketName("bucket").withS3Client(bucket);
+    S3PackWriter writer = new S3PackWriter(s3, "tiles/11.pack");
+    writer.add("tiles/11/0.png", filled(0));
+    try {
+      writer.add("tiles/11/1.png", new byte[S3MultipartOutputStream.DEFAULT_PART_SIZE]);
+      fail("Expected the part upload to fail");
+    } catch (SdkClientException ex) {
+    }
+    /**
+     * The failed pack is aborted: closing stores no index.
+     */
+    writer.close();
+    assertNull(writer.getIndex());
+    assertTrue(bucket.getKeys().isEmpty());
+    /**
+     * A complete pack is stored with its index.
+     */
+    try (S3PackWriter complete = new S3PackWriter(s3, "tiles/12.pack")) {
+      complete.add("tiles/12/0.png", filled(0));
+    }
+    assertEquals(new HashSet<>(Arrays.asList("tiles/12.pack", "tiles/12.pack.idx")), bucket.getKeys());
+  }
+
+  private static byte[] filled(int value) {
+    byte[] content = new byte[100];
+    Arrays.fill(content, (byte) value);
+    return content;
+  }
+
+  private static class FakeS3 extends AwsS3 {
+
+    private final byte[] pack;
+    private byte[] index;
+    private String eTag = "packed";
+
+    public FakeS3(byte[] pack, byte[] index) {
+      this.pack = pack;
+      this.index = index;
+      setBucketName("bucket");
+    }
+
+    @Override
+    public InputStream getInputStream(String key) {
+      assertEquals("tiles/10.pack.idx", key);
+      assertNotNull(index);
+      return new ByteArrayInputStream(index);
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String key) {
+      assertEquals("tiles/10.pack", key);
+      ObjectMetadata metadata = new ObjectMetadata();
+      metadata.setHeader(Headers.ETAG, eTag);
+      return metadata;
+    }
+
+    @Override
+    public byte[] downloadRange(String key, long rangeStart, long rangeEnd) {
+      return Arrays.copyOfRange(pack, (int) rangeStart, (int) rangeEnd + 1);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.s3.S3ProgressTracker.Snapshot;
+import ch.keybridge.aws.s3.S3ProgressTracker.TransferCounter;
+import com.amazonaws.event.ProgressEvent;
+import com.amazonaws.event.ProgressEventType;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3ProgressTrackerTest {
+
+  @Test
+  public void testProgress() throws Exception {
+    try (S3ProgressTracker tracker = new S3ProgressTracker(1, TimeUnit.HOURS)) {
+      TransferCounter a = tracker.start("sync", "a", 4_000_000);
+      TransferCounter b = tracker.start("sync", "b", 4_000_000);
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+        for (int i = 0; i < 4; i++) {
+          TransferCounter counter = i % 2 == 0 ? a : b;
+          executor.submit(() -> {
+            for (int j = 0; j < 1000; j++) {
+              counter.progressChanged(new ProgressEvent(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, 1000));
+            }
+          });
+        }
+      } finally {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+      }
+      Thread.sleep(20);
+      tracker.sample();
+      Snapshot job = tracker.getJob("sync");
+      assertEquals(4_000_000, job.getBytesTransferred());
+      assertEquals(8_000_000, job.getTotalBytes());
+      assertEquals(0.5, job.getFraction(), 1e-9);
+      assertEquals(2, job.getActive());
+      assertTrue(job.getBytesPerSecond() > 0);
+      assertTrue(job.getEta(TimeUnit.MILLISECONDS) >= 0);
+      assertEquals(2, tracker.getTransfers().size());
+      /**
+       * Finished transfers leave the transfer list but remain in the job.
+       */
+      a.progressChanged(new ProgressEvent(ProgressEventType.TRANSFER_COMPLETED_EVENT));
+      b.fail();
+      job = tracker.getJob("sync");
+      assertEquals(0, job.getActive());
+      assertEquals(1, job.getCompleted());
+      assertEquals(1, job.getFailed());
+      assertTrue(tracker.getTransfers().isEmpty());
+    }
+  }
+
+  @Test
+  public void testStream() throws Exception {
+    try (S3ProgressTracker tracker = new S3ProgressTracker()) {
+      TransferCounter counter = tracker.start("download", "key", 10_000);
+      try (InputStream inputStream = counter.track(new ByteArrayInputStream(new byte[10_000]))) {
+        byte[] buffer = new byte[4096];
+        while (inputStream.read(buffer) != -1) {
+        }
+      }
+      Snapshot job = tracker.getJob("download");
+      assertEquals(10_000, job.getBytesTransferred());
+      assertEquals(1, job.getCompleted());
+      assertEquals(0, job.getFailed());
+      assertEquals(1, tracker.getJobs().size());
+      /**
+       * A stream closed after its total was read (without reading the end)
+       * completes; one closed early fails.
+       */
+      TransferCounter exact = tracker.start("download", "exact", 100);
+      try (InputStream inputStream = exact.track(new ByteArrayInputStream(new byte[100]))) {
+        assertEquals(100, inputStream.read(new byte[100]));
+      }
+      TransferCounter early = tracker.start("download", "early", 100);
+      try (InputStream inputStream = early.track(new ByteArrayInputStream(new byte[100]))) {
+        assertEquals(10, inputStream.read(new byte[10]));
+      }
+      job = tracker.getJob("download");
+      assertEquals(2, job.getCompleted());
+      assertEquals(1, job.getFailed());
+      /**
+       * Removed jobs are no longer reported.
+       */
+      assertEquals(2, tracker.remove("download").getCompleted());
+      assertNull(tracker.getJob("download"));
+      assertTrue(tracker.getJobs().isEmpty());
+      assertNull(tracker.remove("download"));
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import ch.keybridge.aws.s3.S3Bulkhead.Compartment;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryPolicy;
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3RateLimiterTest {
+
+  @Test
+  public void testThrottledRequestIsRetried() {
+    S3RateLimiter limiter = new S3RateLimiter().withInitialRate(1000);
+    AtomicInteger attempts = new AtomicInteger();
+    String result = limiter.execute("tiles/z10/1.png", () -> {
+      if (attempts.incrementAndGet() < 3) {
+        AmazonServiceException ex = new AmazonServiceException("Please reduce your request rate.");
+        ex.setStatusCode(503);
+        ex.setErrorCode("SlowDown");
+        throw ex;
+      }
+      return "ok";
+    });
+    assertEquals("ok", result);
+    assertEquals(3, attempts.get());
+    assertEquals(2, limiter.getThrottleCount());
+    /**
+     * The rate of the throttled prefix is reduced; other prefixes are not.
+     */
+    assertTrue(limiter.getRate("tiles/z10/2.png") < 1000);
+    assertEquals(1000, limiter.getRate("tiles/z11/2.png"), 0);
+  }
+
+  @Test
+  public void testOtherErrorsAreNotRetried() {
+    S3RateLimiter limiter = new S3RateLimiter();
+    AtomicInteger attempts = new AtomicInteger();
+    try {
+      limiter.execute("a/b.txt", () -> {
+        attempts.incrementAndGet();
+        AmazonServiceException ex = new AmazonServiceException("Access Denied");
+        ex.setStatusCode(403);
+        throw ex;
+      });
+      fail("Expected AmazonServiceException");
+    } catch (AmazonServiceException ex) {
+      assertEquals(403, ex.getStatusCode());
+    }
+    assertEquals(1, attempts.get());
+    assertEquals(0, limiter.getThrottleCount());
+  }
+
+  @Test
+  public void testSuccessIncreasesRate() {
+    S3RateLimiter limiter = new S3RateLimiter().withInitialRate(1000);
+    for (int i = 0; i < 100; i++) {
+      limiter.execute("logs/2026/x.log", () -> null);
+    }
+    assertTrue(limiter.getRate("logs/2026/y.log") > 1000);
+  }
+
+  @Test
+  public void testQueuedRequestReleasesBulkhead() throws Exception {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    bucket.put("a/x.txt", new byte[1], null);
+    bucket.put("b/y.txt", new byte[1], null);
+    S3Bulkhead bulkhead = new S3Bulkhead().withLimit(Compartment.INTERACTIVE_READ, 1);
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket")
+      .withRateLimiter(new S3RateLimiter().withInitialRate(2))
+      .withBulkhead(bulkhead);
+    s3.getObjectMetadata("a/x.txt");
+    /**
+     * The second request to the prefix waits about 500 ms for the rate limit
+     * without holding the only read permit.
+     */
+    CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> s3.getObjectMetadata("a/x.txt"));
+    Thread.sleep(100);
+    assertFalse(queued.isDone());
+    assertEquals(0, bulkhead.getActiveCount(Compartment.INTERACTIVE_READ));
+    s3.getObjectMetadata("b/y.txt");
+    queued.get();
+    assertEquals(0, bulkhead.getRejectedCount(Compartment.INTERACTIVE_READ));
+  }
+
+  @Test
+  public void testRetryPolicySkipsThrottling() {
+    RetryPolicy.RetryCondition condition = S3RateLimiter.RETRY_POLICY.getRetryCondition();
+    GetObjectMetadataRequest request = new GetObjectMetadataRequest("bucket", "a/x.txt");
+    AmazonServiceException slowDown = new AmazonServiceException("Please reduce your request rate.");
+    slowDown.setStatusCode(503);
+    slowDown.setErrorCode("SlowDown");
+    assertFalse(condition.shouldRetry(request, slowDown, 0));
+    /**
+     * Other server errors are still retried by the SDK.
+     */
+    AmazonServiceException internalError = new AmazonServiceException("We encountered an internal error.");
+    internalError.setStatusCode(500);
+    internalError.setErrorCode("InternalError");
+    assertTrue(condition.shouldRetry(request, internalError, 0));
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3RequestCoalescerTest {
+
+  private static final int THREADS = 8;
+
+  @Test
+  public void testConcurrentHead() throws Exception {
+    BlockingS3 s3 = new BlockingS3();
+    S3RequestCoalescer coalescer = new S3RequestCoalescer(s3);
+    List<Future<ObjectMetadata>> futures = submit(s3, coalescer, () -> coalescer.getObjectMetadata("key"));
+    assertEquals(1, s3.calls.get());
+    ObjectMetadata first = futures.get(0).get();
+    for (Future<ObjectMetadata> future : futures) {
+      assertSame(first, future.get());
+    }
+    assertEquals(THREADS, coalescer.getRequestCount());
+    assertEquals(THREADS - 1, coalescer.getCoalescedCount());
+    /**
+     * Results are not cached: the next request calls S3 again.
+     */
+    coalescer.getObjectMetadata("key");
+    assertEquals(2, s3.calls.get());
+  }
+
+  @Test
+  public void testDownloadReleasesTempFile() throws Exception {
+    BlockingS3 s3 = new BlockingS3();
+    S3RequestCoalescer coalescer = new S3RequestCoalescer(s3);
+    Path directory = Files.createTempDirectory("coalesce");
+    AtomicInteger index = new AtomicInteger();
+    List<Future<Path>> futures = submit(s3, coalescer, () -> {
+      Path file = directory.resolve("file" + index.incrementAndGet());
+      coalescer.download("key", file);
+      return file;
+    });
+    for (Future<Path> future : futures) {
+      assertEquals("content", new String(Files.readAllBytes(future.get()), StandardCharsets.UTF_8));
+    }
+    assertEquals(1, s3.calls.get());
+    /**
+     * The shared temporary file is deleted after the last reader has copied it.
+     */
+    assertNotNull(s3.temp);
+    assertFalse(Files.exists(s3.temp));
+  }
+
+  @Test
+  public void testErrorPropagation() throws Exception {
+    BlockingS3 s3 = new BlockingS3();
+    s3.error = true;
+    S3RequestCoalescer coalescer = new S3RequestCoalescer(s3);
+    List<Future<byte[]>> futures = submit(s3, coalescer, () -> {
+      coalescer.downloadRange("key", 0, 9);
+      return null;
+    });
+    for (Future<byte[]> future : futures) {
+      try {
+        future.get();
+        fail("Every waiter must see the error");
+      } catch (ExecutionException ex) {
+        assertEquals(404, ((AmazonS3Exception) ex.getCause()).getStatusCode());
+      }
+    }
+    assertEquals(1, s3.calls.get());
+    assertEquals(THREADS - 1, coalescer.getCoalescedCount());
+  }
+
+  /**
+   * Run a request in concurrent threads. The first request blocks in S3 until
+   * all others have joined it.
+   */
+  private static <T> List<Future<T>> submit(BlockingS3 s3, S3RequestCoalescer coalescer, Callable<T> request) throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<T>> futures = new ArrayList<>();
+      long coalesced = coalescer.getCoalescedCount();
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(request));
+      }
+      long deadline = System.currentTimeMillis() + 5000;
+      while (coalescer.getCoalescedCount() < coalesced + THREADS - 1 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(1);
+      }
+      s3.release.countDown();
+      return futures;
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Blocks each request until released and counts the requests.
+   */
+  private static class BlockingS3 extends AwsS3 {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile boolean error;
+    private volatile Path temp;
+
+    private void await() {
+      calls.incrementAndGet();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      if (error) {
+        AmazonS3Exception ex = new AmazonS3Exception("Not Found");
+        ex.setStatusCode(404);
+        throw ex;
+      }
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String key) {
+      await();
+      return new ObjectMetadata();
+    }
+
+    @Override
+    public byte[] downloadRange(String key, long rangeStart, long rangeEnd) {
+      await();
+      return new byte[(int) (rangeEnd - rangeStart + 1)];
+    }
+
+    @Override
+    public void download(String key, Path file) throws IOException {
+      await();
+      temp = file;
+      Files.write(file, "content".getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3RetentionSweeperTest {
+
+  @Test
+  public void testSweep() {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    /**
+     * The subfolder is listed between the objects of its parent.
+     */
+    for (int i = 0; i < 5; i++) {
+      put(bucket, "logs/a/" + i + ".log", i);
+      put(bucket, "logs/a/z" + (i + 5) + ".log", i + 5);
+    }
+    for (int i = 10; i < 13; i++) {
+      put(bucket, "logs/a/sub/" + i + ".log", i);
+    }
+    for (int i = 20; i < 25; i++) {
+      put(bucket, "logs/b/" + i + ".log", i);
+    }
+    put(bucket, "logs/b/readme.txt", 100);
+    put(bucket, "other/old.log", 100);
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket").withMaxKeys(4);
+    S3RetentionSweeper.Report report = new S3RetentionSweeper(s3)
+      .withQuery(new S3ListingQuery().withGlob("logs/**.log"))
+      .withMaxAge(5, TimeUnit.DAYS)
+      .withKeepLatest(2)
+      .withBatchSize(3)
+      .sweep();
+    Set<String> expected = new HashSet<>(Arrays.asList(
+      "logs/a/z5.log", "logs/a/z6.log", "logs/a/z7.log", "logs/a/z8.log", "logs/a/z9.log",
+      "logs/a/sub/12.log",
+      "logs/b/22.log", "logs/b/23.log", "logs/b/24.log"));
+    Set<String> deleted = bucket.getRequests(DeleteObjectsRequest.class).stream()
+      .flatMap(request -> request.getKeys().stream())
+      .map(DeleteObjectsRequest.KeyVersion::getKey)
+      .collect(Collectors.toSet());
+    assertEquals(expected, deleted);
+    assertEquals(20 - 9, bucket.getKeys().size());
+    assertEquals(18, report.getScannedCount());
+    assertEquals(9, report.getRetainedCount());
+    assertEquals(9, report.getExpiredCount());
+    assertEquals(9, report.getDeletedCount());
+    assertTrue(report.getFailures().isEmpty());
+    assertTrue(bucket.getKeys().contains("logs/b/readme.txt"));
+    assertTrue(bucket.getKeys().contains("other/old.log"));
+    assertEquals(3, bucket.getRequests(DeleteObjectsRequest.class).size());
+    assertTrue(bucket.getRequests(DeleteObjectsRequest.class).stream().allMatch(r -> r.getKeys().size() <= 3));
+  }
+
+  @Test
+  public void testFailure() {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    for (int i = 0; i < 10; i++) {
+      put(bucket, "tmp/" + i, 10);
+    }
+    bucket.getProtectedKeys().add("tmp/3");
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket");
+    S3RetentionSweeper.Report report = new S3RetentionSweeper(s3)
+      .withQuery(new S3ListingQuery().withPrefix("tmp/"))
+      .withMaxAge(1, TimeUnit.DAYS)
+      .sweep();
+    assertEquals(10, report.getExpiredCount());
+    assertEquals(9, report.getDeletedCount());
+    assertEquals(Collections.singleton("tmp/3"), report.getFailures().keySet());
+    assertEquals(Collections.singleton("tmp/3"), bucket.getKeys());
+  }
+
+  @Test
+  public void testDryRun() {
+    S3MemoryBucket bucket = new S3MemoryBucket();
+    for (int i = 0; i < 10; i++) {
+      put(bucket, "a/" + i, i);
+    }
+    AwsS3 s3 = new AwsS3().withS3Client(bucket).withBucketName("bucket");
+    List<String> listed = new ArrayList<>();
+    S3RetentionSweeper.Report report = new S3RetentionSweeper(s3)
+      .withKeepLatest(4)
+      .withDryRun(true)
+      .withListener(summary -> listed.add(summary.getKey()))
+      .sweep();
+    assertTrue(report.isDryRun());
+    assertEquals(6, report.getExpiredCount());
+    assertEquals(600, report.getExpiredBytes());
+    assertEquals(0, report.getDeletedCount());
+    assertEquals(Arrays.asList("a/4", "a/5", "a/6", "a/7", "a/8", "a/9"), listed.stream().sorted().collect(Collectors.toList()));
+    assertEquals(10, bucket.getKeys().size());
+    try {
+      new S3RetentionSweeper(s3).sweep();
+      fail("A sweep without rules must fail");
+    } catch (IllegalStateException ex) {
+    }
+  }
+
+  /**
+   * Add a 100 byte object modified an hour more than the given number of days
+   * ago.
+   */
+  private static void put(S3MemoryBucket bucket, String key, int days) {
+    bucket.put(key, 100, new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days) - TimeUnit.HOURS.toMillis(1)));
+  }
+}
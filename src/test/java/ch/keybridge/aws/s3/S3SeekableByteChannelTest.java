@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.AwsS3;
+import com.amazonaws.util.IOUtils;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3SeekableByteChannelTest {
+
+  private static final byte[] CONTENT = new byte[1000];
+
+  static {
+    new Random(3).nextBytes(CONTENT);
+  }
+
+  @Test
+  public void testRandomRead() throws Exception {
+    try (S3SeekableByteChannel channel = new S3SeekableByteChannel(new FakeS3(), "data.bin", CONTENT.length, new S3BufferPool(64, 4)).withReadAhead(0)) {
+      ByteBuffer footer = ByteBuffer.allocate(8);
+      channel.position(CONTENT.length - 8);
+      assertEquals(8, channel.read(footer));
+      assertArrayEquals(Arrays.copyOfRange(CONTENT, CONTENT.length - 8, CONTENT.length), footer.array());
+      assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+      /**
+       * A read spanning two blocks fetches both; re-reading hits the cache.
+       */
+      ByteBuffer middle = ByteBuffer.allocate(10);
+      channel.position(60).read(middle);
+      channel.position(60).read(ByteBuffer.allocate(10));
+      assertArrayEquals(Arrays.copyOfRange(CONTENT, 60, 70), middle.array());
+      assertEquals(3, channel.getRequestCount());
+    }
+  }
+
+  @Test
+  public void testSequentialRead() throws Exception {
+    try (S3SeekableByteChannel channel = new S3SeekableByteChannel(new FakeS3(), "data.bin", CONTENT.length, new S3BufferPool(64, 4)).withMaxBlocks(6).withReadAhead(3);
+         InputStream inputStream = Channels.newInputStream(channel)) {
+      assertArrayEquals(CONTENT, IOUtils.toByteArray(inputStream));
+      assertEquals(16, channel.getRequestCount());
+    }
+  }
+
+  private static class FakeS3 extends AwsS3 {
+
+    @Override
+    public InputStream getInputStream(String key, long rangeStart, long rangeEnd) {
+      return new ByteArrayInputStream(CONTENT, (int) rangeStart, (int) (rangeEnd - rangeStart + 1));
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.aws.s3;
+
+import ch.keybridge.aws.s3.S3TransferScheduler.Job;
+import ch.keybridge.aws.s3.S3TransferScheduler.Priority;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class S3TransferSchedulerTest {
+
+  @Test
+  public void testJobRate() throws Exception {
+    S3TransferScheduler scheduler = new S3TransferScheduler(0);
+    Job job = scheduler.newJob("limited", Priority.NORMAL, 1_000_000);
+    long start = System.nanoTime();
+    try (InputStream inputStream = job.throttle(new ByteArrayInputStream(new byte[300_000]))) {
+      byte[] buffer = new byte[8192];
+      while (inputStream.read(buffer) != -1) {
+      }
+    }
+    /**
+     * 300 KB at 1 MB/s less the 100 ms burst.
+     */
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+    assertEquals(300_000, job.getBytesTransferred());
+    assertEquals(300_000, scheduler.getBytesTransferred(Priority.NORMAL));
+  }
+
+  @Test
+  public void testWeightedFairQueuing() throws Exception {
+    S3TransferScheduler scheduler = new S3TransferScheduler(20_000_000);
+    Job interactive = scheduler.newJob("interactive", Priority.INTERACTIVE);
+    Job bulk = scheduler.newJob("bulk", Priority.BULK);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CyclicBarrier barrier = new CyclicBarrier(2);
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1000);
+      Future<?> a = executor.submit(() -> write(interactive, barrier, deadline));
+      Future<?> b = executor.submit(() -> write(bulk, barrier, deadline));
+      a.get(5, TimeUnit.SECONDS);
+      b.get(5, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+    /**
+     * Weights 16:1; both jobs share the initial burst equally.
+     */
+    assertTrue(bulk.getBytesTransferred() > 0);
+    assertTrue(interactive.getBytesTransferred() > 4 * bulk.getBytesTransferred());
+  }
+
+  private static Void write(Job job, CyclicBarrier barrier, long deadline) throws Exception {
+    barrier.await();
+    byte[] chunk = new byte[S3TransferScheduler.CHUNK_SIZE];
+    try (OutputStream outputStream = job.throttle(new OutputStream() {
+      @Override
+      public void write(int b) {
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+      }
+    })) {
+      while (System.nanoTime() < deadline) {
+        outputStream.write(chunk);
+      }
+    }
+    return null;
+  }
+}